@@ -41,6 +41,7 @@ public class SecurityConfig {
             "/api/v1/structure-types",
             "/api/v1/auth/validate-email",
             "/api/v1/ticketing/public/tickets/**",
+            "/api/v1/ticketing/public/waiting-room/**",
             "/api/v1/ws-tickly/**"
     };
 
@@ -74,7 +75,8 @@ public class SecurityConfig {
         CorsConfiguration config = new CorsConfiguration();
         config.setAllowCredentials(true);
         config.addAllowedOriginPattern("*");
-        config.setAllowedHeaders(Arrays.asList("Origin", "Content-Type", "Accept", "Authorization"));
+        config.setAllowedHeaders(Arrays.asList("Origin", "Content-Type", "Accept", "Authorization", "Idempotency-Key"));
+        config.setExposedHeaders(Arrays.asList("X-Total-Count", "Link"));
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         source.registerCorsConfiguration("/**", config);
         return new CorsFilter(source);
@@ -96,7 +98,8 @@ public class SecurityConfig {
                     CorsConfiguration config = new CorsConfiguration();
                     config.setAllowedOriginPatterns(List.of("*"));
                     config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
-                    config.setAllowedHeaders(Arrays.asList("Authorization", "Cache-Control", "Content-Type"));
+                    config.setAllowedHeaders(Arrays.asList("Authorization", "Cache-Control", "Content-Type", "Idempotency-Key"));
+                    config.setExposedHeaders(Arrays.asList("X-Total-Count", "Link"));
                     config.setAllowCredentials(true);
                     return config;
                 }))
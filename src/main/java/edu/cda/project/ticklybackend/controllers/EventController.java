@@ -5,11 +5,18 @@ import edu.cda.project.ticklybackend.dtos.common.PaginatedResponseDto;
 import edu.cda.project.ticklybackend.dtos.event.*;
 import edu.cda.project.ticklybackend.dtos.file.FileUploadResponseDto;
 import edu.cda.project.ticklybackend.dtos.friendship.FriendResponseDto;
+import edu.cda.project.ticklybackend.dtos.ticket.BatchTicketValidationRequestDto;
+import edu.cda.project.ticklybackend.dtos.ticket.BatchTicketValidationResponseDto;
+import edu.cda.project.ticklybackend.dtos.ticket.TicketJournalReplayDto;
 import edu.cda.project.ticklybackend.dtos.ticket.TicketResponseDto;
+import edu.cda.project.ticklybackend.dtos.ticket.TicketTokenKeyDto;
 import edu.cda.project.ticklybackend.dtos.ticket.TicketValidationResponseDto;
 import edu.cda.project.ticklybackend.enums.TicketStatus;
 import edu.cda.project.ticklybackend.services.interfaces.EventService;
+import edu.cda.project.ticklybackend.services.interfaces.ScannerManifestService;
+import edu.cda.project.ticklybackend.services.interfaces.TicketJournalService;
 import edu.cda.project.ticklybackend.services.interfaces.TicketService;
+import edu.cda.project.ticklybackend.services.interfaces.ZoneBulkOperationService;
 import edu.cda.project.ticklybackend.utils.LoggingUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,11 +25,14 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -30,6 +40,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -46,6 +57,9 @@ public class EventController {
 
     private final EventService eventService;
     private final TicketService ticketService;
+    private final ScannerManifestService scannerManifestService;
+    private final ZoneBulkOperationService zoneBulkOperationService;
+    private final TicketJournalService ticketJournalService;
 
     @Operation(
             summary = "Create a new event",
@@ -301,9 +315,153 @@ public class EventController {
         }
     }
 
+    @Operation(
+            summary = "Rebuild audience zone counters",
+            description = "Recomputes the sold, used and cancelled counters of every audience zone of the event from its tickets. Repair command for event managers.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Counters rebuilt", content = @Content(mediaType = "application/json", schema = @Schema(implementation = EventAudienceZoneDto.class))),
+                    @ApiResponse(responseCode = "403", description = "Access denied", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Event not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class)))
+            }
+    )
+    @PostMapping("/events/{eventId}/management/audience-zones/counters/rebuild")
+    @PreAuthorize("@organizationalSecurityService.canModifyEvent(#eventId, authentication)")
+    public ResponseEntity<List<EventAudienceZoneDto>> rebuildAudienceZoneCounters(
+            @Parameter(description = "ID of the event") @PathVariable Long eventId) {
+        LoggingUtils.logMethodEntry(log, "rebuildAudienceZoneCounters", "eventId", eventId);
+        try {
+            List<EventAudienceZoneDto> zones = eventService.rebuildAudienceZoneCounters(eventId);
+            LoggingUtils.logMethodExit(log, "rebuildAudienceZoneCounters", zones);
+            return ResponseEntity.ok(zones);
+        } catch (Exception e) {
+            LoggingUtils.logException(log, "Error rebuilding audience zone counters for event ID " + eventId, e);
+            throw e;
+        }
+    }
+
+    @Operation(
+            summary = "Replay the ticket journal of an event",
+            description = "Replays the append-only ticket journal of the event (issued, cancelled, validated and anonymized tickets) " +
+                    "and returns the ticket counts of each audience zone and a daily rollup of the changes. Read-only: the zone " +
+                    "counters are not modified (use the audience zone counters rebuild for that).",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Journal replayed", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TicketJournalReplayDto.class))),
+                    @ApiResponse(responseCode = "403", description = "Access denied", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Event not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class)))
+            }
+    )
+    @PostMapping("/events/{eventId}/management/ticket-journal/replay")
+    @PreAuthorize("@organizationalSecurityService.canModifyEvent(#eventId, authentication)")
+    public ResponseEntity<TicketJournalReplayDto> replayTicketJournal(
+            @Parameter(description = "ID of the event") @PathVariable Long eventId) {
+        LoggingUtils.logMethodEntry(log, "replayTicketJournal", "eventId", eventId);
+        try {
+            TicketJournalReplayDto result = ticketJournalService.replayEvent(eventId);
+            LoggingUtils.logMethodExit(log, "replayTicketJournal", result);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            LoggingUtils.logException(log, "Error replaying the ticket journal for event ID " + eventId, e);
+            throw e;
+        }
+    }
+
+    @Operation(
+            summary = "Start a bulk operation on an audience zone",
+            description = "Cancels all the valid tickets of the zone (and closes it to sales), its N most recent tickets, or lowers its " +
+                    "allocated capacity and cancels the most recent tickets sold beyond it. The capacity change is immediate; " +
+                    "tickets are cancelled in the background by bounded batches and their buyers are notified by e-mail.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Operation started", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ZoneBulkOperationDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid request, or an operation is already running on the zone", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "403", description = "Access denied", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Event or audience zone not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class)))
+            }
+    )
+    @PostMapping("/events/{eventId}/management/audience-zones/{zoneId}/bulk-operations")
+    @PreAuthorize("@organizationalSecurityService.canModifyEvent(#eventId, authentication)")
+    public ResponseEntity<ZoneBulkOperationDto> startZoneBulkOperation(
+            @Parameter(description = "ID of the event") @PathVariable Long eventId,
+            @Parameter(description = "ID of the audience zone of the event") @PathVariable Long zoneId,
+            @Valid @RequestBody ZoneBulkOperationRequestDto requestDto) {
+        LoggingUtils.logMethodEntry(log, "startZoneBulkOperation", "eventId", eventId, "zoneId", zoneId, "requestDto", requestDto);
+        try {
+            ZoneBulkOperationDto operation = zoneBulkOperationService.startOperation(eventId, zoneId, requestDto);
+            LoggingUtils.logMethodExit(log, "startZoneBulkOperation", operation);
+            return new ResponseEntity<>(operation, HttpStatus.ACCEPTED);
+        } catch (Exception e) {
+            LoggingUtils.logException(log, "Error starting bulk operation on zone ID " + zoneId + " of event ID " + eventId, e);
+            throw e;
+        }
+    }
+
+    @Operation(
+            summary = "List the bulk operations of an event",
+            description = "Returns the bulk operations started on the audience zones of the event, most recent first, with their progress.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Operations retrieved", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ZoneBulkOperationDto.class))),
+                    @ApiResponse(responseCode = "403", description = "Access denied", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class)))
+            }
+    )
+    @GetMapping("/events/{eventId}/management/bulk-operations")
+    @PreAuthorize("@organizationalSecurityService.canModifyEvent(#eventId, authentication)")
+    public ResponseEntity<List<ZoneBulkOperationDto>> getZoneBulkOperations(
+            @Parameter(description = "ID of the event") @PathVariable Long eventId) {
+        return ResponseEntity.ok(zoneBulkOperationService.getOperations(eventId));
+    }
+
+    @Operation(
+            summary = "Get the progress of a bulk operation",
+            description = "Returns a bulk operation of the event with the number of tickets cancelled so far.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Operation retrieved", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ZoneBulkOperationDto.class))),
+                    @ApiResponse(responseCode = "403", description = "Access denied", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Operation not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class)))
+            }
+    )
+    @GetMapping("/events/{eventId}/management/bulk-operations/{operationId}")
+    @PreAuthorize("@organizationalSecurityService.canModifyEvent(#eventId, authentication)")
+    public ResponseEntity<ZoneBulkOperationDto> getZoneBulkOperation(
+            @Parameter(description = "ID of the event") @PathVariable Long eventId,
+            @Parameter(description = "ID of the operation") @PathVariable Long operationId) {
+        return ResponseEntity.ok(zoneBulkOperationService.getOperation(eventId, operationId));
+    }
+
+    @Operation(
+            summary = "Resume a failed bulk operation",
+            description = "Restarts a bulk operation stopped after repeated errors. It resumes after the last committed batch.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Operation resumed", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ZoneBulkOperationDto.class))),
+                    @ApiResponse(responseCode = "400", description = "The operation has not failed", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "403", description = "Access denied", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Operation not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class)))
+            }
+    )
+    @PostMapping("/events/{eventId}/management/bulk-operations/{operationId}/resume")
+    @PreAuthorize("@organizationalSecurityService.canModifyEvent(#eventId, authentication)")
+    public ResponseEntity<ZoneBulkOperationDto> resumeZoneBulkOperation(
+            @Parameter(description = "ID of the event") @PathVariable Long eventId,
+            @Parameter(description = "ID of the operation") @PathVariable Long operationId) {
+        LoggingUtils.logMethodEntry(log, "resumeZoneBulkOperation", "eventId", eventId, "operationId", operationId);
+        try {
+            ZoneBulkOperationDto operation = zoneBulkOperationService.resumeOperation(eventId, operationId);
+            LoggingUtils.logMethodExit(log, "resumeZoneBulkOperation", operation);
+            return ResponseEntity.ok(operation);
+        } catch (Exception e) {
+            LoggingUtils.logException(log, "Error resuming bulk operation ID " + operationId + " of event ID " + eventId, e);
+            throw e;
+        }
+    }
+
     @Operation(
             summary = "Retrieve event tickets for management",
-            description = "Returns a paginated and filterable list of all tickets for a specific event, intended for staff management.",
+            description = "Returns a paginated and filterable list of all tickets for a specific event, intended for staff management. " +
+                    "Pass the returned nextCursor back as cursor to fetch the next page without offset scanning.",
             security = @SecurityRequirement(name = "bearerAuth"),
             responses = {
                     @ApiResponse(responseCode = "200", description = "Ticket list retrieved", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PaginatedResponseDto.class))),
@@ -317,10 +475,12 @@ public class EventController {
             @Parameter(description = "ID of the event") @PathVariable Long eventId,
             @Parameter(description = "Ticket status to filter by (optional)") @RequestParam(required = false) TicketStatus status,
             @Parameter(description = "Search term to filter tickets (optional)") @RequestParam(required = false) String search,
+            @Parameter(description = "Cursor returned by the previous page (optional, takes precedence over the page number)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Whether to compute the total number of tickets (extra COUNT query)") @RequestParam(defaultValue = "true") boolean includeTotal,
             @ParameterObject Pageable pageable) {
-        LoggingUtils.logMethodEntry(log, "getEventTickets", "eventId", eventId, "status", status, "search", search, "pageable", pageable);
+        LoggingUtils.logMethodEntry(log, "getEventTickets", "eventId", eventId, "status", status, "search", search, "cursor", cursor, "pageable", pageable);
         try {
-            PaginatedResponseDto<TicketResponseDto> tickets = ticketService.getEventTickets(eventId, status, search, pageable);
+            PaginatedResponseDto<TicketResponseDto> tickets = ticketService.getEventTickets(eventId, status, search, cursor, includeTotal, pageable);
             LoggingUtils.logMethodExit(log, "getEventTickets", tickets);
             return ResponseEntity.ok(tickets);
         } catch (Exception e) {
@@ -354,4 +514,146 @@ public class EventController {
             throw e;
         }
     }
+
+    @Operation(
+            summary = "Validate a ticket from its QR code",
+            description = "Marks as USED the ticket matching a scanned QR code. Signed ticket tokens are checked without " +
+                    "a database lookup: forged codes and codes of another event are rejected immediately. Legacy QR codes are still accepted.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Ticket validated successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TicketValidationResponseDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Forged QR code or ticket of another event", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "403", description = "Access denied", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Ticket not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class)))
+            }
+    )
+    @PostMapping("/events/{eventId}/management/tickets/qr/{qrCode}/validate")
+    @PreAuthorize("@organizationalSecurityService.canValidateEventTickets(#eventId, authentication)")
+    public ResponseEntity<TicketValidationResponseDto> validateTicketByQrCode(
+            @Parameter(description = "ID of the event") @PathVariable Long eventId,
+            @Parameter(description = "Value read from the QR code") @PathVariable String qrCode) {
+        LoggingUtils.logMethodEntry(log, "validateTicketByQrCode", "eventId", eventId, "qrCode", qrCode);
+        try {
+            TicketValidationResponseDto result = ticketService.validateTicketByQrCode(eventId, qrCode);
+            LoggingUtils.logMethodExit(log, "validateTicketByQrCode", result);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            LoggingUtils.logException(log, "Error validating QR code for event ID " + eventId, e);
+            throw e;
+        }
+    }
+
+    @Operation(
+            summary = "Validate a batch of ticket scans",
+            description = "Validates in one transaction the scans buffered by a gate scanner (ticket IDs or QR codes with scan times). " +
+                    "Returns one result per scan and broadcasts a single statistics update.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Batch processed", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchTicketValidationResponseDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid batch", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "403", description = "Access denied", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Event not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class)))
+            }
+    )
+    @PostMapping("/events/{eventId}/management/tickets/validate-batch")
+    @PreAuthorize("@organizationalSecurityService.canValidateEventTickets(#eventId, authentication)")
+    public ResponseEntity<BatchTicketValidationResponseDto> validateTicketsBatch(
+            @Parameter(description = "ID of the event") @PathVariable Long eventId,
+            @Valid @RequestBody BatchTicketValidationRequestDto requestDto) {
+        LoggingUtils.logMethodEntry(log, "validateTicketsBatch", "eventId", eventId, "scans", requestDto.getScans().size());
+        try {
+            BatchTicketValidationResponseDto result = ticketService.validateTicketsBatch(eventId, requestDto);
+            LoggingUtils.logMethodExit(log, "validateTicketsBatch", result);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            LoggingUtils.logException(log, "Error validating ticket batch for event ID " + eventId, e);
+            throw e;
+        }
+    }
+
+    @Operation(
+            summary = "Export the offline scanner manifest",
+            description = "Streams a compact binary manifest of the VALID tickets of the event (sorted QR code hashes with zone and status), " +
+                    "so that door devices can validate without a round trip per scan. The header carries the cursor to use for delta sync.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Manifest streamed", content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE)),
+                    @ApiResponse(responseCode = "403", description = "Access denied", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Event not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class)))
+            }
+    )
+    @GetMapping("/events/{eventId}/management/tickets/manifest")
+    @PreAuthorize("@organizationalSecurityService.canValidateEventTickets(#eventId, authentication)")
+    public void exportScannerManifest(
+            @Parameter(description = "ID of the event") @PathVariable Long eventId,
+            HttpServletResponse response) throws IOException {
+        LoggingUtils.logMethodEntry(log, "exportScannerManifest", "eventId", eventId);
+        try {
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"event-" + eventId + "-manifest.bin\"");
+            scannerManifestService.writeManifest(eventId, response.getOutputStream());
+            LoggingUtils.logMethodExit(log, "exportScannerManifest");
+        } catch (Exception e) {
+            LoggingUtils.logException(log, "Error exporting scanner manifest for event ID " + eventId, e);
+            throw e;
+        }
+    }
+
+    @Operation(
+            summary = "Export the changes of the offline scanner manifest",
+            description = "Streams, in the manifest binary format, every ticket changed since the given cursor (new reservations, " +
+                    "cancellations, validations) with its current status. The header carries the cursor for the next call.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Delta streamed", content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE)),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "403", description = "Access denied", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Event not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class)))
+            }
+    )
+    @GetMapping("/events/{eventId}/management/tickets/manifest/delta")
+    @PreAuthorize("@organizationalSecurityService.canValidateEventTickets(#eventId, authentication)")
+    public void exportScannerManifestDelta(
+            @Parameter(description = "ID of the event") @PathVariable Long eventId,
+            @Parameter(description = "Cursor returned in the header of the previous manifest or delta") @RequestParam long since,
+            HttpServletResponse response) throws IOException {
+        LoggingUtils.logMethodEntry(log, "exportScannerManifestDelta", "eventId", eventId, "since", since);
+        try {
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            scannerManifestService.writeDelta(eventId, since, response.getOutputStream());
+            LoggingUtils.logMethodExit(log, "exportScannerManifestDelta");
+        } catch (Exception e) {
+            LoggingUtils.logException(log, "Error exporting scanner manifest delta for event ID " + eventId, e);
+            throw e;
+        }
+    }
+
+    @Operation(
+            summary = "Get the ticket token key of the event",
+            description = "Returns the Ed25519 public key with which door devices verify offline the signed QR codes of the event's " +
+                    "tickets, so that forged codes and codes of other events are rejected without a round trip. The key " +
+                    "cannot be used to sign codes.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Key returned", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TicketTokenKeyDto.class))),
+                    @ApiResponse(responseCode = "403", description = "Access denied", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Event not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class)))
+            }
+    )
+    @GetMapping("/events/{eventId}/management/tickets/token-key")
+    @PreAuthorize("@organizationalSecurityService.canValidateEventTickets(#eventId, authentication)")
+    public ResponseEntity<TicketTokenKeyDto> getTicketTokenKey(
+            @Parameter(description = "ID of the event") @PathVariable Long eventId) {
+        LoggingUtils.logMethodEntry(log, "getTicketTokenKey", "eventId", eventId);
+        try {
+            TicketTokenKeyDto result = scannerManifestService.getTicketTokenKey(eventId);
+            LoggingUtils.logMethodExit(log, "getTicketTokenKey");
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(result);
+        } catch (Exception e) {
+            LoggingUtils.logException(log, "Error retrieving ticket token key for event ID " + eventId, e);
+            throw e;
+        }
+    }
 }
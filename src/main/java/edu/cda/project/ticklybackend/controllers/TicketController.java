@@ -1,17 +1,36 @@
 package edu.cda.project.ticklybackend.controllers;
 
+import edu.cda.project.ticklybackend.dtos.common.PaginatedResponseDto;
 import edu.cda.project.ticklybackend.dtos.ticket.ReservationConfirmationDto;
 import edu.cda.project.ticklybackend.dtos.ticket.ReservationRequestDto;
+import edu.cda.project.ticklybackend.dtos.ticket.SeatHoldRequestDto;
+import edu.cda.project.ticklybackend.dtos.ticket.SeatHoldResponseDto;
+import edu.cda.project.ticklybackend.dtos.ticket.SeatMapDto;
 import edu.cda.project.ticklybackend.dtos.ticket.TicketResponseDto;
+import edu.cda.project.ticklybackend.dtos.ticket.WaitingRoomStatusDto;
+import edu.cda.project.ticklybackend.dtos.ticket.WaitlistEntryDto;
+import edu.cda.project.ticklybackend.dtos.ticket.WaitlistJoinRequestDto;
+import edu.cda.project.ticklybackend.enums.QrImageFormat;
 import edu.cda.project.ticklybackend.services.interfaces.TicketService;
+import edu.cda.project.ticklybackend.services.interfaces.WaitingRoomService;
+import edu.cda.project.ticklybackend.services.interfaces.WaitlistService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,25 +43,137 @@ import java.util.UUID;
 @Tag(name = "Ticketing API", description = "Endpoints for ticket reservation, viewing, and validation.")
 public class TicketController {
 
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final TicketService ticketService;
+    private final WaitlistService waitlistService;
+    private final WaitingRoomService waitingRoomService;
 
-    public TicketController(TicketService ticketService) {
+    public TicketController(TicketService ticketService, WaitlistService waitlistService, WaitingRoomService waitingRoomService) {
         this.ticketService = ticketService;
+        this.waitlistService = waitlistService;
+        this.waitingRoomService = waitingRoomService;
     }
 
     @PostMapping("/reservations")
     @PreAuthorize("isAuthenticated()")
-    @Operation(summary = "Create a new reservation", description = "Creates a new reservation for one or more tickets for a specific event.")
-    public ResponseEntity<ReservationConfirmationDto> createReservation(@Valid @RequestBody ReservationRequestDto requestDto) {
-        ReservationConfirmationDto confirmation = ticketService.createReservation(requestDto);
+    @Operation(summary = "Create a new reservation",
+            description = "Creates a new reservation for one or more tickets for a specific event. " +
+                    "Requests retried with the same Idempotency-Key header wait for or replay the first result " +
+                    "instead of creating another reservation.")
+    public ResponseEntity<ReservationConfirmationDto> createReservation(
+            @Valid @RequestBody ReservationRequestDto requestDto,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        ReservationConfirmationDto confirmation = StringUtils.hasText(idempotencyKey)
+                ? ticketService.createReservation(requestDto, idempotencyKey.trim())
+                : ticketService.createReservation(requestDto);
         return new ResponseEntity<>(confirmation, HttpStatus.CREATED);
     }
 
+    @PostMapping("/events/{eventId}/waiting-room")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Join the waiting room of an event",
+            description = "Places the authenticated user in the virtual waiting room of an event with an on-sale spike. " +
+                    "The returned queue token is used to poll the position and, once admitted, sent with hold and reservation requests.")
+    public ResponseEntity<WaitingRoomStatusDto> joinWaitingRoom(@PathVariable Long eventId) {
+        return new ResponseEntity<>(waitingRoomService.joinWaitingRoom(eventId), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/public/waiting-room/{token}")
+    @Operation(summary = "Get a position in a waiting room (public)",
+            description = "Returns the position and admission state of a queue token. Served from memory; no Authorization header is needed.")
+    public ResponseEntity<WaitingRoomStatusDto> getWaitingRoomStatus(@PathVariable UUID token) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(waitingRoomService.getWaitingRoomStatus(token));
+    }
+
+    @PostMapping("/holds")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Hold places before reserving",
+            description = "Temporarily holds places in an audience zone while the buyer fills in the participant details. " +
+                    "The hold is confirmed by sending its ID with the reservation request; otherwise the places are released when it expires. " +
+                    "A buyer may hold at most 4 places per event at once.")
+    public ResponseEntity<SeatHoldResponseDto> createSeatHold(@Valid @RequestBody SeatHoldRequestDto requestDto) {
+        SeatHoldResponseDto hold = ticketService.createSeatHold(requestDto);
+        return new ResponseEntity<>(hold, HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Release held places", description = "Releases places held by the authenticated user before the hold expires.")
+    public ResponseEntity<Void> releaseSeatHold(@PathVariable UUID holdId) {
+        ticketService.releaseSeatHold(holdId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/events/{eventId}/zones/{zoneId}/seats")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get the seat map of a seated zone",
+            description = "Returns the rows and seats of a seated audience zone with the seats already taken. " +
+                    "Participants may then request a seat by row and number; otherwise the best available seats are assigned.")
+    public ResponseEntity<SeatMapDto> getSeatMap(@PathVariable Long eventId, @PathVariable Long zoneId) {
+        return ResponseEntity.ok(ticketService.getSeatMap(eventId, zoneId));
+    }
+
+    @PostMapping("/waitlist")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Join the waitlist of a full zone",
+            description = "Registers the authenticated user on the waitlist of a full audience zone. When places are freed, " +
+                    "users are promoted in arrival order: the places are held for them and they are notified by e-mail.")
+    public ResponseEntity<WaitlistEntryDto> joinWaitlist(@Valid @RequestBody WaitlistJoinRequestDto requestDto) {
+        WaitlistEntryDto entry = waitlistService.joinWaitlist(requestDto);
+        return new ResponseEntity<>(entry, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/waitlist")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get my waitlist entries",
+            description = "Lists the waiting entries of the authenticated user with their position, and the promoted ones " +
+                    "whose held places can still be confirmed.")
+    public ResponseEntity<List<WaitlistEntryDto>> getMyWaitlistEntries() {
+        return ResponseEntity.ok(waitlistService.getMyWaitlistEntries());
+    }
+
+    @DeleteMapping("/waitlist/{entryId}")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Leave a waitlist", description = "Removes a waitlist entry of the authenticated user and releases the places held on its promotion.")
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable Long entryId) {
+        waitlistService.leaveWaitlist(entryId);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/reservations")
     @PreAuthorize("isAuthenticated()")
-    @Operation(summary = "Get my reservations", description = "Retrieves a list of all reservations made by the authenticated user.")
-    public ResponseEntity<List<ReservationConfirmationDto>> getMyReservations() {
-        List<ReservationConfirmationDto> tickets = ticketService.getMyReservations();
+    @Operation(summary = "Get my reservations",
+            description = "Retrieves the reservations made by the authenticated user as a list, newest first: the 100 most " +
+                    "recent ones by default, or the page given by the page and size parameters. " +
+                    "The list is truncated when more reservations exist: the X-Total-Count header gives the total number " +
+                    "of reservations and the Link header points to the next page (rel=\"next\"). " +
+                    "Clients that page through the history should use /reservations/page.")
+    public ResponseEntity<List<ReservationConfirmationDto>> getMyReservations(
+            @ParameterObject @PageableDefault(size = 100) Pageable pageable) {
+        PaginatedResponseDto<ReservationConfirmationDto> page = ticketService.getMyReservations(pageable);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(page.getTotalItems()));
+        if (page.getCurrentPage() + 1 < page.getTotalPages()) {
+            String nextPage = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("page", page.getCurrentPage() + 1)
+                    .replaceQueryParam("size", page.getPageSize())
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + nextPage + ">; rel=\"next\"");
+        }
+        return response.body(page.getItems());
+    }
+
+    @GetMapping("/reservations/page")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get a page of my reservations",
+            description = "Retrieves a page of the reservations made by the authenticated user, newest first, with the " +
+                    "total number of reservations. The sort parameter is ignored.")
+    public ResponseEntity<PaginatedResponseDto<ReservationConfirmationDto>> getMyReservationsPage(
+            @ParameterObject @PageableDefault(size = 10) Pageable pageable) {
+        PaginatedResponseDto<ReservationConfirmationDto> tickets = ticketService.getMyReservations(pageable);
         return ResponseEntity.ok(tickets);
     }
 
@@ -65,6 +196,19 @@ public class TicketController {
         return ResponseEntity.ok(ticket);
     }
 
+    @GetMapping("/public/tickets/{ticketId}/qr")
+    @Operation(summary = "Get the QR code image of a ticket (public)",
+            description = "Renders the QR code of a ticket as a PNG or SVG image. " +
+                    "Like the ticket details, this endpoint is public and secured by the ticket's UUID.")
+    public ResponseEntity<byte[]> getTicketQrCode(@PathVariable UUID ticketId,
+                                                  @RequestParam(defaultValue = "PNG") QrImageFormat format) {
+        byte[] image = ticketService.getTicketQrCode(ticketId, format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(1)).cachePrivate())
+                .body(image);
+    }
+
     @DeleteMapping("/reservations/{reservationId}")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Cancel a reservation",
@@ -23,6 +23,25 @@ public class PaginatedResponseDto<T> {
     private int pageSize;
     private int totalPages;
 
+    /**
+     * Opaque cursor to pass back to fetch the next page with keyset pagination.
+     * Only set by endpoints that support it, and null when there is no next page.
+     */
+    private String nextCursor;
+
+    /**
+     * Builds a PaginatedResponseDto without cursor, for endpoints using offset pagination.
+     *
+     * @param items       the items of the page
+     * @param totalItems  the total number of items
+     * @param currentPage the page number, starting at 0
+     * @param pageSize    the requested page size
+     * @param totalPages  the total number of pages
+     */
+    public PaginatedResponseDto(List<T> items, long totalItems, int currentPage, int pageSize, int totalPages) {
+        this(items, totalItems, currentPage, pageSize, totalPages, null);
+    }
+
     /**
      * Builds a PaginatedResponseDto from a Spring Data Page.
      *
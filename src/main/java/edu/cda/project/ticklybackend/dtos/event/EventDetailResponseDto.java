@@ -37,6 +37,8 @@ public class EventDetailResponseDto {
     private EventStatus status;
     private boolean displayOnHomepage;
     private boolean isFeaturedEvent;
+    private boolean waitingRoomEnabled;
+    private Integer waitingRoomAdmissionRate;
     private ZonedDateTime createdAt;
     private ZonedDateTime updatedAt;
     private List<EventAreaSummaryDto> areas;
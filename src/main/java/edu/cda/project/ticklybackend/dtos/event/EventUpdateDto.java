@@ -4,6 +4,8 @@ import edu.cda.project.ticklybackend.dtos.structure.AddressDto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -55,4 +57,12 @@ public class EventUpdateDto {
 
     @Schema(description = "Update whether the event is featured.", example = "true")
     private Boolean isFeaturedEvent;
+
+    @Schema(description = "Enable or disable the virtual waiting room for on-sale spikes.", example = "true")
+    private Boolean waitingRoomEnabled;
+
+    @Schema(description = "Number of buyers admitted per second from the waiting room.", example = "50")
+    @Min(value = 1, message = "Le débit d'admission doit être d'au moins 1 acheteur par seconde.")
+    @Max(value = 10000, message = "Le débit d'admission ne doit pas dépasser 10000 acheteurs par seconde.")
+    private Integer waitingRoomAdmissionRate;
 }
\ No newline at end of file
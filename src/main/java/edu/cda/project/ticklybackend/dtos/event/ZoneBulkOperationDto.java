@@ -0,0 +1,56 @@
+package edu.cda.project.ticklybackend.dtos.event;
+
+import edu.cda.project.ticklybackend.enums.ZoneBulkOperationStatus;
+import edu.cda.project.ticklybackend.enums.ZoneBulkOperationType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bulk operation on the tickets of an audience zone, with its progress.")
+public class ZoneBulkOperationDto {
+
+    @Schema(description = "ID of the operation.", example = "3")
+    private Long id;
+
+    @Schema(description = "Event ID.", example = "1")
+    private Long eventId;
+
+    @Schema(description = "Audience zone ID.", example = "1")
+    private Long audienceZoneId;
+
+    @Schema(description = "Kind of operation.")
+    private ZoneBulkOperationType type;
+
+    @Schema(description = "PENDING until the first batch, RUNNING, then COMPLETED; FAILED after repeated errors, until resumed.")
+    private ZoneBulkOperationStatus status;
+
+    @Schema(description = "Allocated capacity set on the zone when the operation started, null if unchanged.", example = "200")
+    private Integer newCapacity;
+
+    @Schema(description = "Number of tickets the operation cancels.", example = "1200")
+    private int targetCount;
+
+    @Schema(description = "Number of tickets cancelled so far.", example = "500")
+    private int processedCount;
+
+    @Schema(description = "Only tickets reserved up to this time are cancelled.")
+    private Instant cutoff;
+
+    @Schema(description = "Last error met while processing, if any.")
+    private String lastError;
+
+    @Schema(description = "Time at which the operation was started.")
+    private Instant createdAt;
+
+    @Schema(description = "Time of the last progress.")
+    private Instant updatedAt;
+
+    @Schema(description = "Time at which the operation completed.")
+    private Instant completedAt;
+}
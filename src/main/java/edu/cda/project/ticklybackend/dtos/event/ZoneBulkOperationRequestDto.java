@@ -0,0 +1,26 @@
+package edu.cda.project.ticklybackend.dtos.event;
+
+import edu.cda.project.ticklybackend.enums.ZoneBulkOperationType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+@Schema(description = "Request to start a bulk operation on the tickets of an audience zone.")
+public class ZoneBulkOperationRequestDto {
+
+    @NotNull(message = "Le type d'opération est requis.")
+    @Schema(description = "CANCEL_ALL cancels every valid ticket and closes the zone to sales, CANCEL_MOST_RECENT cancels " +
+            "the given number of most recent tickets, REDUCE_CAPACITY lowers the allocated capacity and cancels the most " +
+            "recent tickets sold beyond it.")
+    private ZoneBulkOperationType type;
+
+    @Min(value = 1, message = "Le nombre de billets à annuler doit être au moins 1.")
+    @Schema(description = "Number of most recent tickets to cancel (CANCEL_MOST_RECENT only).", example = "50")
+    private Integer count;
+
+    @Min(value = 0, message = "La nouvelle capacité ne peut pas être négative.")
+    @Schema(description = "New allocated capacity of the zone (REDUCE_CAPACITY only).", example = "200")
+    private Integer newCapacity;
+}
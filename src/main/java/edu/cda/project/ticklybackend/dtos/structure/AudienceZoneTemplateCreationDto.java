@@ -2,6 +2,7 @@ package edu.cda.project.ticklybackend.dtos.structure;
 
 import edu.cda.project.ticklybackend.enums.SeatingType;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -34,4 +35,14 @@ public class AudienceZoneTemplateCreationDto {
 
     @Schema(description = "Statut d'activité de ce modèle de zone. Par défaut à true si non fourni.", example = "true")
     private Boolean isActive = true;
+
+    @Min(value = 1, message = "Le plan de salle doit avoir au moins un rang.")
+    @Max(value = 500, message = "Le plan de salle ne peut pas dépasser 500 rangs.")
+    @Schema(description = "Nombre de rangs du plan de salle (zones SEATED uniquement).", example = "30")
+    private Integer seatRows;
+
+    @Min(value = 1, message = "Un rang doit avoir au moins un siège.")
+    @Max(value = 500, message = "Un rang ne peut pas dépasser 500 sièges.")
+    @Schema(description = "Nombre de sièges par rang du plan de salle (zones SEATED uniquement).", example = "100")
+    private Integer seatsPerRow;
 }
\ No newline at end of file
@@ -27,6 +27,12 @@ public class AudienceZoneTemplateResponseDto {
     @Schema(description = "Type de placement pour cette zone.", example = "STANDING")
     private SeatingType seatingType;
 
+    @Schema(description = "Nombre de rangs du plan de salle, null sans placement numéroté.", example = "30")
+    private Integer seatRows;
+
+    @Schema(description = "Nombre de sièges par rang du plan de salle, null sans placement numéroté.", example = "100")
+    private Integer seatsPerRow;
+
     @Schema(description = "Statut d'activité de ce modèle de zone.", example = "true")
     private boolean isActive;
 
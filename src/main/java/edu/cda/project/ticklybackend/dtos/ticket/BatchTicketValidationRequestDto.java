@@ -0,0 +1,18 @@
+package edu.cda.project.ticklybackend.dtos.ticket;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Schema(description = "Request to validate a batch of ticket scans buffered by a scanner.")
+public class BatchTicketValidationRequestDto {
+
+    @NotNull
+    @Size(min = 1, max = 500, message = "Un lot doit contenir entre 1 et 500 scans.")
+    @Schema(description = "Scans to validate, in the order they were recorded.")
+    private List<TicketScanDto> scans;
+}
@@ -0,0 +1,24 @@
+package edu.cda.project.ticklybackend.dtos.ticket;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of a batch ticket validation.")
+public class BatchTicketValidationResponseDto {
+
+    @Schema(description = "Number of tickets validated by this batch.")
+    private int validatedCount;
+
+    @Schema(description = "Number of scans that did not validate a ticket.")
+    private int rejectedCount;
+
+    @Schema(description = "One result per scan, in the order of the request.")
+    private List<TicketScanResultDto> results;
+}
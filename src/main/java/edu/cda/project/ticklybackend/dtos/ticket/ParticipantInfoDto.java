@@ -2,6 +2,7 @@ package edu.cda.project.ticklybackend.dtos.ticket;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
@@ -30,4 +31,15 @@ public class ParticipantInfoDto {
     @Schema(description = "Whether the ticket should be sent by email.", example = "false")
     private Boolean sendTicketByEmail = false;
 
+    @Schema(description = "Audience zone of this participant's ticket. Defaults to the audienceZoneId of the reservation.", example = "2")
+    private Long audienceZoneId;
+
+    @Min(1)
+    @Schema(description = "Requested seat row in a seated zone (1 = front row). Leave empty, with seatNumber, to get the best available seat.", example = "3")
+    private Integer seatRow;
+
+    @Min(1)
+    @Schema(description = "Requested seat number in the row, in a seated zone.", example = "12")
+    private Integer seatNumber;
+
 }
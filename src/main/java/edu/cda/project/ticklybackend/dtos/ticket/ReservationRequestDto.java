@@ -7,6 +7,7 @@ import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 import java.util.List;
+import java.util.UUID;
 
 @Data
 @Schema(description = "Request to create a reservation for one or more tickets.")
@@ -16,13 +17,19 @@ public class ReservationRequestDto {
     @Schema(description = "Event ID for which tickets are reserved.", example = "1")
     private Long eventId;
 
-    @NotNull(message = "L'ID de la zone d'audience est requis.")
-    @Schema(description = "Audience zone ID within the event.", example = "1")
+    @Schema(description = "Default audience zone ID within the event, for the participants that do not specify their own zone. " +
+            "Required unless every participant has an audienceZoneId.", example = "1")
     private Long audienceZoneId;
 
     @Valid
     @NotNull
     @Size(min = 1, max = 4, message = "Vous pouvez réserver entre 1 et 4 billets à la fois.")
-    @Schema(description = "List of participants for whom tickets are reserved.")
+    @Schema(description = "List of participants for whom tickets are reserved. Participants may be spread across several zones of the event.")
     private List<ParticipantInfoDto> participants;
+
+    @Schema(description = "Optional ID of a seat hold to confirm. The number of participants must match the held places.")
+    private UUID holdId;
+
+    @Schema(description = "Admitted queue token, required when the event has an open waiting room and no hold is confirmed.")
+    private UUID waitingRoomToken;
 }
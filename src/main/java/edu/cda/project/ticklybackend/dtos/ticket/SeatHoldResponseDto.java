@@ -0,0 +1,31 @@
+package edu.cda.project.ticklybackend.dtos.ticket;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Places temporarily held for a buyer.")
+public class SeatHoldResponseDto {
+
+    @Schema(description = "ID of the hold, to send with the reservation request.")
+    private UUID holdId;
+
+    @Schema(description = "Event ID.", example = "1")
+    private Long eventId;
+
+    @Schema(description = "Audience zone ID.", example = "1")
+    private Long audienceZoneId;
+
+    @Schema(description = "Number of held places.", example = "2")
+    private int seats;
+
+    @Schema(description = "Time after which the places are released if the reservation is not confirmed.")
+    private Instant expiresAt;
+}
@@ -0,0 +1,31 @@
+package edu.cda.project.ticklybackend.dtos.ticket;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Seat availability of a seated audience zone.")
+public class SeatMapDto {
+
+    @Schema(description = "Audience zone ID.", example = "1")
+    private Long audienceZoneId;
+
+    @Schema(description = "Number of rows, row 1 being the closest to the stage.", example = "20")
+    private int rows;
+
+    @Schema(description = "Number of seats per row.", example = "30")
+    private int seatsPerRow;
+
+    @Schema(description = "Number of free seats.", example = "412")
+    private int availableSeats;
+
+    @Schema(description = "Occupancy of each row, one character per seat from seat 1: '1' taken, '0' free.",
+            example = "[\"0011100000\", \"0000000000\"]")
+    private List<String> seatRows;
+}
@@ -0,0 +1,27 @@
+package edu.cda.project.ticklybackend.dtos.ticket;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Ticket changes recorded in the journal during one UTC day.")
+public class TicketJournalDailyRollupDto {
+
+    @Schema(description = "UTC day.", example = "2026-06-21")
+    private LocalDate date;
+
+    @Schema(description = "Tickets issued that day.", example = "340")
+    private long createdCount;
+
+    @Schema(description = "Tickets scanned at the door that day.", example = "0")
+    private long validatedCount;
+
+    @Schema(description = "Tickets cancelled that day.", example = "7")
+    private long cancelledCount;
+}
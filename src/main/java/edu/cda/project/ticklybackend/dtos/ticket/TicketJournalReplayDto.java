@@ -0,0 +1,39 @@
+package edu.cda.project.ticklybackend.dtos.ticket;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Projections computed by replaying the ticket journal of an event.")
+public class TicketJournalReplayDto {
+
+    @Schema(description = "Event ID.", example = "1")
+    private Long eventId;
+
+    @Schema(description = "Number of journal entries replayed.", example = "2450")
+    private long replayedEntries;
+
+    @Schema(description = "ID of the last journal entry replayed, 0 if the journal of the event is empty.", example = "98211")
+    private long lastSequence;
+
+    @Schema(description = "Valid tickets of the event.", example = "1800")
+    private long validCount;
+
+    @Schema(description = "Used (scanned) tickets of the event.", example = "500")
+    private long usedCount;
+
+    @Schema(description = "Cancelled tickets of the event.", example = "150")
+    private long cancelledCount;
+
+    @Schema(description = "Ticket counts of each audience zone of the event, according to the journal.")
+    private List<TicketJournalZoneCountsDto> zones;
+
+    @Schema(description = "Tickets issued, validated and cancelled per UTC day, oldest first.")
+    private List<TicketJournalDailyRollupDto> days;
+}
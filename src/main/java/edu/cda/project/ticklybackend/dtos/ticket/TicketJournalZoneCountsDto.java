@@ -0,0 +1,25 @@
+package edu.cda.project.ticklybackend.dtos.ticket;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Ticket counts of an audience zone computed from the ticket journal.")
+public class TicketJournalZoneCountsDto {
+
+    @Schema(description = "Audience zone ID.", example = "1")
+    private Long audienceZoneId;
+
+    @Schema(description = "Sold tickets (valid and used).", example = "230")
+    private long soldCount;
+
+    @Schema(description = "Used (scanned) tickets.", example = "80")
+    private long usedCount;
+
+    @Schema(description = "Cancelled tickets.", example = "12")
+    private long cancelledCount;
+}
@@ -40,6 +40,12 @@ public class TicketResponseDto {
 
     private Instant validatedAt;
 
+    @Schema(description = "Rang du siège attribué, pour les zones avec plan de salle.", example = "12")
+    private Integer seatRow;
+
+    @Schema(description = "Numéro du siège dans le rang, pour les zones avec plan de salle.", example = "48")
+    private Integer seatNumber;
+
     @Data
     @Schema(name = "EventTicketSnapshot", description = "Instantané des informations clés de l'événement.")
     public static class EventTicketSnapshotDto {
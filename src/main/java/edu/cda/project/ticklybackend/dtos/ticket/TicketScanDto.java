@@ -0,0 +1,28 @@
+package edu.cda.project.ticklybackend.dtos.ticket;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A single scan buffered by a gate scanner.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A ticket scan recorded by a scanner. Either the ticket ID or the QR code value is required.")
+public class TicketScanDto {
+
+    @Schema(description = "ID of the scanned ticket.")
+    private UUID ticketId;
+
+    @Schema(description = "Value of the scanned QR code, used when the ticket ID is not provided.")
+    private String qrCode;
+
+    @Schema(description = "Time of the scan on the device. Defaults to the reception time; future values are capped to it.")
+    private Instant scannedAt;
+}
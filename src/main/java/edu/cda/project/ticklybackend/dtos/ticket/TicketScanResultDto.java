@@ -0,0 +1,39 @@
+package edu.cda.project.ticklybackend.dtos.ticket;
+
+import edu.cda.project.ticklybackend.enums.TicketScanOutcome;
+import edu.cda.project.ticklybackend.enums.TicketStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of a single scan of a validation batch.")
+public class TicketScanResultDto {
+
+    @Schema(description = "ID of the ticket, when it could be resolved.")
+    private UUID ticketId;
+
+    @Schema(description = "QR code value sent by the scanner, if any.")
+    private String qrCode;
+
+    @Schema(description = "Outcome of the scan.")
+    private TicketScanOutcome outcome;
+
+    @Schema(description = "Status of the ticket after the batch.")
+    private TicketStatus status;
+
+    @Schema(description = "Human readable message.", example = "Billet validé avec succès.")
+    private String message;
+
+    @Schema(description = "Participant information for a quick check.")
+    private ParticipantInfoDto participant;
+
+    @Schema(description = "Validation time of the ticket.")
+    private Instant validatedAt;
+}
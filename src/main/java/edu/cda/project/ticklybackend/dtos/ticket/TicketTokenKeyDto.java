@@ -0,0 +1,28 @@
+package edu.cda.project.ticklybackend.dtos.ticket;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Public key allowing offline scanners to verify the signed ticket tokens of one event. It cannot sign tokens.")
+public class TicketTokenKeyDto {
+
+    @Schema(description = "ID of the event the key belongs to.", example = "42")
+    private Long eventId;
+
+    @Schema(description = "Version of the token format.", example = "2")
+    private int version;
+
+    @Schema(description = "Signature algorithm.", example = "Ed25519")
+    private String algorithm;
+
+    @Schema(description = "Number of signature bytes at the end of the token.", example = "64")
+    private int signatureLength;
+
+    @Schema(description = "Base64-encoded public key (X.509 SubjectPublicKeyInfo, DER).")
+    private String key;
+}
@@ -0,0 +1,34 @@
+package edu.cda.project.ticklybackend.dtos.ticket;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Place of a buyer in the virtual waiting room of an event.")
+public class WaitingRoomStatusDto {
+
+    @Schema(description = "Queue token, to poll the position and to send with hold and reservation requests once admitted.")
+    private UUID token;
+
+    @Schema(description = "Event ID.", example = "1")
+    private Long eventId;
+
+    @Schema(description = "Position in the queue (1 = next to be admitted), 0 once admitted.", example = "1250")
+    private long position;
+
+    @Schema(description = "Whether the buyer may now hold places and reserve.", example = "false")
+    private boolean admitted;
+
+    @Schema(description = "Time until which the admission is valid, null while waiting.")
+    private Instant admittedUntil;
+
+    @Schema(description = "Estimated wait before admission, in seconds.", example = "25")
+    private long estimatedWaitSeconds;
+}
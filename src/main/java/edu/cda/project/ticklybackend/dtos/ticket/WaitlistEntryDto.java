@@ -0,0 +1,50 @@
+package edu.cda.project.ticklybackend.dtos.ticket;
+
+import edu.cda.project.ticklybackend.enums.WaitlistStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Waitlist entry of the authenticated user.")
+public class WaitlistEntryDto {
+
+    @Schema(description = "ID of the entry.", example = "12")
+    private Long id;
+
+    @Schema(description = "Event ID.", example = "1")
+    private Long eventId;
+
+    @Schema(description = "Event name.", example = "Concert de Jazz")
+    private String eventName;
+
+    @Schema(description = "Audience zone ID.", example = "1")
+    private Long audienceZoneId;
+
+    @Schema(description = "Audience zone name.", example = "Fosse")
+    private String audienceZoneName;
+
+    @Schema(description = "Number of places wanted.", example = "2")
+    private int seats;
+
+    @Schema(description = "WAITING while in the queue, PROMOTED once places are held for the user.")
+    private WaitlistStatus status;
+
+    @Schema(description = "1-based position in the queue of the zone, 0 once promoted.", example = "3")
+    private int position;
+
+    @Schema(description = "Time at which the user joined the waitlist.")
+    private Instant createdAt;
+
+    @Schema(description = "ID of the hold created on promotion, to send with the reservation request.")
+    private UUID holdId;
+
+    @Schema(description = "Time after which the places held on promotion are released.")
+    private Instant holdExpiresAt;
+}
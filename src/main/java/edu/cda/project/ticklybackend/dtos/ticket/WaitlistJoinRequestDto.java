@@ -0,0 +1,26 @@
+package edu.cda.project.ticklybackend.dtos.ticket;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+@Schema(description = "Request to join the waitlist of a full audience zone.")
+public class WaitlistJoinRequestDto {
+
+    @NotNull(message = "L'ID de l'événement est requis.")
+    @Schema(description = "Event ID.", example = "1")
+    private Long eventId;
+
+    @NotNull(message = "L'ID de la zone d'audience est requis.")
+    @Schema(description = "Audience zone ID within the event.", example = "1")
+    private Long audienceZoneId;
+
+    @NotNull(message = "Le nombre de places est requis.")
+    @Min(value = 1, message = "Vous pouvez attendre entre 1 et 4 places à la fois.")
+    @Max(value = 4, message = "Vous pouvez attendre entre 1 et 4 places à la fois.")
+    @Schema(description = "Number of places wanted.", example = "2")
+    private Integer seats;
+}
@@ -0,0 +1,26 @@
+package edu.cda.project.ticklybackend.enums;
+
+/**
+ * Lifecycle of a message stored in the mail outbox.
+ */
+public enum MailOutboxStatus {
+    /**
+     * Waiting to be sent (first attempt or retry scheduled).
+     */
+    PENDING,
+
+    /**
+     * Claimed by a dispatcher. If the dispatcher dies, the message becomes claimable again once its lease expires.
+     */
+    SENDING,
+
+    /**
+     * Successfully handed over to the mail provider.
+     */
+    SENT,
+
+    /**
+     * Abandoned after the maximum number of attempts.
+     */
+    FAILED
+}
@@ -0,0 +1,27 @@
+package edu.cda.project.ticklybackend.enums;
+
+/**
+ * Kinds of e-mails that are delivered through the mail outbox.
+ * Each type determines how the JSON payload of the message is interpreted.
+ */
+public enum MailOutboxType {
+    /**
+     * Links to all the tickets of a reservation, sent to the buyer.
+     */
+    TICKET_RECEIPT,
+
+    /**
+     * Link to a single ticket, sent to a participant.
+     */
+    INDIVIDUAL_TICKET,
+
+    /**
+     * Notification that places have been held for a buyer waiting on the waitlist of a zone.
+     */
+    WAITLIST_PROMOTION,
+
+    /**
+     * Notification that tickets of a buyer were cancelled by a bulk operation of the organizer.
+     */
+    ZONE_TICKETS_CANCELLED
+}
@@ -0,0 +1,32 @@
+package edu.cda.project.ticklybackend.enums;
+
+/**
+ * Image formats in which ticket QR codes can be rendered.
+ */
+public enum QrImageFormat {
+    /**
+     * 1-bit grayscale PNG, suited for e-mail attachments and printing.
+     */
+    PNG("image/png", "png"),
+
+    /**
+     * SVG paths, scalable and lighter for web clients.
+     */
+    SVG("image/svg+xml", "svg");
+
+    private final String mediaType;
+    private final String extension;
+
+    QrImageFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,26 @@
+package edu.cda.project.ticklybackend.enums;
+
+/**
+ * Lifecycle events recorded in the ticket journal. Each type is recorded at most once per ticket.
+ */
+public enum TicketJournalEventType {
+    /**
+     * The ticket was issued by a reservation (status VALID).
+     */
+    CREATED,
+
+    /**
+     * The ticket was cancelled (VALID to CANCELLED).
+     */
+    CANCELLED,
+
+    /**
+     * The ticket was scanned at the door (VALID to USED).
+     */
+    VALIDATED,
+
+    /**
+     * The participant data of the ticket was anonymized after its buyer deleted their account.
+     */
+    ANONYMIZED
+}
@@ -0,0 +1,46 @@
+package edu.cda.project.ticklybackend.enums;
+
+/**
+ * Outcome of a single scan processed by a batch ticket validation.
+ */
+public enum TicketScanOutcome {
+    /**
+     * The ticket was VALID and is now USED.
+     */
+    VALIDATED,
+
+    /**
+     * The ticket had already been used before this batch.
+     */
+    ALREADY_USED,
+
+    /**
+     * The ticket is cancelled or expired.
+     */
+    NOT_VALID,
+
+    /**
+     * No ticket of the event matches the scan (or the scan carries no identifier).
+     */
+    NOT_FOUND,
+
+    /**
+     * The scan was recorded after the end of the event.
+     */
+    EVENT_ENDED,
+
+    /**
+     * The same ticket was already scanned earlier in the batch.
+     */
+    DUPLICATE,
+
+    /**
+     * The QR code has the shape of a signed ticket token but its signature does not match.
+     */
+    FORGED,
+
+    /**
+     * The QR code is a valid signed ticket token of another event.
+     */
+    WRONG_EVENT
+}
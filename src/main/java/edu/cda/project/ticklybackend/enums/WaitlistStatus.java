@@ -0,0 +1,31 @@
+package edu.cda.project.ticklybackend.enums;
+
+/**
+ * Defines the possible statuses of a waitlist entry.
+ */
+public enum WaitlistStatus {
+    /**
+     * The buyer is waiting in the queue of the zone.
+     */
+    WAITING,
+
+    /**
+     * Places have been freed and held for the buyer, who has been notified.
+     */
+    PROMOTED,
+
+    /**
+     * The buyer booked the places held for them.
+     */
+    CONFIRMED,
+
+    /**
+     * The places held for the buyer expired before being booked.
+     */
+    EXPIRED,
+
+    /**
+     * The buyer left the waitlist.
+     */
+    LEFT
+}
@@ -0,0 +1,26 @@
+package edu.cda.project.ticklybackend.enums;
+
+/**
+ * Defines the possible statuses of a bulk operation on a zone.
+ */
+public enum ZoneBulkOperationStatus {
+    /**
+     * The operation is recorded and waits for its first batch.
+     */
+    PENDING,
+
+    /**
+     * At least one batch has been committed.
+     */
+    RUNNING,
+
+    /**
+     * All the targeted tickets have been processed.
+     */
+    COMPLETED,
+
+    /**
+     * Processing stopped after repeated errors; the operation can be resumed.
+     */
+    FAILED
+}
@@ -0,0 +1,21 @@
+package edu.cda.project.ticklybackend.enums;
+
+/**
+ * Kinds of bulk operations an organizer can run on the tickets of an event audience zone.
+ */
+public enum ZoneBulkOperationType {
+    /**
+     * Cancels every valid ticket of the zone and closes it to sales.
+     */
+    CANCEL_ALL,
+
+    /**
+     * Cancels the given number of most recently reserved valid tickets; the places go back on sale.
+     */
+    CANCEL_MOST_RECENT,
+
+    /**
+     * Lowers the allocated capacity of the zone and cancels the most recent tickets sold beyond it.
+     */
+    REDUCE_CAPACITY
+}
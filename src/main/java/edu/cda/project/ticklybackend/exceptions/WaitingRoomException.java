@@ -0,0 +1,19 @@
+package edu.cda.project.ticklybackend.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a buyer tries to reserve for an event with an open waiting room without having been
+ * admitted from it.
+ */
+public class WaitingRoomException extends BaseException {
+
+    /**
+     * Creates a new exception with the specified message.
+     *
+     * @param message the detail message
+     */
+    public WaitingRoomException(String message) {
+        super(message, HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
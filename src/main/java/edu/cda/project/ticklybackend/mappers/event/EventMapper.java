@@ -28,6 +28,8 @@ public abstract class EventMapper {
     @Mapping(target = "eventPhotoPaths", ignore = true)
     @Mapping(target = "status", constant = "DRAFT")
     @Mapping(target = "audienceZones", ignore = true) // Géré manuellement dans le service
+    @Mapping(target = "waitingRoomEnabled", ignore = true)
+    @Mapping(target = "waitingRoomAdmissionRate", ignore = true)
     @Mapping(target = "featuredEvent", source = "isFeaturedEvent", defaultValue = "false")
     @Mapping(target = "displayOnHomepage", source = "displayOnHomepage", defaultValue = "false")
     public abstract Event toEntity(EventCreationDto dto);
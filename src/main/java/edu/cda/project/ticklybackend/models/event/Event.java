@@ -103,4 +103,15 @@ public class Event {
 
     @Column(nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
     private boolean deleted = false;
+
+    /**
+     * Active la salle d'attente virtuelle : les acheteurs doivent y être admis avant de réserver.
+     */
+    @Column(nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+    private boolean waitingRoomEnabled = false;
+
+    /**
+     * Nombre d'acheteurs admis par seconde depuis la salle d'attente (valeur par défaut de l'application si null).
+     */
+    private Integer waitingRoomAdmissionRate;
 }
@@ -15,7 +15,8 @@ import lombok.Setter;
 public class EventAudienceZone {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_audience_zone_seq")
+    @SequenceGenerator(name = "event_audience_zone_seq", sequenceName = "event_audience_zone_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -37,6 +38,28 @@ public class EventAudienceZone {
     private int allocatedCapacity;
 
 
+    // COMPTEURS DÉNORMALISÉS
+    /**
+     * Number of active tickets (VALID or USED) in this zone.
+     * Maintained by conditional UPDATE statements in the ticketing transactions
+     * (see {@code EventAudienceZoneRepository}); never written back by entity updates.
+     */
+    @Column(name = "sold_count", nullable = false, updatable = false)
+    private int soldCount;
+
+    /**
+     * Number of tickets of this zone that have been scanned (USED).
+     */
+    @Column(name = "used_count", nullable = false, updatable = false)
+    private int usedCount;
+
+    /**
+     * Number of tickets of this zone that have been cancelled.
+     */
+    @Column(name = "cancelled_count", nullable = false, updatable = false)
+    private int cancelledCount;
+
+
     // RELATION EXISTANTE
     /**
      * The event this zone configuration belongs to.
@@ -57,6 +80,7 @@ public class EventAudienceZone {
                 "id=" + id +
                 ", templateId=" + (template != null ? template.getId() : "null") +
                 ", allocatedCapacity=" + allocatedCapacity +
+                ", soldCount=" + soldCount +
                 ", eventId=" + (event != null ? event.getId() : "null") +
                 '}';
     }
@@ -0,0 +1,109 @@
+package edu.cda.project.ticklybackend.models.event;
+
+import edu.cda.project.ticklybackend.enums.ZoneBulkOperationStatus;
+import edu.cda.project.ticklybackend.enums.ZoneBulkOperationType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Opération de masse lancée par un organisateur sur les billets d'une zone d'audience (annulation de tous les
+ * billets, des N plus récents, ou réduction de la capacité allouée).
+ * <p>
+ * Les billets visés sont fixés au lancement : billets VALID réservés jusqu'à {@code cutoff}, les plus récents
+ * d'abord, dans la limite de {@code targetCount}. L'opération est traitée par lots, chacun dans sa propre
+ * transaction qui enregistre aussi l'avancement ({@code processedCount}) : après un redémarrage, le traitement
+ * reprend au lot suivant.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "zone_bulk_operations")
+public class ZoneBulkOperation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, updatable = false)
+    private Long eventId;
+
+    @Column(name = "event_audience_zone_id", nullable = false, updatable = false)
+    private Long zoneId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private ZoneBulkOperationType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ZoneBulkOperationStatus status = ZoneBulkOperationStatus.PENDING;
+
+    /**
+     * Utilisateur ayant lancé l'opération.
+     */
+    @Column(name = "requested_by", nullable = false, updatable = false)
+    private Long requestedBy;
+
+    /**
+     * Capacité allouée à la zone au lancement, null si l'opération ne la modifie pas.
+     */
+    @Column(name = "new_capacity", updatable = false)
+    private Integer newCapacity;
+
+    /**
+     * Seuls les billets réservés jusqu'à cette date sont concernés : les ventes suivantes ne sont jamais annulées.
+     */
+    @Column(nullable = false, updatable = false)
+    private Instant cutoff;
+
+    @Column(name = "target_count", nullable = false, updatable = false)
+    private int targetCount;
+
+    @Column(name = "processed_count", nullable = false)
+    private int processedCount;
+
+    /**
+     * Nombre d'échecs consécutifs, remis à zéro à chaque lot validé.
+     */
+    @Column(nullable = false)
+    private int failures;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    public ZoneBulkOperation(Long eventId, Long zoneId, ZoneBulkOperationType type, Long requestedBy,
+                             Integer newCapacity, Instant cutoff, int targetCount) {
+        this.eventId = eventId;
+        this.zoneId = zoneId;
+        this.type = type;
+        this.requestedBy = requestedBy;
+        this.newCapacity = newCapacity;
+        this.cutoff = cutoff;
+        this.targetCount = targetCount;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = Instant.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = Instant.now();
+    }
+}
@@ -0,0 +1,78 @@
+package edu.cda.project.ticklybackend.models.mailing;
+
+import edu.cda.project.ticklybackend.enums.MailOutboxStatus;
+import edu.cda.project.ticklybackend.enums.MailOutboxType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * E-mail à envoyer, enregistré dans la même transaction que l'opération métier qui le déclenche
+ * (outbox transactionnelle). Les messages sont ensuite envoyés en arrière-plan par
+ * {@code MailOutboxDispatchTask}, avec de nouvelles tentatives en cas d'échec.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "mail_outbox")
+public class MailOutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mail_outbox_seq")
+    @SequenceGenerator(name = "mail_outbox_seq", sequenceName = "mail_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MailOutboxType type;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    /**
+     * Paramètres du message sérialisés en JSON (nom du destinataire, événement, billets...).
+     */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MailOutboxStatus status = MailOutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    /**
+     * Date à partir de laquelle le message peut être (re)pris par un dispatcher.
+     * Pour un message SENDING, sert de bail : passé cette date, le message est considéré comme abandonné.
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "sent_at")
+    private Instant sentAt;
+
+    public MailOutboxMessage(MailOutboxType type, String recipient, String payload) {
+        this.type = type;
+        this.recipient = recipient;
+        this.payload = payload;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = Instant.now();
+        if (this.nextAttemptAt == null) {
+            this.nextAttemptAt = this.createdAt;
+        }
+    }
+}
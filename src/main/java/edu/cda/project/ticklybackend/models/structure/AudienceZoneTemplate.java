@@ -18,7 +18,8 @@ import java.util.List;
 public class AudienceZoneTemplate {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audience_zone_template_seq")
+    @SequenceGenerator(name = "audience_zone_template_seq", sequenceName = "audience_zone_template_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -34,6 +35,16 @@ public class AudienceZoneTemplate {
     @Column(nullable = false, length = 50)
     private SeatingType seatingType;
 
+    /**
+     * Plan de salle d'une zone assise : nombre de rangs et nombre de sièges par rang.
+     * Null pour les zones sans placement numéroté.
+     */
+    @Column(name = "seat_rows")
+    private Integer seatRows;
+
+    @Column(name = "seats_per_row")
+    private Integer seatsPerRow;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "area_id", nullable = false)
     @JsonBackReference // Prevents serialization loop
@@ -50,6 +61,13 @@ public class AudienceZoneTemplate {
     @OneToMany(mappedBy = "template", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<EventAudienceZone> eventAudienceZones;
 
+    /**
+     * @return true si la zone a un plan de salle : chaque billet y reçoit alors un siège.
+     */
+    public boolean hasSeatMap() {
+        return seatingType == SeatingType.SEATED && seatRows != null && seatsPerRow != null;
+    }
+
     @Override
     public String toString() {
         return "AudienceZoneTemplate{" +
@@ -58,6 +76,8 @@ public class AudienceZoneTemplate {
                 ", maxCapacity=" + maxCapacity +
                 ", isActive=" + isActive +
                 ", seatingType=" + seatingType +
+                ", seatRows=" + seatRows +
+                ", seatsPerRow=" + seatsPerRow +
                 ", areaId=" + (area != null ? area.getId() : "null") +
                 '}';
     }
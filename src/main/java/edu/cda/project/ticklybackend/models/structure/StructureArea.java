@@ -25,7 +25,8 @@ import java.util.List;
 public class StructureArea {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "structure_areas_seq")
+    @SequenceGenerator(name = "structure_areas_seq", sequenceName = "structure_areas_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Le nom de l'espace ne peut pas être vide.")
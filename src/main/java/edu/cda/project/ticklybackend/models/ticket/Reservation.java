@@ -21,11 +21,15 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"user_id", "idempotency_key"}) // Une clé d'idempotence ne crée qu'une réservation par utilisateur
+})
 public class Reservation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Identifiants alloués par blocs de 50 : permet le regroupement des INSERT en lots JDBC
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -40,6 +44,12 @@ public class Reservation {
     @Column(name = "reservation_date", nullable = false, updatable = false)
     private Instant reservationDate;
 
+    /**
+     * Valeur de l'en-tête {@code Idempotency-Key} envoyé à la création, si le client en a fourni un.
+     */
+    @Column(name = "idempotency_key", length = 100, updatable = false)
+    private String idempotencyKey;
+
     /**
      * Ajoute un billet à la réservation et établit la relation bidirectionnelle.
      *
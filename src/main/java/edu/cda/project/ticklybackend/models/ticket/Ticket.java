@@ -4,10 +4,13 @@ import edu.cda.project.ticklybackend.enums.TicketStatus;
 import edu.cda.project.ticklybackend.models.event.Event;
 import edu.cda.project.ticklybackend.models.event.EventAudienceZone;
 import edu.cda.project.ticklybackend.models.user.User;
+import edu.cda.project.ticklybackend.utils.SearchTextNormalizer;
+import edu.cda.project.ticklybackend.utils.UuidV7Generator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -18,7 +21,9 @@ import java.util.UUID;
 
 /**
  * Représente un billet unique pour un événement.
- * La clé primaire est un UUID pour garantir une unicité globale et des identifiants non prédictibles.
+ * La clé primaire est un UUID pour garantir une unicité globale. Les nouveaux billets reçoivent un UUIDv7
+ * (ordonné dans le temps) afin que les insertions restent en fin d'index clustered. Leur QR code est un jeton signé
+ * {@code TK…} produit par {@code TicketTokenCodec.encode} ; les billets plus anciens gardent un QR code UUID aléatoire.
  */
 @Getter
 @Setter
@@ -28,8 +33,12 @@ import java.util.UUID;
 @Table(name = "tickets")
 public class Ticket {
 
+    /**
+     * Identifiant attribué par l'application avant la persistance (pas de génération par Hibernate),
+     * ce qui permet de regrouper les INSERT des billets d'une réservation en lots JDBC.
+     * Voir {@link UuidV7Generator}.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
     @Column(columnDefinition = "BINARY(16)")
     private UUID id;
 
@@ -82,14 +91,40 @@ public class Ticket {
     @Column(name = "validation_date")
     private Instant validationDate;
 
+    // Siège attribué dans une zone avec plan de salle (rang et numéro à partir de 1), null sinon
+    @Column(name = "seat_row")
+    private Integer seatRow;
+
+    @Column(name = "seat_number")
+    private Integer seatNumber;
+
+    /**
+     * Nom, prénom et email du participant normalisés (minuscules, sans accents), utilisés par la recherche
+     * en base lorsque l'index de recherche en mémoire n'est pas disponible. Maintenu automatiquement.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "participant_search", nullable = false, length = 800)
+    private String participantSearch;
+
     @PrePersist
     protected void onCreate() {
         this.reservationDate = Instant.now();
         if (this.id == null) {
-            this.id = UUID.randomUUID();
+            this.id = UuidV7Generator.generate();
         }
         if (this.qrCodeValue == null) {
             this.qrCodeValue = UUID.randomUUID().toString();
         }
+        refreshParticipantSearch();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        refreshParticipantSearch();
+    }
+
+    private void refreshParticipantSearch() {
+        this.participantSearch = SearchTextNormalizer.participantSearchText(
+                participantFirstName, participantLastName, participantEmail);
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package edu.cda.project.ticklybackend.models.ticket;
+
+import edu.cda.project.ticklybackend.enums.TicketJournalEventType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entrée du journal des billets : un changement d'état d'un billet (émission, annulation, validation,
+ * anonymisation).
+ * <p>
+ * Le journal est en ajout seul : les entrées sont écrites en lot JDBC dans la transaction qui modifie le billet
+ * (voir {@code TicketJournal}) et ne sont jamais modifiées. L'ordre des identifiants est l'ordre de rejeu des
+ * projections (compteurs, agrégats), qui peuvent ainsi être reconstruites sans relire la table {@code tickets}.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "ticket_journal")
+public class TicketJournalEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ticket_id", columnDefinition = "BINARY(16)", nullable = false)
+    private UUID ticketId;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "event_audience_zone_id")
+    private Long zoneId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TicketJournalEventType type;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    public TicketJournalEntry(TicketJournalEventType type, UUID ticketId, Long eventId, Long zoneId, Instant occurredAt) {
+        this.type = type;
+        this.ticketId = ticketId;
+        this.eventId = eventId;
+        this.zoneId = zoneId;
+        this.occurredAt = occurredAt;
+    }
+}
@@ -0,0 +1,71 @@
+package edu.cda.project.ticklybackend.models.ticket;
+
+import edu.cda.project.ticklybackend.enums.WaitlistStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Inscription d'un acheteur sur la liste d'attente d'une zone complète.
+ * <p>
+ * La table est la version persistante de la file d'attente de chaque zone : l'ordre de passage est celui des
+ * identifiants. Les files sont chargées en mémoire par {@code ZoneWaitlist} et les promotions y sont enregistrées.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "waitlist_entries")
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @Column(name = "event_id", nullable = false, updatable = false)
+    private Long eventId;
+
+    @Column(name = "event_audience_zone_id", nullable = false, updatable = false)
+    private Long zoneId;
+
+    @Column(nullable = false, updatable = false)
+    private int seats;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private WaitlistStatus status = WaitlistStatus.WAITING;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "promoted_at")
+    private Instant promotedAt;
+
+    /**
+     * Hold créé pour l'acheteur lors de sa promotion, à confirmer avec la demande de réservation.
+     */
+    @Column(name = "hold_id", columnDefinition = "BINARY(16)")
+    private UUID holdId;
+
+    @Column(name = "hold_expires_at")
+    private Instant holdExpiresAt;
+
+    public WaitlistEntry(Long userId, Long eventId, Long zoneId, int seats) {
+        this.userId = userId;
+        this.eventId = eventId;
+        this.zoneId = zoneId;
+        this.seats = seats;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = Instant.now();
+    }
+}
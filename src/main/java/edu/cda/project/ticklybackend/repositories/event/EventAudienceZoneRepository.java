@@ -0,0 +1,93 @@
+package edu.cda.project.ticklybackend.repositories.event;
+
+import edu.cda.project.ticklybackend.models.event.EventAudienceZone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository des zones d'audience d'un événement.
+ * <p>
+ * Les compteurs {@code sold_count}, {@code used_count} et {@code cancelled_count} ne sont modifiés
+ * que par les UPDATE conditionnels ci-dessous, exécutés dans les transactions de réservation,
+ * d'annulation et de validation. Chaque méthode retourne le nombre de lignes modifiées :
+ * 0 signifie que la condition n'est pas respectée (capacité dépassée, compteur incohérent).
+ */
+@Repository
+public interface EventAudienceZoneRepository extends JpaRepository<EventAudienceZone, Long>, EventAudienceZoneRepositoryCustom {
+
+    /**
+     * Réserve {@code seats} places dans la zone si la capacité allouée le permet.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE EventAudienceZone z SET z.soldCount = z.soldCount + :seats " +
+            "WHERE z.id = :zoneId AND z.soldCount + :seats <= z.allocatedCapacity")
+    int incrementSoldCount(@Param("zoneId") Long zoneId, @Param("seats") int seats);
+
+    /**
+     * Libère {@code seats} places annulées dans la zone.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE EventAudienceZone z SET z.soldCount = z.soldCount - :seats, z.cancelledCount = z.cancelledCount + :seats " +
+            "WHERE z.id = :zoneId AND z.soldCount >= :seats")
+    int recordCancellations(@Param("zoneId") Long zoneId, @Param("seats") int seats);
+
+    /**
+     * Comptabilise {@code seats} billets scannés dans la zone.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE EventAudienceZone z SET z.usedCount = z.usedCount + :seats " +
+            "WHERE z.id = :zoneId AND z.usedCount + :seats <= z.soldCount")
+    int incrementUsedCount(@Param("zoneId") Long zoneId, @Param("seats") int seats);
+
+    @Query("SELECT z.soldCount FROM EventAudienceZone z WHERE z.id = :zoneId")
+    Optional<Integer> findSoldCountById(@Param("zoneId") Long zoneId);
+
+    /**
+     * Modifie la capacité allouée d'une zone sans passer par l'entité (opérations de masse).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE EventAudienceZone z SET z.allocatedCapacity = :capacity WHERE z.id = :zoneId")
+    int updateAllocatedCapacity(@Param("zoneId") Long zoneId, @Param("capacity") int capacity);
+
+    /**
+     * Charge une zone avec son événement et le nom de son modèle, sans charger d'entité.
+     *
+     * @param zoneId L'ID de la zone d'audience de l'événement.
+     * @return la zone, ou vide si elle n'existe pas.
+     */
+    @Query("SELECT z.id AS zoneId, t.name AS zoneName, z.allocatedCapacity AS allocatedCapacity, z.soldCount AS soldCount, " +
+            "e.id AS eventId, e.name AS eventName, e.endDate AS eventEndDate " +
+            "FROM EventAudienceZone z JOIN z.event e JOIN z.template t WHERE z.id = :zoneId")
+    Optional<EventZoneSummary> findSummaryById(@Param("zoneId") Long zoneId);
+
+    /**
+     * Liste les zones placées (avec plan de salle) des événements qui ne sont pas encore terminés.
+     *
+     * @param now L'instant de référence.
+     * @return le plan de salle de chaque zone concernée.
+     */
+    @Query("SELECT z.id AS zoneId, t.seatRows AS seatRows, t.seatsPerRow AS seatsPerRow " +
+            "FROM EventAudienceZone z JOIN z.template t " +
+            "WHERE t.seatRows IS NOT NULL AND t.seatsPerRow IS NOT NULL AND z.event.endDate > :now")
+    List<ZoneSeatMap> findSeatMapsOfUpcomingEvents(@Param("now") Instant now);
+
+    /**
+     * Reconstruit les compteurs de toutes les zones d'un événement à partir de la table {@code tickets}.
+     *
+     * @return le nombre de zones mises à jour.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE event_audience_zone eaz " +
+            "SET eaz.sold_count = (SELECT COUNT(*) FROM tickets t WHERE t.event_audience_zone_id = eaz.id AND t.status IN ('VALID', 'USED')), " +
+            "eaz.used_count = (SELECT COUNT(*) FROM tickets t WHERE t.event_audience_zone_id = eaz.id AND t.status = 'USED'), " +
+            "eaz.cancelled_count = (SELECT COUNT(*) FROM tickets t WHERE t.event_audience_zone_id = eaz.id AND t.status = 'CANCELLED') " +
+            "WHERE eaz.event_id = :eventId", nativeQuery = true)
+    int rebuildCountersForEvent(@Param("eventId") Long eventId);
+}
@@ -0,0 +1,23 @@
+package edu.cda.project.ticklybackend.repositories.event;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mises à jour groupées des compteurs de zones, implémentées dans {@link EventAudienceZoneRepositoryCustomImpl}.
+ */
+public interface EventAudienceZoneRepositoryCustom {
+
+    /**
+     * Réserve des places dans plusieurs zones à la fois.
+     * Chaque zone fait l'objet du même UPDATE conditionnel que
+     * {@link EventAudienceZoneRepository#incrementSoldCount(Long, int)} ; les UPDATE sont envoyés en un seul
+     * lot JDBC, dans l'ordre croissant des IDs de zone pour que deux réservations concurrentes verrouillent
+     * les lignes dans le même ordre.
+     *
+     * @param seatsByZone Nombre de places à réserver, par ID de zone.
+     * @return Les IDs des zones dont la capacité a permis la réservation. Si une zone manque, la transaction
+     * appelante doit être annulée pour rendre les places prises dans les autres.
+     */
+    Set<Long> incrementSoldCounts(Map<Long, Integer> seatsByZone);
+}
@@ -0,0 +1,50 @@
+package edu.cda.project.ticklybackend.repositories.event;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.util.*;
+
+/**
+ * Implementation of {@link EventAudienceZoneRepositoryCustom}.
+ * Uses a plain JDBC batch to get one update count per zone in a single round trip.
+ */
+public class EventAudienceZoneRepositoryCustomImpl implements EventAudienceZoneRepositoryCustom {
+
+    private static final String INCREMENT_SOLD_COUNT_SQL =
+            "UPDATE event_audience_zone SET sold_count = sold_count + ? WHERE id = ? AND sold_count + ? <= allocated_capacity";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Set<Long> incrementSoldCounts(Map<Long, Integer> seatsByZone) {
+        if (seatsByZone.isEmpty()) {
+            return Set.of();
+        }
+        // Ordre croissant des IDs : verrous de lignes pris dans le même ordre par toutes les transactions
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(new TreeMap<>(seatsByZone).entrySet());
+
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INCREMENT_SOLD_COUNT_SQL)) {
+                for (Map.Entry<Long, Integer> entry : entries) {
+                    statement.setInt(1, entry.getValue());
+                    statement.setLong(2, entry.getKey());
+                    statement.setInt(3, entry.getValue());
+                    statement.addBatch();
+                }
+                int[] updateCounts = statement.executeBatch();
+
+                Set<Long> updated = new HashSet<>();
+                for (int i = 0; i < updateCounts.length; i++) {
+                    if (updateCounts[i] > 0) {
+                        updated.add(entries.get(i).getKey());
+                    }
+                }
+                return updated;
+            }
+        });
+    }
+}
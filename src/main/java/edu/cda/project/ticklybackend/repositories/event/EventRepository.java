@@ -25,6 +25,10 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
     @Query("SELECT e FROM Event e WHERE e.id = :id")
     Optional<Event> findByIdIncludingDeleted(@Param("id") Long id);
 
+    // Name of a non-deleted event (live statistics counters)
+    @Query("SELECT e.name FROM Event e WHERE e.id = :id AND e.deleted = false")
+    Optional<String> findNameById(@Param("id") Long id);
+
     // Find all non-deleted events
     @Query("SELECT e FROM Event e WHERE e.deleted = false")
     List<Event> findAll();
@@ -96,6 +100,30 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
             @Param("areaIds") Set<Long> areaIds,
             @Param("excludeEventId") Long excludeEventId);
 
+    /**
+     * Finds the published events whose doors open soon or are open: started before the horizon and not ended yet.
+     *
+     * @param status  The status of the events (published)
+     * @param horizon The date before which events must start
+     * @param now     The current date, before which events must not have ended
+     * @return The events with their structure and end date
+     */
+    @Query("SELECT e.id AS eventId, e.structure.id AS structureId, e.endDate AS endDate FROM Event e " +
+            "WHERE e.deleted = false AND e.status = :status AND e.startDate <= :horizon AND e.endDate > :now")
+    List<EventValidationWindow> findValidationWindows(@Param("status") EventStatus status,
+                                                      @Param("horizon") Instant horizon,
+                                                      @Param("now") Instant now);
+
+    /**
+     * Finds the events whose virtual waiting room is enabled and which are not over yet.
+     *
+     * @param now The current date
+     * @return The waiting room settings of each event
+     */
+    @Query("SELECT e.id AS eventId, e.waitingRoomAdmissionRate AS admissionRate, e.endDate AS endDate FROM Event e " +
+            "WHERE e.deleted = false AND e.waitingRoomEnabled = true AND e.endDate > :now")
+    List<EventWaitingRoomSettings> findWaitingRoomSettings(@Param("now") Instant now);
+
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("UPDATE Event e SET e.status = :completedStatus WHERE e.id = :eventId AND e.status = :publishedStatus AND e.endDate < CURRENT_TIMESTAMP")
     int updateEventStatusToCompleted(
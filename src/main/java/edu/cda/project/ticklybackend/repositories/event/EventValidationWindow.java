@@ -0,0 +1,15 @@
+package edu.cda.project.ticklybackend.repositories.event;
+
+import java.time.Instant;
+
+/**
+ * Projection Spring Data : données d'un événement nécessaires au contrôle d'accès (structure, date de fin).
+ */
+public interface EventValidationWindow {
+
+    Long getEventId();
+
+    Long getStructureId();
+
+    Instant getEndDate();
+}
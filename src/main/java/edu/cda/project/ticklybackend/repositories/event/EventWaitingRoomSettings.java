@@ -0,0 +1,15 @@
+package edu.cda.project.ticklybackend.repositories.event;
+
+import java.time.Instant;
+
+/**
+ * Projection Spring Data : réglages de la salle d'attente virtuelle d'un événement.
+ */
+public interface EventWaitingRoomSettings {
+
+    Long getEventId();
+
+    Integer getAdmissionRate();
+
+    Instant getEndDate();
+}
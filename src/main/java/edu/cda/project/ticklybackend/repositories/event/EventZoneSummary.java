@@ -0,0 +1,23 @@
+package edu.cda.project.ticklybackend.repositories.event;
+
+import java.time.Instant;
+
+/**
+ * Projection Spring Data : une zone d'audience avec son événement, ses compteurs et le nom de son modèle.
+ */
+public interface EventZoneSummary {
+
+    Long getZoneId();
+
+    String getZoneName();
+
+    int getAllocatedCapacity();
+
+    int getSoldCount();
+
+    Long getEventId();
+
+    String getEventName();
+
+    Instant getEventEndDate();
+}
@@ -0,0 +1,39 @@
+package edu.cda.project.ticklybackend.repositories.event;
+
+import edu.cda.project.ticklybackend.enums.ZoneBulkOperationStatus;
+import edu.cda.project.ticklybackend.models.event.ZoneBulkOperation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository Spring Data JPA pour l'entité ZoneBulkOperation.
+ */
+@Repository
+public interface ZoneBulkOperationRepository extends JpaRepository<ZoneBulkOperation, Long> {
+
+    /**
+     * Liste les opérations à traiter, de la plus ancienne à la plus récente.
+     */
+    @Query("SELECT o.id FROM ZoneBulkOperation o WHERE o.status IN :statuses ORDER BY o.id")
+    List<Long> findIdsByStatusIn(@Param("statuses") Collection<ZoneBulkOperationStatus> statuses);
+
+    /**
+     * Verrouille une opération pour traiter son prochain lot. Une opération déjà verrouillée par une autre
+     * instance est ignorée (SKIP LOCKED) : elle n'est jamais traitée par deux instances en même temps.
+     *
+     * @param id L'ID de l'opération.
+     * @return l'opération verrouillée, ou vide si elle est introuvable ou déjà en cours de traitement.
+     */
+    @Query(value = "SELECT * FROM zone_bulk_operations WHERE id = :id FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<ZoneBulkOperation> lockById(@Param("id") Long id);
+
+    boolean existsByZoneIdAndStatusIn(Long zoneId, Collection<ZoneBulkOperationStatus> statuses);
+
+    List<ZoneBulkOperation> findByEventIdOrderByIdDesc(Long eventId);
+}
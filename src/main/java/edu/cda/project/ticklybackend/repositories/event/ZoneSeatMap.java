@@ -0,0 +1,13 @@
+package edu.cda.project.ticklybackend.repositories.event;
+
+/**
+ * Projection Spring Data : plan de salle (rangées × sièges) d'une zone d'audience d'événement.
+ */
+public interface ZoneSeatMap {
+
+    Long getZoneId();
+
+    Integer getSeatRows();
+
+    Integer getSeatsPerRow();
+}
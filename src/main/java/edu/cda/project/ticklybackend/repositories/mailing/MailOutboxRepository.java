@@ -0,0 +1,36 @@
+package edu.cda.project.ticklybackend.repositories.mailing;
+
+import edu.cda.project.ticklybackend.enums.MailOutboxStatus;
+import edu.cda.project.ticklybackend.models.mailing.MailOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutboxMessage, Long> {
+
+    /**
+     * Verrouille les prochains messages à envoyer (en attente, ou en cours d'envoi dont le bail a expiré).
+     * Les lignes déjà verrouillées par un autre dispatcher sont ignorées (SKIP LOCKED), ce qui permet
+     * à plusieurs instances de vider l'outbox en parallèle sans se bloquer.
+     */
+    @Query(value = "SELECT * FROM mail_outbox " +
+            "WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at, id " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<MailOutboxMessage> lockClaimableMessages(@Param("now") Instant now, @Param("limit") int limit);
+
+    /**
+     * Compte les messages ayant un statut donné, par exemple les messages en attente d'envoi.
+     */
+    long countByStatus(MailOutboxStatus status);
+
+    @Modifying
+    @Query("DELETE FROM MailOutboxMessage m WHERE m.status = edu.cda.project.ticklybackend.enums.MailOutboxStatus.SENT AND m.sentAt < :before")
+    int deleteSentBefore(@Param("before") Instant before);
+}
@@ -23,12 +23,11 @@ public class StatisticsRepositoryImpl implements StatisticsRepository {
 
     @Override
     public List<ZoneFillRateDataPointDto> findZoneFillRatesByEventId(Long eventId) {
-        String sql = "SELECT azt.name as zoneName, eaz.allocated_capacity as capacity, COUNT(t.id) as ticketsSold " +
+        // sold_count est maintenu par les transactions de billetterie : pas de jointure ni d'agrégation sur tickets
+        String sql = "SELECT azt.name as zoneName, eaz.allocated_capacity as capacity, eaz.sold_count as ticketsSold " +
                 "FROM event_audience_zone eaz " +
                 "JOIN audience_zone_template azt ON eaz.template_id = azt.id " +
-                "LEFT JOIN tickets t ON eaz.id = t.event_audience_zone_id AND t.status IN ('VALID', 'USED') " +
-                "WHERE eaz.event_id = :eventId " +
-                "GROUP BY eaz.id, azt.name, eaz.allocated_capacity";
+                "WHERE eaz.event_id = :eventId";
 
         Query query = entityManager.createNativeQuery(sql);
         query.setParameter("eventId", eventId);
@@ -0,0 +1,15 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+import edu.cda.project.ticklybackend.enums.TicketStatus;
+
+/**
+ * Projection Spring Data : nombre de billets d'un événement pour un statut donné.
+ */
+public interface EventStatusCount {
+
+    Long getEventId();
+
+    TicketStatus getStatus();
+
+    Long getTicketCount();
+}
@@ -1,10 +1,16 @@
 package edu.cda.project.ticklybackend.repositories.ticket;
 
 import edu.cda.project.ticklybackend.models.ticket.Reservation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository Spring Data JPA pour l'entité Reservation.
@@ -12,6 +18,46 @@ import java.util.List;
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
-    List<Reservation> findAllByUserId(Long userId);
+    /**
+     * Trouve la réservation créée par un utilisateur avec une clé d'idempotence donnée.
+     *
+     * @param userId         L'ID de l'utilisateur.
+     * @param idempotencyKey La valeur de l'en-tête {@code Idempotency-Key}.
+     * @return l'ID de la réservation, s'il en existe une.
+     */
+    @Query("SELECT r.id FROM Reservation r WHERE r.user.id = :userId AND r.idempotencyKey = :idempotencyKey")
+    Optional<Long> findIdByUserIdAndIdempotencyKey(@Param("userId") Long userId, @Param("idempotencyKey") String idempotencyKey);
 
-}
\ No newline at end of file
+    /**
+     * Trouve une page d'IDs de réservations d'un utilisateur, de la plus récente à la plus ancienne.
+     *
+     * @param userId   L'ID de l'utilisateur.
+     * @param pageable La page demandée (le tri est imposé par la requête).
+     * @return la page d'IDs de réservations.
+     */
+    @Query(value = "SELECT r.id FROM Reservation r WHERE r.user.id = :userId ORDER BY r.reservationDate DESC, r.id DESC",
+            countQuery = "SELECT COUNT(r) FROM Reservation r WHERE r.user.id = :userId")
+    Page<Long> findIdsByUserIdNewestFirst(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Charge, en une seule requête, les billets de plusieurs réservations avec leur événement, leur structure
+     * et leur zone, sous forme de lignes plates (aucun chargement paresseux par billet).
+     *
+     * @param reservationIds Les IDs des réservations.
+     * @return les billets, triés par réservation (de la plus récente à la plus ancienne) puis par ID.
+     */
+    @Query("SELECT r.id AS reservationId, r.reservationDate AS reservationDate, " +
+            "t.id AS ticketId, t.qrCodeValue AS qrCodeValue, t.status AS status, t.validationDate AS validationDate, " +
+            "t.participantFirstName AS participantFirstName, t.participantLastName AS participantLastName, " +
+            "t.participantEmail AS participantEmail, t.seatRow AS seatRow, t.seatNumber AS seatNumber, " +
+            "e.id AS eventId, e.name AS eventName, e.startDate AS eventStartDate, e.mainPhotoPath AS eventMainPhotoPath, " +
+            "e.address.street AS eventStreet, e.address.city AS eventCity, e.address.zipCode AS eventZipCode, " +
+            "e.address.country AS eventCountry, " +
+            "s.id AS structureId, s.name AS structureName, s.logoPath AS structureLogoPath, " +
+            "z.id AS zoneId, zt.name AS zoneName, zt.seatingType AS seatingType " +
+            "FROM Ticket t JOIN t.reservation r JOIN t.event e JOIN e.structure s " +
+            "LEFT JOIN t.eventAudienceZone z LEFT JOIN z.template zt " +
+            "WHERE r.id IN :reservationIds " +
+            "ORDER BY r.reservationDate DESC, r.id DESC, t.id")
+    List<ReservationTicketRow> findTicketRowsByReservationIdIn(@Param("reservationIds") Collection<Long> reservationIds);
+}
@@ -0,0 +1,64 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+import edu.cda.project.ticklybackend.enums.SeatingType;
+import edu.cda.project.ticklybackend.enums.TicketStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Projection Spring Data : un billet d'une réservation avec les informations de son événement,
+ * de sa structure et de sa zone, lues en une seule requête (historique des réservations).
+ */
+public interface ReservationTicketRow {
+
+    Long getReservationId();
+
+    Instant getReservationDate();
+
+    UUID getTicketId();
+
+    String getQrCodeValue();
+
+    TicketStatus getStatus();
+
+    Instant getValidationDate();
+
+    String getParticipantFirstName();
+
+    String getParticipantLastName();
+
+    String getParticipantEmail();
+
+    Integer getSeatRow();
+
+    Integer getSeatNumber();
+
+    Long getEventId();
+
+    String getEventName();
+
+    Instant getEventStartDate();
+
+    String getEventMainPhotoPath();
+
+    String getEventStreet();
+
+    String getEventCity();
+
+    String getEventZipCode();
+
+    String getEventCountry();
+
+    Long getStructureId();
+
+    String getStructureName();
+
+    String getStructureLogoPath();
+
+    Long getZoneId();
+
+    String getZoneName();
+
+    SeatingType getSeatingType();
+}
@@ -0,0 +1,23 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+import edu.cda.project.ticklybackend.enums.TicketStatus;
+
+import java.util.UUID;
+
+/**
+ * Projection Spring Data : statut, zone et siège d'un billet d'une réservation, utilisés pour l'annuler.
+ */
+public interface ReservationTicketState {
+
+    UUID getId();
+
+    Long getEventId();
+
+    Long getZoneId();
+
+    TicketStatus getStatus();
+
+    Integer getSeatRow();
+
+    Integer getSeatNumber();
+}
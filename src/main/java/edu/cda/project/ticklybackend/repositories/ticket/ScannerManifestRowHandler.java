@@ -0,0 +1,19 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+import edu.cda.project.ticklybackend.enums.TicketStatus;
+
+import java.io.IOException;
+
+/**
+ * Reçoit, une par une, les lignes du manifeste scanner lues depuis le curseur de la base.
+ */
+@FunctionalInterface
+public interface ScannerManifestRowHandler {
+
+    /**
+     * @param qrHash Les 8 premiers octets du SHA-256 de la valeur du QR code.
+     * @param zoneId L'ID de la zone d'audience du billet.
+     * @param status Le statut courant du billet.
+     */
+    void handle(byte[] qrHash, long zoneId, TicketStatus status) throws IOException;
+}
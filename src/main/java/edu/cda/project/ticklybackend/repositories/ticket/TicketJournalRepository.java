@@ -0,0 +1,13 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+import edu.cda.project.ticklybackend.models.ticket.TicketJournalEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository du journal des billets. Le journal est en ajout seul : les entrées ne sont écrites que par
+ * {@link TicketJournalRepositoryCustom#append} et {@link TicketJournalRepositoryCustom#appendIfAbsent}.
+ */
+@Repository
+public interface TicketJournalRepository extends JpaRepository<TicketJournalEntry, Long>, TicketJournalRepositoryCustom {
+}
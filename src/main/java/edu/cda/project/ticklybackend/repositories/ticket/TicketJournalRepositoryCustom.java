@@ -0,0 +1,36 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+import edu.cda.project.ticklybackend.models.ticket.TicketJournalEntry;
+
+import java.util.Collection;
+
+/**
+ * Écriture en lot et lecture en flux du journal des billets, en JDBC.
+ */
+public interface TicketJournalRepositoryCustom {
+
+    /**
+     * Ajoute des entrées au journal dans la transaction courante, en un seul lot JDBC.
+     *
+     * @param entries Les entrées à ajouter.
+     */
+    void append(Collection<TicketJournalEntry> entries);
+
+    /**
+     * Ajoute des entrées au journal en ignorant celles qui y sont déjà (même billet, même type). Utilisé pour
+     * recopier le segment local, qui peut renvoyer un lot déjà écrit après un arrêt brutal.
+     *
+     * @param entries Les entrées à ajouter.
+     */
+    void appendIfAbsent(Collection<TicketJournalEntry> entries);
+
+    /**
+     * Lit en flux les entrées du journal d'un événement, dans l'ordre d'écriture.
+     *
+     * @param eventId       L'ID de l'événement.
+     * @param afterSequence Seules les entrées d'ID supérieur sont lues (0 pour tout le journal).
+     * @param handler       Reçoit chaque entrée.
+     * @return l'ID de la dernière entrée lue, ou {@code afterSequence} si aucune entrée n'a été lue.
+     */
+    long replayEvent(Long eventId, long afterSequence, TicketJournalRowHandler handler);
+}
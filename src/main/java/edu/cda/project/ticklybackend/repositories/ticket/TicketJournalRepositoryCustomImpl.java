@@ -0,0 +1,109 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+import edu.cda.project.ticklybackend.enums.TicketJournalEventType;
+import edu.cda.project.ticklybackend.models.ticket.TicketJournalEntry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.ZoneOffset;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.TimeZone;
+import java.util.UUID;
+
+/**
+ * Implementation of {@link TicketJournalRepositoryCustom}.
+ * Entries are appended with a plain JDBC batch (no entity goes through the persistence context) and
+ * replayed from a streaming JDBC result set, so replaying a large event never buffers its journal.
+ */
+public class TicketJournalRepositoryCustomImpl implements TicketJournalRepositoryCustom {
+
+    private static final String APPEND_SQL =
+            "INSERT INTO ticket_journal (ticket_id, event_id, event_audience_zone_id, type, occurred_at) VALUES (?, ?, ?, ?, ?)";
+    // The unique key (ticket_id, type) makes a re-sent entry a no-op
+    private static final String APPEND_IF_ABSENT_SQL = APPEND_SQL + " ON DUPLICATE KEY UPDATE id = id";
+    private static final String REPLAY_SQL =
+            "SELECT id, ticket_id, event_audience_zone_id, type, occurred_at FROM ticket_journal " +
+                    "WHERE event_id = ? AND id > ? ORDER BY id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void append(Collection<TicketJournalEntry> entries) {
+        executeBatch(APPEND_SQL, entries);
+    }
+
+    @Override
+    public void appendIfAbsent(Collection<TicketJournalEntry> entries) {
+        executeBatch(APPEND_IF_ABSENT_SQL, entries);
+    }
+
+    @Override
+    public long replayEvent(Long eventId, long afterSequence, TicketJournalRowHandler handler) {
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone(ZoneOffset.UTC));
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(REPLAY_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                // Integer.MIN_VALUE makes Connector/J stream the rows one by one instead of buffering the whole result
+                statement.setFetchSize(Integer.MIN_VALUE);
+                statement.setLong(1, eventId);
+                statement.setLong(2, afterSequence);
+                long lastSequence = afterSequence;
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        lastSequence = resultSet.getLong(1);
+                        long zoneId = resultSet.getLong(3);
+                        handler.handle(lastSequence, toUuid(resultSet.getBytes(2)), resultSet.wasNull() ? null : zoneId,
+                                TicketJournalEventType.valueOf(resultSet.getString(4)),
+                                resultSet.getTimestamp(5, utc).toInstant());
+                    }
+                }
+                return lastSequence;
+            }
+        });
+    }
+
+    private void executeBatch(String sql, Collection<TicketJournalEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone(ZoneOffset.UTC));
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (TicketJournalEntry entry : entries) {
+                    statement.setBytes(1, toBytes(entry.getTicketId()));
+                    statement.setLong(2, entry.getEventId());
+                    if (entry.getZoneId() != null) {
+                        statement.setLong(3, entry.getZoneId());
+                    } else {
+                        statement.setNull(3, Types.BIGINT);
+                    }
+                    statement.setString(4, entry.getType().name());
+                    statement.setTimestamp(5, Timestamp.from(entry.getOccurredAt()), utc);
+                    statement.addBatch();
+                }
+                // With rewriteBatchedStatements, Connector/J sends the whole batch as one multi-row INSERT
+                statement.executeBatch();
+            }
+        });
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static UUID toUuid(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,22 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+import edu.cda.project.ticklybackend.enums.TicketJournalEventType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Reçoit, une par une et dans l'ordre du journal, les entrées du journal des billets d'un événement.
+ */
+@FunctionalInterface
+public interface TicketJournalRowHandler {
+
+    /**
+     * @param sequence   L'ID de l'entrée, croissant dans l'ordre d'écriture.
+     * @param ticketId   L'ID du billet.
+     * @param zoneId     L'ID de la zone d'audience du billet, null si inconnue.
+     * @param type       Le changement d'état.
+     * @param occurredAt La date du changement.
+     */
+    void handle(long sequence, UUID ticketId, Long zoneId, TicketJournalEventType type, Instant occurredAt);
+}
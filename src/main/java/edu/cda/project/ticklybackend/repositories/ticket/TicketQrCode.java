@@ -0,0 +1,13 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+import java.util.UUID;
+
+/**
+ * Projection Spring Data : valeur du QR code d'un billet, utilisée pour rendre son image.
+ */
+public interface TicketQrCode {
+
+    UUID getId();
+
+    String getQrCodeValue();
+}
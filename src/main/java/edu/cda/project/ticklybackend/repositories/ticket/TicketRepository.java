@@ -3,7 +3,9 @@ package edu.cda.project.ticklybackend.repositories.ticket;
 import edu.cda.project.ticklybackend.enums.TicketStatus;
 import edu.cda.project.ticklybackend.models.event.EventAudienceZone;
 import edu.cda.project.ticklybackend.models.ticket.Ticket;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,7 +17,7 @@ import java.util.*;
  * Repository Spring Data JPA pour l'entité Ticket.
  */
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, UUID> {
+public interface TicketRepository extends JpaRepository<Ticket, UUID>, TicketRepositoryCustom {
 
     /**
      * Trouve un billet par la valeur unique de son QR code.
@@ -45,6 +47,77 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
     @Query("SELECT t FROM Ticket t WHERE t.event.id = :eventId AND t.status = 'VALID'")
     List<Ticket> findValidTicketsByEventId(@Param("eventId") Long eventId);
 
+    /**
+     * Passe un billet de VALID à USED en une seule instruction conditionnelle.
+     * Deux validations simultanées du même billet ne peuvent pas réussir toutes les deux.
+     *
+     * @param id             L'ID du billet.
+     * @param validationDate La date de validation.
+     * @return 1 si le billet a été validé, 0 s'il n'était plus valide (ou n'existe pas).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Ticket t SET t.status = 'USED', t.validationDate = :validationDate WHERE t.id = :id AND t.status = 'VALID'")
+    int markUsedIfValid(@Param("id") UUID id, @Param("validationDate") Instant validationDate);
+
+    /**
+     * Liste le statut et la zone de chaque billet d'une réservation, sans charger les entités.
+     *
+     * @param reservationId L'ID de la réservation.
+     * @return les billets de la réservation.
+     */
+    @Query("SELECT t.id AS id, t.event.id AS eventId, t.eventAudienceZone.id AS zoneId, t.status AS status, " +
+            "t.seatRow AS seatRow, t.seatNumber AS seatNumber " +
+            "FROM Ticket t WHERE t.reservation.id = :reservationId")
+    List<ReservationTicketState> findStatesByReservationId(@Param("reservationId") Long reservationId);
+
+    /**
+     * Annule en une seule requête tous les billets encore valides d'une réservation.
+     * <p>
+     * L'appelant compare le nombre de lignes modifiées au nombre de billets de la réservation : un écart signifie
+     * qu'un billet a été validé ou annulé entre-temps, et la transaction doit être annulée.
+     *
+     * @param reservationId L'ID de la réservation.
+     * @return le nombre de billets passés de VALID à CANCELLED.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Ticket t SET t.status = 'CANCELLED' WHERE t.reservation.id = :reservationId AND t.status = 'VALID'")
+    int cancelValidTicketsOfReservation(@Param("reservationId") Long reservationId);
+
+    /**
+     * Annule un lot de billets en un seul UPDATE conditionnel (VALID -> CANCELLED).
+     *
+     * @param ticketIds Les IDs des billets.
+     * @return le nombre de billets passés de VALID à CANCELLED.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Ticket t SET t.status = 'CANCELLED' WHERE t.id IN :ticketIds AND t.status = 'VALID'")
+    int cancelValidTicketsByIds(@Param("ticketIds") Collection<UUID> ticketIds);
+
+    /**
+     * Lit le prochain lot de billets d'une opération de masse sur une zone : les billets VALID réservés jusqu'à
+     * {@code cutoff}, les plus récents d'abord, avec leur acheteur.
+     *
+     * @param zoneId   L'ID de la zone d'audience.
+     * @param cutoff   Date de réservation maximale des billets concernés.
+     * @param pageable Taille du lot (seule la première page est lue : les billets annulés sortent du résultat).
+     * @return les billets du lot.
+     */
+    @Query("SELECT t.id AS id, t.seatRow AS seatRow, t.seatNumber AS seatNumber, " +
+            "u.email AS buyerEmail, u.firstName AS buyerFirstName FROM Ticket t LEFT JOIN t.user u " +
+            "WHERE t.eventAudienceZone.id = :zoneId AND t.status = 'VALID' AND t.reservationDate <= :cutoff " +
+            "ORDER BY t.reservationDate DESC, t.id DESC")
+    List<ZoneCancellationCandidate> findZoneCancellationCandidates(@Param("zoneId") Long zoneId,
+                                                                   @Param("cutoff") Instant cutoff,
+                                                                   Pageable pageable);
+
+    /**
+     * Lit le statut actuel d'un billet en base (sans passer par le contexte de persistance).
+     * La lecture est verrouillante (FOR SHARE) : en REPEATABLE READ, une lecture simple renverrait l'instantané
+     * de la transaction et non la dernière version validée, par exemple après un UPDATE conditionnel perdu.
+     */
+    @Query(value = "SELECT status FROM tickets WHERE id = :id FOR SHARE", nativeQuery = true)
+    Optional<TicketStatus> findCurrentStatusById(@Param("id") UUID id);
+
     /**
      * Compte le nombre de billets existants pour une zone d'audience spécifique d'un événement.
      *
@@ -74,8 +147,89 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
      */
     long countByEventAudienceZoneIdAndStatusIn(Long zoneId, Collection<TicketStatus> statuses);
 
+    /**
+     * Compte, en une seule requête groupée, les billets de plusieurs zones d'audience
+     * ayant un des statuts spécifiés.
+     *
+     * @param zoneIds  Les IDs des zones d'audience de l'événement.
+     * @param statuses Les statuts des billets à compter.
+     * @return le nombre de billets par zone (les zones sans billet sont absentes du résultat).
+     */
+    @Query("SELECT t.eventAudienceZone.id AS zoneId, COUNT(t) AS ticketCount FROM Ticket t " +
+            "WHERE t.eventAudienceZone.id IN :zoneIds AND t.status IN :statuses " +
+            "GROUP BY t.eventAudienceZone.id")
+    List<ZoneTicketCount> countByZoneIdsAndStatusIn(@Param("zoneIds") Collection<Long> zoneIds,
+                                                    @Param("statuses") Collection<TicketStatus> statuses);
+
+    /**
+     * Liste les sièges attribués aux billets de plusieurs zones d'audience ayant un des statuts spécifiés.
+     *
+     * @param zoneIds  Les IDs des zones d'audience.
+     * @param statuses Les statuts des billets dont le siège est occupé.
+     * @return un siège par billet placé (les billets sans siège sont ignorés).
+     */
+    @Query("SELECT t.eventAudienceZone.id AS zoneId, t.seatRow AS seatRow, t.seatNumber AS seatNumber FROM Ticket t " +
+            "WHERE t.eventAudienceZone.id IN :zoneIds AND t.status IN :statuses AND t.seatRow IS NOT NULL")
+    List<ZoneSeat> findSeatsByZoneIdIn(@Param("zoneIds") Collection<Long> zoneIds,
+                                       @Param("statuses") Collection<TicketStatus> statuses);
+
+    /**
+     * Compte, en une seule requête groupée, les billets de plusieurs événements par statut.
+     *
+     * @param eventIds Les IDs des événements.
+     * @return le nombre de billets par événement et par statut (les couples sans billet sont absents du résultat).
+     */
+    @Query("SELECT t.event.id AS eventId, t.status AS status, COUNT(t) AS ticketCount FROM Ticket t " +
+            "WHERE t.event.id IN :eventIds GROUP BY t.event.id, t.status")
+    List<EventStatusCount> countByEventIdsGroupedByStatus(@Param("eventIds") Collection<Long> eventIds);
+
+    /**
+     * Charge les données de recherche de tous les billets d'un événement (construction de l'index de participants).
+     */
+    @Query("SELECT t.id AS id, t.participantFirstName AS participantFirstName, " +
+            "t.participantLastName AS participantLastName, t.participantEmail AS participantEmail " +
+            "FROM Ticket t WHERE t.event.id = :eventId")
+    List<TicketSearchEntry> findSearchEntriesByEventId(@Param("eventId") Long eventId);
+
+    /**
+     * Charge les données de validation de tous les billets d'un événement (préchargement du cache de validation).
+     */
+    @Query("SELECT t.id AS id, t.qrCodeValue AS qrCodeValue, t.status AS status, t.validationDate AS validationDate, " +
+            "t.eventAudienceZone.id AS zoneId, t.participantFirstName AS participantFirstName, " +
+            "t.participantLastName AS participantLastName, t.participantEmail AS participantEmail " +
+            "FROM Ticket t WHERE t.event.id = :eventId")
+    List<TicketScanEntry> findScanEntriesByEventId(@Param("eventId") Long eventId);
 
-    List<Ticket> findAllByEventId(Long eventId);
+    /**
+     * Charge les billets d'un événement à valider, identifiés par leur ID.
+     */
+    @Query("SELECT t.id AS id, t.qrCodeValue AS qrCodeValue, t.status AS status, t.validationDate AS validationDate, " +
+            "t.eventAudienceZone.id AS zoneId, t.participantFirstName AS participantFirstName, " +
+            "t.participantLastName AS participantLastName, t.participantEmail AS participantEmail " +
+            "FROM Ticket t WHERE t.event.id = :eventId AND t.id IN :ids")
+    List<TicketScanEntry> findScanEntriesByEventIdAndIdIn(@Param("eventId") Long eventId, @Param("ids") Collection<UUID> ids);
+
+    /**
+     * Charge les billets d'un événement à valider, identifiés par la valeur de leur QR code.
+     */
+    @Query("SELECT t.id AS id, t.qrCodeValue AS qrCodeValue, t.status AS status, t.validationDate AS validationDate, " +
+            "t.eventAudienceZone.id AS zoneId, t.participantFirstName AS participantFirstName, " +
+            "t.participantLastName AS participantLastName, t.participantEmail AS participantEmail " +
+            "FROM Ticket t WHERE t.event.id = :eventId AND t.qrCodeValue IN :qrCodes")
+    List<TicketScanEntry> findScanEntriesByEventIdAndQrCodeValueIn(@Param("eventId") Long eventId,
+                                                                   @Param("qrCodes") Collection<String> qrCodes);
+
+    /**
+     * Récupère uniquement la valeur du QR code d'un billet (rendu de l'image).
+     */
+    @Query("SELECT t.qrCodeValue FROM Ticket t WHERE t.id = :ticketId")
+    Optional<String> findQrCodeValueById(@Param("ticketId") UUID ticketId);
+
+    /**
+     * Récupère les valeurs des QR codes de plusieurs billets (pièces jointes des e-mails).
+     */
+    @Query("SELECT t.id AS id, t.qrCodeValue AS qrCodeValue FROM Ticket t WHERE t.id IN :ids")
+    List<TicketQrCode> findQrCodesByIdIn(@Param("ids") Collection<UUID> ids);
 
 
     long countByEventStructureIdAndStatusIn(Long structureId, Collection<TicketStatus> statuses);
@@ -0,0 +1,71 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+import edu.cda.project.ticklybackend.models.ticket.Ticket;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Requêtes dynamiques sur les billets, implémentées dans {@link TicketRepositoryCustomImpl}.
+ */
+public interface TicketRepositoryCustom {
+
+    /**
+     * Recherche les billets d'un événement, triés par (reservation_date, id).
+     * L'événement, la structure, la zone et son modèle sont chargés dans la même requête.
+     *
+     * @param criteria Les critères de recherche (et le curseur éventuel).
+     * @param offset   Nombre de billets à ignorer (0 en pagination par curseur).
+     * @param limit    Nombre maximal de billets retournés.
+     * @return Les billets correspondants.
+     */
+    List<Ticket> searchEventTickets(TicketSearchCriteria criteria, long offset, int limit);
+
+    /**
+     * Compte les billets correspondant aux critères (le curseur est ignoré).
+     *
+     * @param criteria Les critères de recherche.
+     * @return Le nombre total de billets.
+     */
+    long countEventTickets(TicketSearchCriteria criteria);
+
+    /**
+     * Passe au statut USED les billets encore VALID, avec leur date de validation.
+     * Chaque billet fait l'objet d'un UPDATE conditionnel ({@code WHERE status = 'VALID'}) ; les UPDATE sont
+     * envoyés en un seul lot JDBC. Un billet validé entre-temps par une autre transaction n'est donc jamais
+     * validé deux fois.
+     *
+     * @param validationDates Date de validation de chaque billet à valider.
+     * @return Les IDs des billets effectivement passés à USED.
+     */
+    Set<UUID> markUsedIfValid(Map<UUID, Instant> validationDates);
+
+    /**
+     * Lit les billets d'un événement pour le manifeste scanner, triés par empreinte de QR code, en flux depuis
+     * un curseur de la base (aucune entité n'est chargée).
+     * Sans {@code changedAfter}, seuls les billets VALID sont lus ; sinon tous les billets modifiés dans
+     * l'intervalle {@code ]changedAfter, changedUntil]}, quel que soit leur statut.
+     *
+     * @param eventId      L'ID de l'événement.
+     * @param changedAfter Borne basse exclue de {@code updated_at} (null pour le manifeste complet).
+     * @param changedUntil Borne haute incluse de {@code updated_at} (ignorée pour le manifeste complet).
+     * @param handler      Le consommateur des lignes.
+     * @throws IOException si le consommateur échoue à écrire une ligne.
+     */
+    void streamScannerManifest(Long eventId, LocalDateTime changedAfter, LocalDateTime changedUntil,
+                               ScannerManifestRowHandler handler) throws IOException;
+
+    /**
+     * Retourne l'horloge de la base diminuée d'un délai de sécurité : les modifications antérieures à cette
+     * borne sont considérées comme validées et peuvent être synchronisées sans risque d'en manquer.
+     *
+     * @param lagMillis Le délai de sécurité en millisecondes.
+     * @return la borne de synchronisation, dans le fuseau de la session MySQL.
+     */
+    LocalDateTime findSyncHorizon(long lagMillis);
+}
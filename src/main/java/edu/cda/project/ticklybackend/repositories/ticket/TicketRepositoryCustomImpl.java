@@ -0,0 +1,254 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+import edu.cda.project.ticklybackend.enums.TicketStatus;
+import edu.cda.project.ticklybackend.models.ticket.Ticket;
+import edu.cda.project.ticklybackend.utils.SearchTextNormalizer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Implementation of {@link TicketRepositoryCustom}.
+ * Builds JPQL queries from the search criteria so that filtering, ordering and paging happen in the database.
+ * Bulk status transitions use a plain JDBC batch to get one update count per ticket, and the scanner
+ * manifest is read from a streaming JDBC result set.
+ */
+public class TicketRepositoryCustomImpl implements TicketRepositoryCustom {
+
+    private static final String MARK_USED_IF_VALID_SQL =
+            "UPDATE tickets SET status = 'USED', validation_date = ? WHERE id = ? AND status = 'VALID'";
+
+    private static final String MANIFEST_COLUMNS =
+            "SELECT UNHEX(LEFT(SHA2(qr_code_value, 256), 16)) AS qr_hash, event_audience_zone_id, status FROM tickets ";
+    private static final String FULL_MANIFEST_SQL = MANIFEST_COLUMNS +
+            "WHERE event_id = ? AND status = 'VALID' ORDER BY qr_hash";
+    private static final String DELTA_MANIFEST_SQL = MANIFEST_COLUMNS +
+            "WHERE event_id = ? AND updated_at > ? AND updated_at <= ? ORDER BY qr_hash";
+
+    private static final int MIN_ID_PREFIX_LENGTH = 6;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Ticket> searchEventTickets(TicketSearchCriteria criteria, long offset, int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder jpql = new StringBuilder("SELECT t FROM Ticket t " +
+                "JOIN FETCH t.event e " +
+                "JOIN FETCH e.structure " +
+                "LEFT JOIN FETCH t.eventAudienceZone z " +
+                "LEFT JOIN FETCH z.template ");
+        appendFilters(jpql, parameters, criteria, true);
+        jpql.append(" ORDER BY t.reservationDate ASC, t.id ASC");
+
+        TypedQuery<Ticket> query = entityManager.createQuery(jpql.toString(), Ticket.class);
+        parameters.forEach(query::setParameter);
+        return query.setFirstResult((int) offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public long countEventTickets(TicketSearchCriteria criteria) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder jpql = new StringBuilder("SELECT COUNT(t) FROM Ticket t ");
+        appendFilters(jpql, parameters, criteria, false);
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        parameters.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    @Override
+    public Set<UUID> markUsedIfValid(Map<UUID, Instant> validationDates) {
+        if (validationDates.isEmpty()) {
+            return Set.of();
+        }
+        List<Map.Entry<UUID, Instant>> entries = new ArrayList<>(validationDates.entrySet());
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone(ZoneOffset.UTC));
+
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(MARK_USED_IF_VALID_SQL)) {
+                for (Map.Entry<UUID, Instant> entry : entries) {
+                    statement.setTimestamp(1, Timestamp.from(entry.getValue()), utc);
+                    statement.setBytes(2, toBytes(entry.getKey()));
+                    statement.addBatch();
+                }
+                // With rewriteBatchedStatements, Connector/J sends the UPDATEs as one multi-statement round trip
+                // and still reports the update count of each statement
+                int[] updateCounts = statement.executeBatch();
+
+                Set<UUID> updated = new HashSet<>();
+                for (int i = 0; i < updateCounts.length; i++) {
+                    if (updateCounts[i] > 0) {
+                        updated.add(entries.get(i).getKey());
+                    }
+                }
+                return updated;
+            }
+        });
+    }
+
+    @Override
+    public void streamScannerManifest(Long eventId, LocalDateTime changedAfter, LocalDateTime changedUntil,
+                                      ScannerManifestRowHandler handler) throws IOException {
+        try {
+            entityManager.unwrap(Session.class).doWork(connection -> {
+                String sql = changedAfter == null ? FULL_MANIFEST_SQL : DELTA_MANIFEST_SQL;
+                try (PreparedStatement statement = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    // Integer.MIN_VALUE makes Connector/J stream the rows one by one instead of buffering the whole result
+                    statement.setFetchSize(Integer.MIN_VALUE);
+                    statement.setLong(1, eventId);
+                    if (changedAfter != null) {
+                        statement.setObject(2, changedAfter);
+                        statement.setObject(3, changedUntil);
+                    }
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            handler.handle(resultSet.getBytes(1), resultSet.getLong(2),
+                                    TicketStatus.valueOf(resultSet.getString(3)));
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public LocalDateTime findSyncHorizon(long lagMillis) {
+        Object horizon = entityManager.createNativeQuery("SELECT NOW(6) - INTERVAL :lag MICROSECOND")
+                .setParameter("lag", lagMillis * 1000)
+                .getSingleResult();
+        return horizon instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) horizon;
+    }
+
+    private void appendFilters(StringBuilder jpql, Map<String, Object> parameters, TicketSearchCriteria criteria, boolean withCursor) {
+        jpql.append("WHERE t.event.id = :eventId");
+        parameters.put("eventId", criteria.getEventId());
+
+        if (criteria.getStatus() != null) {
+            jpql.append(" AND t.status = :status");
+            parameters.put("status", criteria.getStatus());
+        }
+
+        if (criteria.getTicketIds() != null) {
+            jpql.append(" AND t.id IN :ticketIds");
+            parameters.put("ticketIds", criteria.getTicketIds());
+        } else if (StringUtils.hasText(criteria.getSearch())) {
+            appendSearchFilter(jpql, parameters, criteria.getSearch().trim());
+        }
+
+        if (withCursor && criteria.hasCursor()) {
+            jpql.append(" AND (t.reservationDate > :afterDate" +
+                    " OR (t.reservationDate = :afterDate AND t.id > :afterId))");
+            parameters.put("afterDate", criteria.getAfterReservationDate());
+            parameters.put("afterId", criteria.getAfterId());
+        }
+    }
+
+    /**
+     * Fallback used when the in-memory participant index cannot answer: every search token must appear
+     * in the normalized {@code participant_search} column. A term without any letter or digit (only
+     * punctuation, for instance) has no token and is matched as typed against the participant columns.
+     */
+    private void appendSearchFilter(StringBuilder jpql, Map<String, Object> parameters, String search) {
+        List<String> tokens = SearchTextNormalizer.tokenize(search);
+        jpql.append(" AND ((");
+        if (tokens.isEmpty()) {
+            jpql.append("LOWER(t.participantFirstName) LIKE :pattern" +
+                    " OR LOWER(t.participantLastName) LIKE :pattern" +
+                    " OR LOWER(t.participantEmail) LIKE :pattern");
+            parameters.put("pattern", "%" + escapeLike(search.toLowerCase()) + "%");
+        }
+        for (int i = 0; i < tokens.size(); i++) {
+            if (i > 0) {
+                jpql.append(" AND ");
+            }
+            jpql.append("t.participantSearch LIKE :token").append(i);
+            parameters.put("token" + i, "%" + escapeLike(tokens.get(i)) + "%");
+        }
+        jpql.append(")");
+
+        // A full UUID is matched exactly against the ticket id and its QR code value
+        UUID searchedId = parseUuid(search);
+        if (searchedId != null) {
+            jpql.append(" OR t.id = :searchedId OR t.qrCodeValue = :searchedQr");
+            parameters.put("searchedId", searchedId);
+            parameters.put("searchedQr", search);
+        } else {
+            // The beginning of a ticket id, as printed on the ticket, matches the range of ids sharing it
+            UUID[] idRange = parseUuidPrefixRange(search);
+            if (idRange != null) {
+                jpql.append(" OR (t.id >= :idFrom AND t.id <= :idTo)");
+                parameters.put("idFrom", idRange[0]);
+                parameters.put("idTo", idRange[1]);
+            }
+        }
+        jpql.append(")");
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Reads the beginning of a UUID in its canonical form (at least {@value #MIN_ID_PREFIX_LENGTH} characters).
+     *
+     * @return the lowest and highest UUIDs starting with the value, or null if the value is not a UUID prefix.
+     */
+    private static UUID[] parseUuidPrefixRange(String value) {
+        if (value.length() < MIN_ID_PREFIX_LENGTH || value.length() >= 36) {
+            return null;
+        }
+        StringBuilder hex = new StringBuilder(32);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean dashPosition = i == 8 || i == 13 || i == 18 || i == 23;
+            if (dashPosition ? c != '-' : Character.digit(c, 16) < 0) {
+                return null;
+            }
+            if (!dashPosition) {
+                hex.append(c);
+            }
+        }
+        String prefix = hex.toString();
+        return new UUID[]{toUuid(prefix + "0".repeat(32 - prefix.length())), toUuid(prefix + "f".repeat(32 - prefix.length()))};
+    }
+
+    private static UUID toUuid(String hex) {
+        return new UUID(Long.parseUnsignedLong(hex.substring(0, 16), 16), Long.parseUnsignedLong(hex.substring(16), 16));
+    }
+
+    private static UUID parseUuid(String value) {
+        try {
+            return value.length() == 36 ? UUID.fromString(value) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+import edu.cda.project.ticklybackend.enums.TicketStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Projection Spring Data : données d'un billet nécessaires à la validation d'un scan.
+ */
+public interface TicketScanEntry {
+
+    UUID getId();
+
+    String getQrCodeValue();
+
+    TicketStatus getStatus();
+
+    Instant getValidationDate();
+
+    Long getZoneId();
+
+    String getParticipantFirstName();
+
+    String getParticipantLastName();
+
+    String getParticipantEmail();
+}
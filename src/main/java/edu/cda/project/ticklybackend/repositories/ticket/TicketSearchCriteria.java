@@ -0,0 +1,32 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+import edu.cda.project.ticklybackend.enums.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Critères de recherche des billets d'un événement (vue de gestion).
+ * Les champs {@code afterReservationDate} / {@code afterId} positionnent la pagination par curseur :
+ * seuls les billets situés strictement après ce couple dans l'ordre (reservation_date, id) sont retournés.
+ * Lorsque {@code ticketIds} est renseigné, la recherche textuelle a déjà été résolue par l'index en mémoire :
+ * seuls ces billets sont retournés et {@code search} n'est pas réappliqué en base.
+ */
+@Getter
+@AllArgsConstructor
+public class TicketSearchCriteria {
+
+    private final Long eventId;
+    private final TicketStatus status;
+    private final String search;
+    private final Instant afterReservationDate;
+    private final UUID afterId;
+    private final Set<UUID> ticketIds;
+
+    public boolean hasCursor() {
+        return afterReservationDate != null && afterId != null;
+    }
+}
@@ -0,0 +1,17 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+import java.util.UUID;
+
+/**
+ * Projection Spring Data : données d'un billet indexées par la recherche de participants.
+ */
+public interface TicketSearchEntry {
+
+    UUID getId();
+
+    String getParticipantFirstName();
+
+    String getParticipantLastName();
+
+    String getParticipantEmail();
+}
@@ -0,0 +1,118 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+import edu.cda.project.ticklybackend.enums.WaitlistStatus;
+import edu.cda.project.ticklybackend.models.ticket.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository Spring Data JPA pour l'entité WaitlistEntry.
+ */
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    /**
+     * Charge la file d'attente d'une zone, dans l'ordre d'inscription.
+     *
+     * @param zoneId L'ID de la zone d'audience de l'événement.
+     * @return les inscriptions en attente, de la plus ancienne à la plus récente.
+     */
+    @Query("SELECT w.id AS id, w.seats AS seats FROM WaitlistEntry w " +
+            "WHERE w.zoneId = :zoneId AND w.status = 'WAITING' ORDER BY w.id")
+    List<WaitlistQueueEntry> findQueueByZoneId(@Param("zoneId") Long zoneId);
+
+    /**
+     * Vérifie si un utilisateur a déjà une inscription active sur la liste d'attente d'une zone : en attente, ou
+     * promue avec des places encore retenues. Une promotion dont les places ont expiré ne bloque pas une nouvelle
+     * inscription, même avant que {@link #expirePromotions(Instant)} ne l'ait marquée.
+     *
+     * @param now Instant de référence pour l'expiration des places retenues.
+     */
+    @Query("SELECT COUNT(w) > 0 FROM WaitlistEntry w WHERE w.userId = :userId AND w.zoneId = :zoneId " +
+            "AND (w.status = 'WAITING' OR (w.status = 'PROMOTED' AND w.holdExpiresAt > :now))")
+    boolean existsActiveEntry(@Param("userId") Long userId, @Param("zoneId") Long zoneId, @Param("now") Instant now);
+
+    /**
+     * Charge une inscription avec l'acheteur, l'événement et la zone concernés, pour sa promotion.
+     *
+     * @param id L'ID de l'inscription.
+     * @return l'inscription, si elle existe toujours avec son utilisateur, son événement et sa zone.
+     */
+    @Query("SELECT w.id AS id, w.status AS status, w.seats AS seats, u.id AS userId, u.email AS userEmail, " +
+            "u.firstName AS userFirstName, e.id AS eventId, e.name AS eventName, e.status AS eventStatus, " +
+            "e.startDate AS eventStartDate, z.id AS zoneId, t.name AS zoneName, z.allocatedCapacity AS allocatedCapacity " +
+            "FROM WaitlistEntry w " +
+            "JOIN User u ON u.id = w.userId " +
+            "JOIN Event e ON e.id = w.eventId " +
+            "JOIN EventAudienceZone z ON z.id = w.zoneId " +
+            "LEFT JOIN z.template t " +
+            "WHERE w.id = :id")
+    Optional<WaitlistPromotionCandidate> findPromotionCandidate(@Param("id") Long id);
+
+    /**
+     * Liste les inscriptions actives (en attente ou promues) d'un utilisateur, les plus récentes en premier.
+     *
+     * @param userId L'ID de l'utilisateur.
+     * @return les inscriptions avec le nom de l'événement et de la zone.
+     */
+    @Query("SELECT w.id AS id, w.eventId AS eventId, e.name AS eventName, w.zoneId AS zoneId, t.name AS zoneName, " +
+            "w.seats AS seats, w.status AS status, w.createdAt AS createdAt, w.holdId AS holdId, " +
+            "w.holdExpiresAt AS holdExpiresAt " +
+            "FROM WaitlistEntry w " +
+            "JOIN Event e ON e.id = w.eventId " +
+            "JOIN EventAudienceZone z ON z.id = w.zoneId " +
+            "LEFT JOIN z.template t " +
+            "WHERE w.userId = :userId AND w.status IN ('WAITING', 'PROMOTED') " +
+            "ORDER BY w.id DESC")
+    List<WaitlistEntryView> findActiveViewsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Enregistre la promotion d'une inscription encore en attente. Conditionnel : une inscription quittée
+     * entre-temps n'est pas promue.
+     *
+     * @return 1 si l'inscription a été promue, 0 si elle n'était plus en attente.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE WaitlistEntry w SET w.status = 'PROMOTED', w.promotedAt = :promotedAt, w.holdId = :holdId, " +
+            "w.holdExpiresAt = :holdExpiresAt WHERE w.id = :id AND w.status = 'WAITING'")
+    int markPromoted(@Param("id") Long id, @Param("holdId") UUID holdId,
+                     @Param("promotedAt") Instant promotedAt, @Param("holdExpiresAt") Instant holdExpiresAt);
+
+    /**
+     * Confirme la promotion dont les places retenues viennent d'être réservées. Une promotion marquée expirée
+     * pendant la réservation est confirmée aussi : la réservation a converti le hold avant son expiration.
+     *
+     * @param holdId L'ID des places retenues converties en réservation.
+     * @return 1 si une promotion a été confirmée, 0 si le hold ne venait pas d'une liste d'attente.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE WaitlistEntry w SET w.status = 'CONFIRMED' WHERE w.holdId = :holdId AND w.status IN ('PROMOTED', 'EXPIRED')")
+    int markConfirmedByHoldId(@Param("holdId") UUID holdId);
+
+    /**
+     * Marque expirées les promotions dont les places retenues n'ont pas été réservées à temps.
+     *
+     * @param now Instant de référence.
+     * @return le nombre de promotions expirées.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE WaitlistEntry w SET w.status = 'EXPIRED' WHERE w.status = 'PROMOTED' AND w.holdExpiresAt <= :now")
+    int expirePromotions(@Param("now") Instant now);
+
+    /**
+     * Retire une inscription de la liste d'attente si elle a toujours le statut attendu.
+     *
+     * @return 1 si l'inscription a été retirée, 0 si son statut a changé entre-temps.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WaitlistEntry w SET w.status = 'LEFT' WHERE w.id = :id AND w.status = :expectedStatus")
+    int markLeft(@Param("id") Long id, @Param("expectedStatus") WaitlistStatus expectedStatus);
+}
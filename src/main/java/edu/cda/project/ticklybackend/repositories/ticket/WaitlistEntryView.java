@@ -0,0 +1,32 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+import edu.cda.project.ticklybackend.enums.WaitlistStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Projection Spring Data : inscription sur liste d'attente affichée à l'acheteur.
+ */
+public interface WaitlistEntryView {
+
+    Long getId();
+
+    Long getEventId();
+
+    String getEventName();
+
+    Long getZoneId();
+
+    String getZoneName();
+
+    Integer getSeats();
+
+    WaitlistStatus getStatus();
+
+    Instant getCreatedAt();
+
+    UUID getHoldId();
+
+    Instant getHoldExpiresAt();
+}
@@ -0,0 +1,39 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+import edu.cda.project.ticklybackend.enums.EventStatus;
+import edu.cda.project.ticklybackend.enums.WaitlistStatus;
+
+import java.time.Instant;
+
+/**
+ * Projection Spring Data : inscription en tête de file, avec ce qu'il faut pour retenir ses places
+ * et prévenir l'acheteur.
+ */
+public interface WaitlistPromotionCandidate {
+
+    Long getId();
+
+    WaitlistStatus getStatus();
+
+    Integer getSeats();
+
+    Long getUserId();
+
+    String getUserEmail();
+
+    String getUserFirstName();
+
+    Long getEventId();
+
+    String getEventName();
+
+    EventStatus getEventStatus();
+
+    Instant getEventStartDate();
+
+    Long getZoneId();
+
+    String getZoneName();
+
+    Integer getAllocatedCapacity();
+}
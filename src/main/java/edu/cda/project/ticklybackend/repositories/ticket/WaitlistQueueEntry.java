@@ -0,0 +1,11 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+/**
+ * Projection Spring Data : inscription en attente, telle que conservée dans la file en mémoire d'une zone.
+ */
+public interface WaitlistQueueEntry {
+
+    Long getId();
+
+    Integer getSeats();
+}
@@ -0,0 +1,19 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+import java.util.UUID;
+
+/**
+ * Projection Spring Data : un billet visé par une opération de masse sur sa zone, avec son acheteur.
+ */
+public interface ZoneCancellationCandidate {
+
+    UUID getId();
+
+    Integer getSeatRow();
+
+    Integer getSeatNumber();
+
+    String getBuyerEmail();
+
+    String getBuyerFirstName();
+}
@@ -0,0 +1,13 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+/**
+ * Projection Spring Data : siège attribué à un billet d'une zone d'audience d'événement.
+ */
+public interface ZoneSeat {
+
+    Long getZoneId();
+
+    Integer getSeatRow();
+
+    Integer getSeatNumber();
+}
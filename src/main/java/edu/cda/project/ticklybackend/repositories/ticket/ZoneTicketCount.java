@@ -0,0 +1,11 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+/**
+ * Projection Spring Data : nombre de billets d'une zone d'audience d'événement.
+ */
+public interface ZoneTicketCount {
+
+    Long getZoneId();
+
+    Long getTicketCount();
+}
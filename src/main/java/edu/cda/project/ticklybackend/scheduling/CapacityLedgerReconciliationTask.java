@@ -0,0 +1,35 @@
+package edu.cda.project.ticklybackend.scheduling;
+
+import edu.cda.project.ticklybackend.services.ticketing.ZoneCapacityLedger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task checking the in-memory capacity ledger against the tickets table.
+ * Drifts (e.g. tickets changed outside of the reservation flow) are corrected and idle zones evicted.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CapacityLedgerReconciliationTask {
+
+    private final ZoneCapacityLedger zoneCapacityLedger;
+
+    /**
+     * Reconciles the capacity ledger with the database.
+     * Runs every 5 minutes by default.
+     */
+    @Scheduled(fixedDelayString = "${tickly.capacity.reconciliation-interval-ms:300000}")
+    public void reconcileCapacityLedger() {
+        try {
+            int corrected = zoneCapacityLedger.reconcile();
+            if (corrected > 0) {
+                log.info("Capacity ledger reconciliation corrected {} zone(s)", corrected);
+            }
+        } catch (Exception e) {
+            log.error("Capacity ledger reconciliation error : ", e);
+        }
+    }
+}
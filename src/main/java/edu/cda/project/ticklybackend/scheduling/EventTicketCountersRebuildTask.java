@@ -0,0 +1,35 @@
+package edu.cda.project.ticklybackend.scheduling;
+
+import edu.cda.project.ticklybackend.services.ticketing.EventTicketCounters;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task checking the in-memory event ticket counters against the tickets table.
+ * Drifts (e.g. tickets changed by another instance) are corrected and idle events evicted.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventTicketCountersRebuildTask {
+
+    private final EventTicketCounters eventTicketCounters;
+
+    /**
+     * Rebuilds the event ticket counters from the database.
+     * Runs every minute by default.
+     */
+    @Scheduled(fixedDelayString = "${tickly.statistics.counters-rebuild-interval-ms:60000}")
+    public void rebuildEventTicketCounters() {
+        try {
+            int corrected = eventTicketCounters.rebuild();
+            if (corrected > 0) {
+                log.info("Event ticket counters rebuild corrected {} counter(s)", corrected);
+            }
+        } catch (Exception e) {
+            log.error("Event ticket counters rebuild error : ", e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package edu.cda.project.ticklybackend.scheduling;
+
+import edu.cda.project.ticklybackend.models.mailing.MailOutboxMessage;
+import edu.cda.project.ticklybackend.services.interfaces.MailOutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Scheduled tasks that drain the mail outbox.
+ * Messages are claimed in short transactions, then sent without holding a database connection.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MailOutboxDispatchTask {
+
+    private final MailOutboxService mailOutboxService;
+
+    @Value("${tickly.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${tickly.mail.outbox.retention-days:7}")
+    private int retentionDays;
+
+    /**
+     * Sends pending messages batch by batch until the outbox is drained.
+     */
+    @Scheduled(fixedDelayString = "${tickly.mail.outbox.dispatch-interval-ms:2000}")
+    public void dispatchPendingMessages() {
+        try {
+            List<MailOutboxMessage> batch;
+            do {
+                batch = mailOutboxService.claimPendingMessages(batchSize);
+                for (MailOutboxMessage message : batch) {
+                    dispatch(message);
+                }
+            } while (batch.size() == batchSize);
+        } catch (Exception e) {
+            log.error("Mail outbox dispatch error : ", e);
+        }
+    }
+
+    /**
+     * Deletes sent messages older than the retention period.
+     * Runs daily at 3:30 AM.
+     */
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void purgeSentMessages() {
+        try {
+            int deleted = mailOutboxService.purgeSentMessages(Instant.now().minus(Duration.ofDays(retentionDays)));
+            log.info("Purged {} sent messages from the mail outbox", deleted);
+        } catch (Exception e) {
+            log.error("Mail outbox purge error : ", e);
+        }
+    }
+
+    private void dispatch(MailOutboxMessage message) {
+        try {
+            mailOutboxService.deliver(message);
+            mailOutboxService.markSent(message.getId());
+        } catch (Exception e) {
+            mailOutboxService.markFailed(message.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package edu.cda.project.ticklybackend.scheduling;
+
+import edu.cda.project.ticklybackend.services.ticketing.ParticipantSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task releasing the memory of participant search indexes that are no longer queried.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ParticipantSearchIndexEvictionTask {
+
+    private final ParticipantSearchIndex participantSearchIndex;
+
+    /**
+     * Evicts idle participant search indexes.
+     * Runs every 10 minutes by default.
+     */
+    @Scheduled(fixedDelayString = "${tickly.search.index.eviction-interval-ms:600000}")
+    public void evictIdleIndexes() {
+        try {
+            int evicted = participantSearchIndex.evictIdle();
+            if (evicted > 0) {
+                log.info("Evicted {} idle participant search index(es)", evicted);
+            }
+        } catch (Exception e) {
+            log.error("Participant search index eviction error : ", e);
+        }
+    }
+}
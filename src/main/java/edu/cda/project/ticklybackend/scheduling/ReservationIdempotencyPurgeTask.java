@@ -0,0 +1,34 @@
+package edu.cda.project.ticklybackend.scheduling;
+
+import edu.cda.project.ticklybackend.services.ticketing.ReservationIdempotencyRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task dropping the expired idempotency keys kept in memory for reservation requests.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationIdempotencyPurgeTask {
+
+    private final ReservationIdempotencyRegistry reservationIdempotencyRegistry;
+
+    /**
+     * Purges the expired idempotency keys.
+     * Runs every minute by default.
+     */
+    @Scheduled(fixedDelayString = "${tickly.reservation.idempotency.purge-interval-ms:60000}")
+    public void purgeExpiredKeys() {
+        try {
+            int purged = reservationIdempotencyRegistry.purgeExpired();
+            if (purged > 0) {
+                log.debug("Purged {} expired reservation idempotency key(s)", purged);
+            }
+        } catch (Exception e) {
+            log.error("Reservation idempotency purge error : ", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package edu.cda.project.ticklybackend.scheduling;
+
+import edu.cda.project.ticklybackend.services.ticketing.SeatHoldRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task advancing the expiry wheel of temporary seat holds.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatHoldExpiryTask {
+
+    private final SeatHoldRegistry seatHoldRegistry;
+
+    /**
+     * Gives the places of expired holds back to their zone.
+     * Runs every second by default.
+     */
+    @Scheduled(fixedDelayString = "${tickly.reservation.hold.expiry-interval-ms:1000}")
+    public void expireSeatHolds() {
+        try {
+            int expired = seatHoldRegistry.expire();
+            if (expired > 0) {
+                log.info("Expired {} seat hold(s)", expired);
+            }
+        } catch (Exception e) {
+            log.error("Seat hold expiry error : ", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package edu.cda.project.ticklybackend.scheduling;
+
+import edu.cda.project.ticklybackend.websocket.EventStatisticsBroadcaster;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task publishing the coalesced event statistics over WebSocket.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StatisticsBroadcastTask {
+
+    private final EventStatisticsBroadcaster eventStatisticsBroadcaster;
+
+    /**
+     * Publishes the statistics of the events changed since the previous run.
+     * Runs every 250 ms by default.
+     */
+    @Scheduled(fixedDelayString = "${tickly.statistics.broadcast-interval-ms:250}")
+    public void broadcastStatistics() {
+        try {
+            eventStatisticsBroadcaster.flush();
+        } catch (Exception e) {
+            log.error("Statistics broadcast error : ", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package edu.cda.project.ticklybackend.scheduling;
+
+import edu.cda.project.ticklybackend.services.ticketing.TicketJournal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task copying the door validations written to the local journal segment to the ticket journal table.
+ * Does nothing when the local segment is disabled.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketJournalShipTask {
+
+    private final TicketJournal ticketJournal;
+
+    /**
+     * Ships the pending journal entries.
+     * Runs every 2 seconds by default.
+     */
+    @Scheduled(fixedDelayString = "${tickly.journal.ship-interval-ms:2000}")
+    public void shipTicketJournal() {
+        try {
+            int shipped = ticketJournal.ship();
+            if (shipped > 0) {
+                log.debug("Ticket journal shipment: {} entry(ies) copied to the journal table", shipped);
+            }
+        } catch (Exception e) {
+            log.error("Ticket journal shipment error : ", e);
+        }
+    }
+}
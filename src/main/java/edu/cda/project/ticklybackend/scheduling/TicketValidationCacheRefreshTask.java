@@ -0,0 +1,35 @@
+package edu.cda.project.ticklybackend.scheduling;
+
+import edu.cda.project.ticklybackend.services.ticketing.TicketValidationCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task loading the tickets of events whose doors open soon into the validation cache,
+ * and dropping the events that have ended.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketValidationCacheRefreshTask {
+
+    private final TicketValidationCache ticketValidationCache;
+
+    /**
+     * Refreshes the set of events held by the validation cache.
+     * Runs every 5 minutes by default.
+     */
+    @Scheduled(fixedDelayString = "${tickly.validation.cache.refresh-interval-ms:300000}")
+    public void refreshTicketValidationCache() {
+        try {
+            int loaded = ticketValidationCache.refresh();
+            if (loaded > 0) {
+                log.info("Loaded {} event(s) into the ticket validation cache", loaded);
+            }
+        } catch (Exception e) {
+            log.error("Ticket validation cache refresh error : ", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package edu.cda.project.ticklybackend.scheduling;
+
+import edu.cda.project.ticklybackend.services.ticketing.WaitingRoom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task admitting buyers from the virtual waiting rooms into the reservation flow.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WaitingRoomAdmissionTask {
+
+    private final WaitingRoom waitingRoom;
+
+    /**
+     * Admits the buyers allowed by the token bucket of each open room.
+     * Runs every 250 ms by default so that admissions are spread evenly over each second.
+     */
+    @Scheduled(fixedDelayString = "${tickly.waiting-room.admission-interval-ms:250}")
+    public void admitBuyers() {
+        try {
+            int admitted = waitingRoom.admit(System.currentTimeMillis());
+            if (admitted > 0) {
+                log.debug("Admitted {} buyer(s) from the waiting rooms", admitted);
+            }
+        } catch (Exception e) {
+            log.error("Waiting room admission error : ", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package edu.cda.project.ticklybackend.scheduling;
+
+import edu.cda.project.ticklybackend.services.interfaces.WaitlistService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task promoting waitlist entries of the zones where places were freed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistPromotionTask {
+
+    private final WaitlistService waitlistService;
+
+    /**
+     * Holds freed places for the next buyers of each waitlist and notifies them, after closing the promotions
+     * whose held places expired without being booked.
+     * Runs every second by default; only zones that got places back since the last run are checked.
+     */
+    @Scheduled(fixedDelayString = "${tickly.waitlist.promotion-interval-ms:1000}")
+    public void promoteWaitlists() {
+        try {
+            int expired = waitlistService.expirePromotions();
+            if (expired > 0) {
+                log.info("Expired {} waitlist promotion(s)", expired);
+            }
+            int promoted = waitlistService.promoteWaitlists();
+            if (promoted > 0) {
+                log.info("Promoted {} waitlist entry(ies)", promoted);
+            }
+        } catch (Exception e) {
+            log.error("Waitlist promotion error : ", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package edu.cda.project.ticklybackend.scheduling;
+
+import edu.cda.project.ticklybackend.services.interfaces.ZoneBulkOperationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task processing the bulk operations started by organizers on audience zones.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ZoneBulkOperationTask {
+
+    private final ZoneBulkOperationService zoneBulkOperationService;
+
+    /**
+     * Cancels the next batches of tickets of the running operations. Runs every second by default; a run
+     * processes a bounded number of batches per operation and stops while the mail outbox is backlogged.
+     */
+    @Scheduled(fixedDelayString = "${tickly.zone-bulk.interval-ms:1000}")
+    public void processOperations() {
+        try {
+            int cancelled = zoneBulkOperationService.processOperations();
+            if (cancelled > 0) {
+                log.info("Cancelled {} ticket(s) through zone bulk operations", cancelled);
+            }
+        } catch (Exception e) {
+            log.error("Zone bulk operation processing error : ", e);
+        }
+    }
+}
@@ -22,9 +22,17 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // Suivi de position en salle d'attente : public, servi depuis la mémoire, sans rechargement de l'utilisateur en base
+    private static final String WAITING_ROOM_POLLING_PATH = "/api/v1/ticketing/public/waiting-room/";
+
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
 
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getRequestURI().startsWith(WAITING_ROOM_POLLING_PATH);
+    }
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
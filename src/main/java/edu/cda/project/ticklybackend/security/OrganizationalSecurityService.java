@@ -7,6 +7,7 @@ import edu.cda.project.ticklybackend.models.user.User;
 import edu.cda.project.ticklybackend.repositories.event.EventRepository;
 import edu.cda.project.ticklybackend.repositories.team.TeamMemberRepository;
 import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
+import edu.cda.project.ticklybackend.services.ticketing.TicketValidationCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
@@ -23,6 +24,7 @@ public class OrganizationalSecurityService {
     private final TeamMemberRepository teamMemberRepository;
     private final EventRepository eventRepository;
     private final TicketRepository ticketRepository;
+    private final TicketValidationCache ticketValidationCache;
 
     private Long extractUserId(Authentication authentication) {
         if (authentication == null || authentication.getPrincipal() == null) {
@@ -136,21 +138,27 @@ public class OrganizationalSecurityService {
     public boolean canValidateEventTickets(Long eventId, Authentication authentication) {
         Long userId = extractUserId(authentication);
         if (eventId == null || userId == null) return false;
+        // Doors open: structure and end date are known by the validation cache, no need to load the event
+        var cachedEvent = ticketValidationCache.findEvent(eventId);
+        if (cachedEvent.isPresent()) {
+            return canValidateForStructure(userId, cachedEvent.get().getStructureId(), cachedEvent.get().getEndDate());
+        }
         return eventRepository.findById(eventId)
-                .map(event -> {
-                    Long structureId = event.getStructure().getId();
-                    boolean hasRole = hasActiveRole(userId, structureId,
-                            UserRole.STRUCTURE_ADMINISTRATOR,
-                            UserRole.ORGANIZATION_SERVICE,
-                            UserRole.RESERVATION_SERVICE);
-                    if (!hasRole) return false;
-                    // Ensure event not finished
-                    Instant now = Instant.now();
-                    return event.getEndDate() == null || now.isBefore(event.getEndDate());
-                })
+                .map(event -> canValidateForStructure(userId, event.getStructure().getId(), event.getEndDate()))
                 .orElse(false);
     }
 
+    private boolean canValidateForStructure(Long userId, Long structureId, Instant endDate) {
+        boolean hasRole = hasActiveRole(userId, structureId,
+                UserRole.STRUCTURE_ADMINISTRATOR,
+                UserRole.ORGANIZATION_SERVICE,
+                UserRole.RESERVATION_SERVICE);
+        if (!hasRole) return false;
+        // Ensure event not finished
+        Instant now = Instant.now();
+        return endDate == null || now.isBefore(endDate);
+    }
+
     // ===== Ticket validators =====
     @Transactional(readOnly = true)
     public boolean isTicketOwner(UUID ticketId, Authentication authentication) {
@@ -167,6 +175,10 @@ public class OrganizationalSecurityService {
     public boolean canValidateTicket(String qrCodeValue, Authentication authentication) {
         Long userId = extractUserId(authentication);
         if (qrCodeValue == null || qrCodeValue.isBlank() || userId == null) return false;
+        var cachedTicket = ticketValidationCache.findByQrCode(qrCodeValue);
+        if (cachedTicket.isPresent()) {
+            return canValidateEventTickets(cachedTicket.get().getEventId(), authentication);
+        }
         return ticketRepository.findByQrCodeValue(qrCodeValue)
                 .map(ticket -> canValidateEventTickets(ticket.getEvent().getId(), authentication))
                 .orElse(false);
@@ -6,7 +6,6 @@ import edu.cda.project.ticklybackend.dtos.file.FileUploadResponseDto;
 import edu.cda.project.ticklybackend.dtos.friendship.FriendResponseDto;
 import edu.cda.project.ticklybackend.dtos.user.UserSummaryDto;
 import edu.cda.project.ticklybackend.enums.EventStatus;
-import edu.cda.project.ticklybackend.enums.TicketStatus;
 import edu.cda.project.ticklybackend.exceptions.BadRequestException;
 import edu.cda.project.ticklybackend.exceptions.ResourceNotFoundException;
 import edu.cda.project.ticklybackend.mappers.event.EventAddressMapper;
@@ -21,6 +20,7 @@ import edu.cda.project.ticklybackend.models.ticket.Ticket;
 import edu.cda.project.ticklybackend.models.user.Friendship;
 import edu.cda.project.ticklybackend.models.user.User;
 import edu.cda.project.ticklybackend.repositories.event.EventCategoryRepository;
+import edu.cda.project.ticklybackend.repositories.event.EventAudienceZoneRepository;
 import edu.cda.project.ticklybackend.repositories.event.EventRepository;
 import edu.cda.project.ticklybackend.repositories.structure.AudienceZoneTemplateRepository;
 import edu.cda.project.ticklybackend.repositories.structure.StructureRepository;
@@ -29,6 +29,10 @@ import edu.cda.project.ticklybackend.repositories.user.FriendshipRepository;
 import edu.cda.project.ticklybackend.services.interfaces.EventService;
 import edu.cda.project.ticklybackend.services.interfaces.FileStorageService;
 import edu.cda.project.ticklybackend.services.interfaces.MailingService;
+import edu.cda.project.ticklybackend.services.ticketing.EventTicketCounters;
+import edu.cda.project.ticklybackend.services.ticketing.ZoneCapacityLedger;
+import edu.cda.project.ticklybackend.services.ticketing.WaitingRoom;
+import edu.cda.project.ticklybackend.services.ticketing.ZoneWaitlist;
 import edu.cda.project.ticklybackend.utils.AuthUtils;
 import edu.cda.project.ticklybackend.utils.EventStatusUpdateUtils;
 import edu.cda.project.ticklybackend.utils.LoggingUtils;
@@ -72,6 +76,11 @@ public class EventServiceImpl implements EventService {
     private final edu.cda.project.ticklybackend.security.OrganizationalSecurityService organizationalSecurityService;
 
     private final EventStatusUpdateUtils eventStatusUpdateUtils;
+    private final ZoneCapacityLedger zoneCapacityLedger;
+    private final EventTicketCounters eventTicketCounters;
+    private final EventAudienceZoneRepository eventAudienceZoneRepository;
+    private final ZoneWaitlist zoneWaitlist;
+    private final WaitingRoom waitingRoom;
 
     @Override
     @Transactional
@@ -351,14 +360,18 @@ public class EventServiceImpl implements EventService {
         }
 
         // Champs modifiables SEULEMENT si l'événement n'est PAS publié
+        boolean endDateChanged = false;
         if (event.getStatus() != EventStatus.PUBLISHED) {
             if (StringUtils.hasText(updateDto.getName())) {
                 event.setName(updateDto.getName());
+                // Le nom est conservé avec les compteurs de statistiques en direct
+                eventTicketCounters.evictAfterCommit(eventId);
             }
             if (updateDto.getStartDate() != null) {
                 event.setStartDate(updateDto.getStartDate().toInstant());
             }
             if (updateDto.getEndDate() != null) {
+                endDateChanged = !updateDto.getEndDate().toInstant().equals(event.getEndDate());
                 event.setEndDate(updateDto.getEndDate().toInstant());
             }
             if (updateDto.getAddress() != null) {
@@ -371,6 +384,19 @@ public class EventServiceImpl implements EventService {
             }
         }
 
+        // Salle d'attente (toujours modifiable : elle s'active justement à l'ouverture des ventes). Elle est aussi
+        // reconfigurée quand la date de fin change, puisqu'elle ferme à la fin de l'événement.
+        if (updateDto.getWaitingRoomEnabled() != null || updateDto.getWaitingRoomAdmissionRate() != null || endDateChanged) {
+            if (updateDto.getWaitingRoomEnabled() != null) {
+                event.setWaitingRoomEnabled(updateDto.getWaitingRoomEnabled());
+            }
+            if (updateDto.getWaitingRoomAdmissionRate() != null) {
+                event.setWaitingRoomAdmissionRate(updateDto.getWaitingRoomAdmissionRate());
+            }
+            waitingRoom.configureAfterCommit(event.getId(), event.isWaitingRoomEnabled(),
+                    event.getWaitingRoomAdmissionRate(), event.getEndDate());
+        }
+
         Event savedEvent = eventRepository.save(event);
         EventDetailResponseDto result = eventMapper.toDetailDto(savedEvent);
 
@@ -399,6 +425,7 @@ public class EventServiceImpl implements EventService {
             // Utiliser la suppression logique (soft delete) au lieu de la suppression physique
             event.setDeleted(true);
             eventRepository.save(event);
+            eventTicketCounters.evictAfterCommit(event.getId());
 
             LoggingUtils.logMethodExit(log, "deleteEvent");
             return;
@@ -579,6 +606,27 @@ public class EventServiceImpl implements EventService {
         return categories;
     }
 
+    @Override
+    @Transactional
+    public List<EventAudienceZoneDto> rebuildAudienceZoneCounters(Long eventId) {
+        LoggingUtils.logMethodEntry(log, "rebuildAudienceZoneCounters", "eventId", eventId);
+
+        eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+
+        int updatedZones = eventAudienceZoneRepository.rebuildCountersForEvent(eventId);
+        log.info("Compteurs de {} zone(s) reconstruits pour l'événement ID: {}", updatedZones, eventId);
+
+        // Rechargement après reconstruction (le contexte de persistance a été vidé par la requête)
+        Event event = eventRepository.findByIdWithAudienceZones(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        event.getAudienceZones().forEach(zone -> zoneCapacityLedger.evictAfterCommit(zone.getId()));
+
+        List<EventAudienceZoneDto> result = enrichAudienceZonesWithRemainingCapacity(event.getAudienceZones());
+        LoggingUtils.logMethodExit(log, "rebuildAudienceZoneCounters", result);
+        return result;
+    }
+
     /**
      * Valide que les champs modifiés pour un événement publié sont autorisés.
      */
@@ -605,7 +653,7 @@ public class EventServiceImpl implements EventService {
             throw new BadRequestException(
                     "Modification restreinte : Cet événement est publié. " +
                             "Les champs suivants ne peuvent plus être modifiés : " + String.join(", ", restrictedFields) + ". " +
-                            "Seuls les descriptions, catégories, tags, galerie d'images et options d'affichage sont modifiables."
+                            "Seuls les descriptions, catégories, tags, galerie d'images, options d'affichage et salle d'attente sont modifiables."
             );
         }
     }
@@ -645,9 +693,8 @@ public class EventServiceImpl implements EventService {
             // Mapping de base via MapStruct
             EventAudienceZoneDto dto = eventAudienceZoneMapper.toDto(zone);
 
-            // Calcul de la capacité restante
-            Long soldTickets = ticketRepository.countByEventAudienceZoneAndStatus(zone, TicketStatus.VALID);
-            Integer remaining = zone.getAllocatedCapacity() - soldTickets.intValue();
+            // Calcul de la capacité restante à partir du compteur dénormalisé de la zone
+            int remaining = zone.getAllocatedCapacity() - zone.getSoldCount();
             dto.setRemainingCapacity(Math.max(0, remaining));
 
             return dto;
@@ -698,7 +745,13 @@ public class EventServiceImpl implements EventService {
                 // Mise à jour d'une zone existante
                 log.debug("Mise à jour zone existante - ID: {}, templateId: {}",
                         zoneToUpdate.getId(), configDto.getTemplateId());
+                int previousCapacity = zoneToUpdate.getAllocatedCapacity();
                 zoneToUpdate.setAllocatedCapacity(configDto.getAllocatedCapacity());
+                zoneCapacityLedger.updateCapacityAfterCommit(zoneToUpdate.getId(), configDto.getAllocatedCapacity());
+                if (configDto.getAllocatedCapacity() > previousCapacity) {
+                    // Les places ajoutées reviennent d'abord aux personnes en liste d'attente
+                    zoneWaitlist.markDirtyAfterCommit(zoneToUpdate.getId());
+                }
                 // Le template reste le même
             } else {
                 // Nouvelle zone à créer
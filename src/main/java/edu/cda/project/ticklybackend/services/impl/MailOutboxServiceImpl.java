@@ -0,0 +1,192 @@
+package edu.cda.project.ticklybackend.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.cda.project.ticklybackend.enums.MailOutboxStatus;
+import edu.cda.project.ticklybackend.enums.MailOutboxType;
+import edu.cda.project.ticklybackend.models.mailing.MailOutboxMessage;
+import edu.cda.project.ticklybackend.repositories.mailing.MailOutboxRepository;
+import edu.cda.project.ticklybackend.services.interfaces.MailOutboxService;
+import edu.cda.project.ticklybackend.services.interfaces.MailingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MailOutboxServiceImpl implements MailOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailingService mailingService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${tickly.mail.frontend-base-url}")
+    private String frontendBaseUrl;
+
+    @Value("${tickly.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${tickly.mail.outbox.retry-base-delay-ms:30000}")
+    private long retryBaseDelayMs;
+
+    @Value("${tickly.mail.outbox.lease-ms:300000}")
+    private long leaseMs;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueTickets(String to, String userName, String eventName, List<UUID> ticketIds) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("userName", userName);
+        payload.put("eventName", eventName);
+        payload.put("ticketIds", ticketIds);
+        enqueue(MailOutboxType.TICKET_RECEIPT, to, payload);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueIndividualTicket(String to, String participantName, String eventName, UUID ticketId) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("participantName", participantName);
+        payload.put("eventName", eventName);
+        payload.put("ticketId", ticketId);
+        enqueue(MailOutboxType.INDIVIDUAL_TICKET, to, payload);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueWaitlistPromotion(String to, String userName, Long eventId, String eventName, String zoneName,
+                                         int seats, UUID holdId, Instant holdExpiresAt) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("userName", userName);
+        payload.put("eventId", eventId);
+        payload.put("eventName", eventName);
+        payload.put("zoneName", zoneName);
+        payload.put("seats", seats);
+        payload.put("holdId", holdId);
+        payload.put("holdExpiresAt", holdExpiresAt.toString());
+        enqueue(MailOutboxType.WAITLIST_PROMOTION, to, payload);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueZoneTicketsCancelled(String to, String userName, String eventName, String zoneName, int ticketCount) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("userName", userName);
+        payload.put("eventName", eventName);
+        payload.put("zoneName", zoneName);
+        payload.put("ticketCount", ticketCount);
+        enqueue(MailOutboxType.ZONE_TICKETS_CANCELLED, to, payload);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countPendingMessages() {
+        return mailOutboxRepository.countByStatus(MailOutboxStatus.PENDING);
+    }
+
+    @Override
+    @Transactional
+    public List<MailOutboxMessage> claimPendingMessages(int batchSize) {
+        Instant now = Instant.now();
+        List<MailOutboxMessage> messages = mailOutboxRepository.lockClaimableMessages(now, batchSize);
+        for (MailOutboxMessage message : messages) {
+            if (message.getStatus() == MailOutboxStatus.SENDING) {
+                log.warn("Bail expiré pour le message d'outbox {} : nouvelle tentative d'envoi", message.getId());
+            }
+            message.setStatus(MailOutboxStatus.SENDING);
+            message.setAttempts(message.getAttempts() + 1);
+            message.setNextAttemptAt(now.plusMillis(leaseMs));
+        }
+        return messages;
+    }
+
+    @Override
+    public void deliver(MailOutboxMessage message) {
+        try {
+            Map<String, Object> payload = objectMapper.readValue(message.getPayload(), objectMapper.getTypeFactory()
+                    .constructMapType(Map.class, String.class, Object.class));
+            String eventName = (String) payload.get("eventName");
+
+            switch (message.getType()) {
+                case TICKET_RECEIPT -> {
+                    List<UUID> ticketIds = ((List<?>) payload.get("ticketIds")).stream()
+                            .map(id -> UUID.fromString(id.toString()))
+                            .toList();
+                    mailingService.deliverTickets(message.getRecipient(), (String) payload.get("userName"),
+                            eventName, ticketIds, frontendBaseUrl);
+                }
+                case INDIVIDUAL_TICKET -> mailingService.deliverIndividualTicket(message.getRecipient(),
+                        (String) payload.get("participantName"), eventName,
+                        UUID.fromString(payload.get("ticketId").toString()), frontendBaseUrl);
+                case WAITLIST_PROMOTION -> mailingService.deliverWaitlistPromotion(message.getRecipient(),
+                        (String) payload.get("userName"), ((Number) payload.get("eventId")).longValue(), eventName,
+                        (String) payload.get("zoneName"), ((Number) payload.get("seats")).intValue(),
+                        UUID.fromString(payload.get("holdId").toString()),
+                        Instant.parse(payload.get("holdExpiresAt").toString()), frontendBaseUrl);
+                case ZONE_TICKETS_CANCELLED -> mailingService.deliverZoneTicketsCancelled(message.getRecipient(),
+                        (String) payload.get("userName"), eventName, (String) payload.get("zoneName"),
+                        ((Number) payload.get("ticketCount")).intValue(), frontendBaseUrl);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Payload illisible pour le message d'outbox " + message.getId(), e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void markSent(Long messageId) {
+        mailOutboxRepository.findById(messageId).ifPresent(message -> {
+            message.setStatus(MailOutboxStatus.SENT);
+            message.setSentAt(Instant.now());
+            message.setLastError(null);
+        });
+    }
+
+    @Override
+    @Transactional
+    public void markFailed(Long messageId, String error) {
+        mailOutboxRepository.findById(messageId).ifPresent(message -> {
+            message.setLastError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            if (message.getAttempts() >= maxAttempts) {
+                message.setStatus(MailOutboxStatus.FAILED);
+                log.error("Message d'outbox {} ({}) abandonné après {} tentatives : {}",
+                        messageId, message.getType(), message.getAttempts(), error);
+                return;
+            }
+            // Délai exponentiel : base, 2 x base, 4 x base... plafonné à 2^10 x base
+            long delayMs = retryBaseDelayMs << Math.min(message.getAttempts() - 1, 10);
+            message.setStatus(MailOutboxStatus.PENDING);
+            message.setNextAttemptAt(Instant.now().plus(Duration.ofMillis(delayMs)));
+            log.warn("Échec de l'envoi du message d'outbox {} (tentative {}/{}), nouvel essai dans {} ms : {}",
+                    messageId, message.getAttempts(), maxAttempts, delayMs, error);
+        });
+    }
+
+    @Override
+    @Transactional
+    public int purgeSentMessages(Instant before) {
+        return mailOutboxRepository.deleteSentBefore(before);
+    }
+
+    private void enqueue(MailOutboxType type, String recipient, Map<String, Object> payload) {
+        try {
+            mailOutboxRepository.save(new MailOutboxMessage(type, recipient, objectMapper.writeValueAsString(payload)));
+            log.debug("E-mail {} pour {} ajouté à l'outbox", type, recipient);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Impossible de sérialiser le contenu de l'e-mail " + type, e);
+        }
+    }
+}
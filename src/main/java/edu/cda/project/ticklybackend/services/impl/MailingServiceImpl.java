@@ -7,7 +7,11 @@ import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.gmail.Gmail;
 import com.google.api.services.gmail.model.Message;
+import edu.cda.project.ticklybackend.enums.QrImageFormat;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketQrCode;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
 import edu.cda.project.ticklybackend.services.interfaces.MailingService;
+import edu.cda.project.ticklybackend.services.ticketing.QrCodeRenderer;
 import edu.cda.project.ticklybackend.utils.LoggingUtils;
 import jakarta.mail.MessagingException;
 import jakarta.mail.Session;
@@ -25,8 +29,13 @@ import org.thymeleaf.context.Context;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -36,7 +45,12 @@ import java.util.stream.Collectors;
 @Slf4j
 public class MailingServiceImpl implements MailingService {
 
+    private static final DateTimeFormatter HOLD_EXPIRY_FORMATTER =
+            DateTimeFormatter.ofPattern("dd/MM/yyyy 'à' HH:mm").withZone(ZoneId.of("Europe/Paris"));
+
     private final TemplateEngine templateEngine;
+    private final TicketRepository ticketRepository;
+    private final QrCodeRenderer qrCodeRenderer;
 
     @Value("${tickly.mail.sender}")
     private String senderEmail;
@@ -189,23 +203,7 @@ public class MailingServiceImpl implements MailingService {
     public void sendTickets(String to, String userName, String eventName, List<UUID> ticketIds, String frontendBaseUrl) {
         LoggingUtils.logMethodEntry(log, "sendTickets", "to", to, "userName", userName, "eventName", eventName, "ticketIds", ticketIds);
         try {
-            log.debug("Préparation de l'email d'envoi de liens de billets pour: {} (événement: {})", to, eventName);
-            final String subject = "Vos billets pour l'événement : " + eventName;
-
-            // Créer les liens vers les billets
-            List<String> ticketLinks = ticketIds.stream()
-                    .map(id -> frontendBaseUrl + "/tickets/view/" + id)
-                    .collect(Collectors.toList());
-
-            Context context = new Context();
-            context.setVariable("userName", userName);
-            context.setVariable("eventName", eventName);
-            context.setVariable("ticketLinks", ticketLinks);
-            context.setVariable("frontendBaseUrl", frontendBaseUrl);
-
-            sendHtmlEmail(to, subject, "emails/ticket-receipt.html", context, null, null);
-
-            log.info("Email avec liens de billets envoyé à {} pour l'événement {}", to, eventName);
+            deliverTickets(to, userName, eventName, ticketIds, frontendBaseUrl);
         } catch (Exception e) {
             LoggingUtils.logException(log, "Échec de l'envoi de l'email avec liens de billets à " + to +
                     " pour l'événement " + eventName, e);
@@ -219,21 +217,7 @@ public class MailingServiceImpl implements MailingService {
     public void sendIndividualTicket(String to, String participantName, String eventName, UUID ticketId, String frontendBaseUrl) {
         LoggingUtils.logMethodEntry(log, "sendIndividualTicket", "to", to, "participantName", participantName, "eventName", eventName, "ticketId", ticketId);
         try {
-            log.debug("Préparation de l'email d'envoi de lien de billet individuel pour: {} (participant: {}, événement: {})", to, participantName, eventName);
-            final String subject = "Votre billet pour l'événement : " + eventName;
-
-            // Créer le lien vers le billet
-            String ticketLink = frontendBaseUrl + "/tickets/view/" + ticketId;
-
-            Context context = new Context();
-            context.setVariable("participantName", participantName);
-            context.setVariable("eventName", eventName);
-            context.setVariable("ticketLink", ticketLink);
-            context.setVariable("frontendBaseUrl", frontendBaseUrl);
-
-            sendHtmlEmail(to, subject, "emails/individual-ticket.html", context, null, null);
-
-            log.info("Email avec lien de billet individuel envoyé à {} pour l'événement {}", to, eventName);
+            deliverIndividualTicket(to, participantName, eventName, ticketId, frontendBaseUrl);
         } catch (Exception e) {
             LoggingUtils.logException(log, "Échec de l'envoi de l'email avec lien de billet individuel à " + to +
                     " pour l'événement " + eventName, e);
@@ -242,6 +226,114 @@ public class MailingServiceImpl implements MailingService {
         }
     }
 
+    @Override
+    public void deliverTickets(String to, String userName, String eventName, List<UUID> ticketIds, String frontendBaseUrl) {
+        log.debug("Préparation de l'email d'envoi de liens de billets pour: {} (événement: {})", to, eventName);
+        final String subject = "Vos billets pour l'événement : " + eventName;
+
+        // Créer les liens vers les billets
+        List<String> ticketLinks = ticketIds.stream()
+                .map(id -> frontendBaseUrl + "/tickets/view/" + id)
+                .collect(Collectors.toList());
+
+        Context context = new Context();
+        context.setVariable("userName", userName);
+        context.setVariable("eventName", eventName);
+        context.setVariable("ticketLinks", ticketLinks);
+        context.setVariable("frontendBaseUrl", frontendBaseUrl);
+
+        sendHtmlEmail(to, subject, "emails/ticket-receipt.html", context, renderQrCodeAttachments(ticketIds));
+
+        log.info("Email avec liens de billets envoyé à {} pour l'événement {}", to, eventName);
+    }
+
+    @Override
+    public void deliverIndividualTicket(String to, String participantName, String eventName, UUID ticketId, String frontendBaseUrl) {
+        log.debug("Préparation de l'email d'envoi de lien de billet individuel pour: {} (participant: {}, événement: {})", to, participantName, eventName);
+        final String subject = "Votre billet pour l'événement : " + eventName;
+
+        // Créer le lien vers le billet
+        String ticketLink = frontendBaseUrl + "/tickets/view/" + ticketId;
+
+        Context context = new Context();
+        context.setVariable("participantName", participantName);
+        context.setVariable("eventName", eventName);
+        context.setVariable("ticketLink", ticketLink);
+        context.setVariable("frontendBaseUrl", frontendBaseUrl);
+
+        byte[] qrCode = renderQrCodeAttachments(List.of(ticketId)).get(qrCodeAttachmentName(ticketId));
+        sendHtmlEmail(to, subject, "emails/individual-ticket.html", context, qrCode, qrCodeAttachmentName(ticketId));
+
+        log.info("Email avec lien de billet individuel envoyé à {} pour l'événement {}", to, eventName);
+    }
+
+    @Override
+    public void deliverWaitlistPromotion(String to, String userName, Long eventId, String eventName, String zoneName, int seats,
+                                         UUID holdId, Instant holdExpiresAt, String frontendBaseUrl) {
+        log.debug("Préparation de l'email de promotion depuis la liste d'attente pour: {} (événement: {})", to, eventName);
+        final String subject = "Des places se sont libérées pour l'événement : " + eventName;
+
+        // Le lien ramène l'acheteur sur la réservation de l'événement, avec le hold à confirmer
+        String reservationLink = frontendBaseUrl + "/events/" + eventId + "?holdId=" + holdId;
+
+        Context context = new Context();
+        context.setVariable("userName", userName);
+        context.setVariable("eventName", eventName);
+        context.setVariable("zoneName", zoneName);
+        context.setVariable("seats", seats);
+        context.setVariable("holdExpiresAt", HOLD_EXPIRY_FORMATTER.format(holdExpiresAt));
+        context.setVariable("reservationLink", reservationLink);
+        context.setVariable("frontendBaseUrl", frontendBaseUrl);
+
+        sendHtmlEmail(to, subject, "emails/waitlist-promotion.html", context, null, null);
+
+        log.info("Email de promotion depuis la liste d'attente envoyé à {} pour l'événement {}", to, eventName);
+    }
+
+    @Override
+    public void deliverZoneTicketsCancelled(String to, String userName, String eventName, String zoneName, int ticketCount,
+                                            String frontendBaseUrl) {
+        log.debug("Préparation de l'email d'annulation de billets par l'organisateur pour: {} (événement: {})", to, eventName);
+        final String subject = "Annulation de billets pour l'événement : " + eventName;
+
+        Context context = new Context();
+        context.setVariable("userName", userName);
+        context.setVariable("eventName", eventName);
+        context.setVariable("zoneName", zoneName);
+        context.setVariable("ticketCount", ticketCount);
+        context.setVariable("frontendBaseUrl", frontendBaseUrl);
+
+        sendHtmlEmail(to, subject, "emails/zone-tickets-cancelled.html", context, null, null);
+
+        log.info("Email d'annulation de {} billet(s) envoyé à {} pour l'événement {}", ticketCount, to, eventName);
+    }
+
+    /**
+     * Rend les QR codes des billets en PNG, pour les joindre à l'e-mail. Un échec du rendu ne doit pas
+     * empêcher l'envoi : les billets restent accessibles via leurs liens.
+     *
+     * @return les images indexées par nom de pièce jointe, dans l'ordre des billets.
+     */
+    private Map<String, byte[]> renderQrCodeAttachments(List<UUID> ticketIds) {
+        Map<String, byte[]> attachments = new LinkedHashMap<>();
+        try {
+            Map<UUID, String> qrCodeValues = ticketRepository.findQrCodesByIdIn(ticketIds).stream()
+                    .collect(Collectors.toMap(TicketQrCode::getId, TicketQrCode::getQrCodeValue));
+            for (UUID ticketId : ticketIds) {
+                String qrCodeValue = qrCodeValues.get(ticketId);
+                if (qrCodeValue != null) {
+                    attachments.put(qrCodeAttachmentName(ticketId), qrCodeRenderer.render(qrCodeValue, QrImageFormat.PNG));
+                }
+            }
+        } catch (Exception e) {
+            LoggingUtils.logException(log, "Échec du rendu des QR codes des billets " + ticketIds + ", e-mail envoyé sans pièce jointe", e);
+        }
+        return attachments;
+    }
+
+    private static String qrCodeAttachmentName(UUID ticketId) {
+        return "billet-" + ticketId + "." + QrImageFormat.PNG.getExtension();
+    }
 
     /**
      * Ajouté : Construit et retourne un service Gmail authentifié via OAuth 2.0.
@@ -264,6 +356,17 @@ public class MailingServiceImpl implements MailingService {
      * MODIFIÉ : Cette méthode utilise maintenant le client Gmail au lieu de JavaMailSender.
      */
     private void sendHtmlEmail(String to, String subject, String templateName, Context context, byte[] attachment, String attachmentName) {
+        Map<String, byte[]> attachments = attachment != null && attachment.length > 0 && attachmentName != null
+                ? Map.of(attachmentName, attachment)
+                : Map.of();
+        sendHtmlEmail(to, subject, templateName, context, attachments);
+    }
+
+    /**
+     * Variante de {@link #sendHtmlEmail(String, String, String, Context, byte[], String)} acceptant
+     * plusieurs pièces jointes, indexées par nom de fichier.
+     */
+    private void sendHtmlEmail(String to, String subject, String templateName, Context context, Map<String, byte[]> attachments) {
         LoggingUtils.logMethodEntry(log, "sendHtmlEmail", "to", to, "subject", subject, "templateName", templateName);
         try {
             log.debug("Début de la préparation de l'email '{}' pour: {} avec template: {}", subject, to, templateName);
@@ -281,9 +384,9 @@ public class MailingServiceImpl implements MailingService {
             helper.setSubject(subject);
             helper.setText(htmlContent, true); // true indique que le contenu est HTML
 
-            if (attachment != null && attachment.length > 0 && attachmentName != null) {
-                log.debug("Ajout d'une pièce jointe: {} (taille: {} octets)", attachmentName, attachment.length);
-                helper.addAttachment(attachmentName, new ByteArrayResource(attachment));
+            for (Map.Entry<String, byte[]> attachment : attachments.entrySet()) {
+                log.debug("Ajout d'une pièce jointe: {} (taille: {} octets)", attachment.getKey(), attachment.getValue().length);
+                helper.addAttachment(attachment.getKey(), new ByteArrayResource(attachment.getValue()));
             }
 
             ByteArrayOutputStream buffer = new ByteArrayOutputStream();
@@ -0,0 +1,120 @@
+package edu.cda.project.ticklybackend.services.impl;
+
+import edu.cda.project.ticklybackend.dtos.ticket.TicketTokenKeyDto;
+import edu.cda.project.ticklybackend.exceptions.ResourceNotFoundException;
+import edu.cda.project.ticklybackend.repositories.event.EventRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
+import edu.cda.project.ticklybackend.services.interfaces.ScannerManifestService;
+import edu.cda.project.ticklybackend.services.ticketing.ScannerManifestFormat;
+import edu.cda.project.ticklybackend.services.ticketing.TicketTokenCodec;
+import edu.cda.project.ticklybackend.utils.LoggingUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScannerManifestServiceImpl implements ScannerManifestService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TicketRepository ticketRepository;
+    private final EventRepository eventRepository;
+    private final TicketTokenCodec ticketTokenCodec;
+
+    /**
+     * Délai de sécurité appliqué au curseur : une transaction qui modifie un billet et valide après ce délai
+     * pourrait sinon échapper au delta suivant.
+     */
+    @Value("${tickly.scanner.manifest.delta-lag-ms:2000}")
+    private long deltaLagMs;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeManifest(Long eventId, OutputStream outputStream) throws IOException {
+        LoggingUtils.logMethodEntry(log, "writeManifest", "eventId", eventId);
+
+        try {
+            ensureEventExists(eventId);
+            // Le manifeste reflète l'état au moment de la lecture, postérieur à l'horizon : le delta suivant
+            // peut renvoyer quelques billets déjà présents, ce qui est sans effet côté appareil
+            LocalDateTime horizon = ticketRepository.findSyncHorizon(deltaLagMs);
+            int records = write(outputStream, ScannerManifestFormat.KIND_FULL, eventId, null, horizon);
+
+            log.info("Manifeste scanner exporté pour l'événement {} : {} billet(s)", eventId, records);
+            LoggingUtils.logMethodExit(log, "writeManifest", records);
+        } finally {
+            LoggingUtils.clearContext();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeDelta(Long eventId, long since, OutputStream outputStream) throws IOException {
+        LoggingUtils.logMethodEntry(log, "writeDelta", "eventId", eventId, "since", since);
+
+        try {
+            LocalDateTime changedAfter = ScannerManifestFormat.decodeCursor(since);
+            ensureEventExists(eventId);
+            LocalDateTime horizon = ticketRepository.findSyncHorizon(deltaLagMs);
+            if (!horizon.isAfter(changedAfter)) {
+                // Rien de nouveau à synchroniser : le curseur est conservé
+                horizon = changedAfter;
+            }
+            int records = write(outputStream, ScannerManifestFormat.KIND_DELTA, eventId, changedAfter, horizon);
+
+            log.debug("Delta du manifeste scanner pour l'événement {} : {} billet(s) modifié(s)", eventId, records);
+            LoggingUtils.logMethodExit(log, "writeDelta", records);
+        } finally {
+            LoggingUtils.clearContext();
+        }
+    }
+
+    @Override
+    public TicketTokenKeyDto getTicketTokenKey(Long eventId) {
+        LoggingUtils.logMethodEntry(log, "getTicketTokenKey", "eventId", eventId);
+
+        try {
+            ensureEventExists(eventId);
+            TicketTokenKeyDto result = new TicketTokenKeyDto(eventId, TicketTokenCodec.VERSION, TicketTokenCodec.SIGNATURE_ALGORITHM,
+                    TicketTokenCodec.SIGNATURE_SIZE, Base64.getEncoder().encodeToString(ticketTokenCodec.publicKey()));
+            log.debug("Clé publique de vérification des billets transmise pour l'événement {}", eventId);
+            return result;
+        } finally {
+            LoggingUtils.clearContext();
+        }
+    }
+
+    private int write(OutputStream outputStream, byte kind, Long eventId, LocalDateTime changedAfter,
+                      LocalDateTime horizon) throws IOException {
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream, BUFFER_SIZE));
+        ScannerManifestFormat.writeHeader(output, kind, eventId, ScannerManifestFormat.encodeCursor(horizon));
+
+        AtomicInteger records = new AtomicInteger();
+        if (changedAfter == null || horizon.isAfter(changedAfter)) {
+            ticketRepository.streamScannerManifest(eventId, changedAfter, horizon, (qrHash, zoneId, status) -> {
+                ScannerManifestFormat.writeRecord(output, qrHash, zoneId, status);
+                records.incrementAndGet();
+            });
+        }
+        output.flush();
+        return records.get();
+    }
+
+    private void ensureEventExists(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Événement avec ID " + eventId + " non trouvé.");
+        }
+    }
+}
@@ -11,6 +11,7 @@ import edu.cda.project.ticklybackend.repositories.statistics.StatisticsRepositor
 import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
 import edu.cda.project.ticklybackend.security.OrganizationalSecurityService;
 import edu.cda.project.ticklybackend.services.interfaces.StatisticsService;
+import edu.cda.project.ticklybackend.services.ticketing.EventTicketCounters;
 import edu.cda.project.ticklybackend.utils.AuthUtils;
 import edu.cda.project.ticklybackend.utils.LoggingUtils;
 import lombok.RequiredArgsConstructor;
@@ -38,6 +39,7 @@ public class StatisticsServiceImpl implements StatisticsService {
     private final TicketRepository ticketRepository;
     private final OrganizationalSecurityService organizationalSecurityService;
     private final AuthUtils authUtils;
+    private final EventTicketCounters eventTicketCounters;
 
     private static final int TOP_EVENTS_LIMIT = 5;
 
@@ -155,8 +157,10 @@ public class StatisticsServiceImpl implements StatisticsService {
             // Calculate KPIs
             log.debug("Calcul des KPIs pour l'événement ID: {}", eventId);
             long uniqueReservationAmount = statisticsRepository.countUniqueReservationsByEventId(eventId);
-            long attributedTicketsAmount = ticketRepository.countByEventIdAndStatus(eventId, TicketStatus.VALID);
-            long scannedTicketsNumber = ticketRepository.countByEventIdAndStatus(eventId, TicketStatus.USED);
+            EventTicketCounters.Snapshot counts = eventTicketCounters.snapshot(eventId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+            long attributedTicketsAmount = counts.getValidCount();
+            long scannedTicketsNumber = counts.getUsedCount();
 
             // Calculate total capacity from zone fill rates
             int totalCapacity = zoneFillRates.stream().mapToInt(ZoneFillRateDataPointDto::getCapacity).sum();
@@ -203,20 +207,20 @@ public class StatisticsServiceImpl implements StatisticsService {
         try {
             log.debug("Début de la récupération des statistiques simplifiées pour l'événement ID: {}", eventId);
 
-            // Explicitly handle the case when event is not found to ensure ResourceNotFoundException is thrown
-            var eventOpt = eventRepository.findById(eventId);
-            if (eventOpt.isEmpty()) {
+            // Compteurs en mémoire : aucune requête une fois l'événement chargé, même avec de nombreux abonnés
+            var countsOpt = eventTicketCounters.snapshot(eventId);
+            if (countsOpt.isEmpty()) {
                 log.warn("Événement non trouvé avec ID: {}", eventId);
                 throw new ResourceNotFoundException("Event", "id", eventId);
             }
 
-            Event event = eventOpt.get();
-            log.debug("Événement trouvé: ID={}, nom={}", event.getId(), event.getName());
+            EventTicketCounters.Snapshot counts = countsOpt.get();
+            String eventName = counts.getEventName();
 
             // Calculate KPIs
             log.debug("Calcul des KPIs simplifiés pour l'événement ID: {}", eventId);
-            long remainingTickets = ticketRepository.countByEventIdAndStatus(eventId, TicketStatus.VALID);
-            long scannedTickets = ticketRepository.countByEventIdAndStatus(eventId, TicketStatus.USED);
+            long remainingTickets = counts.getValidCount();
+            long scannedTickets = counts.getUsedCount();
             long totalTickets = remainingTickets + scannedTickets;
 
             // Calculate the correct fill rate as the percentage of USED tickets compared to total tickets
@@ -229,14 +233,14 @@ public class StatisticsServiceImpl implements StatisticsService {
             log.debug("Création du DTO de statistiques simplifiées pour l'événement ID: {}", eventId);
             EventTicketStatisticsDto dto = new EventTicketStatisticsDto(
                     eventId,
-                    event.getName(),
+                    eventName,
                     totalTickets,
                     scannedTickets,
                     remainingTickets,
                     fillRate
             );
 
-            log.info("Statistiques simplifiées générées avec succès pour l'événement ID: {}, nom: {}", eventId, event.getName());
+            log.info("Statistiques simplifiées générées avec succès pour l'événement ID: {}, nom: {}", eventId, eventName);
 
             LoggingUtils.logMethodExit(log, "getEventTicketStats", dto);
             return dto;
@@ -3,6 +3,7 @@ package edu.cda.project.ticklybackend.services.impl;
 import edu.cda.project.ticklybackend.dtos.file.FileUploadResponseDto;
 import edu.cda.project.ticklybackend.dtos.structure.*;
 import edu.cda.project.ticklybackend.enums.EventStatus;
+import edu.cda.project.ticklybackend.enums.SeatingType;
 import edu.cda.project.ticklybackend.enums.UserRole;
 import edu.cda.project.ticklybackend.exceptions.BadRequestException;
 import edu.cda.project.ticklybackend.exceptions.FileStorageException;
@@ -718,6 +719,7 @@ public class StructureServiceImpl implements StructureService {
                 .orElseThrow(() -> new ResourceNotFoundException("Area", "id " + areaId + " for structure", structureId));
         AudienceZoneTemplate template = audienceZoneTemplateMapper.toEntity(creationDto);
         template.setArea(area);
+        validateSeatMap(template);
         AudienceZoneTemplate savedTemplate = audienceZoneTemplateRepository.save(template);
         log.info("Modèle de zone {} créé pour l'espace {} (ID: {}).", savedTemplate.getName(), area.getName(), areaId);
         return audienceZoneTemplateMapper.toDto(savedTemplate);
@@ -734,11 +736,12 @@ public class StructureServiceImpl implements StructureService {
 
         if (isUsedByActiveEvents) {
             // Seuls le nom et éventuellement la description peuvent être modifiés
-            if (updateDto.getMaxCapacity() != null || updateDto.getSeatingType() != null || updateDto.getIsActive() != null) {
+            if (updateDto.getMaxCapacity() != null || updateDto.getSeatingType() != null || updateDto.getIsActive() != null
+                    || updateDto.getSeatRows() != null || updateDto.getSeatsPerRow() != null) {
                 throw new BadRequestException(
                         "Modification restreinte : Cette zone d'audience ('" + template.getName() + "') est utilisée par des événements actifs. " +
                                 "Seuls le nom peut être modifié. " +
-                                "Capacité, type de placement et statut d'activation sont protégés."
+                                "Capacité, type de placement, plan de salle et statut d'activation sont protégés."
                 );
             }
         }
@@ -759,6 +762,13 @@ public class StructureServiceImpl implements StructureService {
             if (updateDto.getIsActive() != null) {
                 template.setActive(updateDto.getIsActive());
             }
+            if (updateDto.getSeatRows() != null) {
+                template.setSeatRows(updateDto.getSeatRows());
+            }
+            if (updateDto.getSeatsPerRow() != null) {
+                template.setSeatsPerRow(updateDto.getSeatsPerRow());
+            }
+            validateSeatMap(template);
         }
 
         AudienceZoneTemplate savedTemplate = audienceZoneTemplateRepository.save(template);
@@ -766,6 +776,25 @@ public class StructureServiceImpl implements StructureService {
         return audienceZoneTemplateMapper.toDto(savedTemplate);
     }
 
+    /**
+     * Vérifie la cohérence du plan de salle d'un modèle de zone : rangs et sièges par rang vont ensemble,
+     * ne concernent que les zones assises et doivent offrir au moins la capacité maximale de la zone.
+     */
+    private void validateSeatMap(AudienceZoneTemplate template) {
+        if (template.getSeatRows() == null && template.getSeatsPerRow() == null) {
+            return;
+        }
+        if (template.getSeatRows() == null || template.getSeatsPerRow() == null) {
+            throw new BadRequestException("Le plan de salle doit préciser le nombre de rangs et le nombre de sièges par rang.");
+        }
+        if (template.getSeatingType() != SeatingType.SEATED) {
+            throw new BadRequestException("Seules les zones assises (SEATED) peuvent avoir un plan de salle.");
+        }
+        if ((long) template.getSeatRows() * template.getSeatsPerRow() < template.getMaxCapacity()) {
+            throw new BadRequestException("Le plan de salle de la zone '" + template.getName() + "' compte moins de sièges que sa capacité maximale.");
+        }
+    }
+
     @Override
     public void deleteAudienceZoneTemplate(Long structureId, Long areaId, Long templateId) {
         AudienceZoneTemplate template = audienceZoneTemplateRepository.findByIdAndAreaIdAndAreaStructureId(templateId, areaId, structureId)
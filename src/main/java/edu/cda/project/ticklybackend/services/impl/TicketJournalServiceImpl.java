@@ -0,0 +1,81 @@
+package edu.cda.project.ticklybackend.services.impl;
+
+import edu.cda.project.ticklybackend.dtos.ticket.TicketJournalDailyRollupDto;
+import edu.cda.project.ticklybackend.dtos.ticket.TicketJournalReplayDto;
+import edu.cda.project.ticklybackend.dtos.ticket.TicketJournalZoneCountsDto;
+import edu.cda.project.ticklybackend.exceptions.ResourceNotFoundException;
+import edu.cda.project.ticklybackend.models.event.Event;
+import edu.cda.project.ticklybackend.models.event.EventAudienceZone;
+import edu.cda.project.ticklybackend.repositories.event.EventRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketJournalRepository;
+import edu.cda.project.ticklybackend.services.interfaces.TicketJournalService;
+import edu.cda.project.ticklybackend.services.ticketing.DailyTicketRollupProjection;
+import edu.cda.project.ticklybackend.services.ticketing.TicketCountsProjection;
+import edu.cda.project.ticklybackend.services.ticketing.TicketJournal;
+import edu.cda.project.ticklybackend.utils.LoggingUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TicketJournalServiceImpl implements TicketJournalService {
+
+    private final TicketJournalRepository ticketJournalRepository;
+    private final EventRepository eventRepository;
+    private final TicketJournal ticketJournal;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public TicketJournalReplayDto replayEvent(Long eventId) {
+        LoggingUtils.logMethodEntry(log, "replayEvent", "eventId", eventId);
+
+        // Les validations encore dans le segment local doivent être dans la table avant le rejeu
+        int shipped = ticketJournal.ship();
+        if (shipped > 0) {
+            log.debug("{} validation(s) du segment local recopiée(s) dans le journal avant le rejeu", shipped);
+        }
+
+        TicketJournalReplayDto result = transactionTemplate.execute(status -> {
+            Event event = eventRepository.findByIdWithAudienceZones(eventId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+
+            // Une seule lecture en flux du journal alimente toutes les projections
+            TicketCountsProjection counts = new TicketCountsProjection();
+            DailyTicketRollupProjection rollup = new DailyTicketRollupProjection();
+            long[] replayed = new long[1];
+            long lastSequence = ticketJournalRepository.replayEvent(eventId, 0L, (sequence, ticketId, zoneId, type, occurredAt) -> {
+                counts.handle(sequence, ticketId, zoneId, type, occurredAt);
+                rollup.handle(sequence, ticketId, zoneId, type, occurredAt);
+                replayed[0]++;
+            });
+
+            // Les projections sont seulement renvoyées : les compteurs des zones (dont sold_count, sur lequel repose
+            // le contrôle de capacité) restent reconstruits depuis la table tickets par rebuildAudienceZoneCounters.
+            List<TicketJournalZoneCountsDto> zones = new ArrayList<>();
+            for (EventAudienceZone zone : event.getAudienceZones()) {
+                TicketCountsProjection.Counts zoneCounts = counts.zone(zone.getId());
+                zones.add(new TicketJournalZoneCountsDto(zone.getId(),
+                        zoneCounts.getValidCount() + zoneCounts.getUsedCount(),
+                        zoneCounts.getUsedCount(), zoneCounts.getCancelledCount()));
+            }
+
+            TicketCountsProjection.Counts total = counts.total();
+            List<TicketJournalDailyRollupDto> days = rollup.days().stream()
+                    .map(day -> new TicketJournalDailyRollupDto(day.getDate(), day.getCreatedCount(),
+                            day.getValidatedCount(), day.getCancelledCount()))
+                    .toList();
+            log.info("Journal de l'événement {} rejoué : {} entrée(s), {} zone(s)", eventId, replayed[0], zones.size());
+            return new TicketJournalReplayDto(eventId, replayed[0], lastSequence, total.getValidCount(),
+                    total.getUsedCount(), total.getCancelledCount(), zones, days);
+        });
+
+        LoggingUtils.logMethodExit(log, "replayEvent", result);
+        return result;
+    }
+}
@@ -1,46 +1,70 @@
 package edu.cda.project.ticklybackend.services.impl;
 
 import edu.cda.project.ticklybackend.dtos.common.PaginatedResponseDto;
-import edu.cda.project.ticklybackend.dtos.statistics.EventTicketStatisticsDto;
+import edu.cda.project.ticklybackend.dtos.structure.AddressDto;
 import edu.cda.project.ticklybackend.dtos.ticket.*;
 import edu.cda.project.ticklybackend.enums.EventStatus;
+import edu.cda.project.ticklybackend.enums.QrImageFormat;
+import edu.cda.project.ticklybackend.enums.TicketJournalEventType;
+import edu.cda.project.ticklybackend.enums.TicketScanOutcome;
 import edu.cda.project.ticklybackend.enums.TicketStatus;
 import edu.cda.project.ticklybackend.exceptions.AccessDeniedException;
 import edu.cda.project.ticklybackend.exceptions.BadRequestException;
 import edu.cda.project.ticklybackend.exceptions.ResourceNotFoundException;
+import edu.cda.project.ticklybackend.exceptions.WaitingRoomException;
 import edu.cda.project.ticklybackend.mappers.ticket.TicketMapper;
 import edu.cda.project.ticklybackend.models.event.Event;
 import edu.cda.project.ticklybackend.models.event.EventAudienceZone;
+import edu.cda.project.ticklybackend.models.structure.AudienceZoneTemplate;
 import edu.cda.project.ticklybackend.models.ticket.Reservation;
 import edu.cda.project.ticklybackend.models.ticket.Ticket;
+import edu.cda.project.ticklybackend.models.ticket.TicketJournalEntry;
 import edu.cda.project.ticklybackend.models.user.User;
+import edu.cda.project.ticklybackend.repositories.event.EventAudienceZoneRepository;
 import edu.cda.project.ticklybackend.repositories.event.EventRepository;
 import edu.cda.project.ticklybackend.repositories.ticket.ReservationRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.ReservationTicketState;
+import edu.cda.project.ticklybackend.repositories.ticket.ReservationTicketRow;
 import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketScanEntry;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketSearchCriteria;
+import edu.cda.project.ticklybackend.repositories.ticket.WaitlistEntryRepository;
 import edu.cda.project.ticklybackend.services.interfaces.FileStorageService;
-import edu.cda.project.ticklybackend.services.interfaces.MailingService;
-import edu.cda.project.ticklybackend.services.interfaces.StatisticsService;
+import edu.cda.project.ticklybackend.services.interfaces.MailOutboxService;
 import edu.cda.project.ticklybackend.services.interfaces.TicketService;
+import edu.cda.project.ticklybackend.services.ticketing.EventTicketCounters;
+import edu.cda.project.ticklybackend.services.ticketing.ParticipantSearchIndex;
+import edu.cda.project.ticklybackend.services.ticketing.QrCodeRenderer;
+import edu.cda.project.ticklybackend.services.ticketing.ReservationIdempotencyRegistry;
+import edu.cda.project.ticklybackend.services.ticketing.SeatBitmap;
+import edu.cda.project.ticklybackend.services.ticketing.SeatHoldRegistry;
+import edu.cda.project.ticklybackend.services.ticketing.SeatMapRegistry;
+import edu.cda.project.ticklybackend.services.ticketing.TicketCursor;
+import edu.cda.project.ticklybackend.services.ticketing.TicketJournal;
+import edu.cda.project.ticklybackend.services.ticketing.TicketTokenCodec;
+import edu.cda.project.ticklybackend.services.ticketing.TicketValidationCache;
+import edu.cda.project.ticklybackend.services.ticketing.WaitingRoom;
+import edu.cda.project.ticklybackend.services.ticketing.ZoneCapacityLedger;
 import edu.cda.project.ticklybackend.utils.AuthUtils;
 import edu.cda.project.ticklybackend.utils.LoggingUtils;
+import edu.cda.project.ticklybackend.utils.UuidV7Generator;
+import edu.cda.project.ticklybackend.websocket.EventStatisticsBroadcaster;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -48,22 +72,86 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TicketServiceImpl implements TicketService {
 
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+    private static final String ACTIVE_SEAT_CONSTRAINT = "uk_tickets_active_seat";
+    private static final String WAITLIST_HINT = "Vous pouvez rejoindre la liste d'attente de la zone pour être prévenu si des places se libèrent.";
+
     private final TicketRepository ticketRepository;
     private final ReservationRepository reservationRepository;
     private final EventRepository eventRepository;
     private final TicketMapper ticketMapper;
     private final AuthUtils authUtils;
     private final FileStorageService fileStorageService;
-    private final MailingService mailingService;
+    private final MailOutboxService mailOutboxService;
     private final SimpMessagingTemplate messagingTemplate;
-    private final StatisticsService statisticsService;
-
-    @Value("${tickly.mail.frontend-base-url}")
-    private String frontendBaseUrl;
+    private final EventStatisticsBroadcaster eventStatisticsBroadcaster;
+    private final ZoneCapacityLedger zoneCapacityLedger;
+    private final EventAudienceZoneRepository eventAudienceZoneRepository;
+    private final ParticipantSearchIndex participantSearchIndex;
+    private final EventTicketCounters eventTicketCounters;
+    private final TicketValidationCache ticketValidationCache;
+    private final ReservationIdempotencyRegistry reservationIdempotencyRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final SeatHoldRegistry seatHoldRegistry;
+    private final QrCodeRenderer qrCodeRenderer;
+    private final TicketTokenCodec ticketTokenCodec;
+    private final SeatMapRegistry seatMapRegistry;
+    private final WaitingRoom waitingRoom;
+    private final TicketJournal ticketJournal;
+    private final WaitlistEntryRepository waitlistEntryRepository;
 
     @Override
     @Transactional
     public ReservationConfirmationDto createReservation(ReservationRequestDto requestDto) {
+        return doCreateReservation(requestDto, null);
+    }
+
+    /**
+     * Crée une réservation de manière idempotente.
+     * Volontairement hors transaction : les doublons attendent le résultat de la première requête sans tenir
+     * de connexion, et la réservation est créée dans sa propre transaction pour que la contrainte d'unicité
+     * (utilisateur, clé) soit vérifiée avant de publier le résultat.
+     */
+    @Override
+    public ReservationConfirmationDto createReservation(ReservationRequestDto requestDto, String idempotencyKey) {
+        if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new BadRequestException("La clé d'idempotence ne doit pas dépasser " + MAX_IDEMPOTENCY_KEY_LENGTH + " caractères.");
+        }
+        Long userId = authUtils.getCurrentAuthenticatedUser().getId();
+
+        ReservationIdempotencyRegistry.Attempt attempt = reservationIdempotencyRegistry.begin(userId, idempotencyKey, requestDto);
+        if (!attempt.isFirst()) {
+            log.info("Requête de réservation répétée pour l'utilisateur {} (clé {}) : résultat de la première requête renvoyé", userId, idempotencyKey);
+            return attempt.await();
+        }
+
+        try {
+            // Clé déjà utilisée avant un redémarrage ou sur une autre instance : on rejoue la réservation existante
+            ReservationConfirmationDto confirmation = findReservationByIdempotencyKey(userId, idempotencyKey)
+                    .orElseGet(() -> createIdempotentReservation(requestDto, userId, idempotencyKey));
+            attempt.complete(confirmation);
+            return confirmation;
+        } catch (RuntimeException e) {
+            attempt.fail(e);
+            throw e;
+        }
+    }
+
+    private ReservationConfirmationDto createIdempotentReservation(ReservationRequestDto requestDto, Long userId, String idempotencyKey) {
+        try {
+            return transactionTemplate.execute(status -> doCreateReservation(requestDto, idempotencyKey));
+        } catch (DataIntegrityViolationException e) {
+            // Une autre instance a enregistré la même clé entre-temps : notre transaction est annulée, la sienne fait foi
+            return findReservationByIdempotencyKey(userId, idempotencyKey).orElseThrow(() -> e);
+        }
+    }
+
+    private Optional<ReservationConfirmationDto> findReservationByIdempotencyKey(Long userId, String idempotencyKey) {
+        return reservationRepository.findIdByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                .map(reservationId -> loadReservationConfirmations(List.of(reservationId)).get(0));
+    }
+
+    private ReservationConfirmationDto doCreateReservation(ReservationRequestDto requestDto, String idempotencyKey) {
         LoggingUtils.logMethodEntry(log, "createReservation", "requestDto", requestDto);
 
         User currentUser = authUtils.getCurrentAuthenticatedUser();
@@ -71,108 +159,138 @@ public class TicketServiceImpl implements TicketService {
         log.info("L'utilisateur {} crée une réservation pour l'événement {}", currentUser.getEmail(), requestDto.getEventId());
 
         try {
-            Event event = eventRepository.findById(requestDto.getEventId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Événement avec ID " + requestDto.getEventId() + " non trouvé."));
-
-            // Vérification que l'événement n'a pas encore commencé
-            Instant now = Instant.now();
-            if (event.getStartDate().isBefore(now) || event.getStartDate().equals(now)) {
-                log.warn("Tentative de réservation pour un événement déjà commencé. Événement ID: {}, Date de début: {}, Heure actuelle: {}",
-                        event.getId(), event.getStartDate(), now);
-                throw new BadRequestException("Impossible de réserver des billets pour un événement qui a déjà commencé");
+            // Un hold confirmé a déjà franchi la salle d'attente (ou vient d'une promotion de liste d'attente)
+            if (requestDto.getHoldId() == null) {
+                requireWaitingRoomAdmission(requestDto.getEventId(), currentUser.getId(), requestDto.getWaitingRoomToken());
             }
-
-            // Récupérer la zone d'audience directement depuis l'événement
-            EventAudienceZone zone = event.getAudienceZones().stream()
-                    .filter(audienceZone -> audienceZone.getId().equals(requestDto.getAudienceZoneId()))
-                    .findFirst()
-                    .orElseThrow(() -> new ResourceNotFoundException("Zone d'audience avec ID " + requestDto.getAudienceZoneId() + " non trouvée."));
-
-            // Validation de la logique métier
-            if (event.getStatus() != EventStatus.PUBLISHED) {
-                throw new BadRequestException("Les billets ne peuvent être réservés que pour des événements PUBLIÉS.");
-            }
-            if (!zone.getEvent().getId().equals(event.getId())) {
-                throw new BadRequestException("La zone d'audience spécifiée n'appartient pas à l'événement demandé.");
+            Event event = findBookableEvent(requestDto.getEventId());
+            // Zone de chaque participant (la zone de la réservation par défaut) : une même réservation peut
+            // couvrir plusieurs zones de l'événement
+            List<EventAudienceZone> participantZones = new ArrayList<>(requestDto.getParticipants().size());
+            Map<Long, EventAudienceZone> zonesById = new TreeMap<>();
+            Map<Long, Integer> seatsByZone = new TreeMap<>();
+            for (ParticipantInfoDto participant : requestDto.getParticipants()) {
+                Long zoneId = participant.getAudienceZoneId() != null ? participant.getAudienceZoneId() : requestDto.getAudienceZoneId();
+                if (zoneId == null) {
+                    throw new BadRequestException("L'ID de la zone d'audience est requis pour chaque participant.");
+                }
+                EventAudienceZone zone = zonesById.computeIfAbsent(zoneId, id -> findAudienceZone(event, id));
+                participantZones.add(zone);
+                seatsByZone.merge(zoneId, 1, Integer::sum);
             }
 
             // --- Vérification de la capacité ---
-            // On compte uniquement les billets VALID et USED pour vérifier la capacité
-            // Les billets CANCELLED ne sont pas comptés, ce qui libère de la capacité
-            long existingTickets = ticketRepository.countByEventAudienceZoneIdAndStatusIn(
-                    zone.getId(),
-                    Arrays.asList(TicketStatus.VALID, TicketStatus.USED)
-            );
-            if (existingTickets + requestDto.getParticipants().size() > zone.getAllocatedCapacity()) {
-                throw new BadRequestException("Capacité insuffisante dans la zone sélectionnée.");
+            if (requestDto.getHoldId() != null) {
+                // Confirmation d'un hold : les places déjà retenues sont converties sans être relâchées entre-temps,
+                // et retenues de nouveau si la transaction est annulée.
+                SeatHoldRegistry.SeatHold hold = seatHoldRegistry.convert(requestDto.getHoldId(), currentUser.getId());
+                if (!seatsByZone.equals(Map.of(hold.getZoneId(), hold.getSeats()))) {
+                    throw new BadRequestException("La réservation ne correspond pas aux places retenues.");
+                }
+                // Places retenues par une promotion de liste d'attente : l'inscription est confirmée avec la réservation
+                waitlistEntryRepository.markConfirmedByHoldId(hold.getId());
+            } else {
+                // Les places sont prises dans le registre de capacité en mémoire (compare-and-set, sans COUNT),
+                // en tenant compte des holds actifs, et rendues automatiquement si la transaction est annulée.
+                for (Map.Entry<Long, Integer> entry : seatsByZone.entrySet()) {
+                    EventAudienceZone zone = zonesById.get(entry.getKey());
+                    if (!zoneCapacityLedger.tryReserve(zone.getId(), zone.getAllocatedCapacity(), entry.getValue())) {
+                        throw new BadRequestException(insufficientCapacityMessage(zone, seatsByZone.size()));
+                    }
+                }
             }
             // --- Fin de la vérification de la capacité ---
 
+            // Sièges des zones placées, pris dans le plan de salle en mémoire (compare-and-set) et libérés si la transaction est annulée
+            SeatMapRegistry.Seat[] seats = assignSeats(requestDto.getParticipants(), participantZones);
+
             Reservation reservation = new Reservation();
             reservation.setUser(currentUser);
+            reservation.setIdempotencyKey(idempotencyKey);
 
-            for (ParticipantInfoDto participant : requestDto.getParticipants()) {
+            for (int i = 0; i < requestDto.getParticipants().size(); i++) {
+                ParticipantInfoDto participant = requestDto.getParticipants().get(i);
+                EventAudienceZone zone = participantZones.get(i);
                 Ticket ticket = new Ticket();
+                // Identifiants attribués avant la persistance : les INSERT des billets sont envoyés en lot
+                ticket.setId(UuidV7Generator.generate());
+                // Jeton signé (billet, événement, zone) : vérifiable à la porte sans accès à la base
+                ticket.setQrCodeValue(ticketTokenCodec.encode(ticket.getId(), event.getId(), zone.getId()));
                 ticket.setEvent(event);
                 ticket.setEventAudienceZone(zone);
                 ticket.setUser(currentUser);
                 ticket.setParticipantFirstName(participant.getFirstName());
                 ticket.setParticipantLastName(participant.getLastName());
                 ticket.setParticipantEmail(participant.getEmail());
+                if (seats[i] != null) {
+                    ticket.setSeatRow(seats[i].getRow());
+                    ticket.setSeatNumber(seats[i].getNumber());
+                }
 
                 reservation.addTicket(ticket);
             }
 
             Reservation savedReservation = reservationRepository.save(reservation);
+            if (Arrays.stream(seats).anyMatch(Objects::nonNull)) {
+                flushSeatAssignments();
+            }
             log.info("Réservation {} créée avec succès pour l'utilisateur {}.", savedReservation.getId(), currentUser.getEmail());
+            participantSearchIndex.indexAfterCommit(savedReservation.getTickets());
+            ticketValidationCache.addAfterCommit(savedReservation.getTickets());
+            eventTicketCounters.applyAfterCommit(event.getId(), null, TicketStatus.VALID, savedReservation.getTickets().size());
+            ticketJournal.append(savedReservation.getTickets().stream()
+                    .map(ticket -> new TicketJournalEntry(TicketJournalEventType.CREATED, ticket.getId(), event.getId(),
+                            ticket.getEventAudienceZone().getId(), ticket.getReservationDate()))
+                    .toList());
 
             // Conversion en DTOs pour l'envoi des emails
             List<TicketResponseDto> ticketDtos = buildTicketResponseDtoList(savedReservation.getTickets());
 
-            try {
-                // Récupérer les UUIDs des billets pour l'envoi des emails
-                List<UUID> ticketIds = savedReservation.getTickets().stream()
-                        .map(Ticket::getId)
-                        .collect(Collectors.toList());
-
-                // Envoi des liens de billets à l'acheteur principal
-                if (!ticketIds.isEmpty()) {
-                    mailingService.sendTickets(
-                            currentUser.getEmail(),
-                            currentUser.getFirstName(),
+            // Les e-mails sont enregistrés dans l'outbox, dans la même transaction que la réservation :
+            // ils ne partent que si la réservation est validée, et survivent à un redémarrage.
+            List<UUID> ticketIds = savedReservation.getTickets().stream()
+                    .map(Ticket::getId)
+                    .collect(Collectors.toList());
+
+            // Liens de billets pour l'acheteur principal
+            if (!ticketIds.isEmpty()) {
+                mailOutboxService.enqueueTickets(
+                        currentUser.getEmail(),
+                        currentUser.getFirstName(),
+                        event.getName(),
+                        ticketIds
+                );
+            }
+
+            // Liens de billets individuels pour les participants qui le souhaitent
+            for (int i = 0; i < requestDto.getParticipants().size(); i++) {
+                ParticipantInfoDto participant = requestDto.getParticipants().get(i);
+
+                if (Boolean.TRUE.equals(participant.getSendTicketByEmail()) &&
+                        !participant.getEmail().equals(currentUser.getEmail())) {
+
+                    Ticket ticket = savedReservation.getTickets().get(i);
+                    String participantName = participant.getFirstName() + " " + participant.getLastName();
+
+                    mailOutboxService.enqueueIndividualTicket(
+                            participant.getEmail(),
+                            participantName,
                             event.getName(),
-                            ticketIds,
-                            frontendBaseUrl
+                            ticket.getId()
                     );
-                    log.info("Liens de billets envoyés à l'acheteur principal : {}", currentUser.getEmail());
                 }
+            }
 
-                // Envoi des liens de billets individuels aux participants qui le souhaitent
-                for (int i = 0; i < requestDto.getParticipants().size(); i++) {
-                    ParticipantInfoDto participant = requestDto.getParticipants().get(i);
-
-                    // Vérifier si le participant veut recevoir son billet par email
-                    if (Boolean.TRUE.equals(participant.getSendTicketByEmail()) &&
-                            !participant.getEmail().equals(currentUser.getEmail())) {
-
-                        Ticket ticket = savedReservation.getTickets().get(i);
-                        String participantName = participant.getFirstName() + " " + participant.getLastName();
-
-                        mailingService.sendIndividualTicket(
-                                participant.getEmail(),
-                                participantName,
-                                event.getName(),
-                                ticket.getId(),
-                                frontendBaseUrl
-                        );
-                        log.info("Lien de billet individuel envoyé à : {} pour l'événement {}",
-                                participant.getEmail(), event.getName());
-                    }
+            // Le compteur persistant des zones reste la garantie finale : un UPDATE conditionnel par zone, envoyés
+            // en un seul lot. Il passe en dernier, après l'envoi explicite des INSERT en attente (réservation, billets,
+            // outbox), pour que le verrou de la ligne de zone ne soit tenu que jusqu'au commit. Si une zone manque
+            // de places, l'exception annule la transaction et donc tout ce qui précède.
+            reservationRepository.flush();
+            Set<Long> reservedZoneIds = eventAudienceZoneRepository.incrementSoldCounts(seatsByZone);
+            for (EventAudienceZone zone : zonesById.values()) {
+                if (!reservedZoneIds.contains(zone.getId())) {
+                    throw new BadRequestException(insufficientCapacityMessage(zone, seatsByZone.size()));
                 }
-
-            } catch (Exception e) {
-                LoggingUtils.logException(log, "Erreur lors de l'envoi des emails avec liens de billets pour la réservation " +
-                        savedReservation.getId() + ". La réservation est confirmée mais l'envoi des emails a échoué", e);
             }
 
             ReservationConfirmationDto confirmationDto = new ReservationConfirmationDto();
@@ -187,6 +305,169 @@ public class TicketServiceImpl implements TicketService {
         }
     }
 
+    @Override
+    public SeatHoldResponseDto createSeatHold(SeatHoldRequestDto requestDto) {
+        LoggingUtils.logMethodEntry(log, "createSeatHold", "requestDto", requestDto);
+
+        try {
+            User currentUser = authUtils.getCurrentAuthenticatedUser();
+            LoggingUtils.setUserId(currentUser.getId());
+            requireWaitingRoomAdmission(requestDto.getEventId(), currentUser.getId(), requestDto.getWaitingRoomToken());
+
+            Event event = findBookableEvent(requestDto.getEventId());
+            EventAudienceZone zone = findAudienceZone(event, requestDto.getAudienceZoneId());
+
+            SeatHoldRegistry.SeatHold hold = seatHoldRegistry.hold(currentUser.getId(), event.getId(), zone.getId(),
+                            zone.getAllocatedCapacity(), requestDto.getSeats())
+                    .orElseThrow(() -> new BadRequestException("Capacité insuffisante dans la zone sélectionnée. " + WAITLIST_HINT));
+
+            SeatHoldResponseDto result = new SeatHoldResponseDto(hold.getId(), hold.getEventId(), hold.getZoneId(),
+                    hold.getSeats(), hold.getExpiresAt());
+            LoggingUtils.logMethodExit(log, "createSeatHold", result);
+            return result;
+        } finally {
+            LoggingUtils.clearContext();
+        }
+    }
+
+    @Override
+    public void releaseSeatHold(UUID holdId) {
+        User currentUser = authUtils.getCurrentAuthenticatedUser();
+        if (!seatHoldRegistry.release(holdId, currentUser.getId())) {
+            throw new ResourceNotFoundException("Places retenues avec ID " + holdId + " non trouvées ou expirées.");
+        }
+        log.info("Places retenues {} libérées par l'utilisateur {}", holdId, currentUser.getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SeatMapDto getSeatMap(Long eventId, Long audienceZoneId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Événement avec ID " + eventId + " non trouvé."));
+        EventAudienceZone zone = findAudienceZone(event, audienceZoneId);
+        AudienceZoneTemplate template = zone.getTemplate();
+        if (template == null || !template.hasSeatMap()) {
+            throw new BadRequestException("Cette zone d'audience n'a pas de plan de salle.");
+        }
+        SeatBitmap bitmap = seatMapRegistry.getOrLoad(zone.getId(), template.getSeatRows(), template.getSeatsPerRow());
+        String[] rows = bitmap.snapshotRows();
+        return new SeatMapDto(zone.getId(), bitmap.rows(), bitmap.seatsPerRow(), bitmap.size() - bitmap.takenCount(), List.of(rows));
+    }
+
+    /**
+     * Écrit tout de suite les billets placés : le plan de salle en mémoire ne protège que cette instance, l'index
+     * unique sur les sièges des billets actifs départage les réservations concurrentes de plusieurs instances.
+     */
+    private void flushSeatAssignments() {
+        try {
+            reservationRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            String cause = e.getMostSpecificCause().getMessage();
+            if (cause != null && cause.contains(ACTIVE_SEAT_CONSTRAINT)) {
+                throw new BadRequestException("Un des sièges demandés vient d'être réservé. Veuillez choisir d'autres sièges.");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Attribue un siège à chaque participant placé dans une zone avec plan de salle : le siège demandé, ou à défaut
+     * le meilleur bloc de sièges contigus pour les participants d'une même zone.
+     *
+     * @return le siège de chaque participant (null dans les zones non placées).
+     */
+    private SeatMapRegistry.Seat[] assignSeats(List<ParticipantInfoDto> participants, List<EventAudienceZone> participantZones) {
+        SeatMapRegistry.Seat[] seats = new SeatMapRegistry.Seat[participants.size()];
+        Map<EventAudienceZone, List<Integer>> participantsByZone = new LinkedHashMap<>();
+        for (int i = 0; i < participants.size(); i++) {
+            participantsByZone.computeIfAbsent(participantZones.get(i), zone -> new ArrayList<>()).add(i);
+        }
+
+        for (Map.Entry<EventAudienceZone, List<Integer>> entry : participantsByZone.entrySet()) {
+            EventAudienceZone zone = entry.getKey();
+            AudienceZoneTemplate template = zone.getTemplate();
+            boolean seated = template != null && template.hasSeatMap();
+            List<SeatMapRegistry.Seat> requested = new ArrayList<>(entry.getValue().size());
+            for (Integer index : entry.getValue()) {
+                ParticipantInfoDto participant = participants.get(index);
+                if (participant.getSeatRow() == null && participant.getSeatNumber() == null) {
+                    requested.add(null);
+                } else if (!seated) {
+                    throw new BadRequestException("Un siège ne peut être choisi que dans une zone placée.");
+                } else if (participant.getSeatRow() == null || participant.getSeatNumber() == null) {
+                    throw new BadRequestException("La rangée et le numéro du siège doivent être indiqués ensemble.");
+                } else {
+                    requested.add(new SeatMapRegistry.Seat(participant.getSeatRow(), participant.getSeatNumber()));
+                }
+            }
+            if (!seated) {
+                continue;
+            }
+            List<SeatMapRegistry.Seat> assigned = seatMapRegistry.claim(zone.getId(), template.getSeatRows(),
+                    template.getSeatsPerRow(), requested);
+            for (int i = 0; i < assigned.size(); i++) {
+                seats[entry.getValue().get(i)] = assigned.get(i);
+            }
+        }
+        return seats;
+    }
+
+    /**
+     * Refuse l'accès au parcours de réservation d'un événement dont la salle d'attente est ouverte, tant que
+     * l'acheteur n'en a pas été admis. Vérification en mémoire, faite avant tout accès à l'événement.
+     */
+    private void requireWaitingRoomAdmission(Long eventId, Long userId, UUID waitingRoomToken) {
+        if (!waitingRoom.isAdmitted(eventId, userId, waitingRoomToken)) {
+            throw new WaitingRoomException("Cet événement connaît une forte affluence : rejoignez la salle d'attente " +
+                    "et réessayez avec votre jeton une fois admis.");
+        }
+    }
+
+    /**
+     * Charge un événement ouvert à la réservation : publié et pas encore commencé.
+     */
+    private Event findBookableEvent(Long eventId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Événement avec ID " + eventId + " non trouvé."));
+
+        // Vérification que l'événement n'a pas encore commencé
+        Instant now = Instant.now();
+        if (event.getStartDate().isBefore(now) || event.getStartDate().equals(now)) {
+            log.warn("Tentative de réservation pour un événement déjà commencé. Événement ID: {}, Date de début: {}, Heure actuelle: {}",
+                    event.getId(), event.getStartDate(), now);
+            throw new BadRequestException("Impossible de réserver des billets pour un événement qui a déjà commencé");
+        }
+        if (event.getStatus() != EventStatus.PUBLISHED) {
+            throw new BadRequestException("Les billets ne peuvent être réservés que pour des événements PUBLIÉS.");
+        }
+        return event;
+    }
+
+    /**
+     * Message d'erreur de capacité : la zone concernée est nommée quand la réservation en couvre plusieurs.
+     */
+    private String insufficientCapacityMessage(EventAudienceZone zone, int zoneCount) {
+        if (zoneCount <= 1) {
+            return "Capacité insuffisante dans la zone sélectionnée. " + WAITLIST_HINT;
+        }
+        String zoneName = zone.getTemplate() != null ? zone.getTemplate().getName() : String.valueOf(zone.getId());
+        return "Capacité insuffisante dans la zone " + zoneName + ". " + WAITLIST_HINT;
+    }
+
+    /**
+     * Récupère la zone d'audience directement depuis l'événement.
+     */
+    private EventAudienceZone findAudienceZone(Event event, Long audienceZoneId) {
+        EventAudienceZone zone = event.getAudienceZones().stream()
+                .filter(audienceZone -> audienceZone.getId().equals(audienceZoneId))
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Zone d'audience avec ID " + audienceZoneId + " non trouvée."));
+        if (!zone.getEvent().getId().equals(event.getId())) {
+            throw new BadRequestException("La zone d'audience spécifiée n'appartient pas à l'événement demandé.");
+        }
+        return zone;
+    }
+
     /**
      * Annule une réservation et tous les billets associés.
      * Les billets annulés libèrent des places pour l'événement.
@@ -212,30 +493,14 @@ public class TicketServiceImpl implements TicketService {
                 throw new AccessDeniedException("Vous n'êtes pas autorisé à annuler cette réservation");
             }
 
-            // Récupérer tous les billets de la réservation
-            List<Ticket> tickets = reservation.getTickets();
-            if (tickets.isEmpty()) {
+            Map<Long, Integer> freedSeatsByZone = cancelReservationTickets(reservationId);
+            if (freedSeatsByZone.isEmpty()) {
                 log.warn("Aucun billet trouvé pour la réservation ID: {}", reservationId);
                 return false;
             }
 
-            // Vérifier que les billets peuvent être annulés (ils doivent être VALID)
-            for (Ticket ticket : tickets) {
-                if (ticket.getStatus() != TicketStatus.VALID) {
-                    log.warn("Impossible d'annuler la réservation ID: {} car le billet ID: {} a le statut: {}",
-                            reservationId, ticket.getId(), ticket.getStatus());
-                    throw new BadRequestException("Impossible d'annuler la réservation car certains billets ont déjà été utilisés ou annulés");
-                }
-            }
-
-            // Annuler tous les billets
-            for (Ticket ticket : tickets) {
-                ticket.setStatus(TicketStatus.CANCELLED);
-                ticketRepository.save(ticket);
-                log.debug("Billet ID: {} annulé", ticket.getId());
-            }
-
-            log.info("Réservation ID: {} annulée avec succès. {} billets annulés", reservationId, tickets.size());
+            log.info("Réservation ID: {} annulée avec succès. {} billets annulés", reservationId,
+                    freedSeatsByZone.values().stream().mapToInt(Integer::intValue).sum());
             LoggingUtils.logMethodExit(log, "cancelReservation", true);
             return true;
 
@@ -248,26 +513,85 @@ public class TicketServiceImpl implements TicketService {
     }
 
     @Override
-    public List<ReservationConfirmationDto> getMyReservations() {
-        LoggingUtils.logMethodEntry(log, "getMyReservations");
+    @Transactional
+    public Map<Long, Integer> cancelReservationTickets(Long reservationId) {
+        // Lecture des seuls statuts et zones : aucune entité Ticket n'est chargée
+        List<ReservationTicketState> tickets = ticketRepository.findStatesByReservationId(reservationId);
+        if (tickets.isEmpty()) {
+            return Map.of();
+        }
+
+        // Vérifier que les billets peuvent être annulés (ils doivent être VALID)
+        for (ReservationTicketState ticket : tickets) {
+            if (ticket.getStatus() != TicketStatus.VALID) {
+                log.warn("Impossible d'annuler la réservation ID: {} car le billet ID: {} a le statut: {}",
+                        reservationId, ticket.getId(), ticket.getStatus());
+                throw new BadRequestException("Impossible d'annuler la réservation car certains billets ont déjà été utilisés ou annulés");
+            }
+        }
+
+        // Un seul UPDATE conditionnel (VALID -> CANCELLED) pour toute la réservation. Si un billet a été validé ou annulé
+        // entre-temps, moins de lignes sont modifiées : l'exception annule la transaction et donc les billets déjà annulés.
+        int cancelled = ticketRepository.cancelValidTicketsOfReservation(reservationId);
+        if (cancelled != tickets.size()) {
+            log.warn("Impossible d'annuler la réservation ID: {} : {} billet(s) sur {} ont changé de statut pendant l'annulation",
+                    reservationId, tickets.size() - cancelled, tickets.size());
+            throw new BadRequestException("Impossible d'annuler la réservation car certains billets ont déjà été utilisés ou annulés");
+        }
+
+        Map<Long, Integer> freedSeatsByZone = new HashMap<>();
+        Map<Long, List<SeatMapRegistry.Seat>> freedSeatMapSeats = new HashMap<>();
+        for (ReservationTicketState ticket : tickets) {
+            freedSeatsByZone.merge(ticket.getZoneId(), 1, Integer::sum);
+            if (ticket.getSeatRow() != null && ticket.getSeatNumber() != null) {
+                freedSeatMapSeats.computeIfAbsent(ticket.getZoneId(), zoneId -> new ArrayList<>())
+                        .add(new SeatMapRegistry.Seat(ticket.getSeatRow(), ticket.getSeatNumber()));
+            }
+        }
+        freedSeatMapSeats.forEach(seatMapRegistry::releaseAfterCommit);
+
+        // Mise à jour des compteurs persistants, puis restitution au registre de capacité une fois l'annulation validée
+        freedSeatsByZone.forEach((zoneId, seats) -> {
+            if (eventAudienceZoneRepository.recordCancellations(zoneId, seats) == 0) {
+                log.warn("Compteurs incohérents pour la zone {} lors de l'annulation de {} billet(s). Une reconstruction des compteurs est nécessaire.", zoneId, seats);
+            }
+            zoneCapacityLedger.releaseAfterCommit(zoneId, seats);
+        });
+        eventTicketCounters.applyAfterCommit(tickets.get(0).getEventId(), TicketStatus.VALID, TicketStatus.CANCELLED, cancelled);
+        ticketValidationCache.markCancelledAfterCommit(tickets.stream().map(ReservationTicketState::getId).toList());
+        Instant cancelledAt = Instant.now();
+        ticketJournal.append(tickets.stream()
+                .map(ticket -> new TicketJournalEntry(TicketJournalEventType.CANCELLED, ticket.getId(), ticket.getEventId(),
+                        ticket.getZoneId(), cancelledAt))
+                .toList());
+
+        log.debug("{} billet(s) de la réservation ID: {} annulés, places libérées par zone : {}", cancelled, reservationId, freedSeatsByZone);
+        return freedSeatsByZone;
+    }
+
+    @Override
+    public PaginatedResponseDto<ReservationConfirmationDto> getMyReservations(Pageable pageable) {
+        LoggingUtils.logMethodEntry(log, "getMyReservations", "pageable", pageable);
 
         try {
             User currentUser = authUtils.getCurrentAuthenticatedUser();
             LoggingUtils.setUserId(currentUser.getId());
 
-            List<Reservation> reservations = reservationRepository.findAllByUserId(currentUser.getId());
-            List<ReservationConfirmationDto> confirmationDtos = new ArrayList<>();
+            // Première requête : la page d'IDs de réservations (le tri demandé par le client est ignoré)
+            Page<Long> reservationIds = reservationRepository.findIdsByUserIdNewestFirst(currentUser.getId(),
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
 
-            reservations.forEach(reservation -> {
-                ReservationConfirmationDto confirmationDto = new ReservationConfirmationDto();
-                confirmationDto.setReservationId(reservation.getId());
-                confirmationDto.setReservationDate(ZonedDateTime.ofInstant(reservation.getReservationDate(), ZoneOffset.UTC));
-                confirmationDto.setTickets(buildTicketResponseDtoList(reservation.getTickets()));
-                confirmationDtos.add(confirmationDto);
-            });
+            // Seconde requête : tous les billets de la page, avec événement, structure et zone, en lignes plates
+            List<ReservationConfirmationDto> items = reservationIds.isEmpty()
+                    ? List.of()
+                    : loadReservationConfirmations(reservationIds.getContent());
 
-            LoggingUtils.logMethodExit(log, "getMyReservations", reservations);
-            return confirmationDtos;
+            PaginatedResponseDto<ReservationConfirmationDto> result = new PaginatedResponseDto<>(items,
+                    reservationIds.getTotalElements(), reservationIds.getNumber(), reservationIds.getSize(),
+                    reservationIds.getTotalPages());
+
+            LoggingUtils.logMethodExit(log, "getMyReservations", result);
+            return result;
         } finally {
             LoggingUtils.clearContext();
         }
@@ -317,6 +641,16 @@ public class TicketServiceImpl implements TicketService {
         }
     }
 
+    @Override
+    public byte[] getTicketQrCode(UUID ticketId, QrImageFormat format) {
+        // Le cache de validation connaît déjà la valeur du QR code des billets des événements en cours
+        String qrCodeValue = ticketValidationCache.findById(ticketId)
+                .map(TicketValidationCache.CachedTicket::getQrCodeValue)
+                .or(() -> ticketRepository.findQrCodeValueById(ticketId))
+                .orElseThrow(() -> new ResourceNotFoundException("Billet avec ID " + ticketId + " non trouvé."));
+        return qrCodeRenderer.render(qrCodeValue, format);
+    }
+
 
     // Méthode d'aide pour construire les URL complètes des photos et s'assurer que tous les champs sont correctement initialisés
     private TicketResponseDto buildTicketResponseDto(Ticket ticket) {
@@ -345,6 +679,88 @@ public class TicketServiceImpl implements TicketService {
         return dto;
     }
 
+    /**
+     * Construit les confirmations de plusieurs réservations en une seule requête, dans l'ordre des IDs donnés.
+     */
+    private List<ReservationConfirmationDto> loadReservationConfirmations(List<Long> reservationIds) {
+        Map<Long, ReservationConfirmationDto> confirmations = new LinkedHashMap<>();
+        reservationIds.forEach(id -> confirmations.put(id, null));
+        for (ReservationTicketRow row : reservationRepository.findTicketRowsByReservationIdIn(reservationIds)) {
+            ReservationConfirmationDto confirmationDto = confirmations.get(row.getReservationId());
+            if (confirmationDto == null) {
+                confirmationDto = new ReservationConfirmationDto();
+                confirmationDto.setReservationId(row.getReservationId());
+                confirmationDto.setReservationDate(ZonedDateTime.ofInstant(row.getReservationDate(), ZoneOffset.UTC));
+                confirmationDto.setTickets(new ArrayList<>());
+                confirmations.put(row.getReservationId(), confirmationDto);
+            }
+            confirmationDto.getTickets().add(buildTicketResponseDto(row));
+        }
+
+        // Les réservations sans billet n'apparaissent pas dans la requête
+        List<ReservationConfirmationDto> result = new ArrayList<>();
+        confirmations.forEach((id, confirmationDto) -> {
+            if (confirmationDto == null) {
+                confirmationDto = new ReservationConfirmationDto();
+                confirmationDto.setReservationId(id);
+                confirmationDto.setTickets(new ArrayList<>());
+            }
+            result.add(confirmationDto);
+        });
+        return result;
+    }
+
+    private TicketResponseDto buildTicketResponseDto(ReservationTicketRow row) {
+        TicketResponseDto dto = new TicketResponseDto();
+        dto.setId(row.getTicketId());
+        dto.setQrCodeValue(row.getQrCodeValue());
+        dto.setStatus(row.getStatus());
+        dto.setValidatedAt(row.getValidationDate());
+        dto.setSeatRow(row.getSeatRow());
+        dto.setSeatNumber(row.getSeatNumber());
+
+        ParticipantInfoDto participant = new ParticipantInfoDto();
+        participant.setFirstName(row.getParticipantFirstName());
+        participant.setLastName(row.getParticipantLastName());
+        participant.setEmail(row.getParticipantEmail());
+        dto.setParticipant(participant);
+
+        TicketResponseDto.EventTicketSnapshotDto eventSnapshot = new TicketResponseDto.EventTicketSnapshotDto();
+        eventSnapshot.setEventId(row.getEventId());
+        eventSnapshot.setName(row.getEventName());
+        if (row.getEventStartDate() != null) {
+            eventSnapshot.setStartDate(ZonedDateTime.ofInstant(row.getEventStartDate(), ZoneOffset.UTC));
+        }
+        AddressDto address = new AddressDto();
+        address.setStreet(row.getEventStreet());
+        address.setCity(row.getEventCity());
+        address.setZipCode(row.getEventZipCode());
+        address.setCountry(row.getEventCountry());
+        eventSnapshot.setAddress(address);
+        if (row.getEventMainPhotoPath() != null) {
+            eventSnapshot.setMainPhotoUrl(fileStorageService.getFileUrl(row.getEventMainPhotoPath(), "events/main"));
+        }
+        dto.setEventSnapshot(eventSnapshot);
+
+        if (row.getZoneId() != null) {
+            TicketResponseDto.AudienceZoneTicketSnapshotDto zoneSnapshot = new TicketResponseDto.AudienceZoneTicketSnapshotDto();
+            zoneSnapshot.setAudienceZoneId(row.getZoneId());
+            zoneSnapshot.setName(row.getZoneName());
+            zoneSnapshot.setSeatingType(row.getSeatingType());
+            dto.setAudienceZoneSnapshot(zoneSnapshot);
+        }
+
+        TicketResponseDto.StructureTicketSnapshotDto structureSnapshot = new TicketResponseDto.StructureTicketSnapshotDto();
+        structureSnapshot.setId(row.getStructureId());
+        structureSnapshot.setName(row.getStructureName());
+        if (row.getStructureLogoPath() != null) {
+            structureSnapshot.setLogoUrl(fileStorageService.getFileUrl(row.getStructureLogoPath(), "structures/logos"));
+        }
+        dto.setStructureSnapshot(structureSnapshot);
+
+        return dto;
+    }
+
     private List<TicketResponseDto> buildTicketResponseDtoList(List<Ticket> tickets) {
         return tickets.stream()
                 .map(this::buildTicketResponseDto)
@@ -360,6 +776,25 @@ public class TicketServiceImpl implements TicketService {
             User currentUser = authUtils.getCurrentAuthenticatedUser();
             LoggingUtils.setUserId(currentUser.getId());
 
+            // Billet connu du cache de validation : un second scan (billet déjà utilisé, annulé ou en cours
+            // de validation sur une autre porte) est rejeté immédiatement, sans accès à la base
+            TicketValidationCache.CachedTicket cachedTicket = ticketValidationCache.findById(ticketId).orElse(null);
+            if (cachedTicket != null && !ticketValidationCache.tryClaim(cachedTicket)) {
+                log.warn("Tentative de validation d'un billet {} avec statut {} (cache de validation)", ticketId, cachedTicket.getStatus());
+
+                ParticipantInfoDto cachedParticipant = new ParticipantInfoDto();
+                cachedParticipant.setFirstName(cachedTicket.getParticipantFirstName());
+                cachedParticipant.setLastName(cachedTicket.getParticipantLastName());
+                cachedParticipant.setEmail(cachedTicket.getParticipantEmail());
+                return new TicketValidationResponseDto(
+                        cachedTicket.getTicketId(),
+                        cachedTicket.getStatus(),
+                        "Ce billet a déjà été " + (cachedTicket.getStatus() == TicketStatus.CANCELLED ? "annulé" : "utilisé") + ".",
+                        cachedParticipant,
+                        cachedTicket.getValidationDate()
+                );
+            }
+
             Ticket ticket = ticketRepository.findById(ticketId)
                     .orElseThrow(() -> new ResourceNotFoundException("Billet avec ID " + ticketId + " non trouvé."));
 
@@ -371,6 +806,8 @@ public class TicketServiceImpl implements TicketService {
             // Vérification que le billet est valide
             if (ticket.getStatus() != TicketStatus.VALID) {
                 log.warn("Tentative de validation d'un billet {} avec statut {}", ticketId, ticket.getStatus());
+                // Le cache pouvait ignorer un changement fait par une autre instance
+                ticketValidationCache.updateStatus(ticketId, ticket.getStatus(), ticket.getValidationDate());
 
                 return new TicketValidationResponseDto(
                         ticket.getId(),
@@ -386,6 +823,9 @@ public class TicketServiceImpl implements TicketService {
             Instant eventEnd = ticket.getEvent().getEndDate();
             if (now.isAfter(eventEnd)) {
                 log.warn("Tentative de validation d'un billet {} pour un événement terminé", ticketId);
+                if (cachedTicket != null) {
+                    ticketValidationCache.release(cachedTicket);
+                }
 
                 return new TicketValidationResponseDto(
                         ticket.getId(),
@@ -396,16 +836,43 @@ public class TicketServiceImpl implements TicketService {
                 );
             }
 
-            // Validation du billet
-            ticket.setStatus(TicketStatus.USED);
-            ticket.setValidationDate(Instant.now());
-            ticketRepository.save(ticket);
+            // Validation du billet : UPDATE conditionnel (VALID -> USED) plutôt que lecture-modification-sauvegarde.
+            // Si deux portes scannent le même billet au même instant, une seule validation aboutit, sans verrou.
+            Instant validationDate = Instant.now();
+            if (ticketRepository.markUsedIfValid(ticketId, validationDate) == 0) {
+                // L'UPDATE perdu prouve que le billet n'est plus VALID : le statut n'est jamais ramené à VALID
+                TicketStatus currentStatus = ticketRepository.findCurrentStatusById(ticketId)
+                        .filter(status -> status != TicketStatus.VALID)
+                        .orElse(TicketStatus.USED);
+                log.warn("Billet {} modifié par une autre transaction pendant sa validation, statut actuel : {}", ticketId, currentStatus);
+                ticketValidationCache.updateStatus(ticketId, currentStatus, null);
+
+                return new TicketValidationResponseDto(
+                        ticket.getId(),
+                        currentStatus,
+                        "Ce billet a déjà été " + (currentStatus == TicketStatus.CANCELLED ? "annulé" : "utilisé") + ".",
+                        participantInfo,
+                        null
+                );
+            }
+            ticketValidationCache.markUsedAfterCommit(Map.of(ticketId, validationDate));
+            ticketJournal.appendValidations(List.of(new TicketJournalEntry(TicketJournalEventType.VALIDATED, ticketId,
+                    ticket.getEvent().getId(),
+                    ticket.getEventAudienceZone() != null ? ticket.getEventAudienceZone().getId() : null,
+                    validationDate)));
+            if (ticket.getEventAudienceZone() != null
+                    && eventAudienceZoneRepository.incrementUsedCount(ticket.getEventAudienceZone().getId(), 1) == 0) {
+                log.warn("Compteurs incohérents pour la zone {} lors de la validation du billet {}.", ticket.getEventAudienceZone().getId(), ticketId);
+            }
 
             log.info("Billet {} validé avec succès par {}", ticketId, currentUser.getEmail());
 
             // Broadcast the updated ticket via WebSocket
             Long eventId = ticket.getEvent().getId();
+            // L'entité chargée n'est pas modifiée (aucune écriture supplémentaire au flush) : seul le DTO reflète la validation
             TicketResponseDto updatedTicketDto = buildTicketResponseDto(ticket);
+            updatedTicketDto.setStatus(TicketStatus.USED);
+            updatedTicketDto.setValidatedAt(validationDate);
             log.debug("Broadcasting ticket update for ticket ID: {} to topic: /topic/event/{}/ticket-update",
                     ticketId, eventId);
             messagingTemplate.convertAndSend(
@@ -413,25 +880,16 @@ public class TicketServiceImpl implements TicketService {
                     updatedTicketDto
             );
 
-            // Get and broadcast simplified event statistics via WebSocket
-            try {
-                EventTicketStatisticsDto statistics = statisticsService.getEventTicketStats(eventId);
-                log.debug("Broadcasting ticket statistics for event ID: {} to topic: /topic/event/{}/statistics",
-                        eventId, eventId);
-                messagingTemplate.convertAndSend(
-                        "/topic/event/" + eventId + "/statistics",
-                        statistics
-                );
-            } catch (Exception e) {
-                log.error("Error getting or broadcasting ticket statistics for event ID: {}", eventId, e);
-            }
+            // Les statistiques sont recalculées et diffusées hors du thread de la requête, au plus une fois par intervalle
+            eventTicketCounters.applyAfterCommit(eventId, TicketStatus.VALID, TicketStatus.USED, 1);
+            eventStatisticsBroadcaster.markDirty(eventId);
 
             TicketValidationResponseDto result = new TicketValidationResponseDto(
                     ticket.getId(),
                     TicketStatus.USED,
                     "Billet validé avec succès.",
                     participantInfo,
-                    ticket.getValidationDate()
+                    validationDate
             );
 
             LoggingUtils.logMethodExit(log, "validateTicket", result);
@@ -442,51 +900,244 @@ public class TicketServiceImpl implements TicketService {
     }
 
     @Override
-    public PaginatedResponseDto<TicketResponseDto> getEventTickets(Long eventId, TicketStatus status, String search, Pageable pageable) {
-        LoggingUtils.logMethodEntry(log, "getEventTickets", "eventId", eventId, "status", status, "search", search);
+    @Transactional
+    public TicketValidationResponseDto validateTicketByQrCode(Long eventId, String qrCode) {
+        LoggingUtils.logMethodEntry(log, "validateTicketByQrCode", "eventId", eventId, "qrCode", qrCode);
+
+        UUID ticketId;
+        if (ticketTokenCodec.isToken(qrCode)) {
+            // Jeton signé : un QR code falsifié ou d'un autre événement est rejeté sans accès à la base
+            TicketTokenCodec.TicketToken token = ticketTokenCodec.verify(qrCode)
+                    .orElseThrow(() -> new BadRequestException("QR code invalide : ce billet n'a pas été émis par Tickly."));
+            if (!token.getEventId().equals(eventId)) {
+                throw new BadRequestException("Ce billet n'appartient pas à cet événement.");
+            }
+            ticketId = token.getTicketId();
+        } else {
+            // Ancien QR code (UUID aléatoire) : résolution par le cache de validation, sinon par la base
+            Optional<TicketValidationCache.CachedTicket> cachedTicket = ticketValidationCache.findByQrCode(qrCode);
+            Long ticketEventId = cachedTicket.map(TicketValidationCache.CachedTicket::getEventId).orElse(null);
+            if (cachedTicket.isPresent()) {
+                ticketId = cachedTicket.get().getTicketId();
+            } else {
+                Ticket ticket = ticketRepository.findByQrCodeValue(qrCode)
+                        .orElseThrow(() -> new ResourceNotFoundException("Aucun billet ne correspond à ce QR code."));
+                ticketId = ticket.getId();
+                ticketEventId = ticket.getEvent().getId();
+            }
+            if (!eventId.equals(ticketEventId)) {
+                throw new BadRequestException("Ce billet n'appartient pas à cet événement.");
+            }
+        }
+        // Le contexte de log est nettoyé par validateTicket
+        return validateTicket(ticketId);
+    }
+
+    @Override
+    @Transactional
+    public BatchTicketValidationResponseDto validateTicketsBatch(Long eventId, BatchTicketValidationRequestDto requestDto) {
+        LoggingUtils.logMethodEntry(log, "validateTicketsBatch", "eventId", eventId, "scans", requestDto.getScans().size());
 
         try {
             User currentUser = authUtils.getCurrentAuthenticatedUser();
             LoggingUtils.setUserId(currentUser.getId());
 
-            // Vérifier que l'événement existe
             Event event = eventRepository.findById(eventId)
                     .orElseThrow(() -> new ResourceNotFoundException("Événement avec ID " + eventId + " non trouvé."));
+            List<TicketScanDto> scans = requestDto.getScans();
+
+            // Les jetons signés sont vérifiés en mémoire : les QR codes falsifiés ou d'un autre événement
+            // sont rejetés sans requête, les autres sont résolus par ID
+            Map<String, TicketTokenCodec.TicketToken> tokens = new HashMap<>();
+            Set<String> rejectedTokens = new HashSet<>();
+            Set<String> foreignTokens = new HashSet<>();
+            for (TicketScanDto scan : scans) {
+                String qrCode = scan.getQrCode();
+                if (scan.getTicketId() == null && ticketTokenCodec.isToken(qrCode) && !tokens.containsKey(qrCode)) {
+                    TicketTokenCodec.TicketToken token = ticketTokenCodec.verify(qrCode).orElse(null);
+                    if (token == null) {
+                        rejectedTokens.add(qrCode);
+                    } else if (!token.getEventId().equals(eventId)) {
+                        foreignTokens.add(qrCode);
+                    } else {
+                        tokens.put(qrCode, token);
+                    }
+                }
+            }
+
+            // Chargement de tous les billets scannés en deux requêtes (par ID et par ancien QR code)
+            Set<UUID> scannedIds = new HashSet<>();
+            Set<String> scannedQrCodes = new HashSet<>();
+            for (TicketScanDto scan : scans) {
+                if (scan.getTicketId() != null) {
+                    scannedIds.add(scan.getTicketId());
+                } else if (tokens.containsKey(scan.getQrCode())) {
+                    scannedIds.add(tokens.get(scan.getQrCode()).getTicketId());
+                } else if (StringUtils.hasText(scan.getQrCode()) && !ticketTokenCodec.isToken(scan.getQrCode())) {
+                    scannedQrCodes.add(scan.getQrCode());
+                }
+            }
+            Map<UUID, TicketScanEntry> ticketsById = new HashMap<>();
+            Map<String, TicketScanEntry> ticketsByQrCode = new HashMap<>();
+            if (!scannedIds.isEmpty()) {
+                ticketRepository.findScanEntriesByEventIdAndIdIn(eventId, scannedIds)
+                        .forEach(entry -> ticketsById.put(entry.getId(), entry));
+            }
+            if (!scannedQrCodes.isEmpty()) {
+                ticketRepository.findScanEntriesByEventIdAndQrCodeValueIn(eventId, scannedQrCodes)
+                        .forEach(entry -> ticketsByQrCode.put(entry.getQrCodeValue(), entry));
+            }
+
+            // Première passe : décision pour chaque scan, sans écriture
+            Instant now = Instant.now();
+            TicketScanEntry[] resolved = new TicketScanEntry[scans.size()];
+            TicketScanOutcome[] outcomes = new TicketScanOutcome[scans.size()];
+            Map<UUID, Instant> validationDates = new LinkedHashMap<>();
+            Set<UUID> seen = new HashSet<>();
+            for (int i = 0; i < scans.size(); i++) {
+                TicketScanDto scan = scans.get(i);
+                TicketTokenCodec.TicketToken token = scan.getTicketId() == null ? tokens.get(scan.getQrCode()) : null;
+                TicketScanEntry ticket;
+                if (scan.getTicketId() != null) {
+                    ticket = ticketsById.get(scan.getTicketId());
+                } else if (token != null) {
+                    ticket = ticketsById.get(token.getTicketId());
+                } else {
+                    ticket = ticketsByQrCode.get(scan.getQrCode());
+                }
+                resolved[i] = ticket;
+
+                if (rejectedTokens.contains(scan.getQrCode()) && scan.getTicketId() == null) {
+                    outcomes[i] = TicketScanOutcome.FORGED;
+                } else if (foreignTokens.contains(scan.getQrCode()) && scan.getTicketId() == null) {
+                    outcomes[i] = TicketScanOutcome.WRONG_EVENT;
+                } else if (ticket == null) {
+                    outcomes[i] = TicketScanOutcome.NOT_FOUND;
+                } else if (!seen.add(ticket.getId())) {
+                    outcomes[i] = TicketScanOutcome.DUPLICATE;
+                } else if (ticket.getStatus() == TicketStatus.USED) {
+                    outcomes[i] = TicketScanOutcome.ALREADY_USED;
+                } else if (ticket.getStatus() != TicketStatus.VALID) {
+                    outcomes[i] = TicketScanOutcome.NOT_VALID;
+                } else {
+                    // L'heure du scan sur l'appareil fait foi : un scan fait pendant l'événement et synchronisé après reste valable
+                    Instant scannedAt = scan.getScannedAt() == null || scan.getScannedAt().isAfter(now) ? now : scan.getScannedAt();
+                    if (scannedAt.isAfter(event.getEndDate())) {
+                        outcomes[i] = TicketScanOutcome.EVENT_ENDED;
+                    } else {
+                        outcomes[i] = TicketScanOutcome.VALIDATED;
+                        validationDates.put(ticket.getId(), scannedAt);
+                    }
+                }
+            }
+
+            // Seconde passe : UPDATE conditionnels (VALID -> USED) envoyés en un seul lot
+            Set<UUID> validatedIds = ticketRepository.markUsedIfValid(validationDates);
+
+            Map<Long, Integer> validatedByZone = new HashMap<>();
+            List<TicketJournalEntry> journalEntries = new ArrayList<>(validatedIds.size());
+            List<TicketScanResultDto> results = new ArrayList<>(scans.size());
+            for (int i = 0; i < scans.size(); i++) {
+                TicketScanEntry ticket = resolved[i];
+                TicketScanOutcome outcome = outcomes[i];
+                if (outcome == TicketScanOutcome.VALIDATED) {
+                    if (validatedIds.contains(ticket.getId())) {
+                        validatedByZone.merge(ticket.getZoneId(), 1, Integer::sum);
+                        journalEntries.add(new TicketJournalEntry(TicketJournalEventType.VALIDATED, ticket.getId(), eventId,
+                                ticket.getZoneId(), validationDates.get(ticket.getId())));
+                    } else {
+                        // Validé ou annulé par une autre transaction entre la lecture et l'UPDATE
+                        outcome = TicketScanOutcome.ALREADY_USED;
+                    }
+                }
+                results.add(buildScanResult(scans.get(i), ticket, outcome, validationDates));
+            }
+
+            validatedByZone.forEach((zoneId, count) -> {
+                if (zoneId != null && eventAudienceZoneRepository.incrementUsedCount(zoneId, count) == 0) {
+                    log.warn("Compteurs incohérents pour la zone {} lors de la validation par lot de {} billet(s).", zoneId, count);
+                }
+            });
+
+            // Une seule mise à jour des statistiques pour tout le lot
+            if (!validatedIds.isEmpty()) {
+                eventTicketCounters.applyAfterCommit(eventId, TicketStatus.VALID, TicketStatus.USED, validatedIds.size());
+                Map<UUID, Instant> validated = new HashMap<>();
+                validatedIds.forEach(id -> validated.put(id, validationDates.get(id)));
+                ticketValidationCache.markUsedAfterCommit(validated);
+                ticketJournal.appendValidations(journalEntries);
+                eventStatisticsBroadcaster.markDirty(eventId);
+            }
+
+            log.info("Validation par lot pour l'événement {} par {} : {} billet(s) validé(s) sur {} scan(s)",
+                    eventId, currentUser.getEmail(), validatedIds.size(), scans.size());
+
+            BatchTicketValidationResponseDto result = new BatchTicketValidationResponseDto(
+                    validatedIds.size(), scans.size() - validatedIds.size(), results);
+            LoggingUtils.logMethodExit(log, "validateTicketsBatch", result);
+            return result;
+        } finally {
+            LoggingUtils.clearContext();
+        }
+    }
 
-            // Récupérer tous les billets pour l'événement
-            List<Ticket> allTickets = ticketRepository.findAllByEventId(eventId);
+    @Override
+    @Transactional(readOnly = true)
+    public PaginatedResponseDto<TicketResponseDto> getEventTickets(Long eventId, TicketStatus status, String search, String cursor,
+                                                                   boolean includeTotal, Pageable pageable) {
+        LoggingUtils.logMethodEntry(log, "getEventTickets", "eventId", eventId, "status", status, "search", search, "cursor", cursor);
+
+        try {
+            User currentUser = authUtils.getCurrentAuthenticatedUser();
+            LoggingUtils.setUserId(currentUser.getId());
 
-            // Filtrer par statut si spécifié
-            if (status != null) {
-                allTickets = allTickets.stream()
-                        .filter(ticket -> ticket.getStatus() == status)
-                        .collect(Collectors.toList());
+            // Vérifier que l'événement existe
+            if (!eventRepository.existsById(eventId)) {
+                throw new ResourceNotFoundException("Événement avec ID " + eventId + " non trouvé.");
             }
 
-            // Filtrer par terme de recherche si spécifié
+            TicketCursor after = StringUtils.hasText(cursor) ? TicketCursor.decode(cursor) : null;
+            long offset = after != null ? 0 : pageable.getOffset();
+            int pageSize = pageable.getPageSize();
+
+            // La recherche textuelle est résolue par l'index de participants en mémoire quand il peut répondre ;
+            // sinon la base filtre sur la colonne normalisée participant_search
+            Set<UUID> matchingTicketIds = null;
             if (StringUtils.hasText(search)) {
-                String searchLower = search.toLowerCase();
-                allTickets = allTickets.stream()
-                        .filter(ticket ->
-                                (ticket.getParticipantFirstName() != null && ticket.getParticipantFirstName().toLowerCase().contains(searchLower)) ||
-                                        (ticket.getParticipantLastName() != null && ticket.getParticipantLastName().toLowerCase().contains(searchLower)) ||
-                                        (ticket.getParticipantEmail() != null && ticket.getParticipantEmail().toLowerCase().contains(searchLower)) ||
-                                        ticket.getId().toString().contains(searchLower)
-                        )
-                        .collect(Collectors.toList());
+                matchingTicketIds = participantSearchIndex.search(eventId, search).orElse(null);
+                if (matchingTicketIds != null && matchingTicketIds.isEmpty()) {
+                    PaginatedResponseDto<TicketResponseDto> empty = new PaginatedResponseDto<>(new ArrayList<>(), 0,
+                            after != null ? -1 : pageable.getPageNumber(), pageSize, 0);
+                    LoggingUtils.logMethodExit(log, "getEventTickets", empty);
+                    return empty;
+                }
+            }
+
+            // Filtrage, tri et pagination en base : curseur (keyset) si fourni, sinon numéro de page (OFFSET)
+            TicketSearchCriteria criteria = new TicketSearchCriteria(eventId, status, search,
+                    after != null ? after.getReservationDate() : null,
+                    after != null ? after.getTicketId() : null,
+                    matchingTicketIds);
+
+            // Un billet de plus que la taille de page pour savoir s'il existe une page suivante
+            List<Ticket> tickets = ticketRepository.searchEventTickets(criteria, offset, pageSize + 1);
+            boolean hasNext = tickets.size() > pageSize;
+            if (hasNext) {
+                tickets = tickets.subList(0, pageSize);
             }
 
-            // Pagination manuelle
-            int start = (int) pageable.getOffset();
-            int end = Math.min((start + pageable.getPageSize()), allTickets.size());
+            long totalItems = includeTotal ? ticketRepository.countEventTickets(criteria) : -1;
+            int totalPages = includeTotal ? (int) Math.ceil((double) totalItems / pageSize) : -1;
 
-            List<Ticket> pageTickets = start < end ? allTickets.subList(start, end) : new ArrayList<>();
-            Page<Ticket> ticketPage = new PageImpl<>(pageTickets, pageable, allTickets.size());
+            String nextCursor = null;
+            if (hasNext) {
+                Ticket last = tickets.get(tickets.size() - 1);
+                nextCursor = new TicketCursor(last.getReservationDate(), last.getId()).encode();
+            }
 
-            // Convertir en DTOs
-            List<TicketResponseDto> ticketDtos = buildTicketResponseDtoList(ticketPage.getContent());
-            PaginatedResponseDto<TicketResponseDto> result = new PaginatedResponseDto<>(ticketDtos, ticketPage.getTotalElements(),
-                    ticketPage.getNumber(), ticketPage.getSize(), ticketPage.getTotalPages());
+            List<TicketResponseDto> ticketDtos = buildTicketResponseDtoList(tickets);
+            PaginatedResponseDto<TicketResponseDto> result = new PaginatedResponseDto<>(ticketDtos, totalItems,
+                    after != null ? -1 : pageable.getPageNumber(), pageSize, totalPages, nextCursor);
 
             LoggingUtils.logMethodExit(log, "getEventTickets", result);
             return result;
@@ -494,4 +1145,38 @@ public class TicketServiceImpl implements TicketService {
             LoggingUtils.clearContext();
         }
     }
+
+    private TicketScanResultDto buildScanResult(TicketScanDto scan, TicketScanEntry ticket, TicketScanOutcome outcome,
+                                                Map<UUID, Instant> validationDates) {
+        if (outcome == TicketScanOutcome.FORGED) {
+            return new TicketScanResultDto(null, scan.getQrCode(), outcome, null,
+                    "QR code invalide : ce billet n'a pas été émis par Tickly.", null, null);
+        }
+        if (outcome == TicketScanOutcome.WRONG_EVENT) {
+            return new TicketScanResultDto(null, scan.getQrCode(), outcome, null,
+                    "Ce billet appartient à un autre événement.", null, null);
+        }
+        if (ticket == null) {
+            return new TicketScanResultDto(scan.getTicketId(), scan.getQrCode(), outcome, null,
+                    "Billet introuvable pour cet événement.", null, null);
+        }
+
+        ParticipantInfoDto participantInfo = new ParticipantInfoDto();
+        participantInfo.setFirstName(ticket.getParticipantFirstName());
+        participantInfo.setLastName(ticket.getParticipantLastName());
+        participantInfo.setEmail(ticket.getParticipantEmail());
+
+        return switch (outcome) {
+            case VALIDATED -> new TicketScanResultDto(ticket.getId(), scan.getQrCode(), outcome, TicketStatus.USED,
+                    "Billet validé avec succès.", participantInfo, validationDates.get(ticket.getId()));
+            case ALREADY_USED -> new TicketScanResultDto(ticket.getId(), scan.getQrCode(), outcome, TicketStatus.USED,
+                    "Ce billet a déjà été utilisé.", participantInfo, ticket.getValidationDate());
+            case DUPLICATE -> new TicketScanResultDto(ticket.getId(), scan.getQrCode(), outcome, null,
+                    "Ce billet a déjà été scanné dans ce lot.", participantInfo, null);
+            case EVENT_ENDED -> new TicketScanResultDto(ticket.getId(), scan.getQrCode(), outcome, ticket.getStatus(),
+                    "L'événement est terminé, le billet ne peut plus être validé.", participantInfo, null);
+            default -> new TicketScanResultDto(ticket.getId(), scan.getQrCode(), outcome, ticket.getStatus(),
+                    "Ce billet a été annulé ou a expiré.", participantInfo, ticket.getValidationDate());
+        };
+    }
 }
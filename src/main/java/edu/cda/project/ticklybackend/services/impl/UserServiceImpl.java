@@ -3,6 +3,7 @@ package edu.cda.project.ticklybackend.services.impl;
 import edu.cda.project.ticklybackend.dtos.user.UserFavoriteStructureDto;
 import edu.cda.project.ticklybackend.dtos.user.UserProfileResponseDto;
 import edu.cda.project.ticklybackend.dtos.user.UserProfileUpdateDto;
+import edu.cda.project.ticklybackend.enums.TicketJournalEventType;
 import edu.cda.project.ticklybackend.enums.TokenType;
 import edu.cda.project.ticklybackend.enums.UserRole;
 import edu.cda.project.ticklybackend.exceptions.BadRequestException;
@@ -12,6 +13,7 @@ import edu.cda.project.ticklybackend.models.mailing.VerificationToken;
 import edu.cda.project.ticklybackend.models.structure.Structure;
 import edu.cda.project.ticklybackend.models.team.TeamMember;
 import edu.cda.project.ticklybackend.models.ticket.Ticket;
+import edu.cda.project.ticklybackend.models.ticket.TicketJournalEntry;
 import edu.cda.project.ticklybackend.models.user.User;
 import edu.cda.project.ticklybackend.models.user.UserFavoriteStructure;
 import edu.cda.project.ticklybackend.repositories.mailing.VerificationTokenRepository;
@@ -25,6 +27,9 @@ import edu.cda.project.ticklybackend.services.interfaces.FileStorageService;
 import edu.cda.project.ticklybackend.services.interfaces.MailingService;
 import edu.cda.project.ticklybackend.services.interfaces.UserService;
 import edu.cda.project.ticklybackend.services.interfaces.VerificationTokenService;
+import edu.cda.project.ticklybackend.services.ticketing.ParticipantSearchIndex;
+import edu.cda.project.ticklybackend.services.ticketing.TicketJournal;
+import edu.cda.project.ticklybackend.services.ticketing.TicketValidationCache;
 import edu.cda.project.ticklybackend.utils.AuthUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +40,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -58,6 +64,9 @@ public class UserServiceImpl implements UserService {
     private final VerificationTokenRepository tokenRepository; // Ajouté pour la suppression en cascade
     private final TicketRepository ticketRepository;
     private final TeamManagementServiceImpl teamService;
+    private final ParticipantSearchIndex participantSearchIndex;
+    private final TicketJournal ticketJournal;
+    private final TicketValidationCache ticketValidationCache;
 
     private static final String AVATAR_SUBDIRECTORY = "avatars";
     private final ReservationRepository reservationRepository;
@@ -311,6 +320,15 @@ public class UserServiceImpl implements UserService {
                 ticket.setParticipantEmail("anonyme@tickly.app");
             }
             ticketRepository.saveAll(ticketsToAnonymize);
+            participantSearchIndex.indexAfterCommit(ticketsToAnonymize);
+            ticketValidationCache.updateParticipantsAfterCommit(ticketsToAnonymize);
+            Instant anonymizedAt = Instant.now();
+            ticketJournal.append(ticketsToAnonymize.stream()
+                    .map(ticket -> new TicketJournalEntry(TicketJournalEventType.ANONYMIZED, ticket.getId(),
+                            ticket.getEvent().getId(),
+                            ticket.getEventAudienceZone() != null ? ticket.getEventAudienceZone().getId() : null,
+                            anonymizedAt))
+                    .toList());
         }
 
         // 3. Supprimer les données purement personnelles (favoris, tokens)
@@ -0,0 +1,46 @@
+package edu.cda.project.ticklybackend.services.impl;
+
+import edu.cda.project.ticklybackend.dtos.ticket.WaitingRoomStatusDto;
+import edu.cda.project.ticklybackend.exceptions.BadRequestException;
+import edu.cda.project.ticklybackend.exceptions.ResourceNotFoundException;
+import edu.cda.project.ticklybackend.services.interfaces.WaitingRoomService;
+import edu.cda.project.ticklybackend.services.ticketing.WaitingRoom;
+import edu.cda.project.ticklybackend.utils.AuthUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WaitingRoomServiceImpl implements WaitingRoomService {
+
+    private final WaitingRoom waitingRoom;
+    private final AuthUtils authUtils;
+
+    @Override
+    public WaitingRoomStatusDto joinWaitingRoom(Long eventId) {
+        Long userId = authUtils.getCurrentAuthenticatedUserId();
+        WaitingRoom.Entry entry = waitingRoom.join(eventId, userId)
+                .orElseThrow(() -> new BadRequestException("Aucune salle d'attente n'est ouverte pour cet événement : vous pouvez réserver directement."));
+        log.debug("Utilisateur {} dans la salle d'attente de l'événement {} (n° {})", userId, eventId, entry.getSequence());
+        return toDto(entry);
+    }
+
+    @Override
+    public WaitingRoomStatusDto getWaitingRoomStatus(UUID token) {
+        return waitingRoom.poll(token)
+                .map(this::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Jeton de salle d'attente inconnu ou expiré : rejoignez de nouveau la salle d'attente."));
+    }
+
+    private WaitingRoomStatusDto toDto(WaitingRoom.Entry entry) {
+        long position = waitingRoom.position(entry);
+        int admissionRate = waitingRoom.admissionRate(entry.getEventId());
+        long estimatedWaitSeconds = admissionRate > 0 ? (position + admissionRate - 1) / admissionRate : 0;
+        return new WaitingRoomStatusDto(entry.getToken(), entry.getEventId(), position, entry.getAdmittedUntil() != null,
+                entry.getAdmittedUntil(), estimatedWaitSeconds);
+    }
+}
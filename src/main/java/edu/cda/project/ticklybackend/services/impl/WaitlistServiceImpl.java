@@ -0,0 +1,246 @@
+package edu.cda.project.ticklybackend.services.impl;
+
+import edu.cda.project.ticklybackend.dtos.ticket.WaitlistEntryDto;
+import edu.cda.project.ticklybackend.dtos.ticket.WaitlistJoinRequestDto;
+import edu.cda.project.ticklybackend.enums.EventStatus;
+import edu.cda.project.ticklybackend.enums.WaitlistStatus;
+import edu.cda.project.ticklybackend.exceptions.BadRequestException;
+import edu.cda.project.ticklybackend.exceptions.ResourceNotFoundException;
+import edu.cda.project.ticklybackend.models.event.Event;
+import edu.cda.project.ticklybackend.models.event.EventAudienceZone;
+import edu.cda.project.ticklybackend.models.ticket.WaitlistEntry;
+import edu.cda.project.ticklybackend.models.user.User;
+import edu.cda.project.ticklybackend.repositories.event.EventRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.WaitlistEntryRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.WaitlistEntryView;
+import edu.cda.project.ticklybackend.repositories.ticket.WaitlistPromotionCandidate;
+import edu.cda.project.ticklybackend.services.interfaces.MailOutboxService;
+import edu.cda.project.ticklybackend.services.interfaces.WaitlistService;
+import edu.cda.project.ticklybackend.services.ticketing.SeatHoldRegistry;
+import edu.cda.project.ticklybackend.services.ticketing.ZoneCapacityLedger;
+import edu.cda.project.ticklybackend.services.ticketing.ZoneWaitlist;
+import edu.cda.project.ticklybackend.utils.AuthUtils;
+import edu.cda.project.ticklybackend.utils.LoggingUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final EventRepository eventRepository;
+    private final AuthUtils authUtils;
+    private final ZoneWaitlist zoneWaitlist;
+    private final ZoneCapacityLedger zoneCapacityLedger;
+    private final SeatHoldRegistry seatHoldRegistry;
+    private final MailOutboxService mailOutboxService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${tickly.waitlist.promotion-hold-minutes:30}")
+    private long promotionHoldMinutes;
+
+    @Override
+    @Transactional
+    public WaitlistEntryDto joinWaitlist(WaitlistJoinRequestDto requestDto) {
+        LoggingUtils.logMethodEntry(log, "joinWaitlist", "requestDto", requestDto);
+
+        try {
+            User currentUser = authUtils.getCurrentAuthenticatedUser();
+            LoggingUtils.setUserId(currentUser.getId());
+
+            Event event = eventRepository.findById(requestDto.getEventId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Événement avec ID " + requestDto.getEventId() + " non trouvé."));
+            if (!isBookable(event.getStatus(), event.getStartDate())) {
+                throw new BadRequestException("La liste d'attente n'est ouverte que pour les événements PUBLIÉS qui n'ont pas encore commencé.");
+            }
+            EventAudienceZone zone = event.getAudienceZones().stream()
+                    .filter(audienceZone -> audienceZone.getId().equals(requestDto.getAudienceZoneId()))
+                    .findFirst()
+                    .orElseThrow(() -> new ResourceNotFoundException("Zone d'audience avec ID " + requestDto.getAudienceZoneId() + " non trouvée."));
+
+            // Le registre de capacité fait foi quand la zone est chargée (il compte aussi les holds en cours)
+            int remaining = zoneCapacityLedger.remaining(zone.getId())
+                    .orElse(Math.max(0, zone.getAllocatedCapacity() - zone.getSoldCount()));
+            if (remaining >= requestDto.getSeats()) {
+                throw new BadRequestException("Des places sont encore disponibles dans cette zone : vous pouvez réserver directement.");
+            }
+            if (waitlistEntryRepository.existsActiveEntry(currentUser.getId(), zone.getId(), Instant.now())) {
+                throw new BadRequestException("Vous êtes déjà inscrit sur la liste d'attente de cette zone.");
+            }
+
+            WaitlistEntry entry = waitlistEntryRepository.save(
+                    new WaitlistEntry(currentUser.getId(), event.getId(), zone.getId(), requestDto.getSeats()));
+            zoneWaitlist.enqueueAfterCommit(zone.getId(), entry.getId(), entry.getSeats());
+            log.info("L'utilisateur {} rejoint la liste d'attente de la zone {} ({} place(s))", currentUser.getId(), zone.getId(), entry.getSeats());
+
+            String zoneName = zone.getTemplate() != null ? zone.getTemplate().getName() : null;
+            // Une file déjà chargée ne reçoit l'inscription qu'après la validation : elle arrive alors en dernière position
+            int position = zoneWaitlist.position(zone.getId(), entry.getId());
+            if (position == 0) {
+                position = zoneWaitlist.size(zone.getId()) + 1;
+            }
+            WaitlistEntryDto result = new WaitlistEntryDto(entry.getId(), event.getId(), event.getName(), zone.getId(), zoneName,
+                    entry.getSeats(), entry.getStatus(), position, entry.getCreatedAt(), null, null);
+            LoggingUtils.logMethodExit(log, "joinWaitlist", result);
+            return result;
+        } finally {
+            LoggingUtils.clearContext();
+        }
+    }
+
+    @Override
+    @Transactional
+    public void leaveWaitlist(Long entryId) {
+        User currentUser = authUtils.getCurrentAuthenticatedUser();
+        WaitlistEntry entry = waitlistEntryRepository.findById(entryId)
+                .filter(found -> found.getUserId().equals(currentUser.getId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Inscription sur liste d'attente avec ID " + entryId + " non trouvée."));
+
+        if (entry.getStatus() == WaitlistStatus.WAITING
+                && waitlistEntryRepository.markLeft(entryId, WaitlistStatus.WAITING) == 1) {
+            zoneWaitlist.removeAfterCommit(entry.getZoneId(), entryId);
+            log.info("L'utilisateur {} quitte la liste d'attente de la zone {}", currentUser.getId(), entry.getZoneId());
+            return;
+        }
+
+        // L'inscription a pu être promue entre la lecture et la mise à jour : les places retenues sont rendues
+        WaitlistEntry current = waitlistEntryRepository.findById(entryId).orElse(entry);
+        if (current.getStatus() == WaitlistStatus.PROMOTED
+                && waitlistEntryRepository.markLeft(entryId, WaitlistStatus.PROMOTED) == 1) {
+            if (current.getHoldId() != null) {
+                seatHoldRegistry.release(current.getHoldId(), currentUser.getId());
+            }
+            log.info("L'utilisateur {} renonce aux places retenues pour lui dans la zone {}", currentUser.getId(), current.getZoneId());
+            return;
+        }
+        throw new BadRequestException("Cette inscription a déjà quitté la liste d'attente.");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryDto> getMyWaitlistEntries() {
+        User currentUser = authUtils.getCurrentAuthenticatedUser();
+        List<WaitlistEntryDto> result = new ArrayList<>();
+        for (WaitlistEntryView view : waitlistEntryRepository.findActiveViewsByUserId(currentUser.getId())) {
+            int position = 0;
+            if (view.getStatus() == WaitlistStatus.WAITING) {
+                position = zoneWaitlist.position(view.getZoneId(), view.getId());
+            } else if (view.getHoldId() == null || seatHoldRegistry.find(view.getHoldId(), currentUser.getId()).isEmpty()) {
+                // Places retenues libérées, ou expirées et pas encore marquées comme telles
+                continue;
+            }
+            result.add(new WaitlistEntryDto(view.getId(), view.getEventId(), view.getEventName(), view.getZoneId(),
+                    view.getZoneName(), view.getSeats(), view.getStatus(), position, view.getCreatedAt(),
+                    view.getHoldId(), view.getHoldExpiresAt()));
+        }
+        return result;
+    }
+
+    /**
+     * Volontairement hors transaction : chaque promotion est enregistrée dans sa propre transaction courte, avec
+     * l'e-mail de notification, pour que les places retenues ne dépendent pas du sort des promotions suivantes.
+     */
+    @Override
+    public int promoteWaitlists() {
+        int promoted = 0;
+        for (Long zoneId : zoneWaitlist.drainDirtyZones()) {
+            try {
+                promoted += promoteZone(zoneId);
+            } catch (Exception e) {
+                // La zone sera de nouveau examinée au prochain passage
+                zoneWaitlist.markDirty(zoneId);
+                LoggingUtils.logException(log, "Erreur lors de la promotion de la liste d'attente de la zone " + zoneId, e);
+            }
+        }
+        return promoted;
+    }
+
+    @Override
+    @Transactional
+    public int expirePromotions() {
+        int expired = waitlistEntryRepository.expirePromotions(Instant.now());
+        if (expired > 0) {
+            log.debug("{} promotion(s) de liste d'attente expirée(s) sans réservation", expired);
+        }
+        return expired;
+    }
+
+    /**
+     * Promeut les inscriptions d'une zone dans l'ordre d'arrivée, tant que la tête de file peut être servie.
+     * La file est strictement FIFO : une inscription plus récente demandant moins de places ne double pas la tête.
+     * Les places sont prises par un hold (compare-and-set dans le registre de capacité) : elles sont attribuées à
+     * l'acheteur promu sans jamais être visibles des autres acheteurs entre-temps.
+     */
+    private int promoteZone(Long zoneId) {
+        if (!zoneWaitlist.beginPromotion(zoneId)) {
+            zoneWaitlist.markDirty(zoneId);
+            return 0;
+        }
+        int promoted = 0;
+        try {
+            ZoneWaitlist.QueuedEntry head;
+            while ((head = zoneWaitlist.peek(zoneId)) != null) {
+                WaitlistPromotionCandidate candidate = waitlistEntryRepository.findPromotionCandidate(head.getId()).orElse(null);
+                if (candidate == null || candidate.getStatus() != WaitlistStatus.WAITING) {
+                    zoneWaitlist.remove(zoneId, head.getId());
+                    continue;
+                }
+                if (!isBookable(candidate.getEventStatus(), candidate.getEventStartDate())) {
+                    break;
+                }
+
+                Optional<SeatHoldRegistry.SeatHold> hold = seatHoldRegistry.hold(candidate.getUserId(), candidate.getEventId(),
+                        zoneId, candidate.getAllocatedCapacity(), candidate.getSeats(), Duration.ofMinutes(promotionHoldMinutes));
+                if (hold.isEmpty()) {
+                    break;
+                }
+                if (recordPromotion(candidate, hold.get())) {
+                    promoted++;
+                    log.info("Inscription {} promue : {} place(s) retenue(s) dans la zone {} jusqu'à {}",
+                            candidate.getId(), candidate.getSeats(), zoneId, hold.get().getExpiresAt());
+                } else {
+                    // Inscription quittée entre la lecture et la promotion
+                    seatHoldRegistry.release(hold.get().getId(), candidate.getUserId());
+                }
+                zoneWaitlist.remove(zoneId, head.getId());
+            }
+        } finally {
+            zoneWaitlist.endPromotion(zoneId);
+        }
+        return promoted;
+    }
+
+    private boolean recordPromotion(WaitlistPromotionCandidate candidate, SeatHoldRegistry.SeatHold hold) {
+        try {
+            Boolean recorded = transactionTemplate.execute(status -> {
+                if (waitlistEntryRepository.markPromoted(candidate.getId(), hold.getId(), Instant.now(), hold.getExpiresAt()) == 0) {
+                    return false;
+                }
+                mailOutboxService.enqueueWaitlistPromotion(candidate.getUserEmail(), candidate.getUserFirstName(),
+                        candidate.getEventId(), candidate.getEventName(), candidate.getZoneName(), candidate.getSeats(),
+                        hold.getId(), hold.getExpiresAt());
+                return true;
+            });
+            return Boolean.TRUE.equals(recorded);
+        } catch (RuntimeException e) {
+            seatHoldRegistry.release(hold.getId(), candidate.getUserId());
+            throw e;
+        }
+    }
+
+    private static boolean isBookable(EventStatus status, Instant startDate) {
+        return status == EventStatus.PUBLISHED && startDate.isAfter(Instant.now());
+    }
+}
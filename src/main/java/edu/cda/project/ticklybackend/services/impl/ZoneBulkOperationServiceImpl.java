@@ -0,0 +1,323 @@
+package edu.cda.project.ticklybackend.services.impl;
+
+import edu.cda.project.ticklybackend.dtos.event.ZoneBulkOperationDto;
+import edu.cda.project.ticklybackend.dtos.event.ZoneBulkOperationRequestDto;
+import edu.cda.project.ticklybackend.enums.TicketJournalEventType;
+import edu.cda.project.ticklybackend.enums.TicketStatus;
+import edu.cda.project.ticklybackend.enums.ZoneBulkOperationStatus;
+import edu.cda.project.ticklybackend.exceptions.BadRequestException;
+import edu.cda.project.ticklybackend.exceptions.ResourceNotFoundException;
+import edu.cda.project.ticklybackend.models.event.ZoneBulkOperation;
+import edu.cda.project.ticklybackend.models.ticket.TicketJournalEntry;
+import edu.cda.project.ticklybackend.repositories.event.EventAudienceZoneRepository;
+import edu.cda.project.ticklybackend.repositories.event.EventZoneSummary;
+import edu.cda.project.ticklybackend.repositories.event.ZoneBulkOperationRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.ZoneCancellationCandidate;
+import edu.cda.project.ticklybackend.services.interfaces.MailOutboxService;
+import edu.cda.project.ticklybackend.services.interfaces.ZoneBulkOperationService;
+import edu.cda.project.ticklybackend.services.ticketing.EventTicketCounters;
+import edu.cda.project.ticklybackend.services.ticketing.SeatMapRegistry;
+import edu.cda.project.ticklybackend.services.ticketing.TicketJournal;
+import edu.cda.project.ticklybackend.services.ticketing.TicketValidationCache;
+import edu.cda.project.ticklybackend.services.ticketing.ZoneCapacityLedger;
+import edu.cda.project.ticklybackend.utils.AuthUtils;
+import edu.cda.project.ticklybackend.utils.LoggingUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ZoneBulkOperationServiceImpl implements ZoneBulkOperationService {
+
+    private static final List<ZoneBulkOperationStatus> ACTIVE_STATUSES = List.of(ZoneBulkOperationStatus.PENDING, ZoneBulkOperationStatus.RUNNING);
+    private static final int MAX_ERROR_LENGTH = 1000;
+    // Résultat d'un lot quand l'opération est terminée, introuvable ou traitée par une autre instance
+    private static final int NOTHING_TO_DO = -1;
+
+    private final ZoneBulkOperationRepository zoneBulkOperationRepository;
+    private final EventAudienceZoneRepository eventAudienceZoneRepository;
+    private final TicketRepository ticketRepository;
+    private final AuthUtils authUtils;
+    private final ZoneCapacityLedger zoneCapacityLedger;
+    private final SeatMapRegistry seatMapRegistry;
+    private final EventTicketCounters eventTicketCounters;
+    private final TicketValidationCache ticketValidationCache;
+    private final MailOutboxService mailOutboxService;
+    private final TicketJournal ticketJournal;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${tickly.zone-bulk.batch-size:500}")
+    private int batchSize;
+
+    @Value("${tickly.zone-bulk.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${tickly.zone-bulk.max-pending-notifications:5000}")
+    private long maxPendingNotifications;
+
+    @Value("${tickly.zone-bulk.max-failures:5}")
+    private int maxFailures;
+
+    @Override
+    @Transactional
+    public ZoneBulkOperationDto startOperation(Long eventId, Long zoneId, ZoneBulkOperationRequestDto requestDto) {
+        LoggingUtils.logMethodEntry(log, "startOperation", "eventId", eventId, "zoneId", zoneId, "requestDto", requestDto);
+
+        EventZoneSummary zone = eventAudienceZoneRepository.findSummaryById(zoneId)
+                .filter(summary -> summary.getEventId().equals(eventId))
+                .orElseThrow(() -> new ResourceNotFoundException("Zone d'audience avec ID " + zoneId + " non trouvée pour l'événement " + eventId + "."));
+        Instant now = Instant.now();
+        if (!zone.getEventEndDate().isAfter(now)) {
+            throw new BadRequestException("Les billets d'un événement terminé ne peuvent plus être annulés.");
+        }
+        if (zoneBulkOperationRepository.existsByZoneIdAndStatusIn(zoneId, ACTIVE_STATUSES)) {
+            throw new BadRequestException("Une opération de masse est déjà en cours sur cette zone.");
+        }
+
+        int validCount = (int) ticketRepository.countByEventAudienceZoneIdAndStatusIn(zoneId, List.of(TicketStatus.VALID));
+        Integer newCapacity = null;
+        int targetCount;
+        switch (requestDto.getType()) {
+            case CANCEL_ALL -> {
+                // La zone est fermée à la vente : les places libérées ne sont pas revendues
+                newCapacity = 0;
+                targetCount = validCount;
+            }
+            case CANCEL_MOST_RECENT -> {
+                if (requestDto.getCount() == null) {
+                    throw new BadRequestException("Le nombre de billets à annuler est requis.");
+                }
+                targetCount = Math.min(requestDto.getCount(), validCount);
+            }
+            case REDUCE_CAPACITY -> {
+                if (requestDto.getNewCapacity() == null) {
+                    throw new BadRequestException("La nouvelle capacité de la zone est requise.");
+                }
+                if (requestDto.getNewCapacity() >= zone.getAllocatedCapacity()) {
+                    throw new BadRequestException("La nouvelle capacité doit être inférieure à la capacité allouée actuelle ("
+                            + zone.getAllocatedCapacity() + ").");
+                }
+                newCapacity = requestDto.getNewCapacity();
+                // Les billets déjà scannés restent comptés : seuls les billets VALID peuvent être annulés
+                targetCount = Math.min(validCount, Math.max(0, zone.getSoldCount() - newCapacity));
+            }
+            default -> throw new BadRequestException("Type d'opération non supporté : " + requestDto.getType());
+        }
+
+        if (newCapacity != null) {
+            // La capacité baisse avant les annulations : plus aucune vente ne dépasse la nouvelle capacité une fois
+            // l'opération enregistrée (le registre en mémoire ne change qu'après la validation)
+            eventAudienceZoneRepository.updateAllocatedCapacity(zoneId, newCapacity);
+            zoneCapacityLedger.updateCapacityAfterCommit(zoneId, newCapacity);
+        }
+
+        ZoneBulkOperation operation = new ZoneBulkOperation(eventId, zoneId, requestDto.getType(),
+                authUtils.getCurrentAuthenticatedUserId(), newCapacity, now, targetCount);
+        if (targetCount == 0) {
+            operation.setStatus(ZoneBulkOperationStatus.COMPLETED);
+            operation.setCompletedAt(now);
+        }
+        operation = zoneBulkOperationRepository.save(operation);
+        log.info("Opération de masse {} lancée sur la zone {} de l'événement {} : {}, {} billet(s) à annuler",
+                operation.getId(), zoneId, eventId, operation.getType(), targetCount);
+
+        ZoneBulkOperationDto result = toDto(operation);
+        LoggingUtils.logMethodExit(log, "startOperation", result);
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ZoneBulkOperationDto getOperation(Long eventId, Long operationId) {
+        return toDto(findOperation(eventId, operationId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ZoneBulkOperationDto> getOperations(Long eventId) {
+        return zoneBulkOperationRepository.findByEventIdOrderByIdDesc(eventId).stream()
+                .map(ZoneBulkOperationServiceImpl::toDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public ZoneBulkOperationDto resumeOperation(Long eventId, Long operationId) {
+        ZoneBulkOperation operation = findOperation(eventId, operationId);
+        if (operation.getStatus() != ZoneBulkOperationStatus.FAILED) {
+            throw new BadRequestException("Seule une opération en échec peut être relancée.");
+        }
+        if (zoneBulkOperationRepository.existsByZoneIdAndStatusIn(operation.getZoneId(), ACTIVE_STATUSES)) {
+            throw new BadRequestException("Une opération de masse est déjà en cours sur cette zone.");
+        }
+        operation.setStatus(operation.getProcessedCount() > 0 ? ZoneBulkOperationStatus.RUNNING : ZoneBulkOperationStatus.PENDING);
+        operation.setFailures(0);
+        log.info("Opération de masse {} relancée ({}/{} billet(s) déjà annulé(s))",
+                operationId, operation.getProcessedCount(), operation.getTargetCount());
+        return toDto(operation);
+    }
+
+    /**
+     * Volontairement hors transaction : chaque lot est validé dans sa propre transaction courte, avec l'avancement
+     * de l'opération et les e-mails de ses acheteurs. Un arrêt en cours de traitement ne perd donc au plus qu'un lot,
+     * qui est rejoué au démarrage suivant.
+     */
+    @Override
+    public int processOperations() {
+        int cancelled = 0;
+        for (Long operationId : zoneBulkOperationRepository.findIdsByStatusIn(ACTIVE_STATUSES)) {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                // Contre-pression : l'outbox est le consommateur borné des notifications, on attend qu'il rattrape
+                long pending = mailOutboxService.countPendingMessages();
+                if (pending >= maxPendingNotifications) {
+                    log.debug("{} e-mail(s) en attente dans l'outbox : opérations de masse suspendues", pending);
+                    return cancelled;
+                }
+                int processed;
+                try {
+                    Integer result = transactionTemplate.execute(status -> processBatch(operationId));
+                    processed = result != null ? result : NOTHING_TO_DO;
+                } catch (RuntimeException e) {
+                    LoggingUtils.logException(log, "Erreur lors du traitement d'un lot de l'opération de masse " + operationId, e);
+                    recordFailure(operationId, e);
+                    break;
+                }
+                if (processed == NOTHING_TO_DO) {
+                    break;
+                }
+                cancelled += processed;
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * Annule le prochain lot de billets d'une opération : les billets VALID les plus récents de la zone, réservés
+     * avant le lancement. Un seul UPDATE conditionnel annule le lot ; si un billet a changé de statut entre la
+     * lecture et l'UPDATE, le lot entier est annulé (rollback) et rejoué au passage suivant.
+     *
+     * @return le nombre de billets annulés, ou {@link #NOTHING_TO_DO} si l'opération n'a plus rien à traiter.
+     */
+    private int processBatch(Long operationId) {
+        ZoneBulkOperation operation = zoneBulkOperationRepository.lockById(operationId).orElse(null);
+        if (operation == null || !ACTIVE_STATUSES.contains(operation.getStatus())) {
+            return NOTHING_TO_DO;
+        }
+        int remaining = operation.getTargetCount() - operation.getProcessedCount();
+        List<ZoneCancellationCandidate> tickets = remaining <= 0 ? List.of()
+                : ticketRepository.findZoneCancellationCandidates(operation.getZoneId(), operation.getCutoff(),
+                PageRequest.of(0, Math.min(batchSize, remaining)));
+        if (tickets.isEmpty()) {
+            complete(operation);
+            return NOTHING_TO_DO;
+        }
+
+        Long zoneId = operation.getZoneId();
+        List<UUID> ticketIds = tickets.stream().map(ZoneCancellationCandidate::getId).toList();
+        int cancelled = ticketRepository.cancelValidTicketsByIds(ticketIds);
+        if (cancelled != ticketIds.size()) {
+            throw new IllegalStateException((ticketIds.size() - cancelled) + " billet(s) sur " + ticketIds.size()
+                    + " ont changé de statut pendant le lot : le lot sera rejoué");
+        }
+
+        List<SeatMapRegistry.Seat> freedSeats = new ArrayList<>();
+        for (ZoneCancellationCandidate ticket : tickets) {
+            if (ticket.getSeatRow() != null && ticket.getSeatNumber() != null) {
+                freedSeats.add(new SeatMapRegistry.Seat(ticket.getSeatRow(), ticket.getSeatNumber()));
+            }
+        }
+        if (eventAudienceZoneRepository.recordCancellations(zoneId, cancelled) == 0) {
+            log.warn("Compteurs incohérents pour la zone {} lors de l'annulation de {} billet(s). Une reconstruction des compteurs est nécessaire.", zoneId, cancelled);
+        }
+        zoneCapacityLedger.releaseAfterCommit(zoneId, cancelled);
+        seatMapRegistry.releaseAfterCommit(zoneId, freedSeats);
+        eventTicketCounters.applyAfterCommit(operation.getEventId(), TicketStatus.VALID, TicketStatus.CANCELLED, cancelled);
+        ticketValidationCache.markCancelledAfterCommit(ticketIds);
+        Instant cancelledAt = Instant.now();
+        ticketJournal.append(ticketIds.stream()
+                .map(ticketId -> new TicketJournalEntry(TicketJournalEventType.CANCELLED, ticketId, operation.getEventId(),
+                        zoneId, cancelledAt))
+                .toList());
+        notifyBuyers(zoneId, tickets);
+
+        operation.setProcessedCount(operation.getProcessedCount() + cancelled);
+        operation.setStatus(ZoneBulkOperationStatus.RUNNING);
+        operation.setFailures(0);
+        operation.setLastError(null);
+        if (operation.getProcessedCount() >= operation.getTargetCount()) {
+            complete(operation);
+        }
+        log.debug("Opération de masse {} : {} billet(s) annulé(s), {}/{}", operationId, cancelled,
+                operation.getProcessedCount(), operation.getTargetCount());
+        return cancelled;
+    }
+
+    /**
+     * Enregistre un e-mail par acheteur du lot, avec le nombre de ses billets annulés.
+     */
+    private void notifyBuyers(Long zoneId, List<ZoneCancellationCandidate> tickets) {
+        Map<String, String> firstNames = new LinkedHashMap<>();
+        Map<String, Integer> ticketCounts = new HashMap<>();
+        for (ZoneCancellationCandidate ticket : tickets) {
+            if (ticket.getBuyerEmail() == null) {
+                continue;
+            }
+            firstNames.putIfAbsent(ticket.getBuyerEmail(), ticket.getBuyerFirstName());
+            ticketCounts.merge(ticket.getBuyerEmail(), 1, Integer::sum);
+        }
+        if (firstNames.isEmpty()) {
+            return;
+        }
+        EventZoneSummary zone = eventAudienceZoneRepository.findSummaryById(zoneId)
+                .orElseThrow(() -> new IllegalStateException("Zone d'audience " + zoneId + " introuvable"));
+        firstNames.forEach((email, firstName) -> mailOutboxService.enqueueZoneTicketsCancelled(email, firstName,
+                zone.getEventName(), zone.getZoneName(), ticketCounts.get(email)));
+    }
+
+    private void recordFailure(Long operationId, RuntimeException error) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> zoneBulkOperationRepository.findById(operationId).ifPresent(operation -> {
+                String message = String.valueOf(error.getMessage());
+                operation.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+                operation.setFailures(operation.getFailures() + 1);
+                if (operation.getFailures() >= maxFailures) {
+                    operation.setStatus(ZoneBulkOperationStatus.FAILED);
+                    log.error("Opération de masse {} arrêtée après {} échecs consécutifs ({}/{} billet(s) annulé(s)) : {}",
+                            operationId, operation.getFailures(), operation.getProcessedCount(), operation.getTargetCount(), message);
+                }
+            }));
+        } catch (RuntimeException e) {
+            LoggingUtils.logException(log, "Impossible d'enregistrer l'échec de l'opération de masse " + operationId, e);
+        }
+    }
+
+    private static void complete(ZoneBulkOperation operation) {
+        operation.setStatus(ZoneBulkOperationStatus.COMPLETED);
+        operation.setCompletedAt(Instant.now());
+        log.info("Opération de masse {} terminée : {} billet(s) annulé(s) dans la zone {}",
+                operation.getId(), operation.getProcessedCount(), operation.getZoneId());
+    }
+
+    private ZoneBulkOperation findOperation(Long eventId, Long operationId) {
+        return zoneBulkOperationRepository.findById(operationId)
+                .filter(operation -> operation.getEventId().equals(eventId))
+                .orElseThrow(() -> new ResourceNotFoundException("Opération de masse avec ID " + operationId + " non trouvée pour l'événement " + eventId + "."));
+    }
+
+    private static ZoneBulkOperationDto toDto(ZoneBulkOperation operation) {
+        return new ZoneBulkOperationDto(operation.getId(), operation.getEventId(), operation.getZoneId(), operation.getType(),
+                operation.getStatus(), operation.getNewCapacity(), operation.getTargetCount(), operation.getProcessedCount(),
+                operation.getCutoff(), operation.getLastError(), operation.getCreatedAt(), operation.getUpdatedAt(),
+                operation.getCompletedAt());
+    }
+}
@@ -108,4 +108,13 @@ public interface EventService {
      * @return Une liste de DTOs de catégories.
      */
     List<EventCategoryDto> getAllCategories();
+
+    /**
+     * Reconstruit les compteurs dénormalisés (vendus, scannés, annulés) des zones d'un événement
+     * à partir de la table des billets. Commande de réparation réservée aux gestionnaires de l'événement.
+     *
+     * @param eventId ID de l'événement.
+     * @return Les zones de l'événement avec leur capacité restante recalculée.
+     */
+    List<EventAudienceZoneDto> rebuildAudienceZoneCounters(Long eventId);
 }
@@ -0,0 +1,113 @@
+package edu.cda.project.ticklybackend.services.interfaces;
+
+import edu.cda.project.ticklybackend.models.mailing.MailOutboxMessage;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service de gestion de l'outbox des e-mails transactionnels.
+ * <p>
+ * Les méthodes {@code enqueue*} s'exécutent dans la transaction de l'appelant : l'e-mail n'existe que
+ * si l'opération métier est validée. L'envoi réel est effectué plus tard par le dispatcher, hors transaction.
+ */
+public interface MailOutboxService {
+
+    /**
+     * Enregistre l'envoi des liens de tous les billets d'une réservation à l'acheteur.
+     *
+     * @param to        L'adresse e-mail du destinataire.
+     * @param userName  Le nom du destinataire.
+     * @param eventName Le nom de l'événement.
+     * @param ticketIds Les UUIDs des billets.
+     */
+    void enqueueTickets(String to, String userName, String eventName, List<UUID> ticketIds);
+
+    /**
+     * Enregistre l'envoi du lien d'un billet individuel à un participant.
+     *
+     * @param to              L'adresse e-mail du participant.
+     * @param participantName Le nom complet du participant.
+     * @param eventName       Le nom de l'événement.
+     * @param ticketId        L'UUID du billet.
+     */
+    void enqueueIndividualTicket(String to, String participantName, String eventName, UUID ticketId);
+
+    /**
+     * Enregistre la notification d'un acheteur promu depuis la liste d'attente d'une zone.
+     *
+     * @param to            L'adresse e-mail de l'acheteur.
+     * @param userName      Le nom de l'acheteur.
+     * @param eventId       L'ID de l'événement.
+     * @param eventName     Le nom de l'événement.
+     * @param zoneName      Le nom de la zone.
+     * @param seats         Le nombre de places retenues.
+     * @param holdId        L'ID du hold à confirmer avec la réservation.
+     * @param holdExpiresAt La date à laquelle les places retenues sont libérées.
+     */
+    void enqueueWaitlistPromotion(String to, String userName, Long eventId, String eventName, String zoneName,
+                                  int seats, UUID holdId, Instant holdExpiresAt);
+
+    /**
+     * Enregistre la notification d'un acheteur dont des billets ont été annulés par une opération de masse
+     * de l'organisateur sur une zone.
+     *
+     * @param to          L'adresse e-mail de l'acheteur.
+     * @param userName    Le nom de l'acheteur.
+     * @param eventName   Le nom de l'événement.
+     * @param zoneName    Le nom de la zone.
+     * @param ticketCount Le nombre de billets annulés.
+     */
+    void enqueueZoneTicketsCancelled(String to, String userName, String eventName, String zoneName, int ticketCount);
+
+    /**
+     * Compte les messages en attente d'envoi. Permet aux producteurs de masse de ralentir quand le dispatcher
+     * a pris du retard.
+     *
+     * @return le nombre de messages PENDING.
+     */
+    long countPendingMessages();
+
+    /**
+     * Réserve un lot de messages à envoyer, dans une transaction courte.
+     * Les messages réservés passent au statut SENDING avec un bail ; leur compteur de tentatives est incrémenté.
+     *
+     * @param batchSize Nombre maximal de messages à réserver.
+     * @return Les messages réservés, à envoyer par l'appelant.
+     */
+    List<MailOutboxMessage> claimPendingMessages(int batchSize);
+
+    /**
+     * Envoie un message réservé. N'ouvre aucune transaction : le rendu du template et l'appel au
+     * fournisseur d'e-mails ne monopolisent pas de connexion à la base.
+     *
+     * @param message Le message à envoyer.
+     * @throws RuntimeException si l'envoi échoue.
+     */
+    void deliver(MailOutboxMessage message);
+
+    /**
+     * Marque un message comme envoyé.
+     *
+     * @param messageId L'ID du message.
+     */
+    void markSent(Long messageId);
+
+    /**
+     * Enregistre l'échec d'un envoi et planifie une nouvelle tentative (délai exponentiel),
+     * ou abandonne le message si le nombre maximal de tentatives est atteint.
+     *
+     * @param messageId L'ID du message.
+     * @param error     La cause de l'échec.
+     */
+    void markFailed(Long messageId, String error);
+
+    /**
+     * Supprime les messages envoyés avant la date donnée.
+     *
+     * @param before Date limite.
+     * @return Le nombre de messages supprimés.
+     */
+    int purgeSentMessages(Instant before);
+}
@@ -1,5 +1,6 @@
 package edu.cda.project.ticklybackend.services.interfaces;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -79,4 +80,52 @@ public interface MailingService {
      */
     void sendIndividualTicket(String to, String participantName, String eventName, UUID ticketId, String frontendBaseUrl);
 
+    /**
+     * Variante synchrone de {@link #sendTickets} : l'e-mail est envoyé dans le thread appelant et
+     * toute erreur est propagée. Utilisée par le dispatcher de l'outbox pour gérer les nouvelles tentatives.
+     *
+     * @throws RuntimeException si l'envoi échoue.
+     */
+    void deliverTickets(String to, String userName, String eventName, List<UUID> ticketIds, String frontendBaseUrl);
+
+    /**
+     * Variante synchrone de {@link #sendIndividualTicket} : toute erreur est propagée à l'appelant.
+     *
+     * @throws RuntimeException si l'envoi échoue.
+     */
+    void deliverIndividualTicket(String to, String participantName, String eventName, UUID ticketId, String frontendBaseUrl);
+
+    /**
+     * Prévient un acheteur en liste d'attente que des places ont été retenues pour lui. Toute erreur est propagée
+     * à l'appelant (dispatcher de l'outbox).
+     *
+     * @param to              L'adresse e-mail de l'acheteur.
+     * @param userName        Le nom de l'acheteur.
+     * @param eventId         L'ID de l'événement.
+     * @param eventName       Le nom de l'événement.
+     * @param zoneName        Le nom de la zone.
+     * @param seats           Le nombre de places retenues.
+     * @param holdId          L'ID du hold à confirmer avec la réservation.
+     * @param holdExpiresAt   La date à laquelle les places retenues sont libérées.
+     * @param frontendBaseUrl URL de base de l'application frontend.
+     * @throws RuntimeException si l'envoi échoue.
+     */
+    void deliverWaitlistPromotion(String to, String userName, Long eventId, String eventName, String zoneName, int seats,
+                                  UUID holdId, Instant holdExpiresAt, String frontendBaseUrl);
+
+    /**
+     * Prévient un acheteur que des billets ont été annulés par l'organisateur de l'événement. Toute erreur est
+     * propagée à l'appelant (dispatcher de l'outbox).
+     *
+     * @param to              L'adresse e-mail de l'acheteur.
+     * @param userName        Le nom de l'acheteur.
+     * @param eventName       Le nom de l'événement.
+     * @param zoneName        Le nom de la zone.
+     * @param ticketCount     Le nombre de billets annulés.
+     * @param frontendBaseUrl URL de base de l'application frontend.
+     * @throws RuntimeException si l'envoi échoue.
+     */
+    void deliverZoneTicketsCancelled(String to, String userName, String eventName, String zoneName, int ticketCount,
+                                     String frontendBaseUrl);
+
 }
\ No newline at end of file
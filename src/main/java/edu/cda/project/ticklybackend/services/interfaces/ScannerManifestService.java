@@ -0,0 +1,43 @@
+package edu.cda.project.ticklybackend.services.interfaces;
+
+import edu.cda.project.ticklybackend.dtos.ticket.TicketTokenKeyDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Export des billets d'un événement pour la validation hors ligne par les scanners.
+ * Le format binaire est décrit par {@link edu.cda.project.ticklybackend.services.ticketing.ScannerManifestFormat}.
+ */
+public interface ScannerManifestService {
+
+    /**
+     * Écrit le manifeste complet (billets VALID) d'un événement.
+     *
+     * @param eventId      L'ID de l'événement.
+     * @param outputStream Le flux de sortie (non fermé par la méthode).
+     * @throws IOException si l'écriture échoue.
+     */
+    void writeManifest(Long eventId, OutputStream outputStream) throws IOException;
+
+    /**
+     * Écrit les billets d'un événement modifiés depuis un curseur (réservations, annulations, validations).
+     *
+     * @param eventId      L'ID de l'événement.
+     * @param since        Le curseur retourné par le manifeste ou le delta précédent.
+     * @param outputStream Le flux de sortie (non fermé par la méthode).
+     * @throws IOException si l'écriture échoue.
+     */
+    void writeDelta(Long eventId, long since, OutputStream outputStream) throws IOException;
+
+    /**
+     * Retourne la clé publique de vérification des jetons signés d'un événement, pour que les scanners
+     * puissent rejeter hors ligne les QR codes falsifiés ou d'un autre événement. Cette clé ne permet
+     * pas de signer de jetons.
+     * Le format des jetons est décrit par {@link edu.cda.project.ticklybackend.services.ticketing.TicketTokenCodec}.
+     *
+     * @param eventId L'ID de l'événement.
+     * @return la clé publique de vérification.
+     */
+    TicketTokenKeyDto getTicketTokenKey(Long eventId);
+}
@@ -0,0 +1,23 @@
+package edu.cda.project.ticklybackend.services.interfaces;
+
+import edu.cda.project.ticklybackend.dtos.ticket.TicketJournalReplayDto;
+
+/**
+ * Service de rejeu du journal des billets.
+ * <p>
+ * Le journal (table {@code ticket_journal}) enregistre chaque émission, annulation, validation et anonymisation
+ * de billet. Les projections qui en dérivent (comptes par zone, agrégats par jour) sont calculées en relisant le
+ * journal, sans relire la table {@code tickets}. Elles ne remplacent pas les compteurs des zones : ceux-ci servent
+ * au contrôle de capacité et ne sont reconstruits que depuis la table {@code tickets}.
+ */
+public interface TicketJournalService {
+
+    /**
+     * Rejoue le journal d'un événement et renvoie les comptes de billets par zone d'audience et l'agrégat par jour.
+     * Aucune donnée n'est modifiée.
+     *
+     * @param eventId ID de l'événement.
+     * @return Le résultat du rejeu.
+     */
+    TicketJournalReplayDto replayEvent(Long eventId);
+}
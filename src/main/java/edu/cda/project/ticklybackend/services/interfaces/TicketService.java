@@ -1,15 +1,22 @@
 package edu.cda.project.ticklybackend.services.interfaces;
 
 import edu.cda.project.ticklybackend.dtos.common.PaginatedResponseDto;
+import edu.cda.project.ticklybackend.dtos.ticket.BatchTicketValidationRequestDto;
+import edu.cda.project.ticklybackend.dtos.ticket.BatchTicketValidationResponseDto;
 import edu.cda.project.ticklybackend.dtos.ticket.ReservationConfirmationDto;
 import edu.cda.project.ticklybackend.dtos.ticket.ReservationRequestDto;
+import edu.cda.project.ticklybackend.dtos.ticket.SeatHoldRequestDto;
+import edu.cda.project.ticklybackend.dtos.ticket.SeatHoldResponseDto;
+import edu.cda.project.ticklybackend.dtos.ticket.SeatMapDto;
 import edu.cda.project.ticklybackend.dtos.ticket.TicketResponseDto;
 import edu.cda.project.ticklybackend.dtos.ticket.TicketValidationResponseDto;
+import edu.cda.project.ticklybackend.enums.QrImageFormat;
 import edu.cda.project.ticklybackend.enums.TicketStatus;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -24,11 +31,50 @@ public interface TicketService {
     ReservationConfirmationDto createReservation(ReservationRequestDto requestDto);
 
     /**
-     * Récupère tous les billets pour l'utilisateur actuellement authentifié.
+     * Crée une réservation de manière idempotente : les requêtes répétées avec la même clé par le même utilisateur
+     * attendent ou rejouent le résultat de la première au lieu de créer une nouvelle réservation.
      *
-     * @return une liste de détails de billets.
+     * @param requestDto     Le DTO contenant les détails de la réservation.
+     * @param idempotencyKey La valeur de l'en-tête {@code Idempotency-Key} (100 caractères au plus).
+     * @return Un DTO de confirmation de la réservation, identique pour toutes les requêtes portant la même clé.
      */
-    List<ReservationConfirmationDto> getMyReservations();
+    ReservationConfirmationDto createReservation(ReservationRequestDto requestDto, String idempotencyKey);
+
+    /**
+     * Retient temporairement des places dans une zone d'audience, le temps que l'acheteur saisisse les participants.
+     * Les places retenues ne sont plus proposées aux autres acheteurs et sont libérées automatiquement à expiration.
+     * Un acheteur ne peut retenir plus de 4 places à la fois pour un même événement, comme pour une réservation.
+     *
+     * @param requestDto Le DTO contenant l'événement, la zone et le nombre de places.
+     * @return le hold créé, à confirmer via {@link #createReservation(ReservationRequestDto)} avec son ID.
+     */
+    SeatHoldResponseDto createSeatHold(SeatHoldRequestDto requestDto);
+
+    /**
+     * Libère avant expiration des places retenues par l'utilisateur actuellement authentifié.
+     *
+     * @param holdId L'ID du hold.
+     */
+    void releaseSeatHold(UUID holdId);
+
+    /**
+     * Récupère l'occupation des sièges d'une zone placée d'un événement.
+     *
+     * @param eventId        L'ID de l'événement.
+     * @param audienceZoneId L'ID de la zone d'audience.
+     * @return le plan de salle de la zone avec les sièges pris.
+     * @throws edu.cda.project.ticklybackend.exceptions.BadRequestException si la zone n'a pas de plan de salle.
+     */
+    SeatMapDto getSeatMap(Long eventId, Long audienceZoneId);
+
+    /**
+     * Récupère une page des réservations de l'utilisateur actuellement authentifié, de la plus récente
+     * à la plus ancienne, avec leurs billets. Le nombre de requêtes ne dépend pas du nombre de réservations.
+     *
+     * @param pageable La page demandée (le tri est imposé : plus récentes en premier).
+     * @return une page de réservations avec le détail de leurs billets.
+     */
+    PaginatedResponseDto<ReservationConfirmationDto> getMyReservations(Pageable pageable);
 
     /**
      * Récupère les détails d'un billet spécifique par son ID.
@@ -48,17 +94,32 @@ public interface TicketService {
      */
     TicketResponseDto getPublicTicketDetails(UUID ticketId);
 
+    /**
+     * Rend l'image du QR code d'un billet, sans vérification d'authentification (comme
+     * {@link #getPublicTicketDetails(UUID)}). Les images rendues sont mises en cache.
+     *
+     * @param ticketId L'UUID du billet.
+     * @param format   Le format de l'image (PNG ou SVG).
+     * @return l'image encodée dans le format demandé.
+     */
+    byte[] getTicketQrCode(UUID ticketId, QrImageFormat format);
+
     /**
      * Récupère une liste paginée de billets pour un événement spécifique.
      * Permet de filtrer par statut et de rechercher par nom, email ou UUID du billet.
+     * Le filtrage et la pagination sont effectués en base ; la réponse contient un curseur
+     * permettant de demander la page suivante sans OFFSET.
      *
-     * @param eventId  L'ID de l'événement.
-     * @param status   Le statut des billets à filtrer (optionnel).
-     * @param search   Terme de recherche pour filtrer les billets (optionnel).
-     * @param pageable Informations de pagination.
+     * @param eventId      L'ID de l'événement.
+     * @param status       Le statut des billets à filtrer (optionnel).
+     * @param search       Terme de recherche pour filtrer les billets (optionnel).
+     * @param cursor       Curseur retourné par la page précédente (optionnel). S'il est fourni, le numéro de page est ignoré.
+     * @param includeTotal Si vrai, le nombre total de billets est calculé (requête COUNT supplémentaire) ; sinon il vaut -1.
+     * @param pageable     Informations de pagination.
      * @return une réponse paginée contenant les détails des billets.
      */
-    PaginatedResponseDto<TicketResponseDto> getEventTickets(Long eventId, TicketStatus status, String search, Pageable pageable);
+    PaginatedResponseDto<TicketResponseDto> getEventTickets(Long eventId, TicketStatus status, String search, String cursor,
+                                                            boolean includeTotal, Pageable pageable);
 
     /**
      * Valide un billet spécifique en changeant son statut à USED.
@@ -68,6 +129,30 @@ public interface TicketService {
      */
     TicketValidationResponseDto validateTicket(UUID ticketId);
 
+    /**
+     * Valide un billet à partir de la valeur lue dans son QR code.
+     * Les jetons signés sont vérifiés sans accès à la base : un QR code falsifié ou appartenant à un autre
+     * événement est rejeté immédiatement. Les anciens QR codes (UUID aléatoires) restent acceptés.
+     *
+     * @param eventId L'ID de l'événement contrôlé.
+     * @param qrCode  La valeur lue dans le QR code.
+     * @return un DTO contenant le résultat de la validation.
+     * @throws edu.cda.project.ticklybackend.exceptions.BadRequestException       si le jeton est falsifié ou si le billet appartient à un autre événement.
+     * @throws edu.cda.project.ticklybackend.exceptions.ResourceNotFoundException si aucun billet ne correspond à un ancien QR code.
+     */
+    TicketValidationResponseDto validateTicketByQrCode(Long eventId, String qrCode);
+
+    /**
+     * Valide en une seule transaction un lot de scans mis en tampon par un scanner.
+     * Les billets sont passés de VALID à USED par des UPDATE conditionnels envoyés en un seul lot,
+     * puis une seule mise à jour des statistiques est diffusée pour tout le lot.
+     *
+     * @param eventId    L'ID de l'événement.
+     * @param requestDto Les scans à valider (ID ou QR code, heure du scan).
+     * @return le résultat de chaque scan, dans l'ordre de la requête.
+     */
+    BatchTicketValidationResponseDto validateTicketsBatch(Long eventId, BatchTicketValidationRequestDto requestDto);
+
     /**
      * Annule une réservation et tous les billets associés.
      * Les billets annulés libèrent des places pour l'événement.
@@ -78,4 +163,15 @@ public interface TicketService {
      */
     boolean cancelReservation(Long reservationId);
 
+    /**
+     * Annule tous les billets d'une réservation en une seule mise à jour ensembliste, sans contrôle de propriété.
+     * Les places libérées sont restituées aux compteurs de zone et aux caches de disponibilité dans la même transaction.
+     * Utilisé par {@link #cancelReservation(Long)} et par les annulations en masse (report d'un événement, etc.).
+     *
+     * @param reservationId L'ID de la réservation.
+     * @return le nombre de places libérées par ID de zone (vide si la réservation n'a aucun billet).
+     * @throws edu.cda.project.ticklybackend.exceptions.BadRequestException si un billet n'est plus valide.
+     */
+    Map<Long, Integer> cancelReservationTickets(Long reservationId);
+
 }
@@ -0,0 +1,33 @@
+package edu.cda.project.ticklybackend.services.interfaces;
+
+import edu.cda.project.ticklybackend.dtos.ticket.WaitingRoomStatusDto;
+
+import java.util.UUID;
+
+/**
+ * Service de la salle d'attente virtuelle des événements à forte affluence.
+ * <p>
+ * Quand l'organisateur l'active, les acheteurs rejoignent la file de l'événement et sont admis dans l'ordre
+ * d'arrivée, à un débit fixé par seconde. Seuls les acheteurs admis peuvent retenir des places et réserver.
+ */
+public interface WaitingRoomService {
+
+    /**
+     * Place l'utilisateur authentifié dans la salle d'attente d'un événement. Un utilisateur déjà présent
+     * conserve sa place.
+     *
+     * @param eventId L'ID de l'événement.
+     * @return le jeton de file et la position de l'utilisateur.
+     * @throws edu.cda.project.ticklybackend.exceptions.BadRequestException si l'événement n'a pas de salle d'attente ouverte.
+     */
+    WaitingRoomStatusDto joinWaitingRoom(Long eventId);
+
+    /**
+     * Donne la position associée à un jeton de file, à partir de la mémoire uniquement (aucun accès à la base).
+     *
+     * @param token Le jeton de file.
+     * @return la position et l'état d'admission.
+     * @throws edu.cda.project.ticklybackend.exceptions.ResourceNotFoundException si le jeton est inconnu ou expiré.
+     */
+    WaitingRoomStatusDto getWaitingRoomStatus(UUID token);
+}
@@ -0,0 +1,53 @@
+package edu.cda.project.ticklybackend.services.interfaces;
+
+import edu.cda.project.ticklybackend.dtos.ticket.WaitlistEntryDto;
+import edu.cda.project.ticklybackend.dtos.ticket.WaitlistJoinRequestDto;
+
+import java.util.List;
+
+/**
+ * Service de gestion des listes d'attente des zones complètes.
+ * <p>
+ * Quand des places se libèrent dans une zone (annulation, hold expiré, augmentation de capacité), les inscriptions
+ * sont promues dans l'ordre d'arrivée : les places sont retenues pour l'acheteur, qui est prévenu par e-mail et
+ * confirme sa réservation avec l'ID du hold.
+ */
+public interface WaitlistService {
+
+    /**
+     * Inscrit l'utilisateur authentifié sur la liste d'attente d'une zone complète.
+     *
+     * @param requestDto L'événement, la zone et le nombre de places souhaitées.
+     * @return l'inscription créée, avec sa position dans la file.
+     */
+    WaitlistEntryDto joinWaitlist(WaitlistJoinRequestDto requestDto);
+
+    /**
+     * Retire l'utilisateur authentifié d'une liste d'attente. Les places retenues lors d'une promotion sont libérées.
+     *
+     * @param entryId L'ID de l'inscription.
+     */
+    void leaveWaitlist(Long entryId);
+
+    /**
+     * Liste les inscriptions en attente ou promues de l'utilisateur authentifié.
+     *
+     * @return les inscriptions, les plus récentes en premier.
+     */
+    List<WaitlistEntryDto> getMyWaitlistEntries();
+
+    /**
+     * Promeut les inscriptions des zones où des places ont été libérées depuis le dernier appel.
+     *
+     * @return le nombre d'inscriptions promues.
+     */
+    int promoteWaitlists();
+
+    /**
+     * Marque expirées les promotions dont les places retenues n'ont pas été réservées à temps, pour que l'acheteur
+     * puisse se réinscrire sur la liste d'attente de la zone.
+     *
+     * @return le nombre de promotions expirées.
+     */
+    int expirePromotions();
+}
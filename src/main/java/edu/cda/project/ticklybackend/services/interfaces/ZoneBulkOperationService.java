@@ -0,0 +1,56 @@
+package edu.cda.project.ticklybackend.services.interfaces;
+
+import edu.cda.project.ticklybackend.dtos.event.ZoneBulkOperationDto;
+import edu.cda.project.ticklybackend.dtos.event.ZoneBulkOperationRequestDto;
+
+import java.util.List;
+
+/**
+ * Service des opérations de masse sur les billets d'une zone d'audience (annulation de tous les billets, des N
+ * plus récents, ou réduction de la capacité allouée).
+ * <p>
+ * Le lancement est immédiat : la capacité de la zone est modifiée et les billets visés sont fixés. Les annulations
+ * sont ensuite faites par lots bornés, en tâche de fond, chaque lot validant aussi l'avancement de l'opération.
+ */
+public interface ZoneBulkOperationService {
+
+    /**
+     * Lance une opération de masse sur une zone. Une seule opération peut être en cours par zone.
+     *
+     * @param eventId    ID de l'événement.
+     * @param zoneId     ID de la zone d'audience de l'événement.
+     * @param requestDto Type et paramètres de l'opération.
+     * @return L'opération enregistrée.
+     */
+    ZoneBulkOperationDto startOperation(Long eventId, Long zoneId, ZoneBulkOperationRequestDto requestDto);
+
+    /**
+     * @param eventId     ID de l'événement.
+     * @param operationId ID de l'opération.
+     * @return L'opération et son avancement.
+     */
+    ZoneBulkOperationDto getOperation(Long eventId, Long operationId);
+
+    /**
+     * @param eventId ID de l'événement.
+     * @return Les opérations de l'événement, de la plus récente à la plus ancienne.
+     */
+    List<ZoneBulkOperationDto> getOperations(Long eventId);
+
+    /**
+     * Relance une opération arrêtée après des erreurs répétées. Elle reprend là où elle s'était arrêtée.
+     *
+     * @param eventId     ID de l'événement.
+     * @param operationId ID de l'opération.
+     * @return L'opération relancée.
+     */
+    ZoneBulkOperationDto resumeOperation(Long eventId, Long operationId);
+
+    /**
+     * Traite les lots des opérations en cours. Chaque lot est validé dans sa propre transaction ; le traitement
+     * est suspendu tant que l'outbox des e-mails a trop de messages en attente.
+     *
+     * @return Le nombre de billets annulés.
+     */
+    int processOperations();
+}
@@ -0,0 +1,60 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.enums.TicketJournalEventType;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketJournalRowHandler;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Projection of the ticket journal into a daily rollup: tickets issued, validated and cancelled per UTC day.
+ */
+public final class DailyTicketRollupProjection implements TicketJournalRowHandler {
+
+    private final TreeMap<LocalDate, Day> days = new TreeMap<>();
+
+    @Override
+    public void handle(long sequence, UUID ticketId, Long zoneId, TicketJournalEventType type, Instant occurredAt) {
+        if (type == TicketJournalEventType.ANONYMIZED) {
+            return;
+        }
+        LocalDate date = LocalDate.ofInstant(occurredAt, ZoneOffset.UTC);
+        Day day = days.computeIfAbsent(date, Day::new);
+        switch (type) {
+            case CREATED -> day.createdCount++;
+            case VALIDATED -> day.validatedCount++;
+            case CANCELLED -> day.cancelledCount++;
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * @return the days with at least one change, oldest first.
+     */
+    public List<Day> days() {
+        return new ArrayList<>(days.values());
+    }
+
+    /**
+     * Changes recorded during one UTC day.
+     */
+    @Getter
+    public static final class Day {
+
+        private final LocalDate date;
+        private long createdCount;
+        private long validatedCount;
+        private long cancelledCount;
+
+        private Day(LocalDate date) {
+            this.date = date;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.enums.TicketStatus;
+import edu.cda.project.ticklybackend.repositories.event.EventRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.EventStatusCount;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory ticket counters per event and per status, used to serve live statistics.
+ * <p>
+ * The counters of an event are seeded lazily from one grouped COUNT query the first time they are
+ * read, then updated incrementally once reservations, cancellations and validations are committed.
+ * Reading them afterwards is a map lookup and never touches the database, however many dashboards
+ * or WebSocket subscribers ask for them. A change committed while the seeding COUNT runs may or may
+ * not be part of its result, so the seed is taken again when one is recorded in the meantime.
+ * <p>
+ * Like {@link ZoneCapacityLedger}, the counters are authoritative for this JVM only: they are
+ * periodically compared with the {@code tickets} table by {@link #rebuild()}, which also catches the
+ * changes made by other instances.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventTicketCounters {
+
+    private static final Duration IDLE_EVICTION_DELAY = Duration.ofHours(1);
+    private static final int MAX_SEED_ATTEMPTS = 3;
+    private static final TicketStatus[] STATUSES = TicketStatus.values();
+
+    private final TicketRepository ticketRepository;
+    private final EventRepository eventRepository;
+
+    private final ConcurrentHashMap<Long, EventCounters> events = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the current ticket counts of an event, loading them on first use.
+     *
+     * @param eventId ID of the event.
+     * @return the counts, or empty if the event does not exist (or has been deleted).
+     */
+    public Optional<Snapshot> snapshot(Long eventId) {
+        EventCounters counters = events.get(eventId);
+        if (counters == null || !counters.loaded) {
+            counters = load(eventId);
+            if (counters == null) {
+                return Optional.empty();
+            }
+        }
+        counters.lastAccess = Instant.now();
+        return Optional.of(counters.snapshot());
+    }
+
+    /**
+     * Records that tickets of an event moved from one status to another once the current transaction
+     * commits (immediately when no transaction is active).
+     *
+     * @param eventId ID of the event.
+     * @param from    Previous status, or null for newly created tickets.
+     * @param to      New status.
+     * @param count   Number of tickets.
+     */
+    public void applyAfterCommit(Long eventId, TicketStatus from, TicketStatus to, int count) {
+        if (count <= 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(eventId, from, to, count);
+                }
+            });
+        } else {
+            apply(eventId, from, to, count);
+        }
+    }
+
+    /**
+     * Records a status change immediately. Does nothing if the counters of the event are not loaded:
+     * the next load will read the up-to-date state from the database. While they are being seeded, the
+     * change is not applied but makes the seed be taken again.
+     *
+     * @param eventId ID of the event.
+     * @param from    Previous status, or null for newly created tickets.
+     * @param to      New status.
+     * @param count   Number of tickets.
+     */
+    public void apply(Long eventId, TicketStatus from, TicketStatus to, int count) {
+        EventCounters counters = events.get(eventId);
+        if (counters == null) {
+            return;
+        }
+        if (!counters.loaded) {
+            synchronized (counters) {
+                if (!counters.loaded) {
+                    counters.version++;
+                    return;
+                }
+            }
+        }
+        if (from != null) {
+            counters.counts.updateAndGet(from.ordinal(), current -> Math.max(0, current - count));
+        }
+        counters.counts.addAndGet(to.ordinal(), count);
+    }
+
+    /**
+     * Drops the counters of an event so that they are reloaded on next read, for instance after the
+     * event has been renamed or deleted.
+     *
+     * @param eventId ID of the event.
+     */
+    public void evict(Long eventId) {
+        events.remove(eventId);
+    }
+
+    /**
+     * Drops the counters of an event once the current transaction commits (immediately when no
+     * transaction is active), so that a reload never reads the state preceding the change.
+     *
+     * @param eventId ID of the event.
+     */
+    public void evictAfterCommit(Long eventId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(eventId);
+                }
+            });
+        } else {
+            evict(eventId);
+        }
+    }
+
+    /**
+     * Compares the counters of every loaded event with the {@code tickets} table, in one grouped
+     * query, and corrects drifts.
+     * <p>
+     * A drift is only corrected when the same value is observed on two consecutive runs, so that
+     * changes committing while the query runs are not mistaken for an inconsistency. Events whose
+     * counters have not been read for a long time are evicted.
+     *
+     * @return the number of counters corrected.
+     */
+    public int rebuild() {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        Instant evictionThreshold = Instant.now().minus(IDLE_EVICTION_DELAY);
+        List<Long> eventIds = new ArrayList<>();
+        for (Map.Entry<Long, EventCounters> entry : events.entrySet()) {
+            if (entry.getValue().lastAccess.isBefore(evictionThreshold)) {
+                events.remove(entry.getKey(), entry.getValue());
+            } else {
+                eventIds.add(entry.getKey());
+            }
+        }
+        if (eventIds.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, long[]> databaseCounts = new HashMap<>();
+        for (EventStatusCount count : ticketRepository.countByEventIdsGroupedByStatus(eventIds)) {
+            databaseCounts.computeIfAbsent(count.getEventId(), id -> new long[STATUSES.length])
+                    [count.getStatus().ordinal()] = count.getTicketCount();
+        }
+
+        int corrected = 0;
+        for (Long eventId : eventIds) {
+            EventCounters counters = events.get(eventId);
+            if (counters == null || !counters.loaded) {
+                continue;
+            }
+            long[] expected = databaseCounts.getOrDefault(eventId, new long[STATUSES.length]);
+            for (int i = 0; i < STATUSES.length; i++) {
+                long drift = expected[i] - counters.counts.get(i);
+                if (drift == 0) {
+                    counters.suspectedDrift[i] = 0;
+                } else if (drift == counters.suspectedDrift[i]) {
+                    counters.counts.addAndGet(i, drift);
+                    counters.suspectedDrift[i] = 0;
+                    corrected++;
+                    log.warn("Écart corrigé dans les compteurs de l'événement {} pour le statut {} : {} billet(s)", eventId, STATUSES[i], drift);
+                } else {
+                    counters.suspectedDrift[i] = drift;
+                }
+            }
+        }
+        return corrected;
+    }
+
+    private EventCounters load(Long eventId) {
+        Optional<String> eventName = eventRepository.findNameById(eventId);
+        if (eventName.isEmpty()) {
+            return null;
+        }
+        // The counters are registered before the COUNT so that changes committed meanwhile are noticed
+        EventCounters loading = new EventCounters(eventName.get());
+        EventCounters previous = events.putIfAbsent(eventId, loading);
+        if (previous != null) {
+            if (previous.loaded) {
+                return previous;
+            }
+            // Another thread is seeding the counters: this reader gets its own count, which is not kept
+            EventCounters direct = new EventCounters(eventName.get());
+            seed(direct, ticketRepository.countByEventIdsGroupedByStatus(List.of(eventId)));
+            return direct;
+        }
+
+        try {
+            for (int attempt = 1; ; attempt++) {
+                long version;
+                synchronized (loading) {
+                    version = loading.version;
+                }
+                List<EventStatusCount> counts = ticketRepository.countByEventIdsGroupedByStatus(List.of(eventId));
+                synchronized (loading) {
+                    if (loading.version == version || attempt == MAX_SEED_ATTEMPTS) {
+                        if (loading.version != version) {
+                            log.debug("Compteurs de l'événement {} chargés malgré des changements concurrents : rebuild corrigera un éventuel écart", eventId);
+                        }
+                        seed(loading, counts);
+                        loading.loaded = true;
+                        break;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            events.remove(eventId, loading);
+            throw e;
+        }
+        log.debug("Compteurs de billets chargés pour l'événement {} : {}", eventId, loading.snapshot());
+        return loading;
+    }
+
+    private static void seed(EventCounters counters, List<EventStatusCount> counts) {
+        for (EventStatusCount count : counts) {
+            counters.counts.set(count.getStatus().ordinal(), count.getTicketCount());
+        }
+    }
+
+    /**
+     * Ticket counts of an event at a given time.
+     */
+    @Getter
+    public static final class Snapshot {
+
+        private final String eventName;
+        private final long validCount;
+        private final long usedCount;
+        private final long cancelledCount;
+
+        public Snapshot(String eventName, long validCount, long usedCount, long cancelledCount) {
+            this.eventName = eventName;
+            this.validCount = validCount;
+            this.usedCount = usedCount;
+            this.cancelledCount = cancelledCount;
+        }
+
+        @Override
+        public String toString() {
+            return "valid=" + validCount + ", used=" + usedCount + ", cancelled=" + cancelledCount;
+        }
+    }
+
+    /**
+     * Counters of a single event, indexed by {@link TicketStatus#ordinal()}.
+     */
+    private static final class EventCounters {
+
+        private final String eventName;
+        private final AtomicLongArray counts = new AtomicLongArray(STATUSES.length);
+        private final long[] suspectedDrift = new long[STATUSES.length];
+        private volatile Instant lastAccess = Instant.now();
+        private volatile boolean loaded;
+        // Number of changes recorded while seeding, guarded by the counters themselves
+        private long version;
+
+        private EventCounters(String eventName) {
+            this.eventName = eventName;
+        }
+
+        private Snapshot snapshot() {
+            return new Snapshot(eventName,
+                    counts.get(TicketStatus.VALID.ordinal()),
+                    counts.get(TicketStatus.USED.ordinal()),
+                    counts.get(TicketStatus.CANCELLED.ordinal()));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel used to expire short-lived in-memory entries without scanning them.
+ * <p>
+ * Level 0 has {@code wheelSize} buckets of {@code tickMs} each; every upper level has buckets
+ * {@code wheelSize} times wider than the level below. An item is stored in the lowest level whose
+ * span covers its deadline, and moves down one level each time the wheel reaches its bucket, until
+ * it fires from level 0. Scheduling and advancing by one tick are O(1), whatever the number of
+ * pending items; an item fires at most one tick after its deadline.
+ * <p>
+ * Items are not removed when they become irrelevant (a hold confirmed before its expiry, for
+ * instance): the consumer is expected to ignore them when they fire.
+ *
+ * @param <T> type of the scheduled items.
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<List<ArrayDeque<Timer<T>>>> levels = new ArrayList<>();
+    private long currentTime;
+    private int size;
+
+    /**
+     * @param tickMs    Width of a level 0 bucket, in milliseconds.
+     * @param wheelSize Number of buckets per level.
+     * @param levels    Number of levels; deadlines beyond the span of the top level are rescheduled when reached.
+     * @param startMs   Current time, in milliseconds.
+     */
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMs - startMs % tickMs;
+        for (int level = 0; level < levels; level++) {
+            List<ArrayDeque<Timer<T>>> buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new ArrayDeque<>());
+            }
+            this.levels.add(buckets);
+        }
+    }
+
+    /**
+     * Schedules an item. Deadlines already passed fire on the next tick.
+     *
+     * @param item       the item.
+     * @param deadlineMs time at which the item fires, in milliseconds.
+     */
+    public synchronized void schedule(T item, long deadlineMs) {
+        insert(new Timer<>(item, deadlineMs));
+        size++;
+    }
+
+    /**
+     * Advances the wheel up to {@code nowMs} and hands every item whose deadline has passed to {@code expired}.
+     *
+     * @param nowMs   current time, in milliseconds.
+     * @param expired consumer of the fired items, called while the wheel is locked.
+     * @return the number of fired items.
+     */
+    public synchronized int advance(long nowMs, Consumer<T> expired) {
+        int fired = 0;
+        while (currentTime + tickMs <= nowMs) {
+            ArrayDeque<Timer<T>> bucket = levels.get(0).get(bucketIndex(currentTime, tickMs));
+            Timer<T> timer;
+            while ((timer = bucket.poll()) != null) {
+                size--;
+                fired++;
+                expired.accept(timer.item);
+            }
+            currentTime += tickMs;
+            cascade();
+        }
+        return fired;
+    }
+
+    /**
+     * @return the number of pending items, including the ones that became irrelevant.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Moves the items of the buckets reached by the wheel down to the lower levels, top level first
+     * so that an item can fall through several levels at once.
+     */
+    private void cascade() {
+        for (int level = levels.size() - 1; level > 0; level--) {
+            long levelTick = levelTick(level);
+            if (currentTime % levelTick != 0) {
+                continue;
+            }
+            ArrayDeque<Timer<T>> bucket = levels.get(level).get(bucketIndex(currentTime, levelTick));
+            List<Timer<T>> moved = new ArrayList<>(bucket);
+            bucket.clear();
+            moved.forEach(this::insert);
+        }
+    }
+
+    private void insert(Timer<T> timer) {
+        long deadline = Math.max(timer.deadline, currentTime);
+        int topLevel = levels.size() - 1;
+        for (int level = 0; level <= topLevel; level++) {
+            long levelTick = levelTick(level);
+            long levelStart = currentTime - currentTime % levelTick;
+            long levelEnd = levelStart + levelTick * wheelSize;
+            if (deadline < levelEnd) {
+                levels.get(level).get(bucketIndex(deadline, levelTick)).add(timer);
+                return;
+            }
+            if (level == topLevel) {
+                // Beyond the span of the wheel: parked in the last bucket, rescheduled when the wheel reaches it
+                levels.get(level).get(bucketIndex(levelEnd - levelTick, levelTick)).add(timer);
+            }
+        }
+    }
+
+    private long levelTick(int level) {
+        long levelTick = tickMs;
+        for (int i = 0; i < level; i++) {
+            levelTick *= wheelSize;
+        }
+        return levelTick;
+    }
+
+    private int bucketIndex(long time, long levelTick) {
+        return (int) ((time / levelTick) % wheelSize);
+    }
+
+    private static final class Timer<T> {
+
+        private final T item;
+        private final long deadline;
+
+        private Timer(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.models.ticket.Ticket;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketSearchEntry;
+import edu.cda.project.ticklybackend.utils.SearchTextNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory participant search index used by door staff to find a ticket of an event.
+ * <p>
+ * For each event, the participant first name, last name, email and ticket id are normalized by
+ * {@link SearchTextNormalizer} and split into tokens kept in a sorted map (token to ticket ids).
+ * A search term matches a ticket when every token of the term is a prefix of one of the ticket
+ * tokens: "elo dup" finds "Éloïse Dupont". A lookup is a handful of sorted-map range scans and never
+ * touches the database.
+ * <p>
+ * The index of an event is built from the database on the first search and then kept up to date
+ * incrementally: tickets are (re)indexed once their creation or anonymization is committed.
+ * Cancelled tickets stay in the index since the management view still lists them (the status
+ * filter is applied by the database query). Indexes that are not queried for a while are evicted.
+ * <p>
+ * When the index cannot answer (still loading, or a too broad term matching more than
+ * {@code tickly.search.index.max-matches} tickets), callers fall back to the normalized
+ * {@code participant_search} column.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ParticipantSearchIndex {
+
+    private static final Duration IDLE_EVICTION_DELAY = Duration.ofHours(1);
+
+    private final TicketRepository ticketRepository;
+
+    private final ConcurrentHashMap<Long, EventIndex> indexes = new ConcurrentHashMap<>();
+
+    @Value("${tickly.search.index.max-matches:1000}")
+    private int maxMatches;
+
+    /**
+     * Searches the tickets of an event matching a term.
+     *
+     * @param eventId ID of the event.
+     * @param term    Search term typed by the staff member.
+     * @return the IDs of the matching tickets, or empty if the index cannot answer and the database must be queried.
+     */
+    public Optional<Set<UUID>> search(Long eventId, String term) {
+        List<String> queryTokens = SearchTextNormalizer.tokenize(term);
+        if (queryTokens.isEmpty()) {
+            return Optional.empty();
+        }
+        EventIndex index = getOrBuild(eventId);
+        if (!index.ready) {
+            return Optional.empty();
+        }
+        index.lastAccess = Instant.now();
+        Set<UUID> matches = index.match(queryTokens);
+        if (matches.size() > maxMatches) {
+            log.debug("Recherche '{}' trop large pour l'index de l'événement {} : {} billets", term, eventId, matches.size());
+            return Optional.empty();
+        }
+        return Optional.of(matches);
+    }
+
+    /**
+     * Indexes tickets once the current transaction commits (immediately when no transaction is active).
+     * Tickets already indexed are re-indexed with their current participant data.
+     *
+     * @param tickets the created or updated tickets.
+     */
+    public void indexAfterCommit(Collection<Ticket> tickets) {
+        if (tickets == null || tickets.isEmpty()) {
+            return;
+        }
+        List<Ticket> snapshot = new ArrayList<>(tickets);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    index(snapshot);
+                }
+            });
+        } else {
+            index(snapshot);
+        }
+    }
+
+    /**
+     * Indexes tickets immediately. Tickets of events whose index is not loaded are ignored: the
+     * index will read them from the database when it is built.
+     *
+     * @param tickets the tickets to index.
+     */
+    public void index(Collection<Ticket> tickets) {
+        for (Ticket ticket : tickets) {
+            if (ticket.getEvent() == null || ticket.getId() == null) {
+                continue;
+            }
+            EventIndex index = indexes.get(ticket.getEvent().getId());
+            if (index != null) {
+                index.put(ticket.getId(), tokensOf(ticket.getId(), ticket.getParticipantFirstName(),
+                        ticket.getParticipantLastName(), ticket.getParticipantEmail()), true);
+            }
+        }
+    }
+
+    /**
+     * Drops the index of an event so that it is rebuilt from the database on next search.
+     *
+     * @param eventId ID of the event.
+     */
+    public void evict(Long eventId) {
+        indexes.remove(eventId);
+    }
+
+    /**
+     * Drops the indexes that have not been searched recently.
+     *
+     * @return the number of evicted indexes.
+     */
+    public int evictIdle() {
+        Instant threshold = Instant.now().minus(IDLE_EVICTION_DELAY);
+        int evicted = 0;
+        for (Map.Entry<Long, EventIndex> entry : indexes.entrySet()) {
+            EventIndex index = entry.getValue();
+            if (index.ready && index.lastAccess.isBefore(threshold) && indexes.remove(entry.getKey(), index)) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private EventIndex getOrBuild(Long eventId) {
+        EventIndex index = indexes.get(eventId);
+        if (index != null) {
+            return index;
+        }
+        EventIndex created = new EventIndex();
+        EventIndex previous = indexes.putIfAbsent(eventId, created);
+        if (previous != null) {
+            return previous;
+        }
+
+        // The index is registered before loading so that tickets committed during the load are not lost;
+        // entries indexed incrementally in the meantime are more recent than the loaded ones and are kept.
+        try {
+            long start = System.nanoTime();
+            List<TicketSearchEntry> entries = ticketRepository.findSearchEntriesByEventId(eventId);
+            for (TicketSearchEntry entry : entries) {
+                created.put(entry.getId(), tokensOf(entry.getId(), entry.getParticipantFirstName(),
+                        entry.getParticipantLastName(), entry.getParticipantEmail()), false);
+            }
+            created.ready = true;
+            log.debug("Index de recherche chargé pour l'événement {} : {} billets en {} ms",
+                    eventId, entries.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            indexes.remove(eventId, created);
+            throw e;
+        }
+        return created;
+    }
+
+    private static Set<String> tokensOf(UUID ticketId, String firstName, String lastName, String email) {
+        Set<String> tokens = new HashSet<>();
+        tokens.addAll(SearchTextNormalizer.tokenize(firstName));
+        tokens.addAll(SearchTextNormalizer.tokenize(lastName));
+        tokens.addAll(SearchTextNormalizer.tokenize(email));
+        tokens.addAll(SearchTextNormalizer.tokenize(ticketId.toString()));
+        return tokens;
+    }
+
+    /**
+     * Index of a single event. Lookups are lock-free; writes are serialized on the instance.
+     */
+    private static final class EventIndex {
+
+        private final ConcurrentSkipListMap<String, Set<UUID>> postings = new ConcurrentSkipListMap<>();
+        private final Map<UUID, Set<String>> ticketTokens = new HashMap<>();
+        private volatile boolean ready;
+        private volatile Instant lastAccess = Instant.now();
+
+        private synchronized void put(UUID ticketId, Set<String> tokens, boolean replace) {
+            Set<String> previous = ticketTokens.get(ticketId);
+            if (previous != null && !replace) {
+                return;
+            }
+            ticketTokens.put(ticketId, tokens);
+            if (previous != null) {
+                for (String token : previous) {
+                    if (!tokens.contains(token)) {
+                        Set<UUID> ids = postings.get(token);
+                        if (ids != null) {
+                            ids.remove(ticketId);
+                            if (ids.isEmpty()) {
+                                postings.remove(token);
+                            }
+                        }
+                    }
+                }
+            }
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(ticketId);
+            }
+        }
+
+        private Set<UUID> match(List<String> queryTokens) {
+            // Longest tokens first: they are the most selective and shrink the candidate set early
+            List<String> ordered = new ArrayList<>(new LinkedHashSet<>(queryTokens));
+            ordered.sort(Comparator.comparingInt(String::length).reversed());
+
+            Set<UUID> result = null;
+            for (String token : ordered) {
+                Set<UUID> tokenMatches = new HashSet<>();
+                for (Set<UUID> ids : postings.subMap(token, true, token + Character.MAX_VALUE, true).values()) {
+                    for (UUID id : ids) {
+                        if (result == null || result.contains(id)) {
+                            tokenMatches.add(id);
+                        }
+                    }
+                }
+                result = tokenMatches;
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import com.google.zxing.WriterException;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.Encoder;
+import edu.cda.project.ticklybackend.enums.QrImageFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Renders ticket QR codes as PNG or SVG images.
+ * <p>
+ * The QR matrix is computed by ZXing; the images are then written by hand from the module grid
+ * rather than through {@code BufferedImage} and {@code ImageIO}: the PNG is a 1-bit grayscale
+ * image whose scanlines, deflater and output buffer come from a small pool of reusable buffers.
+ * Rendering an image therefore only allocates the ZXing matrix and the final byte array, which
+ * keeps garbage low when thousands of tickets of an event are rendered in a row.
+ * <p>
+ * Rendered images are kept in a bounded LRU cache keyed by format and QR value. The returned
+ * arrays are shared with the cache and must not be modified.
+ */
+@Component
+public class QrCodeRenderer {
+
+    private static final int QUIET_ZONE_MODULES = 4;
+    private static final int BUFFER_POOL_SIZE = 16;
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private final ArrayBlockingQueue<RenderBuffers> bufferPool = new ArrayBlockingQueue<>(BUFFER_POOL_SIZE);
+    private final LinkedHashMap<String, byte[]> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+            return size() > maxCacheEntries;
+        }
+    };
+
+    @Value("${tickly.qr.module-size:8}")
+    private int moduleSize;
+
+    @Value("${tickly.qr.cache.max-entries:5000}")
+    private int maxCacheEntries;
+
+    /**
+     * Renders a QR code, or returns it from the cache.
+     *
+     * @param value  Content of the QR code (the {@code qrCodeValue} of a ticket).
+     * @param format Image format.
+     * @return the encoded image; must not be modified.
+     */
+    public byte[] render(String value, QrImageFormat format) {
+        String key = format.name() + ':' + value;
+        synchronized (cache) {
+            byte[] cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        ByteMatrix matrix = encode(value);
+        RenderBuffers buffers = bufferPool.poll();
+        if (buffers == null) {
+            buffers = new RenderBuffers();
+        }
+        byte[] image;
+        try {
+            image = format == QrImageFormat.PNG ? writePng(matrix, buffers) : writeSvg(matrix, buffers);
+        } finally {
+            if (!bufferPool.offer(buffers)) {
+                buffers.deflater.end();
+            }
+        }
+
+        synchronized (cache) {
+            cache.put(key, image);
+        }
+        return image;
+    }
+
+    /**
+     * @return the number of cached images.
+     */
+    public int cacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private ByteMatrix encode(String value) {
+        try {
+            return Encoder.encode(value, ErrorCorrectionLevel.M).getMatrix();
+        } catch (WriterException e) {
+            throw new IllegalArgumentException("Impossible d'encoder le QR code : " + e.getMessage(), e);
+        }
+    }
+
+    private byte[] writePng(ByteMatrix matrix, RenderBuffers buffers) {
+        int modules = matrix.getWidth();
+        int size = (modules + 2 * QUIET_ZONE_MODULES) * moduleSize;
+        int rowBytes = 1 + (size + 7) / 8; // filter byte + 1 bit per pixel
+        byte[] raw = buffers.raw(rowBytes * size);
+
+        // Each module row is drawn once then copied moduleSize times; white pixels are 1 bits
+        int offset = 0;
+        for (int moduleY = -QUIET_ZONE_MODULES; moduleY < modules + QUIET_ZONE_MODULES; moduleY++) {
+            int rowStart = offset;
+            raw[offset] = 0; // no filter
+            Arrays.fill(raw, offset + 1, offset + rowBytes, (byte) 0xFF);
+            if (moduleY >= 0 && moduleY < modules) {
+                for (int moduleX = 0; moduleX < modules; moduleX++) {
+                    if (matrix.get(moduleX, moduleY) == 1) {
+                        int firstPixel = (moduleX + QUIET_ZONE_MODULES) * moduleSize;
+                        for (int pixel = firstPixel; pixel < firstPixel + moduleSize; pixel++) {
+                            raw[offset + 1 + (pixel >> 3)] &= (byte) ~(0x80 >>> (pixel & 7));
+                        }
+                    }
+                }
+            }
+            offset += rowBytes;
+            for (int copy = 1; copy < moduleSize; copy++) {
+                System.arraycopy(raw, rowStart, raw, offset, rowBytes);
+                offset += rowBytes;
+            }
+        }
+
+        GrowableBuffer out = buffers.out;
+        out.reset();
+        out.write(PNG_SIGNATURE, 0, PNG_SIGNATURE.length);
+
+        int chunkStart = beginChunk(out, "IHDR");
+        out.writeInt(size);
+        out.writeInt(size);
+        out.writeByte(1); // bit depth
+        out.writeByte(0); // grayscale
+        out.writeByte(0); // deflate
+        out.writeByte(0); // adaptive filtering
+        out.writeByte(0); // no interlace
+        endChunk(out, chunkStart, buffers.crc);
+
+        chunkStart = beginChunk(out, "IDAT");
+        Deflater deflater = buffers.deflater;
+        deflater.reset();
+        deflater.setInput(raw, 0, offset);
+        deflater.finish();
+        while (!deflater.finished()) {
+            int written = deflater.deflate(buffers.chunk);
+            out.write(buffers.chunk, 0, written);
+        }
+        endChunk(out, chunkStart, buffers.crc);
+
+        chunkStart = beginChunk(out, "IEND");
+        endChunk(out, chunkStart, buffers.crc);
+
+        return out.toByteArray();
+    }
+
+    private byte[] writeSvg(ByteMatrix matrix, RenderBuffers buffers) {
+        int modules = matrix.getWidth();
+        int size = modules + 2 * QUIET_ZONE_MODULES;
+        GrowableBuffer out = buffers.out;
+        out.reset();
+        out.writeAscii("<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 ");
+        out.writeDecimal(size);
+        out.writeAscii(" ");
+        out.writeDecimal(size);
+        out.writeAscii("\" shape-rendering=\"crispEdges\"><rect width=\"100%\" height=\"100%\" fill=\"#fff\"/><path fill=\"#000\" d=\"");
+        // One horizontal run of dark modules per path segment
+        for (int y = 0; y < modules; y++) {
+            int x = 0;
+            while (x < modules) {
+                if (matrix.get(x, y) != 1) {
+                    x++;
+                    continue;
+                }
+                int runStart = x;
+                while (x < modules && matrix.get(x, y) == 1) {
+                    x++;
+                }
+                out.writeAscii("M");
+                out.writeDecimal(runStart + QUIET_ZONE_MODULES);
+                out.writeAscii(" ");
+                out.writeDecimal(y + QUIET_ZONE_MODULES);
+                out.writeAscii("h");
+                out.writeDecimal(x - runStart);
+                out.writeAscii("v1h-");
+                out.writeDecimal(x - runStart);
+                out.writeAscii("z");
+            }
+        }
+        out.writeAscii("\"/></svg>");
+        return out.toByteArray();
+    }
+
+    private static int beginChunk(GrowableBuffer out, String type) {
+        out.writeInt(0); // length, patched by endChunk
+        int typeStart = out.size;
+        out.writeAscii(type);
+        return typeStart;
+    }
+
+    private static void endChunk(GrowableBuffer out, int typeStart, CRC32 crc) {
+        out.patchInt(typeStart - 4, out.size - typeStart - 4);
+        crc.reset();
+        crc.update(out.data, typeStart, out.size - typeStart);
+        out.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * Reusable buffers of one rendering, taken from and given back to the pool.
+     */
+    private static final class RenderBuffers {
+
+        private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        private final CRC32 crc = new CRC32();
+        private final GrowableBuffer out = new GrowableBuffer(4096);
+        private final byte[] chunk = new byte[8192];
+        private byte[] raw = new byte[0];
+
+        private byte[] raw(int length) {
+            if (raw.length < length) {
+                raw = new byte[length];
+            }
+            return raw;
+        }
+    }
+
+    /**
+     * Minimal growable byte buffer whose storage is kept between renderings.
+     */
+    private static final class GrowableBuffer {
+
+        private byte[] data;
+        private int size;
+
+        private GrowableBuffer(int initialCapacity) {
+            this.data = new byte[initialCapacity];
+        }
+
+        private void reset() {
+            size = 0;
+        }
+
+        private void ensureCapacity(int additional) {
+            if (size + additional > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + additional));
+            }
+        }
+
+        private void write(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, offset, data, size, length);
+            size += length;
+        }
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            data[size++] = (byte) value;
+        }
+
+        private void writeInt(int value) {
+            ensureCapacity(4);
+            patchInt(size, value);
+            size += 4;
+        }
+
+        private void patchInt(int position, int value) {
+            data[position] = (byte) (value >>> 24);
+            data[position + 1] = (byte) (value >>> 16);
+            data[position + 2] = (byte) (value >>> 8);
+            data[position + 3] = (byte) value;
+        }
+
+        private void writeAscii(String text) {
+            ensureCapacity(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                data[size++] = (byte) text.charAt(i);
+            }
+        }
+
+        private void writeDecimal(int value) {
+            if (value >= 10) {
+                writeDecimal(value / 10);
+            }
+            writeByte('0' + value % 10);
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.dtos.ticket.ReservationConfirmationDto;
+import edu.cda.project.ticklybackend.exceptions.BadRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Short-lived registry of the {@code Idempotency-Key} headers sent with reservation requests.
+ * <p>
+ * The first request carrying a key for a user runs the reservation; duplicates arriving while it is
+ * in flight wait for its outcome, and duplicates arriving after it completed get the same
+ * confirmation back. Nothing is executed twice in this JVM.
+ * <p>
+ * Completed keys are only kept for {@code tickly.reservation.idempotency.ttl-minutes}: retries
+ * arriving later, after a restart or on another instance are answered from the
+ * {@code reservations.idempotency_key} column, whose unique constraint is the final guarantee.
+ * Failed attempts are forgotten so that the client can retry them.
+ */
+@Component
+@Slf4j
+public class ReservationIdempotencyRegistry {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${tickly.reservation.idempotency.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    @Value("${tickly.reservation.idempotency.wait-timeout-ms:30000}")
+    private long waitTimeoutMs;
+
+    /**
+     * Registers a reservation attempt for a key.
+     *
+     * @param userId  ID of the user sending the request.
+     * @param key     Value of the {@code Idempotency-Key} header.
+     * @param request Body of the request, compared with the one of the first attempt.
+     * @return the attempt; {@link Attempt#isFirst()} tells whether the caller must run the reservation.
+     * @throws BadRequestException if the key was already used with a different request body.
+     */
+    public Attempt begin(Long userId, String key, Object request) {
+        String registryKey = userId + ":" + key;
+        Entry created = new Entry(request);
+        Entry existing = entries.putIfAbsent(registryKey, created);
+        if (existing == null) {
+            return new Attempt(registryKey, created, true);
+        }
+        if (!Objects.equals(existing.request, request)) {
+            throw new BadRequestException("Cette clé d'idempotence a déjà été utilisée pour une autre réservation.");
+        }
+        return new Attempt(registryKey, existing, false);
+    }
+
+    /**
+     * Drops the completed keys older than the configured TTL.
+     *
+     * @return the number of dropped keys.
+     */
+    public int purgeExpired() {
+        Instant threshold = Instant.now().minus(Duration.ofMinutes(ttlMinutes));
+        int purged = 0;
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            Instant completedAt = entry.getValue().completedAt;
+            if (completedAt != null && completedAt.isBefore(threshold) && entries.remove(entry.getKey(), entry.getValue())) {
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    /**
+     * A reservation attempt for a given key. The first attempt must call {@link #complete} or
+     * {@link #fail}; the others call {@link #await()}.
+     */
+    public final class Attempt {
+
+        private final String registryKey;
+        private final Entry entry;
+        private final boolean first;
+
+        private Attempt(String registryKey, Entry entry, boolean first) {
+            this.registryKey = registryKey;
+            this.entry = entry;
+            this.first = first;
+        }
+
+        public boolean isFirst() {
+            return first;
+        }
+
+        /**
+         * Publishes the confirmation of the first attempt to the duplicates.
+         */
+        public void complete(ReservationConfirmationDto confirmation) {
+            entry.completedAt = Instant.now();
+            entry.result.complete(confirmation);
+        }
+
+        /**
+         * Forgets the key so that it can be retried, and propagates the error to the waiting duplicates.
+         */
+        public void fail(RuntimeException error) {
+            entries.remove(registryKey, entry);
+            entry.result.completeExceptionally(error);
+        }
+
+        /**
+         * Waits for the outcome of the first attempt.
+         *
+         * @return the confirmation of the first attempt.
+         * @throws RuntimeException the error of the first attempt, or a {@link BadRequestException} if it is still running.
+         */
+        public ReservationConfirmationDto await() {
+            try {
+                return entry.result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (TimeoutException e) {
+                log.warn("Réservation toujours en cours pour la clé d'idempotence {}", registryKey);
+                throw new BadRequestException("Une réservation avec cette clé d'idempotence est toujours en cours de traitement.");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BadRequestException("Une réservation avec cette clé d'idempotence est toujours en cours de traitement.");
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final Object request;
+        private final CompletableFuture<ReservationConfirmationDto> result = new CompletableFuture<>();
+        private volatile Instant completedAt;
+
+        private Entry(Object request) {
+            this.request = request;
+        }
+    }
+}
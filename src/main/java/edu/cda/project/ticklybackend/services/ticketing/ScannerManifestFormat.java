@@ -0,0 +1,82 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.enums.TicketStatus;
+import edu.cda.project.ticklybackend.exceptions.BadRequestException;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary layout of the offline scanner manifest. All numbers are big-endian.
+ * <pre>
+ * header (22 bytes)
+ *   int   magic      0x544B4D46 ("TKMF")
+ *   byte  version    1
+ *   byte  kind       0 = full manifest, 1 = delta
+ *   long  eventId
+ *   long  cursor     value to send as "since" to fetch the next delta
+ * records (17 bytes each, sorted by qrHash as unsigned bytes), until the end of the stream
+ *   byte[8] qrHash   first 8 bytes of SHA-256(UTF-8 QR code value)
+ *   long    zoneId   event audience zone of the ticket
+ *   byte    status   0 = VALID, 1 = USED, 2 = CANCELLED, 3 = EXPIRED
+ * </pre>
+ * A full manifest only contains VALID tickets. A delta contains every ticket changed since the cursor, with its
+ * current status: devices upsert VALID records and drop or mark the others.
+ */
+public final class ScannerManifestFormat {
+
+    public static final int MAGIC = 0x544B4D46;
+    public static final byte VERSION = 1;
+    public static final byte KIND_FULL = 0;
+    public static final byte KIND_DELTA = 1;
+    public static final int HEADER_SIZE = 22;
+    public static final int RECORD_SIZE = 17;
+    public static final int HASH_SIZE = 8;
+
+    private ScannerManifestFormat() {
+    }
+
+    public static void writeHeader(DataOutputStream output, byte kind, long eventId, long cursor) throws IOException {
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+        output.writeByte(kind);
+        output.writeLong(eventId);
+        output.writeLong(cursor);
+    }
+
+    public static void writeRecord(DataOutputStream output, byte[] qrHash, long zoneId, TicketStatus status) throws IOException {
+        output.write(qrHash, 0, HASH_SIZE);
+        output.writeLong(zoneId);
+        output.writeByte(statusCode(status));
+    }
+
+    public static byte statusCode(TicketStatus status) {
+        return switch (status) {
+            case VALID -> 0;
+            case USED -> 1;
+            case CANCELLED -> 2;
+            case EXPIRED -> 3;
+        };
+    }
+
+    /**
+     * Encodes a database sync horizon as an opaque cursor (microseconds of the database clock).
+     */
+    public static long encodeCursor(LocalDateTime horizon) {
+        return horizon.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + horizon.getNano() / 1_000;
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encodeCursor(LocalDateTime)}.
+     *
+     * @throws BadRequestException if the cursor is negative.
+     */
+    public static LocalDateTime decodeCursor(long cursor) {
+        if (cursor < 0) {
+            throw new BadRequestException("Curseur de synchronisation invalide.");
+        }
+        return LocalDateTime.ofEpochSecond(cursor / 1_000_000L, (int) (cursor % 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
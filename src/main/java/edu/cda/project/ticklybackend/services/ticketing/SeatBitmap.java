@@ -0,0 +1,245 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free occupancy bitmap of a seated zone laid out as {@code rows × seatsPerRow}.
+ * <p>
+ * Seat {@code (row, seat)} (0-based) is bit {@code row * seatsPerRow + seat}; a set bit means the seat is
+ * taken. Seats are claimed with a compare-and-set on the 64-bit word holding them, so two buyers asking for
+ * the same seat never both succeed and never wait on a lock. A range spanning several words is claimed word
+ * by word and rolled back if any word conflicts, which makes the claim all-or-nothing.
+ * <p>
+ * The best-available search reads the words without claiming anything: its result must be claimed with
+ * {@link #tryClaimRange(int, int)} and searched again if another buyer took one of the seats in between.
+ */
+public final class SeatBitmap {
+
+    private final int rows;
+    private final int seatsPerRow;
+    private final AtomicLongArray words;
+
+    public SeatBitmap(int rows, int seatsPerRow) {
+        if (rows <= 0 || seatsPerRow <= 0) {
+            throw new IllegalArgumentException("Dimensions de plan de salle invalides : " + rows + " x " + seatsPerRow);
+        }
+        this.rows = rows;
+        this.seatsPerRow = seatsPerRow;
+        this.words = new AtomicLongArray((rows * seatsPerRow + 63) >>> 6);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int seatsPerRow() {
+        return seatsPerRow;
+    }
+
+    public int size() {
+        return rows * seatsPerRow;
+    }
+
+    /**
+     * @param row  0-based row.
+     * @param seat 0-based seat in the row.
+     * @return the index of the seat in the bitmap.
+     */
+    public int indexOf(int row, int seat) {
+        if (row < 0 || row >= rows || seat < 0 || seat >= seatsPerRow) {
+            throw new IndexOutOfBoundsException("Siège hors du plan : rangée " + row + ", siège " + seat);
+        }
+        return row * seatsPerRow + seat;
+    }
+
+    /**
+     * Claims a single seat.
+     *
+     * @param index Index of the seat.
+     * @return true if the seat was free and is now taken by the caller.
+     */
+    public boolean tryClaim(int index) {
+        return tryClaimRange(index, 1);
+    }
+
+    /**
+     * Claims {@code count} consecutive seats, all or nothing.
+     *
+     * @param from  Index of the first seat.
+     * @param count Number of seats.
+     * @return true if all the seats were free and are now taken by the caller.
+     */
+    public boolean tryClaimRange(int from, int count) {
+        checkRange(from, count);
+        int end = from + count;
+        int word = from >>> 6;
+        while ((word << 6) < end) {
+            long mask = rangeMask(word, from, end);
+            if (!claimWord(word, mask)) {
+                // Give back the words already claimed
+                for (int claimed = from >>> 6; claimed < word; claimed++) {
+                    clearWord(claimed, rangeMask(claimed, from, end));
+                }
+                return false;
+            }
+            word++;
+        }
+        return true;
+    }
+
+    /**
+     * Frees a seat.
+     *
+     * @param index Index of the seat.
+     */
+    public void release(int index) {
+        checkRange(index, 1);
+        clearWord(index >>> 6, 1L << (index & 63));
+    }
+
+    /**
+     * Marks a seat as taken without checking whether it was free, when the bitmap is loaded from the tickets.
+     *
+     * @param index Index of the seat.
+     */
+    public void markTaken(int index) {
+        checkRange(index, 1);
+        long mask = 1L << (index & 63);
+        words.getAndUpdate(index >>> 6, current -> current | mask);
+    }
+
+    public boolean isTaken(int index) {
+        checkRange(index, 1);
+        return (words.get(index >>> 6) & (1L << (index & 63))) != 0;
+    }
+
+    /**
+     * @return the number of taken seats.
+     */
+    public int takenCount() {
+        int count = 0;
+        for (int i = 0; i < words.length(); i++) {
+            count += Long.bitCount(words.get(i));
+        }
+        return count;
+    }
+
+    /**
+     * Finds the best block of {@code count} free adjacent seats in a single row: front rows first, then the
+     * block closest to the centre of the row.
+     *
+     * @param count Number of seats of the group.
+     * @return the index of the first seat of the block, or -1 if no row has such a block.
+     */
+    public int findContiguous(int count) {
+        if (count <= 0 || count > seatsPerRow) {
+            return -1;
+        }
+        for (int row = 0; row < rows; row++) {
+            int rowStart = row * seatsPerRow;
+            int rowEnd = rowStart + seatsPerRow;
+            int best = -1;
+            int bestDistance = Integer.MAX_VALUE;
+            int free = nextFree(rowStart, rowEnd);
+            while (free >= 0) {
+                int taken = nextTaken(free, rowEnd);
+                int runEnd = taken < 0 ? rowEnd : taken;
+                if (runEnd - free >= count) {
+                    // Inside a free run, the best start is the one closest to the centre, clamped to the run
+                    int ideal = rowStart + (seatsPerRow - count) / 2;
+                    int start = Math.max(free, Math.min(ideal, runEnd - count));
+                    // Twice the distance between the centres of the block and of the row, to stay in integers
+                    int distance = Math.abs(2 * (start - rowStart) + count - seatsPerRow);
+                    if (distance < bestDistance) {
+                        best = start;
+                        bestDistance = distance;
+                    }
+                }
+                free = taken < 0 ? -1 : nextFree(taken, rowEnd);
+            }
+            if (best >= 0) {
+                return best;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return a copy of the occupancy of each row, one character per seat ('1' taken, '0' free).
+     */
+    public String[] snapshotRows() {
+        String[] result = new String[rows];
+        StringBuilder row = new StringBuilder(seatsPerRow);
+        for (int r = 0; r < rows; r++) {
+            row.setLength(0);
+            for (int s = 0; s < seatsPerRow; s++) {
+                row.append(isTaken(r * seatsPerRow + s) ? '1' : '0');
+            }
+            result[r] = row.toString();
+        }
+        return result;
+    }
+
+    private int nextFree(int from, int end) {
+        int word = from >>> 6;
+        long free = ~words.get(word) & (-1L << (from & 63));
+        while (true) {
+            if (free != 0) {
+                int index = (word << 6) + Long.numberOfTrailingZeros(free);
+                return index < end ? index : -1;
+            }
+            if (++word << 6 >= end) {
+                return -1;
+            }
+            free = ~words.get(word);
+        }
+    }
+
+    private int nextTaken(int from, int end) {
+        int word = from >>> 6;
+        long taken = words.get(word) & (-1L << (from & 63));
+        while (true) {
+            if (taken != 0) {
+                int index = (word << 6) + Long.numberOfTrailingZeros(taken);
+                return index < end ? index : -1;
+            }
+            if (++word << 6 >= end) {
+                return -1;
+            }
+            taken = words.get(word);
+        }
+    }
+
+    private boolean claimWord(int word, long mask) {
+        while (true) {
+            long current = words.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(word, current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    private void clearWord(int word, long mask) {
+        words.getAndUpdate(word, current -> current & ~mask);
+    }
+
+    /**
+     * @return the bits of {@code word} that belong to the seat range {@code [from, end)}.
+     */
+    private static long rangeMask(int word, int from, int end) {
+        int wordStart = word << 6;
+        int low = Math.max(from, wordStart) - wordStart;
+        int high = Math.min(end, wordStart + 64) - wordStart;
+        long upper = high == 64 ? -1L : (1L << high) - 1;
+        return upper & (-1L << low);
+    }
+
+    private void checkRange(int from, int count) {
+        if (from < 0 || count <= 0 || from + count > size()) {
+            throw new IndexOutOfBoundsException("Plage de sièges hors du plan : " + from + " (+" + count + ")");
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.exceptions.BadRequestException;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory table of temporary seat holds, used for two-phase checkout: places are held in an
+ * {@code EventAudienceZone} while the buyer fills in the participant details, then converted into
+ * a reservation.
+ * <p>
+ * Held places are taken in the {@link ZoneCapacityLedger}, so regular reservations and other holds
+ * see them as unavailable. Expiry is driven by a {@link HierarchicalTimingWheel} advanced by
+ * {@link #expire()}: an expired hold gives its places back without any database access or scan of
+ * the hold table.
+ * <p>
+ * A buyer may hold at most {@value #MAX_HELD_SEATS_PER_EVENT} places per event at once, the same
+ * limit as a reservation, so that renewing holds cannot take a zone out of sale.
+ * <p>
+ * Like the ledger, holds are only known by this JVM; the persisted {@code sold_count} of the zone
+ * remains the final guarantee when the hold is confirmed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatHoldRegistry {
+
+    /**
+     * Maximum number of places a buyer may hold at once for the same event.
+     */
+    public static final int MAX_HELD_SEATS_PER_EVENT = 4;
+
+    private static final long TICK_MS = 1000;
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 3;
+
+    private final ZoneCapacityLedger zoneCapacityLedger;
+
+    private final ConcurrentHashMap<UUID, SeatHold> holds = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Buyer, Integer> heldSeatsByBuyer = new ConcurrentHashMap<>();
+    private final HierarchicalTimingWheel<UUID> expiryWheel =
+            new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, WHEEL_LEVELS, System.currentTimeMillis());
+
+    @Value("${tickly.reservation.hold.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    /**
+     * Holds places in a zone for a buyer in checkout.
+     *
+     * @param userId            ID of the buyer.
+     * @param eventId           ID of the event.
+     * @param zoneId            ID of the event audience zone.
+     * @param allocatedCapacity Capacity allocated to the zone.
+     * @param seats             Number of places to hold.
+     * @return the hold, or empty if the zone does not have enough remaining capacity.
+     * @throws BadRequestException if the buyer would hold more than {@value #MAX_HELD_SEATS_PER_EVENT} places for the event.
+     */
+    public Optional<SeatHold> hold(Long userId, Long eventId, Long zoneId, int allocatedCapacity, int seats) {
+        Buyer buyer = new Buyer(userId, eventId);
+        if (!tryAddHeldSeats(buyer, seats)) {
+            throw new BadRequestException("Vous ne pouvez pas retenir plus de " + MAX_HELD_SEATS_PER_EVENT +
+                    " places à la fois pour un même événement.");
+        }
+        Optional<SeatHold> hold = Optional.empty();
+        try {
+            hold = create(userId, eventId, zoneId, allocatedCapacity, seats, Duration.ofSeconds(ttlSeconds));
+            return hold;
+        } finally {
+            if (hold.isEmpty()) {
+                removeHeldSeats(buyer, seats);
+            }
+        }
+    }
+
+    /**
+     * Holds places in a zone for a given duration, for instance the longer hold given to a buyer
+     * promoted from the waitlist, who first has to read the notification e-mail. The places count towards
+     * the per-event limit of the buyer but are not refused by it: the waitlist entry already respects it.
+     *
+     * @param userId            ID of the buyer.
+     * @param eventId           ID of the event.
+     * @param zoneId            ID of the event audience zone.
+     * @param allocatedCapacity Capacity allocated to the zone.
+     * @param seats             Number of places to hold.
+     * @param ttl               Time after which the places are released if the hold is not confirmed.
+     * @return the hold, or empty if the zone does not have enough remaining capacity.
+     */
+    public Optional<SeatHold> hold(Long userId, Long eventId, Long zoneId, int allocatedCapacity, int seats, Duration ttl) {
+        Optional<SeatHold> hold = create(userId, eventId, zoneId, allocatedCapacity, seats, ttl);
+        hold.ifPresent(created -> heldSeatsByBuyer.merge(new Buyer(userId, eventId), seats, Integer::sum));
+        return hold;
+    }
+
+    private Optional<SeatHold> create(Long userId, Long eventId, Long zoneId, int allocatedCapacity, int seats, Duration ttl) {
+        if (!zoneCapacityLedger.tryHold(zoneId, allocatedCapacity, seats)) {
+            return Optional.empty();
+        }
+        SeatHold hold = new SeatHold(UUID.randomUUID(), userId, eventId, zoneId, seats,
+                Instant.now().plus(ttl));
+        holds.put(hold.getId(), hold);
+        expiryWheel.schedule(hold.getId(), hold.getExpiresAt().toEpochMilli());
+        log.debug("{} place(s) retenue(s) dans la zone {} jusqu'à {} (hold {})", seats, zoneId, hold.getExpiresAt(), hold.getId());
+        return Optional.of(hold);
+    }
+
+    /**
+     * Returns an active hold of a user.
+     *
+     * @param holdId ID of the hold.
+     * @param userId ID of the user.
+     * @return the hold, or empty if it does not exist, has expired or belongs to another user.
+     */
+    public Optional<SeatHold> find(UUID holdId, Long userId) {
+        SeatHold hold = holds.get(holdId);
+        return hold != null && hold.getUserId().equals(userId) ? Optional.of(hold) : Optional.empty();
+    }
+
+    /**
+     * Releases a hold before its expiry, for instance when the buyer leaves the checkout.
+     *
+     * @param holdId ID of the hold.
+     * @param userId ID of the user who created it.
+     * @return true if the hold was active and has been released.
+     */
+    public boolean release(UUID holdId, Long userId) {
+        SeatHold hold = find(holdId, userId).orElse(null);
+        if (hold == null || !holds.remove(holdId, hold)) {
+            return false;
+        }
+        removeHeldSeats(hold);
+        zoneCapacityLedger.releaseHold(hold.getZoneId(), hold.getSeats());
+        return true;
+    }
+
+    /**
+     * Converts a hold into the reservation of the current transaction. The hold stops existing
+     * immediately, so it can neither expire nor be confirmed twice; if the transaction rolls back,
+     * it is restored (or released if it expired in the meantime).
+     *
+     * @param holdId ID of the hold.
+     * @param userId ID of the user confirming it.
+     * @return the converted hold.
+     * @throws BadRequestException if the hold does not exist, has expired or belongs to another user.
+     */
+    public SeatHold convert(UUID holdId, Long userId) {
+        SeatHold hold = find(holdId, userId).orElse(null);
+        if (hold == null || !holds.remove(holdId, hold)) {
+            throw new BadRequestException("Les places retenues ont expiré ou n'existent pas. Veuillez recommencer votre réservation.");
+        }
+        removeHeldSeats(hold);
+        zoneCapacityLedger.convertHold(hold.getZoneId(), hold.getSeats());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        restore(hold);
+                    }
+                }
+            });
+        }
+        return hold;
+    }
+
+    /**
+     * Expires the holds whose deadline has passed and gives their places back.
+     *
+     * @return the number of expired holds.
+     */
+    public int expire() {
+        return expire(System.currentTimeMillis());
+    }
+
+    int expire(long nowMs) {
+        int[] expired = {0};
+        expiryWheel.advance(nowMs, holdId -> {
+            // Holds released or confirmed in the meantime are no longer in the table
+            SeatHold hold = holds.remove(holdId);
+            if (hold != null) {
+                removeHeldSeats(hold);
+                zoneCapacityLedger.releaseHold(hold.getZoneId(), hold.getSeats());
+                expired[0]++;
+            }
+        });
+        if (expired[0] > 0) {
+            log.debug("{} hold(s) expiré(s)", expired[0]);
+        }
+        return expired[0];
+    }
+
+    private void restore(SeatHold hold) {
+        // The timer scheduled at creation is still in the wheel and will expire the restored hold
+        if (hold.getExpiresAt().isAfter(Instant.now())) {
+            heldSeatsByBuyer.merge(new Buyer(hold.getUserId(), hold.getEventId()), hold.getSeats(), Integer::sum);
+            holds.put(hold.getId(), hold);
+        } else {
+            zoneCapacityLedger.releaseHold(hold.getZoneId(), hold.getSeats());
+        }
+    }
+
+    private boolean tryAddHeldSeats(Buyer buyer, int seats) {
+        boolean[] added = {false};
+        heldSeatsByBuyer.compute(buyer, (key, held) -> {
+            int current = held == null ? 0 : held;
+            if (current + seats > MAX_HELD_SEATS_PER_EVENT) {
+                return held;
+            }
+            added[0] = true;
+            return current + seats;
+        });
+        return added[0];
+    }
+
+    private void removeHeldSeats(SeatHold hold) {
+        removeHeldSeats(new Buyer(hold.getUserId(), hold.getEventId()), hold.getSeats());
+    }
+
+    private void removeHeldSeats(Buyer buyer, int seats) {
+        heldSeatsByBuyer.computeIfPresent(buyer, (key, held) -> held > seats ? held - seats : null);
+    }
+
+    /**
+     * Buyer of an event, key of the per-event limit of held places.
+     */
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class Buyer {
+
+        private final Long userId;
+        private final Long eventId;
+    }
+
+    /**
+     * Places held in a zone by a buyer until a given time.
+     */
+    @Getter
+    public static final class SeatHold {
+
+        private final UUID id;
+        private final Long userId;
+        private final Long eventId;
+        private final Long zoneId;
+        private final int seats;
+        private final Instant expiresAt;
+
+        public SeatHold(UUID id, Long userId, Long eventId, Long zoneId, int seats, Instant expiresAt) {
+            this.id = id;
+            this.userId = userId;
+            this.eventId = eventId;
+            this.zoneId = zoneId;
+            this.seats = seats;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
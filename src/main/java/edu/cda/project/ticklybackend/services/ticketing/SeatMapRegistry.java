@@ -0,0 +1,278 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.enums.TicketStatus;
+import edu.cda.project.ticklybackend.exceptions.BadRequestException;
+import edu.cda.project.ticklybackend.repositories.event.EventAudienceZoneRepository;
+import edu.cda.project.ticklybackend.repositories.event.ZoneSeatMap;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.ZoneSeat;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seat availability of the seated zones ({@code EventAudienceZone} whose template has a seat map), one
+ * {@link SeatBitmap} per zone.
+ * <p>
+ * Bitmaps are rebuilt from the {@code tickets} table when the application starts (one query for the zones,
+ * one for their seats) and loaded lazily for zones created afterwards. Seats claimed by a reservation are
+ * freed if its transaction rolls back; seats of cancelled tickets are freed once the cancellation commits.
+ * Like the {@link ZoneCapacityLedger}, which still decides how many places a zone can sell, the bitmaps are
+ * only known by this JVM: the seats stored on the tickets remain the reference.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatMapRegistry {
+
+    private static final List<TicketStatus> ACTIVE_STATUSES = Arrays.asList(TicketStatus.VALID, TicketStatus.USED);
+    // Searches retried when another buyer takes the block found before it could be claimed
+    private static final int MAX_CONTIGUOUS_ATTEMPTS = 8;
+
+    private final TicketRepository ticketRepository;
+    private final EventAudienceZoneRepository eventAudienceZoneRepository;
+
+    private final ConcurrentHashMap<Long, SeatBitmap> bitmaps = new ConcurrentHashMap<>();
+
+    /**
+     * Rebuilds the bitmaps of the seated zones of the events that are not over yet.
+     *
+     * @return the number of zones loaded.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int rebuild() {
+        List<ZoneSeatMap> seatMaps = eventAudienceZoneRepository.findSeatMapsOfUpcomingEvents(Instant.now());
+        if (seatMaps.isEmpty()) {
+            return 0;
+        }
+        Map<Long, SeatBitmap> loaded = new HashMap<>();
+        for (ZoneSeatMap seatMap : seatMaps) {
+            loaded.put(seatMap.getZoneId(), new SeatBitmap(seatMap.getSeatRows(), seatMap.getSeatsPerRow()));
+        }
+        for (ZoneSeat seat : ticketRepository.findSeatsByZoneIdIn(loaded.keySet(), ACTIVE_STATUSES)) {
+            markTaken(seat.getZoneId(), loaded.get(seat.getZoneId()), seat.getSeatRow(), seat.getSeatNumber());
+        }
+        // Zones loaded lazily in the meantime are already up to date
+        loaded.forEach(bitmaps::putIfAbsent);
+        log.info("Plans de salle reconstruits pour {} zone(s) placée(s)", loaded.size());
+        return loaded.size();
+    }
+
+    /**
+     * Returns the bitmap of a zone, loading it from the tickets if needed. A bitmap whose dimensions no longer
+     * match the seat map of the template is reloaded.
+     *
+     * @param zoneId      ID of the event audience zone.
+     * @param rows        Number of rows of the seat map.
+     * @param seatsPerRow Number of seats per row.
+     * @return the bitmap of the zone.
+     */
+    public SeatBitmap getOrLoad(Long zoneId, int rows, int seatsPerRow) {
+        SeatBitmap bitmap = bitmaps.get(zoneId);
+        if (bitmap != null && bitmap.rows() == rows && bitmap.seatsPerRow() == seatsPerRow) {
+            return bitmap;
+        }
+        SeatBitmap loaded = new SeatBitmap(rows, seatsPerRow);
+        for (ZoneSeat seat : ticketRepository.findSeatsByZoneIdIn(List.of(zoneId), ACTIVE_STATUSES)) {
+            markTaken(zoneId, loaded, seat.getSeatRow(), seat.getSeatNumber());
+        }
+        if (bitmap == null) {
+            SeatBitmap previous = bitmaps.putIfAbsent(zoneId, loaded);
+            if (previous != null) {
+                return previous;
+            }
+        } else if (!bitmaps.replace(zoneId, bitmap, loaded)) {
+            return bitmaps.get(zoneId);
+        }
+        log.debug("Plan de salle de la zone {} chargé : {}/{} sièges pris", zoneId, loaded.takenCount(), loaded.size());
+        return loaded;
+    }
+
+    /**
+     * Claims seats in a zone. Explicitly requested seats are claimed as such; the others ({@code null}
+     * elements) are taken from the best block of adjacent seats available (front rows first, centred), or
+     * spread over the best single seats if no row has a large enough block.
+     * <p>
+     * When called inside a transaction, the seats are freed automatically if that transaction rolls back.
+     *
+     * @param zoneId      ID of the event audience zone.
+     * @param rows        Number of rows of the seat map.
+     * @param seatsPerRow Number of seats per row.
+     * @param requested   Requested seat of each ticket, or null to let the registry choose.
+     * @return the seat of each ticket, in the order of {@code requested}.
+     * @throws BadRequestException if a requested seat does not exist or is taken, or if the zone has no free seat left.
+     */
+    public List<Seat> claim(Long zoneId, int rows, int seatsPerRow, List<Seat> requested) {
+        SeatBitmap bitmap = getOrLoad(zoneId, rows, seatsPerRow);
+        List<Integer> claimed = new ArrayList<>(requested.size());
+        try {
+            int anySeats = 0;
+            for (Seat seat : requested) {
+                if (seat == null) {
+                    anySeats++;
+                    continue;
+                }
+                int index = indexOf(bitmap, seat);
+                if (!bitmap.tryClaim(index)) {
+                    throw new BadRequestException("Le siège " + seat + " n'est plus disponible.");
+                }
+                claimed.add(index);
+            }
+            List<Integer> chosen = claimBestAvailable(bitmap, anySeats);
+            claimed.addAll(chosen);
+
+            List<Seat> result = new ArrayList<>(requested.size());
+            Iterator<Integer> chosenSeats = chosen.iterator();
+            for (Seat seat : requested) {
+                result.add(seat != null ? seat : toSeat(bitmap, chosenSeats.next()));
+            }
+            bindToCurrentTransaction(bitmap, claimed);
+            return result;
+        } catch (RuntimeException e) {
+            claimed.forEach(bitmap::release);
+            throw e;
+        }
+    }
+
+    /**
+     * Frees seats once the current transaction commits (immediately when no transaction is active).
+     * Does nothing for a zone that is not loaded: its bitmap will be read from the tickets.
+     *
+     * @param zoneId ID of the event audience zone.
+     * @param seats  Seats to free.
+     */
+    public void releaseAfterCommit(Long zoneId, Collection<Seat> seats) {
+        if (seats.isEmpty()) {
+            return;
+        }
+        List<Seat> snapshot = List.copyOf(seats);
+        Runnable release = () -> {
+            SeatBitmap bitmap = bitmaps.get(zoneId);
+            if (bitmap == null) {
+                return;
+            }
+            for (Seat seat : snapshot) {
+                if (fits(bitmap, seat)) {
+                    bitmap.release(bitmap.indexOf(seat.getRow() - 1, seat.getNumber() - 1));
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release.run();
+                }
+            });
+        } else {
+            release.run();
+        }
+    }
+
+    private List<Integer> claimBestAvailable(SeatBitmap bitmap, int count) {
+        if (count == 0) {
+            return List.of();
+        }
+        for (int attempt = 0; attempt < MAX_CONTIGUOUS_ATTEMPTS; attempt++) {
+            int start = bitmap.findContiguous(count);
+            if (start < 0) {
+                break;
+            }
+            if (bitmap.tryClaimRange(start, count)) {
+                List<Integer> block = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    block.add(start + i);
+                }
+                return block;
+            }
+        }
+        // No row has enough adjacent seats: the group is seated on the best single seats
+        List<Integer> scattered = new ArrayList<>(count);
+        try {
+            while (scattered.size() < count) {
+                int index = bitmap.findContiguous(1);
+                if (index < 0) {
+                    throw new BadRequestException("Il ne reste plus assez de sièges libres dans cette zone.");
+                }
+                if (bitmap.tryClaim(index)) {
+                    scattered.add(index);
+                }
+            }
+            return scattered;
+        } catch (RuntimeException e) {
+            scattered.forEach(bitmap::release);
+            throw e;
+        }
+    }
+
+    private static void bindToCurrentTransaction(SeatBitmap bitmap, List<Integer> claimed) {
+        if (claimed.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    claimed.forEach(bitmap::release);
+                }
+            }
+        });
+    }
+
+    private static int indexOf(SeatBitmap bitmap, Seat seat) {
+        if (!fits(bitmap, seat)) {
+            throw new BadRequestException("Le siège " + seat + " n'existe pas dans cette zone.");
+        }
+        return bitmap.indexOf(seat.getRow() - 1, seat.getNumber() - 1);
+    }
+
+    private static boolean fits(SeatBitmap bitmap, Seat seat) {
+        return seat.getRow() >= 1 && seat.getRow() <= bitmap.rows()
+                && seat.getNumber() >= 1 && seat.getNumber() <= bitmap.seatsPerRow();
+    }
+
+    private static Seat toSeat(SeatBitmap bitmap, int index) {
+        return new Seat(index / bitmap.seatsPerRow() + 1, index % bitmap.seatsPerRow() + 1);
+    }
+
+    private static void markTaken(Long zoneId, SeatBitmap bitmap, Integer row, Integer number) {
+        if (row == null || number == null) {
+            return;
+        }
+        Seat seat = new Seat(row, number);
+        if (!fits(bitmap, seat)) {
+            log.warn("Siège {} d'un billet de la zone {} hors du plan de salle {} x {}", seat, zoneId, bitmap.rows(), bitmap.seatsPerRow());
+            return;
+        }
+        bitmap.markTaken(bitmap.indexOf(row - 1, number - 1));
+    }
+
+    /**
+     * Seat of a seated zone, both numbers starting at 1.
+     */
+    @Getter
+    public static final class Seat {
+
+        private final int row;
+        private final int number;
+
+        public Seat(int row, int number) {
+            this.row = row;
+            this.number = number;
+        }
+
+        @Override
+        public String toString() {
+            return "rangée " + row + ", n° " + number;
+        }
+    }
+}
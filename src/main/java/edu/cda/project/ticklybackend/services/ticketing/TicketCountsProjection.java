@@ -0,0 +1,84 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.enums.TicketJournalEventType;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketJournalRowHandler;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Projection of the ticket journal into ticket counts per audience zone and for the whole event.
+ * <p>
+ * CREATED adds a valid ticket, VALIDATED moves a valid ticket to used and CANCELLED moves a valid ticket to
+ * cancelled. ANONYMIZED does not change the counts. Replaying the whole journal of an event therefore gives
+ * the same counts as a COUNT over the {@code tickets} table, without reading it.
+ */
+public final class TicketCountsProjection implements TicketJournalRowHandler {
+
+    private final Map<Long, Counts> zones = new HashMap<>();
+    private final Counts total = new Counts();
+
+    @Override
+    public void handle(long sequence, UUID ticketId, Long zoneId, TicketJournalEventType type, Instant occurredAt) {
+        if (type == TicketJournalEventType.ANONYMIZED) {
+            return;
+        }
+        total.apply(type);
+        if (zoneId != null) {
+            zones.computeIfAbsent(zoneId, id -> new Counts()).apply(type);
+        }
+    }
+
+    /**
+     * @param zoneId ID of the event audience zone.
+     * @return the counts of the zone, all zero if the journal has no entry for it.
+     */
+    public Counts zone(Long zoneId) {
+        return zones.getOrDefault(zoneId, new Counts());
+    }
+
+    /**
+     * @return the counts of every zone met in the journal, by zone ID.
+     */
+    public Map<Long, Counts> zones() {
+        return Collections.unmodifiableMap(zones);
+    }
+
+    /**
+     * @return the counts of the whole event, tickets without zone included.
+     */
+    public Counts total() {
+        return total;
+    }
+
+    /**
+     * Ticket counts per status.
+     */
+    @Getter
+    public static final class Counts {
+
+        private long validCount;
+        private long usedCount;
+        private long cancelledCount;
+
+        private void apply(TicketJournalEventType type) {
+            switch (type) {
+                case CREATED -> validCount++;
+                case VALIDATED -> {
+                    validCount--;
+                    usedCount++;
+                }
+                case CANCELLED -> {
+                    validCount--;
+                    cancelledCount++;
+                }
+                default -> {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.exceptions.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of a ticket in the (reservation_date, id) order used by keyset pagination.
+ * Exposed to clients as an opaque URL-safe string.
+ */
+@Getter
+@AllArgsConstructor
+public class TicketCursor {
+
+    private final Instant reservationDate;
+    private final UUID ticketId;
+
+    /**
+     * Encodes the cursor as an opaque URL-safe string.
+     *
+     * @return the encoded cursor.
+     */
+    public String encode() {
+        String raw = reservationDate.getEpochSecond() + ":" + reservationDate.getNano() + ":" + ticketId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param value the encoded cursor.
+     * @return the decoded cursor.
+     * @throws BadRequestException if the value is not a valid cursor.
+     */
+    public static TicketCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            Instant reservationDate = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new TicketCursor(reservationDate, UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new BadRequestException("Curseur de pagination invalide.");
+        }
+    }
+}
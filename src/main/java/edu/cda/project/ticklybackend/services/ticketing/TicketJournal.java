@@ -0,0 +1,169 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.models.ticket.TicketJournalEntry;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketJournalRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Write side of the append-only ticket journal.
+ * <p>
+ * Lifecycle changes are appended to the {@code ticket_journal} table in the transaction that changes the
+ * ticket, so the journal never disagrees with {@code tickets}. Door validations are the exception when the
+ * local segment is enabled ({@code tickly.journal.segment.enabled}): they are appended to a memory-mapped
+ * {@link TicketJournalSegment} once the validation commits, and {@link #ship()} copies them to the table in
+ * batches. A validation then costs no extra database round trip; its journal entry reaches the table a few
+ * seconds later. Shipping is idempotent, so a batch re-sent after a crash is not recorded twice.
+ * <p>
+ * When the segment is full, validations wait in memory until the next shipment.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketJournal {
+
+    private final TicketJournalRepository ticketJournalRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentLinkedQueue<TicketJournalEntry> overflow = new ConcurrentLinkedQueue<>();
+    private volatile TicketJournalSegment segment;
+
+    @Value("${tickly.journal.segment.enabled:false}")
+    private boolean segmentEnabled;
+
+    @Value("${tickly.journal.segment.path:data/ticket-journal.seg}")
+    private String segmentPath;
+
+    @Value("${tickly.journal.segment.capacity-records:65536}")
+    private int segmentCapacity;
+
+    @Value("${tickly.journal.ship-batch-size:1000}")
+    private int shipBatchSize;
+
+    @PostConstruct
+    void openSegment() {
+        if (!segmentEnabled) {
+            return;
+        }
+        try {
+            segment = TicketJournalSegment.open(Path.of(segmentPath), segmentCapacity);
+            log.info("Segment local du journal des billets ouvert : {} ({} entrée(s) à expédier)", segmentPath, segment.pending());
+        } catch (IOException e) {
+            // Without a segment, validations are journaled in their transaction like the other changes
+            log.error("Impossible d'ouvrir le segment local du journal des billets {} : ", segmentPath, e);
+        }
+    }
+
+    @PreDestroy
+    void closeSegment() throws IOException {
+        TicketJournalSegment current = segment;
+        if (current != null) {
+            segment = null;
+            current.close();
+        }
+    }
+
+    /**
+     * Appends entries to the journal in the current transaction.
+     *
+     * @param entries Journal entries.
+     */
+    public void append(Collection<TicketJournalEntry> entries) {
+        if (!entries.isEmpty()) {
+            ticketJournalRepository.append(entries);
+        }
+    }
+
+    /**
+     * Appends door validations to the journal: to the local segment once the current transaction commits
+     * when the segment is enabled, in the current transaction otherwise.
+     *
+     * @param entries VALIDATED journal entries.
+     */
+    public void appendValidations(Collection<TicketJournalEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (segment == null) {
+            append(entries);
+            return;
+        }
+        List<TicketJournalEntry> copy = List.copyOf(entries);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writeToSegment(copy);
+                }
+            });
+        } else {
+            writeToSegment(copy);
+        }
+    }
+
+    /**
+     * Copies the validations written to the local segment (and those waiting in memory) to the journal table.
+     *
+     * @return the number of entries shipped.
+     */
+    public synchronized int ship() {
+        TicketJournalSegment current = segment;
+        int shipped = 0;
+        if (current != null) {
+            List<TicketJournalEntry> batch;
+            while (!(batch = current.readUnshipped(shipBatchSize)).isEmpty()) {
+                List<TicketJournalEntry> toShip = batch;
+                transactionTemplate.executeWithoutResult(status -> ticketJournalRepository.appendIfAbsent(toShip));
+                current.markShipped(batch.size());
+                shipped += batch.size();
+            }
+        }
+        List<TicketJournalEntry> pending = new ArrayList<>();
+        TicketJournalEntry entry;
+        while ((entry = overflow.poll()) != null) {
+            pending.add(entry);
+        }
+        for (int from = 0; from < pending.size(); from += shipBatchSize) {
+            List<TicketJournalEntry> toShip = pending.subList(from, Math.min(pending.size(), from + shipBatchSize));
+            try {
+                transactionTemplate.executeWithoutResult(status -> ticketJournalRepository.appendIfAbsent(toShip));
+            } catch (RuntimeException e) {
+                overflow.addAll(pending.subList(from, pending.size()));
+                throw e;
+            }
+            shipped += toShip.size();
+        }
+        return shipped;
+    }
+
+    /**
+     * @return the number of validations not shipped to the journal table yet.
+     */
+    public int pending() {
+        TicketJournalSegment current = segment;
+        return (current != null ? current.pending() : 0) + overflow.size();
+    }
+
+    private void writeToSegment(List<TicketJournalEntry> entries) {
+        TicketJournalSegment current = segment;
+        for (TicketJournalEntry entry : entries) {
+            if (current == null || !current.append(entry)) {
+                overflow.add(entry);
+            }
+        }
+    }
+}
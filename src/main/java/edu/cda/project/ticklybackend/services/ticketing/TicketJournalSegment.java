@@ -0,0 +1,181 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.enums.TicketJournalEventType;
+import edu.cda.project.ticklybackend.models.ticket.TicketJournalEntry;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Local segment file of the ticket journal, memory-mapped.
+ * <p>
+ * The segment is a fixed-size file made of a header and fixed-size records. Appending a record is a few
+ * stores into the mapped buffer: no system call, no allocation, no database round trip, which is what the
+ * door validation hot path needs. The records are later shipped to the {@code ticket_journal} table and
+ * marked as shipped in the header; once every record is shipped the segment starts over from the beginning.
+ * <p>
+ * Header: magic (int), version (int), write offset (long), shipped offset (long).
+ * Record: ticket UUID (2 longs), event ID (long), zone ID (long, -1 when null), epoch second (long),
+ * nanos (int), journal type ordinal (byte), padding.
+ * <p>
+ * The offsets live in the mapped file, so the records not shipped yet survive a restart of the application.
+ * Records written but not yet flushed by the operating system are lost if the machine itself goes down.
+ */
+public final class TicketJournalSegment implements AutoCloseable {
+
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 48;
+
+    private static final int MAGIC = 0x544A524E; // "TJRN"
+    private static final int VERSION = 1;
+    private static final int WRITE_OFFSET_POSITION = 8;
+    private static final int SHIPPED_OFFSET_POSITION = 16;
+    private static final TicketJournalEventType[] TYPES = TicketJournalEventType.values();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private TicketJournalSegment(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Opens the segment file at the given path, creating it if needed. An existing segment keeps its records.
+     *
+     * @param path     Path of the segment file.
+     * @param capacity Maximum number of records the segment holds before being shipped.
+     * @return the mapped segment.
+     * @throws IOException if the file cannot be opened or mapped, or is not a journal segment.
+     */
+    public static TicketJournalSegment open(Path path, int capacity) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            boolean created = channel.size() == 0;
+            long size = HEADER_SIZE + (long) capacity * RECORD_SIZE;
+            if (!created && channel.size() != size) {
+                throw new IOException("Journal segment " + path + " has size " + channel.size() + ", expected " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (created) {
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putLong(WRITE_OFFSET_POSITION, HEADER_SIZE);
+                buffer.putLong(SHIPPED_OFFSET_POSITION, HEADER_SIZE);
+                buffer.force();
+            } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("File " + path + " is not a version " + VERSION + " journal segment");
+            }
+            return new TicketJournalSegment(channel, buffer, capacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends a record to the segment.
+     *
+     * @param entry Journal entry to record.
+     * @return false if the segment is full, in which case nothing was written.
+     */
+    public synchronized boolean append(TicketJournalEntry entry) {
+        long writeOffset = buffer.getLong(WRITE_OFFSET_POSITION);
+        if (writeOffset + RECORD_SIZE > HEADER_SIZE + (long) capacity * RECORD_SIZE) {
+            return false;
+        }
+        int position = (int) writeOffset;
+        buffer.putLong(position, entry.getTicketId().getMostSignificantBits());
+        buffer.putLong(position + 8, entry.getTicketId().getLeastSignificantBits());
+        buffer.putLong(position + 16, entry.getEventId());
+        buffer.putLong(position + 24, entry.getZoneId() != null ? entry.getZoneId() : -1L);
+        buffer.putLong(position + 32, entry.getOccurredAt().getEpochSecond());
+        buffer.putInt(position + 40, entry.getOccurredAt().getNano());
+        buffer.put(position + 44, (byte) entry.getType().ordinal());
+        // The record is complete before the write offset makes it visible to the shipper
+        buffer.putLong(WRITE_OFFSET_POSITION, writeOffset + RECORD_SIZE);
+        return true;
+    }
+
+    /**
+     * Reads the oldest records not shipped yet, without marking them as shipped.
+     *
+     * @param max Maximum number of records to read.
+     * @return the records, oldest first.
+     */
+    public synchronized List<TicketJournalEntry> readUnshipped(int max) {
+        long shippedOffset = buffer.getLong(SHIPPED_OFFSET_POSITION);
+        long writeOffset = buffer.getLong(WRITE_OFFSET_POSITION);
+        int count = (int) Math.min(max, (writeOffset - shippedOffset) / RECORD_SIZE);
+        List<TicketJournalEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int position = (int) shippedOffset + i * RECORD_SIZE;
+            UUID ticketId = new UUID(buffer.getLong(position), buffer.getLong(position + 8));
+            long zoneId = buffer.getLong(position + 24);
+            entries.add(new TicketJournalEntry(
+                    TYPES[buffer.get(position + 44)],
+                    ticketId,
+                    buffer.getLong(position + 16),
+                    zoneId < 0 ? null : zoneId,
+                    Instant.ofEpochSecond(buffer.getLong(position + 32), buffer.getInt(position + 40))));
+        }
+        return entries;
+    }
+
+    /**
+     * Marks the oldest unshipped records as shipped. When every record is shipped, the segment is rewound.
+     *
+     * @param count Number of records shipped, as returned by {@link #readUnshipped(int)}.
+     */
+    public synchronized void markShipped(int count) {
+        long shippedOffset = buffer.getLong(SHIPPED_OFFSET_POSITION) + (long) count * RECORD_SIZE;
+        long writeOffset = buffer.getLong(WRITE_OFFSET_POSITION);
+        if (shippedOffset > writeOffset) {
+            throw new IllegalArgumentException("Cannot ship " + count + " records, only "
+                    + (writeOffset - buffer.getLong(SHIPPED_OFFSET_POSITION)) / RECORD_SIZE + " are pending");
+        }
+        if (shippedOffset == writeOffset) {
+            buffer.putLong(WRITE_OFFSET_POSITION, HEADER_SIZE);
+            buffer.putLong(SHIPPED_OFFSET_POSITION, HEADER_SIZE);
+        } else {
+            buffer.putLong(SHIPPED_OFFSET_POSITION, shippedOffset);
+        }
+    }
+
+    /**
+     * @return the number of records not shipped yet.
+     */
+    public synchronized int pending() {
+        return (int) ((buffer.getLong(WRITE_OFFSET_POSITION) - buffer.getLong(SHIPPED_OFFSET_POSITION)) / RECORD_SIZE);
+    }
+
+    /**
+     * @return the maximum number of records of the segment.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Flushes the segment to disk and closes the file.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
@@ -0,0 +1,297 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.interfaces.EdECPrivateKey;
+import java.security.spec.NamedParameterSpec;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Signed ticket tokens stored as the QR code value of new tickets.
+ * <pre>
+ * token = "TK" + base32(payload + signature), RFC 4648 alphabet, no padding
+ * payload
+ *   byte      version   2
+ *   byte[16]  ticketId
+ *   varint    eventId   unsigned LEB128
+ *   varint    zoneId    unsigned LEB128
+ * signature
+ *   byte[64]  Ed25519(privateKey, payload)
+ * privateKey = Ed25519 key whose seed is HMAC-SHA256(secret, "tickly-ticket-token:ed25519")
+ * </pre>
+ * A token tells which ticket, event and zone it belongs to, and whether it was issued by the backend, without
+ * any database access. The signature is asymmetric: offline scanners are only given the public key, with which
+ * they can check tokens but not mint new ones. The private key never leaves the backend.
+ * <p>
+ * Tickets created before this format keep their random UUID QR code value; {@link #isToken(String)} tells them
+ * apart (a UUID string never starts with the uppercase prefix). The uppercase base32 alphabet also lets QR
+ * encoders use the compact alphanumeric mode.
+ */
+@Component
+public class TicketTokenCodec {
+
+    public static final String PREFIX = "TK";
+    public static final byte VERSION = 2;
+
+    public static final int SIGNATURE_SIZE = 64;
+    public static final String SIGNATURE_ALGORITHM = "Ed25519";
+    private static final String KEY_CONTEXT = "tickly-ticket-token:ed25519";
+    private static final char[] BASE32_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567".toCharArray();
+
+    private volatile KeyPair keyPair;
+
+    @Value("${tickly.ticket.token.secret:${jwt.secret}}")
+    private String secret;
+
+    /**
+     * Creates the signed token of a ticket.
+     *
+     * @param ticketId ID of the ticket.
+     * @param eventId  ID of its event.
+     * @param zoneId   ID of its event audience zone.
+     * @return the token, to be stored as the QR code value.
+     */
+    public String encode(UUID ticketId, Long eventId, Long zoneId) {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(40);
+        payload.write(VERSION);
+        ByteBuffer id = ByteBuffer.allocate(16)
+                .putLong(ticketId.getMostSignificantBits())
+                .putLong(ticketId.getLeastSignificantBits());
+        payload.writeBytes(id.array());
+        writeVarint(payload, eventId);
+        writeVarint(payload, zoneId);
+        payload.writeBytes(sign(payload.toByteArray()));
+        return PREFIX + base32Encode(payload.toByteArray());
+    }
+
+    /**
+     * @param qrCodeValue value read from a QR code.
+     * @return true if the value has the shape of a signed token, false for legacy UUID values.
+     */
+    public boolean isToken(String qrCodeValue) {
+        return qrCodeValue != null && qrCodeValue.startsWith(PREFIX);
+    }
+
+    /**
+     * Decodes a token and checks its signature.
+     *
+     * @param qrCodeValue value read from a QR code.
+     * @return the content of the token, or empty if the value is not a token, is malformed or its signature
+     * does not match (forged or altered code).
+     */
+    public Optional<TicketToken> verify(String qrCodeValue) {
+        if (!isToken(qrCodeValue)) {
+            return Optional.empty();
+        }
+        byte[] bytes = base32Decode(qrCodeValue.substring(PREFIX.length()));
+        if (bytes == null || bytes.length < 1 + 16 + 2 + SIGNATURE_SIZE || bytes[0] != VERSION) {
+            return Optional.empty();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, bytes.length - SIGNATURE_SIZE);
+        buffer.get();
+        UUID ticketId = new UUID(buffer.getLong(), buffer.getLong());
+        Long eventId = readVarint(buffer);
+        Long zoneId = readVarint(buffer);
+        if (eventId == null || zoneId == null || buffer.hasRemaining()) {
+            return Optional.empty();
+        }
+        // The event ID is only trusted once the signature is checked, against the single key of the backend
+        int payloadLength = bytes.length - SIGNATURE_SIZE;
+        if (!verifySignature(Arrays.copyOf(bytes, payloadLength), Arrays.copyOfRange(bytes, payloadLength, bytes.length))) {
+            return Optional.empty();
+        }
+        return Optional.of(new TicketToken(ticketId, eventId, zoneId));
+    }
+
+    /**
+     * Returns the public key with which offline scanners verify tokens. It cannot be used to sign tokens.
+     *
+     * @return the Ed25519 public key, X.509 (SubjectPublicKeyInfo) DER encoded.
+     */
+    public byte[] publicKey() {
+        return keyPair().getPublic().getEncoded();
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Signature signature = Signature.getInstance(SIGNATURE_ALGORITHM);
+            signature.initSign(keyPair().getPrivate());
+            signature.update(payload);
+            return signature.sign();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Signature Ed25519 indisponible", e);
+        }
+    }
+
+    private boolean verifySignature(byte[] payload, byte[] signatureBytes) {
+        try {
+            Signature signature = Signature.getInstance(SIGNATURE_ALGORITHM);
+            signature.initVerify(keyPair().getPublic());
+            signature.update(payload);
+            return signature.verify(signatureBytes);
+        } catch (SignatureException e) {
+            return false;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Signature Ed25519 indisponible", e);
+        }
+    }
+
+    /**
+     * Derives the signing key pair from the configured secret, so that every instance signs with the same key
+     * and tokens stay valid across restarts.
+     */
+    private KeyPair keyPair() {
+        KeyPair current = keyPair;
+        if (current == null) {
+            synchronized (this) {
+                current = keyPair;
+                if (current == null) {
+                    current = deriveKeyPair(secret);
+                    keyPair = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static KeyPair deriveKeyPair(String secret) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] seed = mac.doFinal(KEY_CONTEXT.getBytes(StandardCharsets.UTF_8));
+            // The JDK has no API computing an Ed25519 public key from a seed: the generator draws the 32-byte
+            // private key from its random source, which is given the seed
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(SIGNATURE_ALGORITHM);
+            generator.initialize(NamedParameterSpec.ED25519, new SeedRandom(seed));
+            KeyPair derived = generator.generateKeyPair();
+            byte[] privateKey = ((EdECPrivateKey) derived.getPrivate()).getBytes().orElse(null);
+            if (!Arrays.equals(seed, privateKey)) {
+                throw new IllegalStateException("La clé Ed25519 des billets n'a pas pu être dérivée du secret");
+            }
+            return derived;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Signature Ed25519 indisponible", e);
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream output, long value) {
+        while ((value & ~0x7FL) != 0) {
+            output.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.write((int) value);
+    }
+
+    private static Long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (!buffer.hasRemaining()) {
+                return null;
+            }
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static String base32Encode(byte[] data) {
+        StringBuilder result = new StringBuilder((data.length * 8 + 4) / 5);
+        int buffer = 0;
+        int bits = 0;
+        for (byte b : data) {
+            buffer = (buffer << 8) | (b & 0xFF);
+            bits += 8;
+            while (bits >= 5) {
+                result.append(BASE32_ALPHABET[(buffer >>> (bits - 5)) & 0x1F]);
+                bits -= 5;
+            }
+        }
+        if (bits > 0) {
+            result.append(BASE32_ALPHABET[(buffer << (5 - bits)) & 0x1F]);
+        }
+        return result.toString();
+    }
+
+    private static byte[] base32Decode(String value) {
+        ByteArrayOutputStream result = new ByteArrayOutputStream(value.length() * 5 / 8);
+        int buffer = 0;
+        int bits = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            int digit;
+            if (c >= 'A' && c <= 'Z') {
+                digit = c - 'A';
+            } else if (c >= '2' && c <= '7') {
+                digit = c - '2' + 26;
+            } else {
+                return null;
+            }
+            buffer = (buffer << 5) | digit;
+            bits += 5;
+            if (bits >= 8) {
+                result.write((buffer >>> (bits - 8)) & 0xFF);
+                bits -= 8;
+            }
+        }
+        // Only the canonical encoding is accepted: each token has a single textual form
+        if (bits >= 5 || (buffer & ((1 << bits) - 1)) != 0) {
+            return null;
+        }
+        return result.toByteArray();
+    }
+
+    /**
+     * Random source returning a fixed seed, used to derive the Ed25519 key pair deterministically.
+     */
+    private static final class SeedRandom extends SecureRandom {
+
+        private final byte[] seed;
+
+        private SeedRandom(byte[] seed) {
+            this.seed = seed;
+        }
+
+        @Override
+        public void nextBytes(byte[] bytes) {
+            if (bytes.length != seed.length) {
+                throw new IllegalStateException("Taille de graine inattendue : " + bytes.length);
+            }
+            System.arraycopy(seed, 0, bytes, 0, seed.length);
+        }
+    }
+
+    /**
+     * Content of a verified ticket token.
+     */
+    @Getter
+    public static final class TicketToken {
+
+        private final UUID ticketId;
+        private final Long eventId;
+        private final Long zoneId;
+
+        public TicketToken(UUID ticketId, Long eventId, Long zoneId) {
+            this.ticketId = ticketId;
+            this.eventId = eventId;
+            this.zoneId = zoneId;
+        }
+    }
+}
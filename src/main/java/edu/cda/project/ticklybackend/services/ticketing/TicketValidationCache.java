@@ -0,0 +1,405 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.enums.EventStatus;
+import edu.cda.project.ticklybackend.enums.TicketStatus;
+import edu.cda.project.ticklybackend.models.ticket.Ticket;
+import edu.cda.project.ticklybackend.repositories.event.EventRepository;
+import edu.cda.project.ticklybackend.repositories.event.EventValidationWindow;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketScanEntry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory lookup of the tickets of events whose doors are open, used to answer gate scans.
+ * <p>
+ * The tickets of a published event are loaded, in one query, shortly before it starts and are
+ * dropped once it has ended. A scan then finds the ticket by id or QR code value, with its event,
+ * zone and status, without any query. A scanned ticket is claimed with a compare-and-set of its
+ * cached status from {@code VALID} to {@code USED} before the database is touched: a second scan of
+ * the same ticket (same gate twice, or two gates at once) is rejected immediately. The claim is
+ * undone if the validating transaction rolls back.
+ * <p>
+ * Status changes are written through once committed (validations, cancellations, new reservations).
+ * A cached {@code USED} or {@code CANCELLED} status is therefore always true, since those statuses
+ * are final, whereas a cached {@code VALID} status may be stale when the ticket was changed by another
+ * instance: the database stays the final check before a ticket is marked used.
+ * <p>
+ * The cache holds at most {@code tickly.validation.cache.max-tickets} tickets; events that would not
+ * fit are simply not cached and are validated against the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketValidationCache {
+
+    private final TicketRepository ticketRepository;
+    private final EventRepository eventRepository;
+
+    private final ConcurrentHashMap<Long, CachedEvent> events = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, CachedTicket> ticketsById = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CachedTicket> ticketsByQrCode = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    @Value("${tickly.validation.cache.max-tickets:500000}")
+    private int maxTickets;
+
+    @Value("${tickly.validation.cache.preload-before-start-minutes:120}")
+    private long preloadBeforeStartMinutes;
+
+    /**
+     * Loads the events whose doors open soon (or are open) and drops the events that have ended.
+     *
+     * @return the number of events loaded by this run.
+     */
+    public int refresh() {
+        Instant now = Instant.now();
+        Instant horizon = now.plus(Duration.ofMinutes(preloadBeforeStartMinutes));
+        Map<Long, EventValidationWindow> windows = new HashMap<>();
+        for (EventValidationWindow window : eventRepository.findValidationWindows(EventStatus.PUBLISHED, horizon, now)) {
+            windows.put(window.getEventId(), window);
+        }
+
+        for (Long eventId : new ArrayList<>(events.keySet())) {
+            if (!windows.containsKey(eventId)) {
+                evict(eventId);
+            }
+        }
+
+        int loaded = 0;
+        for (EventValidationWindow window : windows.values()) {
+            if (!events.containsKey(window.getEventId())
+                    && load(window.getEventId(), window.getStructureId(), window.getEndDate())) {
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Loads the tickets of an event into the cache.
+     *
+     * @param eventId     ID of the event.
+     * @param structureId ID of the structure organizing the event.
+     * @param endDate     End date of the event.
+     * @return true if the event was loaded, false if it is already loaded or does not fit in the cache.
+     */
+    public boolean load(Long eventId, Long structureId, Instant endDate) {
+        CachedEvent event = new CachedEvent(eventId, structureId, endDate);
+        if (events.putIfAbsent(eventId, event) != null) {
+            return false;
+        }
+
+        // The event is registered before loading so that tickets committed during the load are not lost;
+        // entries written through in the meantime are more recent than the loaded ones and are kept.
+        try {
+            long start = System.nanoTime();
+            List<TicketScanEntry> entries = ticketRepository.findScanEntriesByEventId(eventId);
+            if (size.get() + entries.size() > maxTickets) {
+                log.warn("Billets de l'événement {} non mis en cache : {} billets, {} déjà en cache sur {} au maximum",
+                        eventId, entries.size(), size.get(), maxTickets);
+                evict(eventId);
+                return false;
+            }
+            for (TicketScanEntry entry : entries) {
+                put(event, new CachedTicket(entry.getId(), eventId, entry.getZoneId(), entry.getQrCodeValue(),
+                        entry.getParticipantFirstName(), entry.getParticipantLastName(), entry.getParticipantEmail(),
+                        entry.getStatus(), entry.getValidationDate()), false);
+            }
+            event.ready = true;
+            log.info("Cache de validation chargé pour l'événement {} : {} billets en {} ms",
+                    eventId, entries.size(), (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } catch (RuntimeException e) {
+            evict(eventId);
+            throw e;
+        }
+    }
+
+    /**
+     * Drops the tickets of an event from the cache.
+     *
+     * @param eventId ID of the event.
+     */
+    public void evict(Long eventId) {
+        CachedEvent event = events.remove(eventId);
+        if (event == null) {
+            return;
+        }
+        for (CachedTicket ticket : event.tickets) {
+            if (ticketsById.remove(ticket.ticketId, ticket)) {
+                size.decrementAndGet();
+            }
+            if (ticket.qrCodeValue != null) {
+                ticketsByQrCode.remove(ticket.qrCodeValue, ticket);
+            }
+        }
+    }
+
+    /**
+     * Returns the cached event, if its tickets are loaded.
+     *
+     * @param eventId ID of the event.
+     * @return the cached event, or empty if the event is not (yet) loaded.
+     */
+    public Optional<CachedEvent> findEvent(Long eventId) {
+        CachedEvent event = events.get(eventId);
+        return event != null && event.ready ? Optional.of(event) : Optional.empty();
+    }
+
+    /**
+     * Finds a cached ticket by its id.
+     *
+     * @param ticketId ID of the ticket.
+     * @return the cached ticket, or empty if it is not cached.
+     */
+    public Optional<CachedTicket> findById(UUID ticketId) {
+        return Optional.ofNullable(ticketsById.get(ticketId));
+    }
+
+    /**
+     * Finds a cached ticket by its QR code value.
+     *
+     * @param qrCodeValue value of the QR code.
+     * @return the cached ticket, or empty if it is not cached.
+     */
+    public Optional<CachedTicket> findByQrCode(String qrCodeValue) {
+        return qrCodeValue == null ? Optional.empty() : Optional.ofNullable(ticketsByQrCode.get(qrCodeValue));
+    }
+
+    /**
+     * Claims a ticket for validation by switching its cached status from {@code VALID} to {@code USED}.
+     * <p>
+     * When called inside a transaction, the claim is undone automatically if that transaction rolls back.
+     *
+     * @param ticket the cached ticket.
+     * @return true if the ticket was claimed, false if it is not (or no longer) valid.
+     */
+    public boolean tryClaim(CachedTicket ticket) {
+        if (!ticket.status.compareAndSet(TicketStatus.VALID, TicketStatus.USED)) {
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(ticket);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Gives back a claim that did not lead to a validation (for instance, the event has ended).
+     *
+     * @param ticket the cached ticket.
+     */
+    public void release(CachedTicket ticket) {
+        ticket.status.compareAndSet(TicketStatus.USED, TicketStatus.VALID);
+    }
+
+    /**
+     * Records validated tickets once the current transaction commits (immediately when no
+     * transaction is active). Tickets that are not cached are ignored.
+     *
+     * @param validationDates validation date of each validated ticket, by ticket ID.
+     */
+    public void markUsedAfterCommit(Map<UUID, Instant> validationDates) {
+        if (validationDates == null || validationDates.isEmpty()) {
+            return;
+        }
+        Map<UUID, Instant> snapshot = new HashMap<>(validationDates);
+        runAfterCommit(() -> snapshot.forEach((ticketId, validationDate) -> updateStatus(ticketId, TicketStatus.USED, validationDate)));
+    }
+
+    /**
+     * Records cancelled tickets once the current transaction commits (immediately when no
+     * transaction is active). Tickets that are not cached are ignored.
+     *
+     * @param ticketIds IDs of the cancelled tickets.
+     */
+    public void markCancelledAfterCommit(Collection<UUID> ticketIds) {
+        if (ticketIds == null || ticketIds.isEmpty()) {
+            return;
+        }
+        List<UUID> snapshot = new ArrayList<>(ticketIds);
+        runAfterCommit(() -> snapshot.forEach(ticketId -> updateStatus(ticketId, TicketStatus.CANCELLED, null)));
+    }
+
+    /**
+     * Records the status of a ticket immediately, for instance the status read from the database.
+     *
+     * @param ticketId       ID of the ticket.
+     * @param status         Status of the ticket.
+     * @param validationDate Validation date of the ticket, null if not validated.
+     */
+    public void updateStatus(UUID ticketId, TicketStatus status, Instant validationDate) {
+        CachedTicket ticket = ticketsById.get(ticketId);
+        if (ticket != null) {
+            ticket.validationDate = validationDate;
+            ticket.status.set(status);
+        }
+    }
+
+    /**
+     * Adds new tickets to the cache once the current transaction commits (immediately when no
+     * transaction is active). Tickets of events that are not loaded are ignored.
+     *
+     * @param tickets the created tickets.
+     */
+    public void addAfterCommit(Collection<Ticket> tickets) {
+        if (tickets == null || tickets.isEmpty()) {
+            return;
+        }
+        List<Ticket> snapshot = new ArrayList<>(tickets);
+        runAfterCommit(() -> {
+            for (Ticket ticket : snapshot) {
+                CachedEvent event = ticket.getEvent() == null ? null : events.get(ticket.getEvent().getId());
+                if (event == null || ticket.getId() == null) {
+                    continue;
+                }
+                put(event, new CachedTicket(ticket.getId(), event.eventId,
+                        ticket.getEventAudienceZone() != null ? ticket.getEventAudienceZone().getId() : null,
+                        ticket.getQrCodeValue(), ticket.getParticipantFirstName(), ticket.getParticipantLastName(),
+                        ticket.getParticipantEmail(), ticket.getStatus(), ticket.getValidationDate()), true);
+            }
+        });
+    }
+
+    /**
+     * Replaces the participant details of cached tickets once the current transaction commits
+     * (immediately when no transaction is active), for instance after the holder's account has been
+     * anonymized. Tickets of events that are not loaded are ignored; tickets of an event still loading
+     * are added with the new details, so that the load does not bring back the previous ones.
+     *
+     * @param tickets the updated tickets.
+     */
+    public void updateParticipantsAfterCommit(Collection<Ticket> tickets) {
+        if (tickets == null || tickets.isEmpty()) {
+            return;
+        }
+        List<Ticket> snapshot = new ArrayList<>(tickets);
+        runAfterCommit(() -> {
+            for (Ticket ticket : snapshot) {
+                CachedEvent event = ticket.getEvent() == null ? null : events.get(ticket.getEvent().getId());
+                if (event == null || ticket.getId() == null) {
+                    continue;
+                }
+                CachedTicket cached = ticketsById.get(ticket.getId());
+                if (cached != null) {
+                    cached.participantFirstName = ticket.getParticipantFirstName();
+                    cached.participantLastName = ticket.getParticipantLastName();
+                    cached.participantEmail = ticket.getParticipantEmail();
+                } else {
+                    put(event, new CachedTicket(ticket.getId(), event.eventId,
+                            ticket.getEventAudienceZone() != null ? ticket.getEventAudienceZone().getId() : null,
+                            ticket.getQrCodeValue(), ticket.getParticipantFirstName(), ticket.getParticipantLastName(),
+                            ticket.getParticipantEmail(), ticket.getStatus(), ticket.getValidationDate()), false);
+                }
+            }
+        });
+    }
+
+    private void put(CachedEvent event, CachedTicket ticket, boolean replace) {
+        CachedTicket previous = replace
+                ? ticketsById.put(ticket.ticketId, ticket)
+                : ticketsById.putIfAbsent(ticket.ticketId, ticket);
+        if (previous != null && !replace) {
+            return;
+        }
+        if (previous == null) {
+            size.incrementAndGet();
+        }
+        if (ticket.qrCodeValue != null) {
+            ticketsByQrCode.put(ticket.qrCodeValue, ticket);
+        }
+        event.tickets.add(ticket);
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Event whose tickets are cached, with the data needed to authorize its gate staff.
+     */
+    public static final class CachedEvent {
+
+        @Getter
+        private final Long eventId;
+        @Getter
+        private final Long structureId;
+        @Getter
+        private final Instant endDate;
+        private final Queue<CachedTicket> tickets = new ConcurrentLinkedQueue<>();
+        private volatile boolean ready;
+
+        private CachedEvent(Long eventId, Long structureId, Instant endDate) {
+            this.eventId = eventId;
+            this.structureId = structureId;
+            this.endDate = endDate;
+        }
+    }
+
+    /**
+     * Cached ticket. Only its status, its validation date and, when its holder's account is anonymized,
+     * its participant details change over time.
+     */
+    @Getter
+    public static final class CachedTicket {
+
+        private final UUID ticketId;
+        private final Long eventId;
+        private final Long zoneId;
+        private final String qrCodeValue;
+        private volatile String participantFirstName;
+        private volatile String participantLastName;
+        private volatile String participantEmail;
+        @Getter(AccessLevel.NONE)
+        private final AtomicReference<TicketStatus> status;
+        private volatile Instant validationDate;
+
+        private CachedTicket(UUID ticketId, Long eventId, Long zoneId, String qrCodeValue, String participantFirstName,
+                             String participantLastName, String participantEmail, TicketStatus status, Instant validationDate) {
+            this.ticketId = ticketId;
+            this.eventId = eventId;
+            this.zoneId = zoneId;
+            this.qrCodeValue = qrCodeValue;
+            this.participantFirstName = participantFirstName;
+            this.participantLastName = participantLastName;
+            this.participantEmail = participantEmail;
+            this.status = new AtomicReference<>(status);
+            this.validationDate = validationDate;
+        }
+
+        public TicketStatus getStatus() {
+            return status.get();
+        }
+    }
+}
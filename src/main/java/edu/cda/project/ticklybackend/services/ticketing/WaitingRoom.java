@@ -0,0 +1,329 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.repositories.event.EventRepository;
+import edu.cda.project.ticklybackend.repositories.event.EventWaitingRoomSettings;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Virtual waiting rooms of the events that enabled one, kept in memory.
+ * <p>
+ * A buyer joins the room of an event and gets a random queue token and a sequence number. A token bucket per
+ * room, refilled at the admission rate of the event, lets {@link #admit(long)} move buyers from the head of
+ * the queue to the admitted state; an admission is valid for a limited window, during which the buyer may
+ * hold places and reserve. The position of a buyer is the distance between its sequence number and the last
+ * admitted one, so polling it is a map lookup and never touches the database.
+ * <p>
+ * Buyers who stop polling are dropped when they reach the head of the queue, without consuming an admission.
+ * Rooms are known by this JVM only: they are rebuilt empty at startup from the events that enabled them, and
+ * queued buyers simply join again.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WaitingRoom {
+
+    private final EventRepository eventRepository;
+
+    private final ConcurrentHashMap<Long, Room> rooms = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Entry> entriesByToken = new ConcurrentHashMap<>();
+
+    @Value("${tickly.waiting-room.default-admission-rate:50}")
+    private int defaultAdmissionRate;
+
+    @Value("${tickly.waiting-room.admission-window-seconds:600}")
+    private long admissionWindowSeconds;
+
+    @Value("${tickly.waiting-room.abandon-after-seconds:60}")
+    private long abandonAfterSeconds;
+
+    /**
+     * Opens the rooms of the events that enabled one and are not over yet.
+     *
+     * @return the number of rooms opened.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int loadRooms() {
+        int opened = 0;
+        for (EventWaitingRoomSettings settings : eventRepository.findWaitingRoomSettings(Instant.now())) {
+            configure(settings.getEventId(), true, settings.getAdmissionRate(), settings.getEndDate());
+            opened++;
+        }
+        if (opened > 0) {
+            log.info("{} salle(s) d'attente ouverte(s)", opened);
+        }
+        return opened;
+    }
+
+    /**
+     * Applies the waiting room settings of an event once the current transaction commits.
+     *
+     * @param eventId       ID of the event.
+     * @param enabled       Whether the room is enabled.
+     * @param admissionRate Buyers admitted per second, or null for the default rate.
+     * @param closesAt      End of the event, after which the room is dropped.
+     */
+    public void configureAfterCommit(Long eventId, boolean enabled, Integer admissionRate, Instant closesAt) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    configure(eventId, enabled, admissionRate, closesAt);
+                }
+            });
+        } else {
+            configure(eventId, enabled, admissionRate, closesAt);
+        }
+    }
+
+    /**
+     * Opens, updates or closes the room of an event. Closing a room lets everybody in.
+     *
+     * @param eventId       ID of the event.
+     * @param enabled       Whether the room is enabled.
+     * @param admissionRate Buyers admitted per second, or null for the default rate.
+     * @param closesAt      End of the event, after which the room is dropped.
+     */
+    public void configure(Long eventId, boolean enabled, Integer admissionRate, Instant closesAt) {
+        if (!enabled) {
+            Room removed = rooms.remove(eventId);
+            if (removed != null) {
+                removed.byUser.values().forEach(entry -> entriesByToken.remove(entry.getToken()));
+                log.info("Salle d'attente de l'événement {} fermée ({} acheteur(s) en attente)", eventId, removed.queue.size());
+            }
+            return;
+        }
+        int rate = admissionRate != null ? admissionRate : defaultAdmissionRate;
+        Room room = rooms.computeIfAbsent(eventId, id -> new Room(rate, closesAt));
+        room.admissionRate = rate;
+        room.closesAt = closesAt;
+    }
+
+    /**
+     * @param eventId ID of the event.
+     * @return true if the event currently has an open waiting room.
+     */
+    public boolean isEnabled(Long eventId) {
+        return rooms.containsKey(eventId);
+    }
+
+    /**
+     * Places a buyer in the room of an event. A buyer already waiting or admitted keeps its entry.
+     *
+     * @param eventId ID of the event.
+     * @param userId  ID of the buyer.
+     * @return the entry of the buyer, or empty if the event has no open waiting room.
+     */
+    public Optional<Entry> join(Long eventId, Long userId) {
+        Room room = rooms.get(eventId);
+        if (room == null) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        Entry entry = room.byUser.compute(userId, (id, existing) -> {
+            if (existing != null && !existing.isExpired(now)) {
+                existing.lastSeenMillis = now;
+                return existing;
+            }
+            if (existing != null) {
+                entriesByToken.remove(existing.getToken());
+            }
+            Entry created = new Entry(UUID.randomUUID(), eventId, userId, room.lastSequence.incrementAndGet(), now);
+            entriesByToken.put(created.getToken(), created);
+            room.queue.add(created);
+            return created;
+        });
+        return Optional.of(entry);
+    }
+
+    /**
+     * Looks up a queue token and records that its buyer is still polling.
+     *
+     * @param token Queue token.
+     * @return the entry, or empty if the token is unknown, expired or its room was closed.
+     */
+    public Optional<Entry> poll(UUID token) {
+        Entry entry = entriesByToken.get(token);
+        long now = System.currentTimeMillis();
+        if (entry == null || entry.isExpired(now) || !rooms.containsKey(entry.getEventId())) {
+            return Optional.empty();
+        }
+        entry.lastSeenMillis = now;
+        return Optional.of(entry);
+    }
+
+    /**
+     * Returns the number of buyers ahead of an entry, itself included.
+     *
+     * @param entry Entry of the room.
+     * @return the 1-based position, or 0 if the buyer is admitted.
+     */
+    public long position(Entry entry) {
+        if (entry.getAdmittedUntil() != null) {
+            return 0;
+        }
+        Room room = rooms.get(entry.getEventId());
+        return room == null ? 0 : Math.max(1, entry.getSequence() - room.admittedSequence);
+    }
+
+    /**
+     * @param eventId ID of the event.
+     * @return the admission rate of the room of the event, or 0 if it has none.
+     */
+    public int admissionRate(Long eventId) {
+        Room room = rooms.get(eventId);
+        return room == null ? 0 : room.admissionRate;
+    }
+
+    /**
+     * Tells whether a buyer may enter the reservation flow of an event.
+     *
+     * @param eventId ID of the event.
+     * @param userId  ID of the buyer.
+     * @param token   Queue token sent by the buyer, may be null.
+     * @return true if the event has no open room or if the token belongs to the buyer and is admitted.
+     */
+    public boolean isAdmitted(Long eventId, Long userId, UUID token) {
+        if (!rooms.containsKey(eventId)) {
+            return true;
+        }
+        Entry entry = token == null ? null : entriesByToken.get(token);
+        return entry != null
+                && entry.getEventId().equals(eventId)
+                && entry.getUserId().equals(userId)
+                && entry.getAdmittedUntil() != null
+                && !entry.isExpired(System.currentTimeMillis());
+    }
+
+    /**
+     * Admits the buyers allowed by the token bucket of each room, drops abandoned entries and expired
+     * admissions, and closes the rooms of ended events.
+     *
+     * @param nowMillis Current time.
+     * @return the number of buyers admitted.
+     */
+    public int admit(long nowMillis) {
+        int admitted = 0;
+        long abandonedBefore = nowMillis - abandonAfterSeconds * 1000;
+        for (var roomEntry : rooms.entrySet()) {
+            Long eventId = roomEntry.getKey();
+            Room room = roomEntry.getValue();
+            if (room.closesAt != null && room.closesAt.toEpochMilli() <= nowMillis) {
+                configure(eventId, false, null, null);
+                continue;
+            }
+            // Expired admissions leave the room, in admission order
+            Entry head;
+            while ((head = room.admitted.peek()) != null && head.isExpired(nowMillis)) {
+                room.admitted.poll();
+                remove(room, head);
+            }
+
+            int allowed = room.bucket.take(nowMillis, room.admissionRate);
+            int admittedInRoom = 0;
+            while (admittedInRoom < allowed && (head = room.queue.poll()) != null) {
+                if (head.lastSeenMillis < abandonedBefore) {
+                    remove(room, head);
+                    continue;
+                }
+                head.admittedUntil = Instant.ofEpochMilli(nowMillis + admissionWindowSeconds * 1000);
+                room.admittedSequence = head.getSequence();
+                room.admitted.add(head);
+                admittedInRoom++;
+            }
+            // Unused admissions go back to the bucket, which never holds more than one second worth
+            room.bucket.giveBack(allowed - admittedInRoom, room.admissionRate);
+            admitted += admittedInRoom;
+        }
+        return admitted;
+    }
+
+    private void remove(Room room, Entry entry) {
+        room.byUser.remove(entry.getUserId(), entry);
+        entriesByToken.remove(entry.getToken(), entry);
+    }
+
+    /**
+     * Place of a buyer in a waiting room.
+     */
+    @Getter
+    public static final class Entry {
+
+        private final UUID token;
+        private final Long eventId;
+        private final Long userId;
+        private final long sequence;
+        private volatile long lastSeenMillis;
+        private volatile Instant admittedUntil;
+
+        public Entry(UUID token, Long eventId, Long userId, long sequence, long lastSeenMillis) {
+            this.token = token;
+            this.eventId = eventId;
+            this.userId = userId;
+            this.sequence = sequence;
+            this.lastSeenMillis = lastSeenMillis;
+        }
+
+        private boolean isExpired(long nowMillis) {
+            Instant until = admittedUntil;
+            return until != null && until.toEpochMilli() <= nowMillis;
+        }
+    }
+
+    /**
+     * Queue and admission state of the room of one event.
+     */
+    private static final class Room {
+
+        private final ConcurrentLinkedQueue<Entry> queue = new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<Entry> admitted = new ConcurrentLinkedQueue<>();
+        private final ConcurrentHashMap<Long, Entry> byUser = new ConcurrentHashMap<>();
+        private final AtomicLong lastSequence = new AtomicLong();
+        private final TokenBucket bucket = new TokenBucket();
+        private volatile long admittedSequence;
+        private volatile int admissionRate;
+        private volatile Instant closesAt;
+
+        private Room(int admissionRate, Instant closesAt) {
+            this.admissionRate = admissionRate;
+            this.closesAt = closesAt;
+        }
+    }
+
+    /**
+     * Token bucket refilled at {@code rate} tokens per second, holding at most one second worth of tokens.
+     */
+    private static final class TokenBucket {
+
+        private double tokens;
+        private long lastRefillMillis = -1;
+
+        private synchronized int take(long nowMillis, int rate) {
+            if (lastRefillMillis >= 0) {
+                tokens = Math.min(rate, tokens + (nowMillis - lastRefillMillis) * rate / 1000.0);
+            }
+            lastRefillMillis = nowMillis;
+            int taken = (int) tokens;
+            tokens -= taken;
+            return taken;
+        }
+
+        private synchronized void giveBack(int unused, int rate) {
+            tokens = Math.min(rate, tokens + unused);
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.enums.TicketStatus;
+import edu.cda.project.ticklybackend.repositories.event.EventAudienceZoneRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.ZoneTicketCount;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+/**
+ * In-memory capacity ledger used to admit or reject reservations on an {@code EventAudienceZone}.
+ * <p>
+ * Each zone has its own stripe holding the allocated capacity and the number of places taken
+ * (committed tickets, reservations whose transaction is still running and temporary seat holds
+ * managed by {@link SeatHoldRegistry}). Admission is a
+ * compare-and-set loop on that stripe, so concurrent buyers on a hot zone never wait on a lock
+ * and never issue a COUNT query once the stripe has been loaded.
+ * <p>
+ * Stripes are loaded lazily from the persisted {@code sold_count} of the zone (a primary-key
+ * lookup) on first use. Places taken inside a transaction are
+ * given back automatically if the transaction rolls back; cancellations give places back once they
+ * are committed. The ledger is authoritative for this JVM only and is periodically checked against
+ * the {@code tickets} table by {@link #reconcile()}.
+ * <p>
+ * Components interested in freed places (the waitlist) register a release listener, called
+ * whenever places go back to a zone. Listeners run on the releasing thread,
+ * sometimes under a lock, and must only record the zone for later processing.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ZoneCapacityLedger {
+
+    private static final List<TicketStatus> ACTIVE_STATUSES = Arrays.asList(TicketStatus.VALID, TicketStatus.USED);
+    private static final Duration IDLE_EVICTION_DELAY = Duration.ofHours(1);
+
+    private final TicketRepository ticketRepository;
+    private final EventAudienceZoneRepository eventAudienceZoneRepository;
+
+    private final ConcurrentHashMap<Long, ZoneCapacity> zones = new ConcurrentHashMap<>();
+    private final List<LongConsumer> releaseListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registers a listener called with the zone ID each time places are given back to a zone.
+     *
+     * @param listener the listener; must be cheap and must not call back into the ledger.
+     */
+    public void addReleaseListener(LongConsumer listener) {
+        releaseListeners.add(listener);
+    }
+
+    /**
+     * Tries to take {@code seats} places in the given zone.
+     * <p>
+     * When called inside a transaction, the places are given back automatically if that transaction
+     * rolls back.
+     *
+     * @param zoneId            ID of the event audience zone.
+     * @param allocatedCapacity Capacity allocated to the zone, used when the stripe is loaded for the first time.
+     * @param seats             Number of places requested.
+     * @return true if the places were taken, false if the zone does not have enough remaining capacity.
+     */
+    public boolean tryReserve(Long zoneId, int allocatedCapacity, int seats) {
+        if (seats <= 0) {
+            return true;
+        }
+        ZoneCapacity zone = getOrLoad(zoneId, allocatedCapacity);
+        if (!zone.tryAcquire(seats)) {
+            log.debug("Capacité insuffisante dans la zone {} : {} places demandées, {} restantes", zoneId, seats, zone.remaining());
+            return false;
+        }
+        bindToCurrentTransaction(zoneId, zone, seats);
+        return true;
+    }
+
+    /**
+     * Takes {@code seats} places in the given zone for a temporary hold. Unlike {@link #tryReserve},
+     * the places are not bound to the current transaction: they stay taken until the hold is
+     * released by {@link #releaseHold} or converted into tickets by {@link #convertHold}.
+     *
+     * @param zoneId            ID of the event audience zone.
+     * @param allocatedCapacity Capacity allocated to the zone, used when the stripe is loaded for the first time.
+     * @param seats             Number of places to hold.
+     * @return true if the places were held, false if the zone does not have enough remaining capacity.
+     */
+    public boolean tryHold(Long zoneId, int allocatedCapacity, int seats) {
+        ZoneCapacity zone = getOrLoad(zoneId, allocatedCapacity);
+        if (!zone.tryAcquire(seats)) {
+            log.debug("Capacité insuffisante dans la zone {} pour retenir {} places, {} restantes", zoneId, seats, zone.remaining());
+            return false;
+        }
+        zone.held.addAndGet(seats);
+        return true;
+    }
+
+    /**
+     * Gives the places of an expired or abandoned hold back to the zone.
+     *
+     * @param zoneId ID of the event audience zone.
+     * @param seats  Number of held places.
+     */
+    public void releaseHold(Long zoneId, int seats) {
+        ZoneCapacity zone = zones.get(zoneId);
+        if (zone != null) {
+            zone.held.addAndGet(-seats);
+            zone.release(seats);
+        }
+        notifyRelease(zoneId);
+    }
+
+    /**
+     * Turns held places into places taken by the reservation of the current transaction, without
+     * releasing them in between. If the transaction rolls back, the places are held again.
+     *
+     * @param zoneId ID of the event audience zone.
+     * @param seats  Number of held places.
+     */
+    public void convertHold(Long zoneId, int seats) {
+        ZoneCapacity zone = zones.get(zoneId);
+        if (zone == null) {
+            return;
+        }
+        zone.held.addAndGet(-seats);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        zone.inFlight.addAndGet(seats);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                zone.inFlight.addAndGet(-seats);
+                if (status != STATUS_COMMITTED) {
+                    zone.held.addAndGet(seats);
+                }
+            }
+        });
+    }
+
+    /**
+     * Gives places back to a zone once the current transaction commits (immediately when no
+     * transaction is active). Used by cancellations so that freed places are never handed out
+     * before the cancellation is durable.
+     *
+     * @param zoneId ID of the event audience zone.
+     * @param seats  Number of places to give back.
+     */
+    public void releaseAfterCommit(Long zoneId, int seats) {
+        if (seats <= 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release(zoneId, seats);
+                }
+            });
+        } else {
+            release(zoneId, seats);
+        }
+    }
+
+    /**
+     * Gives places back to a zone immediately. Does nothing if the zone is not loaded: the next
+     * load will read the up-to-date state from the database.
+     *
+     * @param zoneId ID of the event audience zone.
+     * @param seats  Number of places to give back.
+     */
+    public void release(Long zoneId, int seats) {
+        ZoneCapacity zone = zones.get(zoneId);
+        if (zone != null) {
+            zone.release(seats);
+        }
+        notifyRelease(zoneId);
+    }
+
+    /**
+     * Updates the capacity of a loaded zone once the current transaction commits (immediately when
+     * no transaction is active), so that a capacity change that is rolled back is never applied.
+     *
+     * @param zoneId            ID of the event audience zone.
+     * @param allocatedCapacity New allocated capacity.
+     */
+    public void updateCapacityAfterCommit(Long zoneId, int allocatedCapacity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    updateCapacity(zoneId, allocatedCapacity);
+                }
+            });
+        } else {
+            updateCapacity(zoneId, allocatedCapacity);
+        }
+    }
+
+    /**
+     * Updates the capacity of a loaded zone, for instance after the organizer changed the
+     * allocated capacity of an event zone.
+     *
+     * @param zoneId            ID of the event audience zone.
+     * @param allocatedCapacity New allocated capacity.
+     */
+    public void updateCapacity(Long zoneId, int allocatedCapacity) {
+        ZoneCapacity zone = zones.get(zoneId);
+        if (zone != null) {
+            zone.capacity = allocatedCapacity;
+        }
+    }
+
+    /**
+     * Evicts a zone once the current transaction commits (immediately when no transaction is
+     * active), so that the stripe is never reloaded from counters that are not committed yet.
+     *
+     * @param zoneId ID of the event audience zone.
+     */
+    public void evictAfterCommit(Long zoneId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(zoneId);
+                }
+            });
+        } else {
+            evict(zoneId);
+        }
+    }
+
+    /**
+     * Drops the stripe of a zone so that it is reloaded from the database on next use, for
+     * instance after its counters have been rebuilt. A zone with active holds is resynchronized
+     * immediately instead, since holds are not persisted.
+     *
+     * @param zoneId ID of the event audience zone.
+     */
+    public void evict(Long zoneId) {
+        ZoneCapacity zone = zones.get(zoneId);
+        if (zone == null) {
+            return;
+        }
+        if (zone.held.get() == 0) {
+            zones.remove(zoneId, zone);
+            return;
+        }
+        // Held places only exist in memory: the stripe is resynchronized instead of being dropped
+        int soldCount = eventAudienceZoneRepository.findSoldCountById(zoneId).orElse(0);
+        zone.taken.set(soldCount + zone.inFlight.get() + zone.held.get());
+    }
+
+    /**
+     * Returns the number of places still available in a zone if it is loaded.
+     *
+     * @param zoneId ID of the event audience zone.
+     * @return the remaining places, or empty if the zone is not loaded in the ledger.
+     */
+    public OptionalInt remaining(Long zoneId) {
+        ZoneCapacity zone = zones.get(zoneId);
+        return zone == null ? OptionalInt.empty() : OptionalInt.of(zone.remaining());
+    }
+
+    /**
+     * Compares every loaded zone with the {@code tickets} table and corrects drifts.
+     * <p>
+     * A drift is only corrected when the same value is observed on two consecutive runs, so that
+     * reservations committing while the COUNT query runs are not mistaken for an inconsistency.
+     * Zones idle for a long time and without running reservations or holds are evicted.
+     *
+     * @return the number of zones whose counter was corrected.
+     */
+    public int reconcile() {
+        if (zones.isEmpty()) {
+            return 0;
+        }
+        Instant evictionThreshold = Instant.now().minus(IDLE_EVICTION_DELAY);
+        List<Long> zoneIds = new ArrayList<>(zones.keySet());
+        Map<Long, Long> databaseCounts = new HashMap<>();
+        for (ZoneTicketCount count : ticketRepository.countByZoneIdsAndStatusIn(zoneIds, ACTIVE_STATUSES)) {
+            databaseCounts.put(count.getZoneId(), count.getTicketCount());
+        }
+
+        int corrected = 0;
+        for (Long zoneId : zoneIds) {
+            ZoneCapacity zone = zones.get(zoneId);
+            if (zone == null) {
+                continue;
+            }
+            if (zone.inFlight.get() == 0 && zone.held.get() == 0 && zone.lastAccess.isBefore(evictionThreshold)) {
+                zones.remove(zoneId, zone);
+                continue;
+            }
+            long committed = zone.taken.get() - zone.inFlight.get() - zone.held.get();
+            int drift = (int) (databaseCounts.getOrDefault(zoneId, 0L) - committed);
+            if (drift == 0) {
+                zone.suspectedDrift = 0;
+            } else if (drift == zone.suspectedDrift) {
+                zone.taken.addAndGet(drift);
+                zone.suspectedDrift = 0;
+                corrected++;
+                log.warn("Écart corrigé dans le registre de capacité pour la zone {} : {} place(s)", zoneId, drift);
+            } else {
+                zone.suspectedDrift = drift;
+            }
+        }
+        return corrected;
+    }
+
+    private ZoneCapacity getOrLoad(Long zoneId, int allocatedCapacity) {
+        ZoneCapacity zone = zones.get(zoneId);
+        if (zone != null) {
+            return zone;
+        }
+        int existingTickets = eventAudienceZoneRepository.findSoldCountById(zoneId).orElse(0);
+        ZoneCapacity loaded = new ZoneCapacity(allocatedCapacity, existingTickets);
+        ZoneCapacity previous = zones.putIfAbsent(zoneId, loaded);
+        if (previous == null) {
+            log.debug("Zone {} chargée dans le registre de capacité : {}/{} places prises", zoneId, existingTickets, allocatedCapacity);
+            return loaded;
+        }
+        return previous;
+    }
+
+    private void bindToCurrentTransaction(Long zoneId, ZoneCapacity zone, int seats) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        zone.inFlight.addAndGet(seats);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                zone.inFlight.addAndGet(-seats);
+                if (status != STATUS_COMMITTED) {
+                    zone.release(seats);
+                    notifyRelease(zoneId);
+                }
+            }
+        });
+    }
+
+    private void notifyRelease(Long zoneId) {
+        for (LongConsumer listener : releaseListeners) {
+            try {
+                listener.accept(zoneId);
+            } catch (RuntimeException e) {
+                log.warn("Échec d'un écouteur de libération de places pour la zone {}", zoneId, e);
+            }
+        }
+    }
+
+    /**
+     * Capacity stripe of a single zone.
+     */
+    private static final class ZoneCapacity {
+
+        private final AtomicInteger taken;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger held = new AtomicInteger();
+        private volatile int capacity;
+        private volatile Instant lastAccess = Instant.now();
+        private volatile int suspectedDrift;
+
+        private ZoneCapacity(int capacity, int taken) {
+            this.capacity = capacity;
+            this.taken = new AtomicInteger(taken);
+        }
+
+        private boolean tryAcquire(int seats) {
+            lastAccess = Instant.now();
+            while (true) {
+                int current = taken.get();
+                if (current + seats > capacity) {
+                    return false;
+                }
+                if (taken.compareAndSet(current, current + seats)) {
+                    return true;
+                }
+            }
+        }
+
+        private void release(int seats) {
+            lastAccess = Instant.now();
+            taken.updateAndGet(current -> Math.max(0, current - seats));
+        }
+
+        private int remaining() {
+            return Math.max(0, capacity - taken.get());
+        }
+    }
+}
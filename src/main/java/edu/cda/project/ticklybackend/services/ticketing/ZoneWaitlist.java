@@ -0,0 +1,263 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.repositories.ticket.WaitlistEntryRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.WaitlistQueueEntry;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory FIFO queues of the waitlist of each {@code EventAudienceZone}, backed by the
+ * {@code waitlist_entries} table.
+ * <p>
+ * A queue is loaded from the table (one indexed query) the first time its zone is used, then kept
+ * up to date after each commit: promotion takes entries from the head of the queue instead of
+ * rescanning the table. Entries are ordered by ID, which is also the order in which buyers joined.
+ * <p>
+ * The {@link ZoneCapacityLedger} reports every zone that gets places back and capacity increases are
+ * reported after commit; such zones are recorded as dirty and handed to the promotion task by {@link #drainDirtyZones()}. Like the ledger, the
+ * queues are only known by this JVM; the table remains the reference after a restart.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ZoneWaitlist {
+
+    private final ZoneCapacityLedger zoneCapacityLedger;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+
+    private final ConcurrentHashMap<Long, ZoneQueue> queues = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyZones = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void registerReleaseListener() {
+        zoneCapacityLedger.addReleaseListener(this::markDirty);
+    }
+
+    /**
+     * Records that places may have been freed in a zone, so that its waitlist is checked by the next
+     * promotion run.
+     *
+     * @param zoneId ID of the event audience zone.
+     */
+    public void markDirty(long zoneId) {
+        dirtyZones.add(zoneId);
+    }
+
+    /**
+     * Marks a zone dirty once the current transaction commits, for instance after its allocated
+     * capacity was increased.
+     *
+     * @param zoneId ID of the event audience zone.
+     */
+    public void markDirtyAfterCommit(Long zoneId) {
+        runAfterCommit(() -> markDirty(zoneId));
+    }
+
+    /**
+     * Returns the zones marked dirty since the last call, and clears them.
+     *
+     * @return IDs of the zones whose waitlist must be checked.
+     */
+    public List<Long> drainDirtyZones() {
+        List<Long> drained = new ArrayList<>(dirtyZones.size());
+        for (Long zoneId : dirtyZones) {
+            if (dirtyZones.remove(zoneId)) {
+                drained.add(zoneId);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Adds a new entry at the tail of the queue of its zone once the current transaction commits,
+     * then marks the zone dirty in case places were freed while the buyer was joining.
+     *
+     * @param zoneId  ID of the event audience zone.
+     * @param entryId ID of the persisted entry.
+     * @param seats   Number of places requested.
+     */
+    public void enqueueAfterCommit(Long zoneId, Long entryId, int seats) {
+        runAfterCommit(() -> {
+            ZoneQueue queue = queues.get(zoneId);
+            // An unloaded queue will read the entry from the table when it is loaded
+            if (queue != null) {
+                queue.add(new QueuedEntry(entryId, seats));
+            }
+            markDirty(zoneId);
+        });
+    }
+
+    /**
+     * Removes an entry from the queue of its zone once the current transaction commits.
+     *
+     * @param zoneId  ID of the event audience zone.
+     * @param entryId ID of the entry.
+     */
+    public void removeAfterCommit(Long zoneId, Long entryId) {
+        runAfterCommit(() -> remove(zoneId, entryId));
+    }
+
+    /**
+     * Removes an entry from the queue of its zone immediately.
+     *
+     * @param zoneId  ID of the event audience zone.
+     * @param entryId ID of the entry.
+     */
+    public void remove(Long zoneId, Long entryId) {
+        ZoneQueue queue = queues.get(zoneId);
+        if (queue != null) {
+            queue.remove(entryId);
+        }
+    }
+
+    /**
+     * Returns the entry at the head of the queue of a zone, loading the queue if needed.
+     *
+     * @param zoneId ID of the event audience zone.
+     * @return the oldest waiting entry, or null if nobody is waiting.
+     */
+    public QueuedEntry peek(Long zoneId) {
+        return getOrLoad(zoneId).peek();
+    }
+
+    /**
+     * Returns the position of an entry in the queue of its zone, loading the queue if needed.
+     *
+     * @param zoneId  ID of the event audience zone.
+     * @param entryId ID of the entry.
+     * @return the 1-based position, or 0 if the entry is not waiting.
+     */
+    public int position(Long zoneId, Long entryId) {
+        return getOrLoad(zoneId).position(entryId);
+    }
+
+    /**
+     * Returns the number of entries waiting in the queue of a zone, loading the queue if needed.
+     *
+     * @param zoneId ID of the event audience zone.
+     * @return the length of the queue.
+     */
+    public int size(Long zoneId) {
+        return getOrLoad(zoneId).size();
+    }
+
+    /**
+     * Claims the right to promote the entries of a zone, so that two promotion runs never hand the
+     * same freed places to different buyers out of order.
+     *
+     * @param zoneId ID of the event audience zone.
+     * @return true if the caller must call {@link #endPromotion} once done, false if a promotion is already running.
+     */
+    public boolean beginPromotion(Long zoneId) {
+        return getOrLoad(zoneId).promoting.compareAndSet(false, true);
+    }
+
+    /**
+     * Ends the promotion of a zone started by {@link #beginPromotion}. An empty queue is dropped: it
+     * is reloaded from the table the next time places are freed in the zone.
+     *
+     * @param zoneId ID of the event audience zone.
+     */
+    public void endPromotion(Long zoneId) {
+        ZoneQueue queue = queues.get(zoneId);
+        if (queue == null) {
+            return;
+        }
+        queue.promoting.set(false);
+        if (queue.isEmpty()) {
+            queues.remove(zoneId, queue);
+        }
+    }
+
+    private ZoneQueue getOrLoad(Long zoneId) {
+        ZoneQueue queue = queues.get(zoneId);
+        if (queue != null) {
+            return queue;
+        }
+        ZoneQueue loaded = new ZoneQueue();
+        for (WaitlistQueueEntry entry : waitlistEntryRepository.findQueueByZoneId(zoneId)) {
+            loaded.add(new QueuedEntry(entry.getId(), entry.getSeats()));
+        }
+        ZoneQueue previous = queues.putIfAbsent(zoneId, loaded);
+        if (previous == null) {
+            log.debug("Liste d'attente de la zone {} chargée : {} inscription(s)", zoneId, loaded.entries.size());
+            return loaded;
+        }
+        return previous;
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Waiting entry of a queue.
+     */
+    @Getter
+    public static final class QueuedEntry {
+
+        private final Long id;
+        private final int seats;
+
+        public QueuedEntry(Long id, int seats) {
+            this.id = id;
+            this.seats = seats;
+        }
+    }
+
+    /**
+     * Queue of a single zone, ordered by entry ID. Adding an entry already loaded from the table is a no-op.
+     */
+    private static final class ZoneQueue {
+
+        private final TreeMap<Long, QueuedEntry> entries = new TreeMap<>();
+        private final AtomicBoolean promoting = new AtomicBoolean();
+
+        private synchronized void add(QueuedEntry entry) {
+            entries.putIfAbsent(entry.getId(), entry);
+        }
+
+        private synchronized void remove(Long entryId) {
+            entries.remove(entryId);
+        }
+
+        private synchronized QueuedEntry peek() {
+            Map.Entry<Long, QueuedEntry> head = entries.firstEntry();
+            return head == null ? null : head.getValue();
+        }
+
+        private synchronized int position(Long entryId) {
+            return entries.containsKey(entryId) ? entries.headMap(entryId).size() + 1 : 0;
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+
+        private synchronized boolean isEmpty() {
+            return entries.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package edu.cda.project.ticklybackend.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes free text for participant search: accents are folded ("Éloïse" becomes "eloise"),
+ * case is lowered and the text is split into tokens of letters and digits, in any script.
+ * <p>
+ * The same rules are applied to indexed values and to search terms so that both sides compare equal.
+ */
+public final class SearchTextNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchTextNormalizer() {
+    }
+
+    /**
+     * Folds accents and lowers the case of a text.
+     *
+     * @param text the text to normalize, may be null.
+     * @return the normalized text, empty if the input is null.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).trim();
+    }
+
+    /**
+     * Normalizes a text and splits it into tokens of letters and digits.
+     *
+     * @param text the text to tokenize, may be null.
+     * @return the tokens, in order of appearance.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATORS.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Builds the normalized search text stored with a ticket.
+     *
+     * @param firstName participant first name.
+     * @param lastName  participant last name.
+     * @param email     participant email.
+     * @return the normalized text of the three values separated by spaces.
+     */
+    public static String participantSearchText(String firstName, String lastName, String email) {
+        return String.join(" ", normalize(firstName), normalize(lastName), normalize(email)).trim();
+    }
+}
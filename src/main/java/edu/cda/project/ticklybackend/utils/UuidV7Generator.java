@@ -0,0 +1,75 @@
+package edu.cda.project.ticklybackend.utils;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered UUIDs (version 7, RFC 9562).
+ * <p>
+ * The 48 most significant bits hold the Unix timestamp in milliseconds, followed by a 12-bit
+ * counter that keeps UUIDs generated within the same millisecond strictly increasing. The
+ * remaining 62 bits are random. Stored as {@code BINARY(16)}, consecutive ids therefore land at
+ * the end of the clustered index instead of being scattered across it.
+ * <p>
+ * Generated values are regular {@link UUID}s and can coexist with the random (version 4) ids
+ * already stored.
+ */
+public final class UuidV7Generator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * Last issued timestamp (upper bits) and counter (12 lower bits).
+     */
+    private static final AtomicLong LAST_STATE = new AtomicLong();
+
+    private UuidV7Generator() {
+    }
+
+    /**
+     * Generates a new UUIDv7, strictly greater than any UUIDv7 previously generated by this JVM.
+     *
+     * @return a new time-ordered UUID.
+     */
+    public static UUID generate() {
+        long state = nextState(System.currentTimeMillis());
+        long timestamp = state >>> 12;
+        long counter = state & 0xFFFL;
+
+        long mostSigBits = (timestamp << 16) | 0x7000L | counter;
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Extracts the Unix timestamp (milliseconds) of a UUIDv7.
+     *
+     * @param uuid a version 7 UUID.
+     * @return the timestamp in milliseconds.
+     * @throws IllegalArgumentException if the UUID is not a version 7 UUID.
+     */
+    public static long extractTimestamp(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("UUID " + uuid + " is not a version 7 UUID");
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    private static long nextState(long now) {
+        while (true) {
+            long previous = LAST_STATE.get();
+            long next;
+            if (now > (previous >>> 12)) {
+                // New millisecond: the counter starts from a random value in the lower half to keep room for increments
+                next = (now << 12) | RANDOM.nextInt(0x800);
+            } else {
+                // Same millisecond (or clock moved backwards): increment, overflowing into the timestamp if needed
+                next = previous + 1;
+            }
+            if (LAST_STATE.compareAndSet(previous, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package edu.cda.project.ticklybackend.websocket;
+
+import edu.cda.project.ticklybackend.dtos.statistics.EventTicketStatisticsDto;
+import edu.cda.project.ticklybackend.services.interfaces.StatisticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces the statistics broadcasts sent on {@code /topic/event/{eventId}/statistics}.
+ * <p>
+ * Ticket changes only mark their event as dirty; {@link #flush()} is called on a fixed delay
+ * (see {@code StatisticsBroadcastTask}) and publishes at most one statistics message per dirty
+ * event. However many gates scan at the same time, the statistics of an event are recomputed at
+ * most once per interval, and never on the request thread.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventStatisticsBroadcaster {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final StatisticsService statisticsService;
+
+    private final Set<Long> dirtyEvents = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Marks the statistics of an event as outdated. Inside a transaction, the event is only marked
+     * once the transaction commits, so that the published statistics include the change.
+     *
+     * @param eventId ID of the event.
+     */
+    public void markDirty(Long eventId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dirtyEvents.add(eventId);
+                }
+            });
+        } else {
+            dirtyEvents.add(eventId);
+        }
+    }
+
+    /**
+     * Publishes the statistics of every dirty event.
+     *
+     * @return the number of events whose statistics were published.
+     */
+    public int flush() {
+        if (dirtyEvents.isEmpty()) {
+            return 0;
+        }
+        List<Long> eventIds = new ArrayList<>(dirtyEvents);
+        int published = 0;
+        for (Long eventId : eventIds) {
+            // Removed before computing: a change made meanwhile marks the event again for the next flush
+            dirtyEvents.remove(eventId);
+            try {
+                EventTicketStatisticsDto statistics = statisticsService.getEventTicketStats(eventId);
+                log.debug("Broadcasting ticket statistics for event ID: {} to topic: /topic/event/{}/statistics",
+                        eventId, eventId);
+                messagingTemplate.convertAndSend("/topic/event/" + eventId + "/statistics", statistics);
+                published++;
+            } catch (Exception e) {
+                log.error("Error getting or broadcasting ticket statistics for event ID: {}", eventId, e);
+            }
+        }
+        return published;
+    }
+}
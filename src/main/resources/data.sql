@@ -1149,6 +1149,34 @@ SELECT UUID_TO_BIN(UUID()),
 FROM a;
 
 
+-- Reconstruction des compteurs dénormalisés des zones à partir des billets insérés ci-dessus
+UPDATE event_audience_zone eaz
+SET eaz.sold_count      = (SELECT COUNT(*) FROM tickets t WHERE t.event_audience_zone_id = eaz.id AND t.status IN ('VALID', 'USED')),
+    eaz.used_count      = (SELECT COUNT(*) FROM tickets t WHERE t.event_audience_zone_id = eaz.id AND t.status = 'USED'),
+    eaz.cancelled_count = (SELECT COUNT(*) FROM tickets t WHERE t.event_audience_zone_id = eaz.id AND t.status = 'CANCELLED');
+
+-- Texte de recherche normalisé des participants (la collation utf8mb4_unicode_ci ignore déjà accents et casse)
+UPDATE tickets
+SET participant_search = LOWER(CONCAT_WS(' ', participant_first_name, participant_last_name, participant_email));
+
+-- Recalage des générateurs d'identifiants après les insertions à ID explicite
+-- (optimiseur "pooled" : la valeur stockée est la borne haute du prochain bloc de 50 identifiants)
+UPDATE reservations_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM reservations);
+UPDATE structure_areas_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM structure_areas);
+UPDATE audience_zone_template_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM audience_zone_template);
+UPDATE event_audience_zone_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM event_audience_zone);
+
+-- Journal des billets : une entrée par émission, puis par validation et annulation des billets insérés ci-dessus
+-- (les billets validés ou annulés sont datés depuis la ligne du billet).
+INSERT IGNORE INTO ticket_journal (ticket_id, event_id, event_audience_zone_id, type, occurred_at)
+SELECT id, event_id, event_audience_zone_id, 'CREATED', reservation_date FROM tickets ORDER BY reservation_date, id;
+INSERT IGNORE INTO ticket_journal (ticket_id, event_id, event_audience_zone_id, type, occurred_at)
+SELECT id, event_id, event_audience_zone_id, 'VALIDATED', COALESCE(validation_date, updated_at) FROM tickets
+WHERE status = 'USED' ORDER BY validation_date, id;
+INSERT IGNORE INTO ticket_journal (ticket_id, event_id, event_audience_zone_id, type, occurred_at)
+SELECT id, event_id, event_audience_zone_id, 'CANCELLED', updated_at FROM tickets
+WHERE status = 'CANCELLED' ORDER BY updated_at, id;
+
 -- Réactivation des contraintes de clés étrangères
 SET FOREIGN_KEY_CHECKS = 1;
 
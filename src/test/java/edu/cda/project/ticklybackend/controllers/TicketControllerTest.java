@@ -0,0 +1,86 @@
+package edu.cda.project.ticklybackend.controllers;
+
+import edu.cda.project.ticklybackend.dtos.common.PaginatedResponseDto;
+import edu.cda.project.ticklybackend.dtos.ticket.ReservationConfirmationDto;
+import edu.cda.project.ticklybackend.services.interfaces.TicketService;
+import edu.cda.project.ticklybackend.services.interfaces.WaitingRoomService;
+import edu.cda.project.ticklybackend.services.interfaces.WaitlistService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+class TicketControllerTest {
+
+    @Mock
+    private TicketService ticketService;
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @Mock
+    private WaitingRoomService waitingRoomService;
+
+    @InjectMocks
+    private TicketController ticketController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/ticketing/reservations");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void getMyReservations_WhenMoreReservationsExist_ShouldSignalTheTruncation() {
+        // Arrange
+        PageRequest pageable = PageRequest.of(0, 2);
+        List<ReservationConfirmationDto> items = List.of(new ReservationConfirmationDto(), new ReservationConfirmationDto());
+        when(ticketService.getMyReservations(pageable)).thenReturn(new PaginatedResponseDto<>(items, 5, 0, 2, 3));
+
+        // Act
+        ResponseEntity<List<ReservationConfirmationDto>> response = ticketController.getMyReservations(pageable);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().size());
+        assertEquals("5", response.getHeaders().getFirst("X-Total-Count"));
+        assertEquals("<http://localhost/api/v1/ticketing/reservations?page=1&size=2>; rel=\"next\"",
+                response.getHeaders().getFirst(HttpHeaders.LINK));
+    }
+
+    @Test
+    void getMyReservations_OnLastPage_ShouldNotLinkToANextPage() {
+        // Arrange
+        PageRequest pageable = PageRequest.of(0, 100);
+        List<ReservationConfirmationDto> items = List.of(new ReservationConfirmationDto());
+        when(ticketService.getMyReservations(pageable)).thenReturn(new PaginatedResponseDto<>(items, 1, 0, 100, 1));
+
+        // Act
+        ResponseEntity<List<ReservationConfirmationDto>> response = ticketController.getMyReservations(pageable);
+
+        // Assert
+        assertEquals("1", response.getHeaders().getFirst("X-Total-Count"));
+        assertNull(response.getHeaders().getFirst(HttpHeaders.LINK));
+    }
+}
@@ -0,0 +1,109 @@
+package edu.cda.project.ticklybackend.repositories.ticket;
+
+import edu.cda.project.ticklybackend.utils.UuidV7Generator;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.ByteBuffer;
+import java.sql.*;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark d'insertion comparant des clés primaires BINARY(16) aléatoires (UUIDv4) et ordonnées
+ * dans le temps (UUIDv7) sur une table reproduisant la forme de {@code tickets}.
+ * <p>
+ * Désactivé par défaut. Lancement :
+ * {@code mvn test -Dtest=TicketKeyInsertBenchmarkTest -Dtickly.benchmark=true -Dtickly.benchmark.rows=2000000}
+ */
+@Slf4j
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "tickly.benchmark", matches = "true")
+class TicketKeyInsertBenchmarkTest {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Container
+    static MySQLContainer<?> mySQLContainer = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("benchdb")
+            .withUsername("testuser")
+            .withPassword("testpass")
+            // Buffer pool volontairement réduit pour que la table dépasse la mémoire, comme en production
+            .withCommand("--innodb-buffer-pool-size=64M");
+
+    @Test
+    void compareRandomAndTimeOrderedKeys() throws SQLException {
+        int rows = Integer.getInteger("tickly.benchmark.rows", 1_000_000);
+
+        try (Connection connection = DriverManager.getConnection(
+                mySQLContainer.getJdbcUrl() + "?rewriteBatchedStatements=true",
+                mySQLContainer.getUsername(), mySQLContainer.getPassword())) {
+            connection.setAutoCommit(false);
+
+            long randomMillis = insertRows(connection, "tickets_uuid_v4", rows, UUID::randomUUID);
+            long orderedMillis = insertRows(connection, "tickets_uuid_v7", rows, UuidV7Generator::generate);
+
+            log.info("Insertion de {} lignes : UUIDv4 = {} ms ({} lignes/s), UUIDv7 = {} ms ({} lignes/s)",
+                    rows, randomMillis, Math.round(rows * 1000.0 / randomMillis),
+                    orderedMillis, Math.round(rows * 1000.0 / orderedMillis));
+            log.info("Taille des tables : UUIDv4 = {} Mo, UUIDv7 = {} Mo",
+                    tableSizeMb(connection, "tickets_uuid_v4"), tableSizeMb(connection, "tickets_uuid_v7"));
+
+            assertTrue(orderedMillis > 0 && randomMillis > 0);
+        }
+    }
+
+    private long insertRows(Connection connection, String table, int rows, Supplier<UUID> keys) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + table + " (" +
+                    "id BINARY(16) NOT NULL PRIMARY KEY, " +
+                    "qr_code_value VARCHAR(255) NOT NULL, " +
+                    "participant_email VARCHAR(255) NOT NULL, " +
+                    "event_id BIGINT NOT NULL, " +
+                    "reservation_date DATETIME(6) NOT NULL)");
+        }
+        connection.commit();
+
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table +
+                " (id, qr_code_value, participant_email, event_id, reservation_date) VALUES (?, ?, ?, ?, NOW(6))")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setBytes(1, toBytes(keys.get()));
+                insert.setString(2, UUID.randomUUID().toString());
+                insert.setString(3, "participant" + i + "@example.com");
+                insert.setLong(4, i % 100);
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private long tableSizeMb(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE " + table);
+            try (ResultSet resultSet = statement.executeQuery("SELECT (data_length + index_length) / 1048576 " +
+                    "FROM information_schema.tables WHERE table_name = '" + table + "'")) {
+                return resultSet.next() ? resultSet.getLong(1) : -1;
+            }
+        }
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
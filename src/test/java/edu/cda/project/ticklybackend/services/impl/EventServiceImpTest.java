@@ -10,6 +10,7 @@ import edu.cda.project.ticklybackend.models.event.Event;
 import edu.cda.project.ticklybackend.models.structure.Structure;
 import edu.cda.project.ticklybackend.repositories.event.EventRepository;
 import edu.cda.project.ticklybackend.security.OrganizationalSecurityService;
+import edu.cda.project.ticklybackend.services.ticketing.EventTicketCounters;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -31,6 +32,8 @@ class EventServiceImpTest {
     private EventRepository eventRepository;
     @Mock
     private EventMapper eventMapper;
+    @Mock
+    private EventTicketCounters eventTicketCounters;
 
     @InjectMocks
     private EventServiceImpl eventService;
@@ -0,0 +1,110 @@
+package edu.cda.project.ticklybackend.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.cda.project.ticklybackend.enums.MailOutboxStatus;
+import edu.cda.project.ticklybackend.enums.MailOutboxType;
+import edu.cda.project.ticklybackend.models.mailing.MailOutboxMessage;
+import edu.cda.project.ticklybackend.repositories.mailing.MailOutboxRepository;
+import edu.cda.project.ticklybackend.services.interfaces.MailingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MailOutboxServiceImplTest {
+
+    @Mock
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Mock
+    private MailingService mailingService;
+
+    private MailOutboxServiceImpl mailOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        mailOutboxService = new MailOutboxServiceImpl(mailOutboxRepository, mailingService, new ObjectMapper());
+        ReflectionTestUtils.setField(mailOutboxService, "frontendBaseUrl", "http://localhost:4200");
+        ReflectionTestUtils.setField(mailOutboxService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(mailOutboxService, "retryBaseDelayMs", 1000L);
+        ReflectionTestUtils.setField(mailOutboxService, "leaseMs", 60000L);
+    }
+
+    @Test
+    void enqueueTickets_ThenDeliver_ShouldSendTicketLinks() {
+        // Arrange
+        List<UUID> ticketIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        ArgumentCaptor<MailOutboxMessage> captor = ArgumentCaptor.forClass(MailOutboxMessage.class);
+
+        // Act
+        mailOutboxService.enqueueTickets("buyer@example.com", "John", "Concert", ticketIds);
+        verify(mailOutboxRepository).save(captor.capture());
+        mailOutboxService.deliver(captor.getValue());
+
+        // Assert
+        assertEquals(MailOutboxType.TICKET_RECEIPT, captor.getValue().getType());
+        assertEquals(MailOutboxStatus.PENDING, captor.getValue().getStatus());
+        verify(mailingService).deliverTickets("buyer@example.com", "John", "Concert", ticketIds, "http://localhost:4200");
+    }
+
+    @Test
+    void claimPendingMessages_ShouldLeaseMessagesAndCountAttempt() {
+        // Arrange
+        MailOutboxMessage message = new MailOutboxMessage(MailOutboxType.INDIVIDUAL_TICKET, "p@example.com", "{}");
+        when(mailOutboxRepository.lockClaimableMessages(any(Instant.class), eq(10))).thenReturn(List.of(message));
+
+        // Act
+        List<MailOutboxMessage> claimed = mailOutboxService.claimPendingMessages(10);
+
+        // Assert
+        assertEquals(1, claimed.size());
+        assertEquals(MailOutboxStatus.SENDING, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertTrue(message.getNextAttemptAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void markFailed_BelowMaxAttempts_ShouldScheduleRetryWithBackoff() {
+        // Arrange
+        MailOutboxMessage message = new MailOutboxMessage(MailOutboxType.TICKET_RECEIPT, "b@example.com", "{}");
+        message.setStatus(MailOutboxStatus.SENDING);
+        message.setAttempts(2);
+        when(mailOutboxRepository.findById(1L)).thenReturn(Optional.of(message));
+
+        // Act
+        mailOutboxService.markFailed(1L, "SMTP unavailable");
+
+        // Assert
+        assertEquals(MailOutboxStatus.PENDING, message.getStatus());
+        assertEquals("SMTP unavailable", message.getLastError());
+        assertTrue(message.getNextAttemptAt().isAfter(Instant.now().plusMillis(1500)));
+    }
+
+    @Test
+    void markFailed_MaxAttemptsReached_ShouldAbandonMessage() {
+        // Arrange
+        MailOutboxMessage message = new MailOutboxMessage(MailOutboxType.TICKET_RECEIPT, "b@example.com", "{}");
+        message.setStatus(MailOutboxStatus.SENDING);
+        message.setAttempts(3);
+        when(mailOutboxRepository.findById(1L)).thenReturn(Optional.of(message));
+
+        // Act
+        mailOutboxService.markFailed(1L, "Invalid recipient");
+
+        // Assert
+        assertEquals(MailOutboxStatus.FAILED, message.getStatus());
+    }
+}
@@ -0,0 +1,150 @@
+package edu.cda.project.ticklybackend.services.impl;
+
+import edu.cda.project.ticklybackend.dtos.ticket.TicketTokenKeyDto;
+import edu.cda.project.ticklybackend.enums.TicketStatus;
+import edu.cda.project.ticklybackend.exceptions.BadRequestException;
+import edu.cda.project.ticklybackend.exceptions.ResourceNotFoundException;
+import edu.cda.project.ticklybackend.repositories.event.EventRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.ScannerManifestRowHandler;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
+import edu.cda.project.ticklybackend.services.ticketing.ScannerManifestFormat;
+import edu.cda.project.ticklybackend.services.ticketing.TicketTokenCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScannerManifestServiceImplTest {
+
+    private static final Long EVENT_ID = 7L;
+    private static final LocalDateTime HORIZON = LocalDateTime.of(2026, 6, 1, 20, 0, 0, 123_456_000);
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private TicketTokenCodec ticketTokenCodec;
+
+    @InjectMocks
+    private ScannerManifestServiceImpl scannerManifestService;
+
+    @Test
+    void getTicketTokenKey_ShouldReturnBase64PublicKey() {
+        // Arrange
+        when(eventRepository.existsById(EVENT_ID)).thenReturn(true);
+        when(ticketTokenCodec.publicKey()).thenReturn(new byte[]{1, 2, 3});
+
+        // Act
+        TicketTokenKeyDto key = scannerManifestService.getTicketTokenKey(EVENT_ID);
+
+        // Assert
+        assertEquals(EVENT_ID, key.getEventId());
+        assertEquals(TicketTokenCodec.VERSION, key.getVersion());
+        assertEquals("Ed25519", key.getAlgorithm());
+        assertEquals(64, key.getSignatureLength());
+        assertArrayEquals(new byte[]{1, 2, 3}, Base64.getDecoder().decode(key.getKey()));
+    }
+
+    @Test
+    void writeManifest_ShouldWriteHeaderThenOneRecordPerStreamedRow() throws IOException {
+        // Arrange
+        byte[] firstHash = {0, 1, 2, 3, 4, 5, 6, 7};
+        byte[] secondHash = {(byte) 0x80, 1, 2, 3, 4, 5, 6, 7};
+        when(eventRepository.existsById(EVENT_ID)).thenReturn(true);
+        when(ticketRepository.findSyncHorizon(anyLong())).thenReturn(HORIZON);
+        doAnswer(invocation -> {
+            ScannerManifestRowHandler handler = invocation.getArgument(3);
+            handler.handle(firstHash, 10L, TicketStatus.VALID);
+            handler.handle(secondHash, 11L, TicketStatus.VALID);
+            return null;
+        }).when(ticketRepository).streamScannerManifest(eq(EVENT_ID), isNull(), any(), any());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        scannerManifestService.writeManifest(EVENT_ID, output);
+
+        // Assert
+        byte[] bytes = output.toByteArray();
+        assertEquals(ScannerManifestFormat.HEADER_SIZE + 2 * ScannerManifestFormat.RECORD_SIZE, bytes.length);
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+        assertEquals(ScannerManifestFormat.MAGIC, input.readInt());
+        assertEquals(ScannerManifestFormat.VERSION, input.readByte());
+        assertEquals(ScannerManifestFormat.KIND_FULL, input.readByte());
+        assertEquals(EVENT_ID, input.readLong());
+        assertEquals(HORIZON, ScannerManifestFormat.decodeCursor(input.readLong()));
+        byte[] hash = new byte[ScannerManifestFormat.HASH_SIZE];
+        input.readFully(hash);
+        assertArrayEquals(firstHash, hash);
+        assertEquals(10L, input.readLong());
+        assertEquals(0, input.readByte());
+    }
+
+    @Test
+    void writeDelta_CursorNotBehindHorizon_ShouldKeepCursorAndSkipQuery() throws IOException {
+        // Arrange
+        long cursor = ScannerManifestFormat.encodeCursor(HORIZON);
+        when(eventRepository.existsById(EVENT_ID)).thenReturn(true);
+        when(ticketRepository.findSyncHorizon(anyLong())).thenReturn(HORIZON.minusSeconds(1));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        scannerManifestService.writeDelta(EVENT_ID, cursor, output);
+
+        // Assert
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(output.toByteArray()));
+        input.skipBytes(4);
+        input.readByte();
+        assertEquals(ScannerManifestFormat.KIND_DELTA, input.readByte());
+        input.readLong();
+        assertEquals(cursor, input.readLong());
+        assertEquals(0, input.available());
+        verify(ticketRepository, never()).streamScannerManifest(any(), any(), any(), any());
+    }
+
+    @Test
+    void writeDelta_ShouldStreamChangesBetweenCursorAndHorizon() throws IOException {
+        // Arrange
+        LocalDateTime since = HORIZON.minusMinutes(5);
+        when(eventRepository.existsById(EVENT_ID)).thenReturn(true);
+        when(ticketRepository.findSyncHorizon(anyLong())).thenReturn(HORIZON);
+
+        // Act
+        scannerManifestService.writeDelta(EVENT_ID, ScannerManifestFormat.encodeCursor(since), new ByteArrayOutputStream());
+
+        // Assert
+        verify(ticketRepository).streamScannerManifest(eq(EVENT_ID), eq(since), eq(HORIZON), any());
+    }
+
+    @Test
+    void writeManifest_UnknownEvent_ShouldThrowBeforeWriting() {
+        // Arrange
+        when(eventRepository.existsById(EVENT_ID)).thenReturn(false);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> scannerManifestService.writeManifest(EVENT_ID, output));
+        assertEquals(0, output.size());
+    }
+
+    @Test
+    void writeDelta_NegativeCursor_ShouldBeRejected() {
+        assertThrows(BadRequestException.class,
+                () -> scannerManifestService.writeDelta(EVENT_ID, -1L, new ByteArrayOutputStream()));
+    }
+}
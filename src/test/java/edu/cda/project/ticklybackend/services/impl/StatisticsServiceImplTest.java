@@ -11,6 +11,7 @@ import edu.cda.project.ticklybackend.repositories.event.EventRepository;
 import edu.cda.project.ticklybackend.repositories.statistics.StatisticsRepository;
 import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
 import edu.cda.project.ticklybackend.security.OrganizationalSecurityService;
+import edu.cda.project.ticklybackend.services.ticketing.EventTicketCounters;
 import edu.cda.project.ticklybackend.utils.AuthUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -52,6 +53,9 @@ class StatisticsServiceImplTest {
     @Mock
     private OrganizationalSecurityService organizationalSecurityService;
 
+    @Mock
+    private EventTicketCounters eventTicketCounters;
+
     @InjectMocks
     private StatisticsServiceImpl statisticsService;
 
@@ -223,11 +227,8 @@ class StatisticsServiceImplTest {
     @Test
     void getEventTicketStats_WhenEventExists_ReturnsCorrectStats() {
         // Arrange
-        when(eventRepository.findById(eventId)).thenReturn(Optional.of(mockEvent));
-
-        // Mock repository methods for ticket counts
-        when(ticketRepository.countByEventIdAndStatus(eventId, TicketStatus.VALID)).thenReturn(80L);
-        when(ticketRepository.countByEventIdAndStatus(eventId, TicketStatus.USED)).thenReturn(20L);
+        when(eventTicketCounters.snapshot(eventId))
+                .thenReturn(Optional.of(new EventTicketCounters.Snapshot(mockEvent.getName(), 80L, 20L, 5L)));
 
         // Act
         EventTicketStatisticsDto result = statisticsService.getEventTicketStats(eventId);
@@ -241,15 +242,14 @@ class StatisticsServiceImplTest {
         assertEquals(80L, result.getRemainingTickets());
         assertEquals(20.0, result.getFillRate()); // 20 used out of 100 total = 20%
 
-        // Verify repository methods were called
-        verify(ticketRepository).countByEventIdAndStatus(eventId, TicketStatus.VALID);
-        verify(ticketRepository).countByEventIdAndStatus(eventId, TicketStatus.USED);
+        // Live statistics are served from the in-memory counters, without any query
+        verifyNoInteractions(eventRepository, ticketRepository);
     }
 
     @Test
     void getEventTicketStats_WhenEventNotFound_ThrowsResourceNotFoundException() {
         // Arrange
-        when(eventRepository.findById(eventId)).thenReturn(Optional.empty());
+        when(eventTicketCounters.snapshot(eventId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> statisticsService.getEventTicketStats(eventId));
@@ -261,11 +261,8 @@ class StatisticsServiceImplTest {
     @Test
     void getEventTicketStats_WhenNoTickets_ReturnsZeroValues() {
         // Arrange
-        when(eventRepository.findById(eventId)).thenReturn(Optional.of(mockEvent));
-
-        // Mock repository methods to return zero tickets
-        when(ticketRepository.countByEventIdAndStatus(eventId, TicketStatus.VALID)).thenReturn(0L);
-        when(ticketRepository.countByEventIdAndStatus(eventId, TicketStatus.USED)).thenReturn(0L);
+        when(eventTicketCounters.snapshot(eventId))
+                .thenReturn(Optional.of(new EventTicketCounters.Snapshot(mockEvent.getName(), 0L, 0L, 0L)));
 
         // Act
         EventTicketStatisticsDto result = statisticsService.getEventTicketStats(eventId);
@@ -278,9 +275,5 @@ class StatisticsServiceImplTest {
         assertEquals(0L, result.getScannedTickets());
         assertEquals(0L, result.getRemainingTickets());
         assertEquals(0.0, result.getFillRate());
-
-        // Verify repository methods were called
-        verify(ticketRepository).countByEventIdAndStatus(eventId, TicketStatus.VALID);
-        verify(ticketRepository).countByEventIdAndStatus(eventId, TicketStatus.USED);
     }
 }
@@ -0,0 +1,127 @@
+package edu.cda.project.ticklybackend.services.impl;
+
+import edu.cda.project.ticklybackend.dtos.ticket.TicketJournalReplayDto;
+import edu.cda.project.ticklybackend.enums.TicketJournalEventType;
+import edu.cda.project.ticklybackend.exceptions.ResourceNotFoundException;
+import edu.cda.project.ticklybackend.models.event.Event;
+import edu.cda.project.ticklybackend.models.event.EventAudienceZone;
+import edu.cda.project.ticklybackend.repositories.event.EventRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketJournalRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketJournalRowHandler;
+import edu.cda.project.ticklybackend.services.ticketing.TicketJournal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketJournalServiceImplTest {
+
+    private static final Long EVENT_ID = 1L;
+
+    @Mock
+    private TicketJournalRepository ticketJournalRepository;
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private TicketJournal ticketJournal;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private TicketJournalServiceImpl ticketJournalService;
+
+    private Event event;
+    private EventAudienceZone pit;
+    private EventAudienceZone balcony;
+
+    @BeforeEach
+    void setUp() {
+        event = new Event();
+        event.setId(EVENT_ID);
+        event.setName("Concert");
+        pit = new EventAudienceZone();
+        pit.setId(10L);
+        pit.setSoldCount(99);
+        balcony = new EventAudienceZone();
+        balcony.setId(11L);
+        balcony.setSoldCount(5);
+        event.setAudienceZones(List.of(pit, balcony));
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void replayEvent_ShouldComputeZoneCountsAndDailyRollupWithoutTouchingTheZones() {
+        // Arrange
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        Instant dayOne = Instant.parse("2026-06-01T10:00:00Z");
+        Instant dayTwo = Instant.parse("2026-06-02T21:00:00Z");
+        when(eventRepository.findByIdWithAudienceZones(EVENT_ID)).thenReturn(Optional.of(event));
+        when(ticketJournalRepository.replayEvent(eq(EVENT_ID), eq(0L), any())).thenAnswer(invocation -> {
+            TicketJournalRowHandler handler = invocation.getArgument(2);
+            handler.handle(1, first, 10L, TicketJournalEventType.CREATED, dayOne);
+            handler.handle(2, second, 10L, TicketJournalEventType.CREATED, dayOne);
+            handler.handle(3, third, 10L, TicketJournalEventType.CREATED, dayOne);
+            handler.handle(4, first, 10L, TicketJournalEventType.VALIDATED, dayTwo);
+            handler.handle(5, second, 10L, TicketJournalEventType.CANCELLED, dayTwo);
+            handler.handle(6, third, 10L, TicketJournalEventType.ANONYMIZED, dayTwo);
+            return 6L;
+        });
+
+        // Act
+        TicketJournalReplayDto result = ticketJournalService.replayEvent(EVENT_ID);
+
+        // Assert : billet 1 utilisé, billet 2 annulé, billet 3 valide
+        assertEquals(6, result.getReplayedEntries());
+        assertEquals(6L, result.getLastSequence());
+        assertEquals(1, result.getValidCount());
+        assertEquals(1, result.getUsedCount());
+        assertEquals(1, result.getCancelledCount());
+        assertEquals(10L, result.getZones().get(0).getAudienceZoneId());
+        assertEquals(2, result.getZones().get(0).getSoldCount());
+        assertEquals(1, result.getZones().get(0).getUsedCount());
+        assertEquals(1, result.getZones().get(0).getCancelledCount());
+        // Une zone absente du journal n'a aucun billet selon le journal
+        assertEquals(0, result.getZones().get(1).getSoldCount());
+        // Les compteurs persistants des zones ne sont pas modifiés par le rejeu
+        assertEquals(99, pit.getSoldCount());
+        assertEquals(5, balcony.getSoldCount());
+
+        assertEquals(2, result.getDays().size());
+        assertEquals(LocalDate.of(2026, 6, 1), result.getDays().get(0).getDate());
+        assertEquals(3, result.getDays().get(0).getCreatedCount());
+        assertEquals(1, result.getDays().get(1).getValidatedCount());
+        assertEquals(1, result.getDays().get(1).getCancelledCount());
+
+        verify(ticketJournal).ship();
+    }
+
+    @Test
+    void replayEvent_UnknownEvent_ShouldThrowWithoutReadingTheJournal() {
+        // Arrange
+        when(eventRepository.findByIdWithAudienceZones(EVENT_ID)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> ticketJournalService.replayEvent(EVENT_ID));
+        verifyNoInteractions(ticketJournalRepository);
+    }
+}
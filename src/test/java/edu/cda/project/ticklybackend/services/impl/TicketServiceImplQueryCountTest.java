@@ -0,0 +1,68 @@
+package edu.cda.project.ticklybackend.services.impl;
+
+import edu.cda.project.ticklybackend.AbstractIntegrationTest;
+import edu.cda.project.ticklybackend.dtos.common.PaginatedResponseDto;
+import edu.cda.project.ticklybackend.dtos.ticket.ReservationConfirmationDto;
+import edu.cda.project.ticklybackend.models.user.User;
+import edu.cda.project.ticklybackend.services.interfaces.TicketService;
+import edu.cda.project.ticklybackend.utils.AuthUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compte les requêtes SQL envoyées pour une page de l'historique des réservations, sur la base de test
+ * (init_test_db.sql) : l'utilisateur 9 y possède trois réservations de plusieurs billets.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TicketServiceImplQueryCountTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private AuthUtils authUtils;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(9L);
+        user.setEmail("ines.michel@email.com");
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(user);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getMyReservations_OnePage_ShouldRunThreeStatementsWhateverThePageSize() {
+        // Act
+        PaginatedResponseDto<ReservationConfirmationDto> firstPage = ticketService.getMyReservations(PageRequest.of(0, 1));
+        long firstPageStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        PaginatedResponseDto<ReservationConfirmationDto> fullPage = ticketService.getMyReservations(PageRequest.of(0, 3));
+        long fullPageStatements = statistics.getPrepareStatementCount();
+
+        // Assert
+        assertEquals(1, firstPage.getItems().size());
+        assertEquals(3, fullPage.getItems().size());
+        assertEquals(3, fullPage.getTotalItems());
+        // Page d'IDs, comptage, puis tous les billets de la page en une seule requête
+        assertEquals(3, firstPageStatements);
+        assertEquals(3, fullPageStatements);
+    }
+}
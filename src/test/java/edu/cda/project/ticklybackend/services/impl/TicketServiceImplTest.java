@@ -1,39 +1,85 @@
 package edu.cda.project.ticklybackend.services.impl;
 
 import edu.cda.project.ticklybackend.dtos.common.PaginatedResponseDto;
-import edu.cda.project.ticklybackend.dtos.statistics.EventTicketStatisticsDto;
+import edu.cda.project.ticklybackend.dtos.ticket.BatchTicketValidationRequestDto;
+import edu.cda.project.ticklybackend.dtos.ticket.BatchTicketValidationResponseDto;
+import edu.cda.project.ticklybackend.dtos.ticket.ParticipantInfoDto;
+import edu.cda.project.ticklybackend.dtos.ticket.ReservationConfirmationDto;
+import edu.cda.project.ticklybackend.dtos.ticket.ReservationRequestDto;
 import edu.cda.project.ticklybackend.dtos.ticket.TicketResponseDto;
+import edu.cda.project.ticklybackend.dtos.ticket.TicketScanDto;
+import edu.cda.project.ticklybackend.dtos.ticket.TicketScanResultDto;
 import edu.cda.project.ticklybackend.dtos.ticket.TicketValidationResponseDto;
+import edu.cda.project.ticklybackend.enums.EventStatus;
+import edu.cda.project.ticklybackend.enums.QrImageFormat;
+import edu.cda.project.ticklybackend.enums.SeatingType;
+import edu.cda.project.ticklybackend.enums.TicketScanOutcome;
 import edu.cda.project.ticklybackend.enums.TicketStatus;
+import edu.cda.project.ticklybackend.exceptions.BadRequestException;
 import edu.cda.project.ticklybackend.exceptions.ResourceNotFoundException;
+import edu.cda.project.ticklybackend.exceptions.WaitingRoomException;
 import edu.cda.project.ticklybackend.mappers.ticket.TicketMapper;
 import edu.cda.project.ticklybackend.models.event.Event;
+import edu.cda.project.ticklybackend.models.event.EventAudienceZone;
+import edu.cda.project.ticklybackend.models.structure.AudienceZoneTemplate;
 import edu.cda.project.ticklybackend.models.structure.Structure;
+import edu.cda.project.ticklybackend.models.ticket.Reservation;
 import edu.cda.project.ticklybackend.models.ticket.Ticket;
 import edu.cda.project.ticklybackend.models.user.User;
+import edu.cda.project.ticklybackend.repositories.event.EventAudienceZoneRepository;
 import edu.cda.project.ticklybackend.repositories.event.EventRepository;
 import edu.cda.project.ticklybackend.repositories.ticket.ReservationRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.ReservationTicketState;
+import edu.cda.project.ticklybackend.repositories.ticket.ReservationTicketRow;
 import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
-import edu.cda.project.ticklybackend.services.interfaces.StatisticsService;
+import edu.cda.project.ticklybackend.repositories.ticket.WaitlistEntryRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketScanEntry;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketSearchCriteria;
+import edu.cda.project.ticklybackend.services.interfaces.MailOutboxService;
+import edu.cda.project.ticklybackend.services.ticketing.EventTicketCounters;
+import edu.cda.project.ticklybackend.services.ticketing.ParticipantSearchIndex;
+import edu.cda.project.ticklybackend.services.ticketing.QrCodeRenderer;
+import edu.cda.project.ticklybackend.services.ticketing.ReservationIdempotencyRegistry;
+import edu.cda.project.ticklybackend.services.ticketing.SeatHoldRegistry;
+import edu.cda.project.ticklybackend.services.ticketing.SeatMapRegistry;
+import edu.cda.project.ticklybackend.services.ticketing.WaitingRoom;
+import edu.cda.project.ticklybackend.services.ticketing.TicketCursor;
+import edu.cda.project.ticklybackend.services.ticketing.TicketJournal;
+import edu.cda.project.ticklybackend.services.ticketing.TicketTokenCodec;
+import edu.cda.project.ticklybackend.services.ticketing.TicketValidationCache;
+import edu.cda.project.ticklybackend.services.ticketing.ZoneCapacityLedger;
 import edu.cda.project.ticklybackend.utils.AuthUtils;
+import edu.cda.project.ticklybackend.websocket.EventStatisticsBroadcaster;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -58,7 +104,52 @@ public class TicketServiceImplTest {
     private SimpMessagingTemplate messagingTemplate;
 
     @Mock
-    private StatisticsService statisticsService;
+    private EventStatisticsBroadcaster eventStatisticsBroadcaster;
+
+    @Mock
+    private MailOutboxService mailOutboxService;
+
+    @Mock
+    private ZoneCapacityLedger zoneCapacityLedger;
+
+    @Mock
+    private EventAudienceZoneRepository eventAudienceZoneRepository;
+
+    @Mock
+    private ParticipantSearchIndex participantSearchIndex;
+
+    @Mock
+    private EventTicketCounters eventTicketCounters;
+
+    @Mock
+    private TicketValidationCache ticketValidationCache;
+
+    @Spy
+    private ReservationIdempotencyRegistry reservationIdempotencyRegistry = new ReservationIdempotencyRegistry();
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private SeatHoldRegistry seatHoldRegistry;
+
+    @Mock
+    private QrCodeRenderer qrCodeRenderer;
+
+    @Spy
+    private TicketTokenCodec ticketTokenCodec = new TicketTokenCodec();
+
+    @Mock
+    private SeatMapRegistry seatMapRegistry;
+
+    @Mock
+    private WaitingRoom waitingRoom;
+
+    @Mock
+    private TicketJournal ticketJournal;
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
 
     @InjectMocks
     private TicketServiceImpl ticketService;
@@ -68,11 +159,16 @@ public class TicketServiceImplTest {
     private Ticket invalidTicket;
     private Event event;
     private Structure structure;
+    private EventAudienceZone zone;
     private String validQrCode;
     private String invalidQrCode;
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(ticketTokenCodec, "secret", "test-secret");
+        // Aucun événement n'a de salle d'attente ouverte par défaut
+        lenient().when(waitingRoom.isAdmitted(any(), any(), any())).thenReturn(true);
+
         // Create test data
         validQrCode = UUID.randomUUID().toString();
         invalidQrCode = UUID.randomUUID().toString();
@@ -93,10 +189,16 @@ public class TicketServiceImplTest {
         event.setStartDate(Instant.now().plusSeconds(3600)); // 1 hour from now
         event.setEndDate(Instant.now().plusSeconds(7200));   // 2 hours from now
 
+        zone = new EventAudienceZone();
+        zone.setId(10L);
+        zone.setEvent(event);
+        zone.setAllocatedCapacity(100);
+
         validTicket = new Ticket();
         validTicket.setId(UUID.randomUUID());
         validTicket.setQrCodeValue(validQrCode);
         validTicket.setEvent(event);
+        validTicket.setEventAudienceZone(zone);
         validTicket.setStatus(TicketStatus.VALID);
         validTicket.setParticipantFirstName("John");
         validTicket.setParticipantLastName("Doe");
@@ -118,15 +220,12 @@ public class TicketServiceImplTest {
         UUID ticketId = validTicket.getId();
         when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
         when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(validTicket));
+        when(ticketRepository.markUsedIfValid(eq(ticketId), any(Instant.class))).thenReturn(1);
 
         // Mock the ticket mapper for WebSocket broadcasting
         TicketResponseDto mockTicketDto = new TicketResponseDto();
         when(ticketMapper.toDto(validTicket)).thenReturn(mockTicketDto);
 
-        // Mock the statistics service for WebSocket broadcasting
-        EventTicketStatisticsDto mockStats = new EventTicketStatisticsDto();
-        when(statisticsService.getEventTicketStats(event.getId())).thenReturn(mockStats);
-
         // Act
         TicketValidationResponseDto response = ticketService.validateTicket(ticketId);
 
@@ -136,19 +235,189 @@ public class TicketServiceImplTest {
         assertEquals(TicketStatus.USED, response.getStatus());
         assertEquals("Billet validé avec succès.", response.getMessage());
 
-        // Verify ticket was updated
-        verify(ticketRepository).save(validTicket);
-        assertEquals(TicketStatus.USED, validTicket.getStatus());
-        assertNotNull(validTicket.getValidationDate());
+        // Verify ticket was updated by a single conditional statement, without saving the loaded entity
+        verify(ticketRepository).markUsedIfValid(eq(ticketId), eq(response.getValidatedAt()));
+        verify(ticketRepository, never()).save(any(Ticket.class));
+        verify(eventAudienceZoneRepository).incrementUsedCount(zone.getId(), 1);
+        assertNotNull(response.getValidatedAt());
+        assertEquals(TicketStatus.USED, mockTicketDto.getStatus());
 
         // Verify WebSocket broadcasting
         verify(messagingTemplate).convertAndSend(
                 eq("/topic/event/" + event.getId() + "/ticket-update"),
                 any(TicketResponseDto.class));
-        verify(messagingTemplate).convertAndSend(
-                eq("/topic/event/" + event.getId() + "/statistics"),
-                any(EventTicketStatisticsDto.class));
-        verify(statisticsService).getEventTicketStats(event.getId());
+        verify(eventStatisticsBroadcaster).markDirty(event.getId());
+        verify(eventTicketCounters).applyAfterCommit(event.getId(), TicketStatus.VALID, TicketStatus.USED, 1);
+        verify(ticketValidationCache).markUsedAfterCommit(Map.of(ticketId, response.getValidatedAt()));
+    }
+
+    @Test
+    void validateTicket_ConcurrentValidationWins_ShouldReturnAlreadyUsed() {
+        // Arrange
+        UUID ticketId = validTicket.getId();
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(validTicket));
+        // Une autre porte a validé le billet entre la lecture et l'UPDATE conditionnel
+        when(ticketRepository.markUsedIfValid(eq(ticketId), any(Instant.class))).thenReturn(0);
+        when(ticketRepository.findCurrentStatusById(ticketId)).thenReturn(Optional.of(TicketStatus.USED));
+
+        // Act
+        TicketValidationResponseDto response = ticketService.validateTicket(ticketId);
+
+        // Assert
+        assertEquals(TicketStatus.USED, response.getStatus());
+        assertEquals("Ce billet a déjà été utilisé.", response.getMessage());
+        verify(ticketValidationCache).updateStatus(ticketId, TicketStatus.USED, null);
+        verify(eventAudienceZoneRepository, never()).incrementUsedCount(anyLong(), anyInt());
+        verifyNoInteractions(eventTicketCounters, eventStatisticsBroadcaster, messagingTemplate);
+    }
+
+    @Test
+    void validateTicket_LostUpdateWithStaleValidStatus_ShouldNotDowngradeTheCache() {
+        // Arrange
+        UUID ticketId = validTicket.getId();
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(validTicket));
+        when(ticketRepository.markUsedIfValid(eq(ticketId), any(Instant.class))).thenReturn(0);
+        when(ticketRepository.findCurrentStatusById(ticketId)).thenReturn(Optional.of(TicketStatus.VALID));
+
+        // Act
+        TicketValidationResponseDto response = ticketService.validateTicket(ticketId);
+
+        // Assert : l'UPDATE conditionnel a échoué, le billet n'est donc plus VALID
+        assertEquals(TicketStatus.USED, response.getStatus());
+        verify(ticketValidationCache, never()).updateStatus(ticketId, TicketStatus.VALID, null);
+        verify(ticketValidationCache).updateStatus(ticketId, TicketStatus.USED, null);
+    }
+
+    @Test
+    void cancelReservation_ShouldCancelAllTicketsWithOneUpdateAndReleaseSeatsPerZone() {
+        // Arrange
+        Reservation reservation = new Reservation();
+        reservation.setId(5L);
+        reservation.setUser(validUser);
+        when(reservationRepository.findById(5L)).thenReturn(Optional.of(reservation));
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        List<ReservationTicketState> states = List.of(
+                ticketState(10L, TicketStatus.VALID),
+                ticketState(10L, TicketStatus.VALID),
+                ticketState(11L, TicketStatus.VALID));
+        when(ticketRepository.findStatesByReservationId(5L)).thenReturn(states);
+        when(ticketRepository.cancelValidTicketsOfReservation(5L)).thenReturn(3);
+        when(eventAudienceZoneRepository.recordCancellations(anyLong(), anyInt())).thenReturn(1);
+
+        // Act
+        boolean cancelled = ticketService.cancelReservation(5L);
+
+        // Assert
+        assertTrue(cancelled);
+        verify(ticketRepository, times(1)).cancelValidTicketsOfReservation(5L);
+        verify(ticketRepository, never()).save(any(Ticket.class));
+        verify(eventAudienceZoneRepository).recordCancellations(10L, 2);
+        verify(eventAudienceZoneRepository).recordCancellations(11L, 1);
+        verify(zoneCapacityLedger).releaseAfterCommit(10L, 2);
+        verify(zoneCapacityLedger).releaseAfterCommit(11L, 1);
+        verify(eventTicketCounters).applyAfterCommit(event.getId(), TicketStatus.VALID, TicketStatus.CANCELLED, 3);
+        verify(ticketValidationCache).markCancelledAfterCommit(argThat(ids -> ids.size() == 3));
+    }
+
+    @Test
+    void cancelReservationTickets_ShouldReturnFreedSeatsPerZone() {
+        // Arrange
+        List<ReservationTicketState> states = List.of(
+                ticketState(10L, TicketStatus.VALID),
+                ticketState(11L, TicketStatus.VALID));
+        when(ticketRepository.findStatesByReservationId(5L)).thenReturn(states);
+        when(ticketRepository.cancelValidTicketsOfReservation(5L)).thenReturn(2);
+        when(eventAudienceZoneRepository.recordCancellations(anyLong(), anyInt())).thenReturn(1);
+
+        // Act
+        Map<Long, Integer> freedSeats = ticketService.cancelReservationTickets(5L);
+
+        // Assert
+        assertEquals(Map.of(10L, 1, 11L, 1), freedSeats);
+        verifyNoInteractions(authUtils, reservationRepository);
+    }
+
+    @Test
+    void cancelReservation_TicketAlreadyUsed_ShouldFailWithoutUpdate() {
+        // Arrange
+        Reservation reservation = new Reservation();
+        reservation.setId(5L);
+        reservation.setUser(validUser);
+        when(reservationRepository.findById(5L)).thenReturn(Optional.of(reservation));
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        List<ReservationTicketState> states = List.of(
+                ticketState(10L, TicketStatus.VALID),
+                ticketState(10L, TicketStatus.USED));
+        when(ticketRepository.findStatesByReservationId(5L)).thenReturn(states);
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> ticketService.cancelReservation(5L));
+        verify(ticketRepository, never()).cancelValidTicketsOfReservation(anyLong());
+        verifyNoInteractions(zoneCapacityLedger, eventTicketCounters);
+    }
+
+    @Test
+    void cancelReservation_TicketValidatedConcurrently_ShouldFail() {
+        // Arrange
+        Reservation reservation = new Reservation();
+        reservation.setId(5L);
+        reservation.setUser(validUser);
+        when(reservationRepository.findById(5L)).thenReturn(Optional.of(reservation));
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        List<ReservationTicketState> states = List.of(
+                ticketState(10L, TicketStatus.VALID),
+                ticketState(10L, TicketStatus.VALID));
+        when(ticketRepository.findStatesByReservationId(5L)).thenReturn(states);
+        when(ticketRepository.cancelValidTicketsOfReservation(5L)).thenReturn(1);
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> ticketService.cancelReservation(5L));
+        verifyNoInteractions(zoneCapacityLedger, eventTicketCounters);
+        verify(eventAudienceZoneRepository, never()).recordCancellations(anyLong(), anyInt());
+    }
+
+    @Test
+    void validateTicket_CachedTicketAlreadyClaimed_ShouldRejectWithoutDatabase() {
+        // Arrange
+        UUID ticketId = validTicket.getId();
+        TicketValidationCache.CachedTicket cachedTicket = mock(TicketValidationCache.CachedTicket.class);
+        when(cachedTicket.getTicketId()).thenReturn(ticketId);
+        when(cachedTicket.getStatus()).thenReturn(TicketStatus.USED);
+        when(cachedTicket.getParticipantFirstName()).thenReturn("John");
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(ticketValidationCache.findById(ticketId)).thenReturn(Optional.of(cachedTicket));
+        when(ticketValidationCache.tryClaim(cachedTicket)).thenReturn(false);
+
+        // Act
+        TicketValidationResponseDto response = ticketService.validateTicket(ticketId);
+
+        // Assert
+        assertEquals(TicketStatus.USED, response.getStatus());
+        assertEquals("Ce billet a déjà été utilisé.", response.getMessage());
+        assertEquals("John", response.getParticipant().getFirstName());
+        verifyNoInteractions(ticketRepository, eventAudienceZoneRepository, eventStatisticsBroadcaster);
+    }
+
+    @Test
+    void validateTicket_CachedTicketForEndedEvent_ShouldReleaseClaim() {
+        // Arrange
+        UUID ticketId = validTicket.getId();
+        event.setEndDate(Instant.now().minusSeconds(60));
+        TicketValidationCache.CachedTicket cachedTicket = mock(TicketValidationCache.CachedTicket.class);
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(ticketValidationCache.findById(ticketId)).thenReturn(Optional.of(cachedTicket));
+        when(ticketValidationCache.tryClaim(cachedTicket)).thenReturn(true);
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(validTicket));
+
+        // Act
+        TicketValidationResponseDto response = ticketService.validateTicket(ticketId);
+
+        // Assert
+        assertEquals(TicketStatus.VALID, response.getStatus());
+        verify(ticketValidationCache).release(cachedTicket);
+        verify(ticketRepository, never()).save(any(Ticket.class));
     }
 
     @Test
@@ -248,8 +517,9 @@ public class TicketServiceImplTest {
         List<Ticket> tickets = Arrays.asList(ticket1, ticket2);
 
         when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
-        when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
-        when(ticketRepository.findAllByEventId(eventId)).thenReturn(tickets);
+        when(eventRepository.existsById(eventId)).thenReturn(true);
+        when(ticketRepository.searchEventTickets(any(TicketSearchCriteria.class), eq(0L), eq(11))).thenReturn(tickets);
+        when(ticketRepository.countEventTickets(any(TicketSearchCriteria.class))).thenReturn(2L);
 
         // Mock the DTO conversion
         TicketResponseDto dto1 = new TicketResponseDto();
@@ -261,7 +531,7 @@ public class TicketServiceImplTest {
         when(ticketMapper.toDto(ticket2)).thenReturn(dto2);
 
         // Act
-        PaginatedResponseDto<TicketResponseDto> result = ticketService.getEventTickets(eventId, null, null, pageable);
+        PaginatedResponseDto<TicketResponseDto> result = ticketService.getEventTickets(eventId, null, null, null, true, pageable);
 
         // Assert
         assertNotNull(result);
@@ -270,6 +540,57 @@ public class TicketServiceImplTest {
         assertEquals(0, result.getCurrentPage());
         assertEquals(10, result.getPageSize());
         assertEquals(1, result.getTotalPages());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getEventTickets_WithCursor_ShouldUseKeysetAndReturnNextCursor() {
+        // Arrange
+        Long eventId = event.getId();
+        Pageable pageable = PageRequest.of(3, 2);
+        Instant lastSeenDate = Instant.parse("2026-01-10T10:00:00Z");
+        UUID lastSeenId = UUID.randomUUID();
+        String cursor = new TicketCursor(lastSeenDate, lastSeenId).encode();
+
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Ticket ticket = new Ticket();
+            ticket.setId(UUID.randomUUID());
+            ticket.setEvent(event);
+            ticket.setStatus(TicketStatus.VALID);
+            ticket.setReservationDate(lastSeenDate.plusSeconds(i + 1));
+            tickets.add(ticket);
+            lenient().when(ticketMapper.toDto(ticket)).thenReturn(new TicketResponseDto());
+        }
+
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(eventRepository.existsById(eventId)).thenReturn(true);
+        ArgumentCaptor<TicketSearchCriteria> criteriaCaptor = ArgumentCaptor.forClass(TicketSearchCriteria.class);
+        when(ticketRepository.searchEventTickets(criteriaCaptor.capture(), eq(0L), eq(3))).thenReturn(tickets);
+
+        // Act
+        PaginatedResponseDto<TicketResponseDto> result = ticketService.getEventTickets(eventId, null, null, cursor, false, pageable);
+
+        // Assert
+        assertEquals(2, result.getItems().size());
+        assertEquals(-1, result.getTotalItems());
+        assertEquals(lastSeenDate, criteriaCaptor.getValue().getAfterReservationDate());
+        assertEquals(lastSeenId, criteriaCaptor.getValue().getAfterId());
+        TicketCursor next = TicketCursor.decode(result.getNextCursor());
+        assertEquals(tickets.get(1).getId(), next.getTicketId());
+        assertEquals(tickets.get(1).getReservationDate(), next.getReservationDate());
+        verify(ticketRepository, never()).countEventTickets(any());
+    }
+
+    @Test
+    void getEventTickets_InvalidCursor_ShouldThrowBadRequest() {
+        // Arrange
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(eventRepository.existsById(event.getId())).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () ->
+                ticketService.getEventTickets(event.getId(), null, null, "not-a-cursor", true, PageRequest.of(0, 10)));
     }
 
     @Test
@@ -303,11 +624,13 @@ public class TicketServiceImplTest {
         usedTicket.setParticipantLastName("Smith");
         usedTicket.setParticipantEmail("bob@example.com");
 
-        List<Ticket> allTickets = Arrays.asList(validTicket1, validTicket2, usedTicket);
+        List<Ticket> validTickets = Arrays.asList(validTicket1, validTicket2);
 
         when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
-        when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
-        when(ticketRepository.findAllByEventId(eventId)).thenReturn(allTickets);
+        when(eventRepository.existsById(eventId)).thenReturn(true);
+        ArgumentCaptor<TicketSearchCriteria> criteriaCaptor = ArgumentCaptor.forClass(TicketSearchCriteria.class);
+        when(ticketRepository.searchEventTickets(criteriaCaptor.capture(), eq(0L), eq(11))).thenReturn(validTickets);
+        when(ticketRepository.countEventTickets(any(TicketSearchCriteria.class))).thenReturn(2L);
 
         // Mock the DTO conversion
         TicketResponseDto dto1 = new TicketResponseDto();
@@ -319,12 +642,14 @@ public class TicketServiceImplTest {
         when(ticketMapper.toDto(validTicket2)).thenReturn(dto2);
 
         // Act - Filter by VALID status
-        PaginatedResponseDto<TicketResponseDto> result = ticketService.getEventTickets(eventId, TicketStatus.VALID, null, pageable);
+        PaginatedResponseDto<TicketResponseDto> result = ticketService.getEventTickets(eventId, TicketStatus.VALID, null, null, true, pageable);
 
         // Assert
         assertNotNull(result);
         assertEquals(2, result.getTotalItems());
         assertEquals(2, result.getItems().size());
+        assertEquals(TicketStatus.VALID, criteriaCaptor.getValue().getStatus());
+        assertEquals(eventId, criteriaCaptor.getValue().getEventId());
     }
 
     @Test
@@ -351,11 +676,13 @@ public class TicketServiceImplTest {
         ticket2.setParticipantLastName("Smith");
         ticket2.setParticipantEmail("bob@example.com");
 
-        List<Ticket> allTickets = Arrays.asList(ticket1, ticket2);
+        List<Ticket> matchingTickets = List.of(ticket1);
 
         when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
-        when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
-        when(ticketRepository.findAllByEventId(eventId)).thenReturn(allTickets);
+        when(eventRepository.existsById(eventId)).thenReturn(true);
+        ArgumentCaptor<TicketSearchCriteria> criteriaCaptor = ArgumentCaptor.forClass(TicketSearchCriteria.class);
+        when(ticketRepository.searchEventTickets(criteriaCaptor.capture(), eq(0L), eq(11))).thenReturn(matchingTickets);
+        when(ticketRepository.countEventTickets(any(TicketSearchCriteria.class))).thenReturn(1L);
 
         // Mock the DTO conversion
         TicketResponseDto dto1 = new TicketResponseDto();
@@ -364,12 +691,54 @@ public class TicketServiceImplTest {
         when(ticketMapper.toDto(ticket1)).thenReturn(dto1);
 
         // Act - Search for "alice"
-        PaginatedResponseDto<TicketResponseDto> result = ticketService.getEventTickets(eventId, null, searchTerm, pageable);
+        PaginatedResponseDto<TicketResponseDto> result = ticketService.getEventTickets(eventId, null, searchTerm, null, true, pageable);
 
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalItems());
         assertEquals(1, result.getItems().size());
+        assertEquals(searchTerm, criteriaCaptor.getValue().getSearch());
+        assertNull(criteriaCaptor.getValue().getTicketIds());
+    }
+
+    @Test
+    void getEventTickets_SearchResolvedByIndex_ShouldQueryMatchingIdsOnly() {
+        // Arrange
+        Long eventId = event.getId();
+        Pageable pageable = PageRequest.of(0, 10);
+        Set<UUID> matchingIds = Set.of(validTicket.getId());
+
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(eventRepository.existsById(eventId)).thenReturn(true);
+        when(participantSearchIndex.search(eventId, "elo")).thenReturn(Optional.of(matchingIds));
+        ArgumentCaptor<TicketSearchCriteria> criteriaCaptor = ArgumentCaptor.forClass(TicketSearchCriteria.class);
+        when(ticketRepository.searchEventTickets(criteriaCaptor.capture(), eq(0L), eq(11))).thenReturn(List.of(validTicket));
+        when(ticketRepository.countEventTickets(any(TicketSearchCriteria.class))).thenReturn(1L);
+        when(ticketMapper.toDto(validTicket)).thenReturn(new TicketResponseDto());
+
+        // Act
+        PaginatedResponseDto<TicketResponseDto> result = ticketService.getEventTickets(eventId, null, "elo", null, true, pageable);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertEquals(matchingIds, criteriaCaptor.getValue().getTicketIds());
+    }
+
+    @Test
+    void getEventTickets_NoIndexMatch_ShouldNotQueryDatabase() {
+        // Arrange
+        Long eventId = event.getId();
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(eventRepository.existsById(eventId)).thenReturn(true);
+        when(participantSearchIndex.search(eventId, "zzz")).thenReturn(Optional.of(Set.of()));
+
+        // Act
+        PaginatedResponseDto<TicketResponseDto> result = ticketService.getEventTickets(eventId, null, "zzz", null, true, PageRequest.of(0, 10));
+
+        // Assert
+        assertTrue(result.getItems().isEmpty());
+        assertEquals(0, result.getTotalItems());
+        verify(ticketRepository, never()).searchEventTickets(any(), anyLong(), anyInt());
     }
 
     @Test
@@ -379,51 +748,619 @@ public class TicketServiceImplTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
-        when(eventRepository.findById(nonExistentEventId)).thenReturn(Optional.empty());
+        when(eventRepository.existsById(nonExistentEventId)).thenReturn(false);
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
-            ticketService.getEventTickets(nonExistentEventId, null, null, pageable);
+            ticketService.getEventTickets(nonExistentEventId, null, null, null, true, pageable);
         });
     }
 
     @Test
-    void validateTicket_ShouldHandleStatisticsBroadcastingError() {
+    void validateTicketsBatch_MixedScans_ShouldValidateOnceAndBroadcastStatisticsOnce() {
         // Arrange
-        UUID ticketId = validTicket.getId();
+        Long eventId = event.getId();
+        Ticket concurrentTicket = new Ticket();
+        concurrentTicket.setId(UUID.randomUUID());
+        concurrentTicket.setStatus(TicketStatus.VALID);
+        concurrentTicket.setEventAudienceZone(zone);
+        UUID unknownId = UUID.randomUUID();
+        Instant scannedAt = Instant.now().minusSeconds(60);
+
+        BatchTicketValidationRequestDto request = new BatchTicketValidationRequestDto();
+        request.setScans(List.of(
+                new TicketScanDto(validTicket.getId(), null, scannedAt),
+                new TicketScanDto(null, validQrCode, scannedAt),
+                new TicketScanDto(null, invalidQrCode, scannedAt),
+                new TicketScanDto(unknownId, null, scannedAt),
+                new TicketScanDto(concurrentTicket.getId(), null, null)));
+
+        TicketScanEntry validEntry = scanEntry(validTicket);
+        TicketScanEntry invalidEntry = scanEntry(invalidTicket);
+        TicketScanEntry concurrentEntry = scanEntry(concurrentTicket);
         when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(validTicket));
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
+        when(ticketRepository.findScanEntriesByEventIdAndIdIn(eq(eventId), anyCollection()))
+                .thenReturn(List.of(validEntry, concurrentEntry));
+        when(ticketRepository.findScanEntriesByEventIdAndQrCodeValueIn(eq(eventId), anyCollection()))
+                .thenReturn(List.of(validEntry, invalidEntry));
+        // Le second billet a été validé par un autre scanner entre la lecture et l'UPDATE
+        when(ticketRepository.markUsedIfValid(anyMap())).thenReturn(Set.of(validTicket.getId()));
+        when(eventAudienceZoneRepository.incrementUsedCount(zone.getId(), 1)).thenReturn(1);
 
-        // Mock the ticket mapper for WebSocket broadcasting
-        TicketResponseDto mockTicketDto = new TicketResponseDto();
-        when(ticketMapper.toDto(validTicket)).thenReturn(mockTicketDto);
+        // Act
+        BatchTicketValidationResponseDto result = ticketService.validateTicketsBatch(eventId, request);
 
-        // Mock the statistics service to throw an exception
-        when(statisticsService.getEventTicketStats(event.getId())).thenThrow(new RuntimeException("Test exception"));
+        // Assert
+        assertEquals(1, result.getValidatedCount());
+        assertEquals(4, result.getRejectedCount());
+        assertEquals(List.of(TicketScanOutcome.VALIDATED, TicketScanOutcome.DUPLICATE, TicketScanOutcome.ALREADY_USED,
+                        TicketScanOutcome.NOT_FOUND, TicketScanOutcome.ALREADY_USED),
+                result.getResults().stream().map(TicketScanResultDto::getOutcome).toList());
+        assertEquals(scannedAt, result.getResults().get(0).getValidatedAt());
+
+        ArgumentCaptor<Map<UUID, Instant>> validationCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(ticketRepository).markUsedIfValid(validationCaptor.capture());
+        assertEquals(Set.of(validTicket.getId(), concurrentTicket.getId()), validationCaptor.getValue().keySet());
+        verify(eventAudienceZoneRepository).incrementUsedCount(zone.getId(), 1);
+        verify(eventStatisticsBroadcaster, times(1)).markDirty(eventId);
+        verify(eventTicketCounters, times(1)).applyAfterCommit(eventId, TicketStatus.VALID, TicketStatus.USED, 1);
+        verify(ticketRepository, never()).save(any(Ticket.class));
+    }
+
+    @Test
+    void validateTicketsBatch_ScanAfterEventEnd_ShouldBeRejected() {
+        // Arrange
+        Long eventId = event.getId();
+        event.setEndDate(Instant.now().minusSeconds(3600));
+        BatchTicketValidationRequestDto request = new BatchTicketValidationRequestDto();
+        request.setScans(List.of(
+                new TicketScanDto(validTicket.getId(), null, Instant.now().minusSeconds(7200)),
+                new TicketScanDto(null, invalidQrCode, null)));
+        Ticket lateTicket = new Ticket();
+        lateTicket.setId(UUID.randomUUID());
+        lateTicket.setStatus(TicketStatus.VALID);
+        lateTicket.setEventAudienceZone(zone);
+        lateTicket.setQrCodeValue(invalidQrCode);
+
+        TicketScanEntry validEntry = scanEntry(validTicket);
+        TicketScanEntry lateEntry = scanEntry(lateTicket);
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
+        when(ticketRepository.findScanEntriesByEventIdAndIdIn(eq(eventId), anyCollection())).thenReturn(List.of(validEntry));
+        when(ticketRepository.findScanEntriesByEventIdAndQrCodeValueIn(eq(eventId), anyCollection())).thenReturn(List.of(lateEntry));
+        when(ticketRepository.markUsedIfValid(anyMap())).thenReturn(Set.of(validTicket.getId()));
 
         // Act
-        TicketValidationResponseDto response = ticketService.validateTicket(ticketId);
+        BatchTicketValidationResponseDto result = ticketService.validateTicketsBatch(eventId, request);
+
+        // Assert : le scan fait pendant l'événement est accepté, celui reçu après la fin est refusé
+        assertEquals(TicketScanOutcome.VALIDATED, result.getResults().get(0).getOutcome());
+        assertEquals(TicketScanOutcome.EVENT_ENDED, result.getResults().get(1).getOutcome());
+    }
+
+    @Test
+    void validateTicketsBatch_SignedTokens_ShouldRejectForgedAndForeignCodesWithoutLookup() {
+        // Arrange
+        Long eventId = event.getId();
+        String token = ticketTokenCodec.encode(validTicket.getId(), eventId, zone.getId());
+        String foreignToken = ticketTokenCodec.encode(UUID.randomUUID(), 99L, 5L);
+        String forgedToken = token.substring(0, 10) + (token.charAt(10) == 'A' ? 'B' : 'A') + token.substring(11);
+        BatchTicketValidationRequestDto request = new BatchTicketValidationRequestDto();
+        request.setScans(List.of(
+                new TicketScanDto(null, token, null),
+                new TicketScanDto(null, forgedToken, null),
+                new TicketScanDto(null, foreignToken, null)));
+
+        TicketScanEntry validEntry = scanEntry(validTicket);
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
+        when(ticketRepository.findScanEntriesByEventIdAndIdIn(eventId, Set.of(validTicket.getId()))).thenReturn(List.of(validEntry));
+        when(ticketRepository.markUsedIfValid(anyMap())).thenReturn(Set.of(validTicket.getId()));
+        when(eventAudienceZoneRepository.incrementUsedCount(zone.getId(), 1)).thenReturn(1);
+
+        // Act
+        BatchTicketValidationResponseDto result = ticketService.validateTicketsBatch(eventId, request);
+
+        // Assert
+        assertEquals(List.of(TicketScanOutcome.VALIDATED, TicketScanOutcome.FORGED, TicketScanOutcome.WRONG_EVENT),
+                result.getResults().stream().map(TicketScanResultDto::getOutcome).toList());
+        verify(ticketRepository, never()).findScanEntriesByEventIdAndQrCodeValueIn(anyLong(), anyCollection());
+    }
+
+    @Test
+    void validateTicketByQrCode_ForgedOrForeignToken_ShouldBeRejectedWithoutDatabase() {
+        // Arrange
+        String foreignToken = ticketTokenCodec.encode(UUID.randomUUID(), 99L, 5L);
+        String token = ticketTokenCodec.encode(validTicket.getId(), event.getId(), zone.getId());
+        String forgedToken = token.substring(0, 10) + (token.charAt(10) == 'A' ? 'B' : 'A') + token.substring(11);
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> ticketService.validateTicketByQrCode(event.getId(), foreignToken));
+        assertThrows(BadRequestException.class, () -> ticketService.validateTicketByQrCode(event.getId(), forgedToken));
+        verifyNoInteractions(ticketRepository, ticketValidationCache);
+    }
+
+    @Test
+    void validateTicketByQrCode_LegacyQrCode_ShouldStillBeAccepted() {
+        // Arrange
+        UUID ticketId = validTicket.getId();
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(ticketValidationCache.findByQrCode(validQrCode)).thenReturn(Optional.empty());
+        when(ticketRepository.findByQrCodeValue(validQrCode)).thenReturn(Optional.of(validTicket));
+        when(ticketMapper.toDto(validTicket)).thenReturn(new TicketResponseDto());
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(validTicket));
+        when(ticketRepository.markUsedIfValid(eq(ticketId), any(Instant.class))).thenReturn(1);
+        when(eventAudienceZoneRepository.incrementUsedCount(zone.getId(), 1)).thenReturn(1);
+
+        // Act
+        TicketValidationResponseDto response = ticketService.validateTicketByQrCode(event.getId(), validQrCode);
 
         // Assert
-        assertNotNull(response);
         assertEquals(ticketId, response.getTicketId());
         assertEquals(TicketStatus.USED, response.getStatus());
-        assertEquals("Billet validé avec succès.", response.getMessage());
+        assertThrows(BadRequestException.class, () -> ticketService.validateTicketByQrCode(99L, validQrCode));
+    }
 
-        // Verify ticket was updated
-        verify(ticketRepository).save(validTicket);
-        assertEquals(TicketStatus.USED, validTicket.getStatus());
-        assertNotNull(validTicket.getValidationDate());
+    @Test
+    void validateTicket_ShouldNotComputeStatisticsOnRequestThread() {
+        // Arrange
+        UUID ticketId = validTicket.getId();
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(validTicket));
+        when(ticketRepository.markUsedIfValid(eq(ticketId), any(Instant.class))).thenReturn(1);
+        when(ticketMapper.toDto(validTicket)).thenReturn(new TicketResponseDto());
 
-        // Verify WebSocket broadcasting for ticket update (should still happen)
-        verify(messagingTemplate).convertAndSend(
-                eq("/topic/event/" + event.getId() + "/ticket-update"),
-                any(TicketResponseDto.class));
+        // Act
+        TicketValidationResponseDto response = ticketService.validateTicket(ticketId);
 
-        // Verify statistics service was called but broadcasting statistics failed
-        verify(statisticsService).getEventTicketStats(event.getId());
+        // Assert
+        assertEquals(TicketStatus.USED, response.getStatus());
+        verify(eventStatisticsBroadcaster).markDirty(event.getId());
         verify(messagingTemplate, never()).convertAndSend(
                 eq("/topic/event/" + event.getId() + "/statistics"),
-                any(EventTicketStatisticsDto.class));
+                any(Object.class));
+    }
+
+    @Test
+    void createReservation_ShouldPreAssignTicketIdsBeforeSaving() {
+        // Arrange
+        event.setStatus(EventStatus.PUBLISHED);
+        event.setAudienceZones(List.of(zone));
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        when(zoneCapacityLedger.tryReserve(zone.getId(), zone.getAllocatedCapacity(), 3)).thenReturn(true);
+        when(eventAudienceZoneRepository.incrementSoldCounts(Map.of(zone.getId(), 3))).thenReturn(Set.of(zone.getId()));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation reservation = invocation.getArgument(0);
+            reservation.setId(1L);
+            reservation.setReservationDate(Instant.now());
+            return reservation;
+        });
+        when(ticketMapper.toDto(any(Ticket.class))).thenAnswer(invocation -> new TicketResponseDto());
+
+        ReservationRequestDto request = new ReservationRequestDto();
+        request.setEventId(event.getId());
+        request.setAudienceZoneId(zone.getId());
+        request.setParticipants(List.of(participant("A"), participant("B"), participant("C")));
+
+        // Act
+        ReservationConfirmationDto confirmation = ticketService.createReservation(request);
+
+        // Assert
+        ArgumentCaptor<Reservation> captor = ArgumentCaptor.forClass(Reservation.class);
+        verify(reservationRepository).save(captor.capture());
+        List<Ticket> savedTickets = captor.getValue().getTickets();
+        assertEquals(3, savedTickets.size());
+        assertTrue(savedTickets.stream().allMatch(ticket -> ticket.getId() != null && ticket.getQrCodeValue() != null));
+        // Chaque QR code est un jeton signé désignant son billet, son événement et sa zone
+        assertTrue(savedTickets.stream().allMatch(ticket -> ticketTokenCodec.verify(ticket.getQrCodeValue())
+                .filter(token -> token.getTicketId().equals(ticket.getId()))
+                .filter(token -> token.getEventId().equals(event.getId()) && token.getZoneId().equals(zone.getId()))
+                .isPresent()));
+        assertEquals(3, savedTickets.stream().map(Ticket::getId).distinct().count());
+        assertEquals(3, confirmation.getTickets().size());
+        verify(ticketRepository, never()).save(any(Ticket.class));
+        verify(mailOutboxService).enqueueTickets(eq(validUser.getEmail()), any(), eq(event.getName()), anyList());
+        verify(eventTicketCounters).applyAfterCommit(event.getId(), null, TicketStatus.VALID, 3);
+    }
+
+    @Test
+    void getMyReservations_ShouldLoadPageWithTwoQueriesNewestFirst() {
+        // Arrange
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        Pageable requested = PageRequest.of(0, 2, Sort.by("id"));
+        when(reservationRepository.findIdsByUserIdNewestFirst(validUser.getId(), PageRequest.of(0, 2)))
+                .thenReturn(new PageImpl<>(List.of(20L, 10L), PageRequest.of(0, 2), 5));
+        List<ReservationTicketRow> rows = List.of(
+                ticketRow(20L, "Alice"),
+                ticketRow(20L, "Bob"),
+                ticketRow(10L, "Carol"));
+        when(reservationRepository.findTicketRowsByReservationIdIn(List.of(20L, 10L))).thenReturn(rows);
+
+        // Act
+        PaginatedResponseDto<ReservationConfirmationDto> result = ticketService.getMyReservations(requested);
+
+        // Assert
+        assertEquals(5, result.getTotalItems());
+        assertEquals(3, result.getTotalPages());
+        assertEquals(List.of(20L, 10L), result.getItems().stream().map(ReservationConfirmationDto::getReservationId).toList());
+        assertEquals(2, result.getItems().get(0).getTickets().size());
+        TicketResponseDto carolTicket = result.getItems().get(1).getTickets().get(0);
+        assertEquals("Carol", carolTicket.getParticipant().getFirstName());
+        assertEquals(event.getName(), carolTicket.getEventSnapshot().getName());
+        assertEquals(zone.getId(), carolTicket.getAudienceZoneSnapshot().getAudienceZoneId());
+        assertEquals(structure.getName(), carolTicket.getStructureSnapshot().getName());
+
+        // Une requête pour les IDs, une pour les billets, aucun chargement d'entité par billet
+        verify(reservationRepository, times(1)).findIdsByUserIdNewestFirst(anyLong(), any(Pageable.class));
+        verify(reservationRepository, times(1)).findTicketRowsByReservationIdIn(anyCollection());
+        verifyNoMoreInteractions(reservationRepository);
+        verifyNoInteractions(ticketRepository, ticketMapper);
+    }
+
+    @Test
+    void getMyReservations_EmptyPage_ShouldNotLoadTickets() {
+        // Arrange
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(reservationRepository.findIdsByUserIdNewestFirst(validUser.getId(), PageRequest.of(3, 10)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(3, 10), 12));
+
+        // Act
+        PaginatedResponseDto<ReservationConfirmationDto> result = ticketService.getMyReservations(PageRequest.of(3, 10));
+
+        // Assert
+        assertTrue(result.getItems().isEmpty());
+        assertEquals(12, result.getTotalItems());
+        verify(reservationRepository, never()).findTicketRowsByReservationIdIn(anyCollection());
+    }
+
+    @Test
+    void createReservation_AcrossZones_ShouldReserveAllZonesInOneBatchAndSendOneConfirmation() {
+        // Arrange
+        EventAudienceZone standingZone = new EventAudienceZone();
+        standingZone.setId(11L);
+        standingZone.setEvent(event);
+        standingZone.setAllocatedCapacity(50);
+        event.setStatus(EventStatus.PUBLISHED);
+        event.setAudienceZones(List.of(zone, standingZone));
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        when(zoneCapacityLedger.tryReserve(anyLong(), anyInt(), anyInt())).thenReturn(true);
+        when(eventAudienceZoneRepository.incrementSoldCounts(Map.of(zone.getId(), 2, standingZone.getId(), 2)))
+                .thenReturn(Set.of(zone.getId(), standingZone.getId()));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation reservation = invocation.getArgument(0);
+            reservation.setId(1L);
+            reservation.setReservationDate(Instant.now());
+            return reservation;
+        });
+        when(ticketMapper.toDto(any(Ticket.class))).thenAnswer(invocation -> new TicketResponseDto());
+
+        ParticipantInfoDto firstStanding = participant("C");
+        firstStanding.setAudienceZoneId(standingZone.getId());
+        ParticipantInfoDto secondStanding = participant("D");
+        secondStanding.setAudienceZoneId(standingZone.getId());
+        ReservationRequestDto request = new ReservationRequestDto();
+        request.setEventId(event.getId());
+        request.setAudienceZoneId(zone.getId());
+        request.setParticipants(List.of(participant("A"), firstStanding, participant("B"), secondStanding));
+
+        // Act
+        ticketService.createReservation(request);
+
+        // Assert
+        ArgumentCaptor<Reservation> captor = ArgumentCaptor.forClass(Reservation.class);
+        verify(reservationRepository, times(1)).save(captor.capture());
+        assertEquals(List.of(zone.getId(), standingZone.getId(), zone.getId(), standingZone.getId()),
+                captor.getValue().getTickets().stream().map(ticket -> ticket.getEventAudienceZone().getId()).toList());
+        verify(zoneCapacityLedger).tryReserve(zone.getId(), zone.getAllocatedCapacity(), 2);
+        verify(zoneCapacityLedger).tryReserve(standingZone.getId(), standingZone.getAllocatedCapacity(), 2);
+        verify(eventAudienceZoneRepository, times(1)).incrementSoldCounts(anyMap());
+        verify(mailOutboxService, times(1)).enqueueTickets(eq(validUser.getEmail()), any(), eq(event.getName()), anyList());
+    }
+
+    @Test
+    void createReservation_AcrossZonesWithOneZoneFull_ShouldRejectWholeReservation() {
+        // Arrange
+        EventAudienceZone standingZone = new EventAudienceZone();
+        standingZone.setId(11L);
+        standingZone.setEvent(event);
+        standingZone.setAllocatedCapacity(50);
+        event.setStatus(EventStatus.PUBLISHED);
+        event.setAudienceZones(List.of(zone, standingZone));
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        when(zoneCapacityLedger.tryReserve(anyLong(), anyInt(), anyInt())).thenReturn(true);
+        // Une autre instance a vendu les dernières places debout : seul l'UPDATE de la première zone aboutit
+        when(eventAudienceZoneRepository.incrementSoldCounts(anyMap())).thenReturn(Set.of(zone.getId()));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation reservation = invocation.getArgument(0);
+            reservation.setId(1L);
+            reservation.setReservationDate(Instant.now());
+            return reservation;
+        });
+        when(ticketMapper.toDto(any(Ticket.class))).thenAnswer(invocation -> new TicketResponseDto());
+
+        ParticipantInfoDto standing = participant("B");
+        standing.setAudienceZoneId(standingZone.getId());
+        ReservationRequestDto request = new ReservationRequestDto();
+        request.setEventId(event.getId());
+        request.setAudienceZoneId(zone.getId());
+        request.setParticipants(List.of(participant("A"), standing));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> ticketService.createReservation(request));
+        // Les UPDATE des compteurs partent en dernier, après l'envoi des INSERT : l'exception annule tout ce qui précède
+        InOrder inOrder = inOrder(reservationRepository, mailOutboxService, eventAudienceZoneRepository);
+        inOrder.verify(reservationRepository).save(any(Reservation.class));
+        inOrder.verify(mailOutboxService).enqueueTickets(eq(validUser.getEmail()), any(), eq(event.getName()), anyList());
+        inOrder.verify(reservationRepository).flush();
+        inOrder.verify(eventAudienceZoneRepository).incrementSoldCounts(anyMap());
+    }
+
+    @Test
+    void createReservation_WaitingRoomOpenAndNotAdmitted_ShouldBeRejectedBeforeLoadingTheEvent() {
+        // Arrange
+        UUID queueToken = UUID.randomUUID();
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(waitingRoom.isAdmitted(event.getId(), validUser.getId(), queueToken)).thenReturn(false);
+        ReservationRequestDto request = new ReservationRequestDto();
+        request.setEventId(event.getId());
+        request.setAudienceZoneId(zone.getId());
+        request.setParticipants(List.of(participant("A")));
+        request.setWaitingRoomToken(queueToken);
+
+        // Act & Assert
+        assertThrows(WaitingRoomException.class, () -> ticketService.createReservation(request));
+        verifyNoInteractions(eventRepository, zoneCapacityLedger, eventAudienceZoneRepository, reservationRepository);
+    }
+
+    @Test
+    void createReservation_WithoutZone_ShouldBeRejected() {
+        // Arrange
+        event.setStatus(EventStatus.PUBLISHED);
+        event.setAudienceZones(List.of(zone));
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        ReservationRequestDto request = new ReservationRequestDto();
+        request.setEventId(event.getId());
+        request.setParticipants(List.of(participant("A")));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> ticketService.createReservation(request));
+        verifyNoInteractions(zoneCapacityLedger, eventAudienceZoneRepository);
+    }
+
+    @Test
+    void createReservation_WithHold_ShouldConvertHoldInsteadOfTakingNewPlaces() {
+        // Arrange
+        event.setStatus(EventStatus.PUBLISHED);
+        event.setAudienceZones(List.of(zone));
+        UUID holdId = UUID.randomUUID();
+        SeatHoldRegistry.SeatHold hold = new SeatHoldRegistry.SeatHold(holdId, validUser.getId(), event.getId(), zone.getId(), 2,
+                Instant.now().plusSeconds(300));
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        when(seatHoldRegistry.convert(holdId, validUser.getId())).thenReturn(hold);
+        when(eventAudienceZoneRepository.incrementSoldCounts(Map.of(zone.getId(), 2))).thenReturn(Set.of(zone.getId()));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation reservation = invocation.getArgument(0);
+            reservation.setId(1L);
+            reservation.setReservationDate(Instant.now());
+            return reservation;
+        });
+        when(ticketMapper.toDto(any(Ticket.class))).thenAnswer(invocation -> new TicketResponseDto());
+
+        ReservationRequestDto request = new ReservationRequestDto();
+        request.setEventId(event.getId());
+        request.setAudienceZoneId(zone.getId());
+        request.setParticipants(List.of(participant("A"), participant("B")));
+        request.setHoldId(holdId);
+
+        // Act
+        ReservationConfirmationDto confirmation = ticketService.createReservation(request);
+
+        // Assert
+        assertEquals(2, confirmation.getTickets().size());
+        verify(zoneCapacityLedger, never()).tryReserve(anyLong(), anyInt(), anyInt());
+        // Une promotion de liste d'attente portant ces places est confirmée avec la réservation
+        verify(waitlistEntryRepository).markConfirmedByHoldId(holdId);
+    }
+
+    @Test
+    void createReservation_SeatTakenByAnotherInstance_ShouldBeRejectedByTheUniqueIndex() {
+        // Arrange
+        event.setStatus(EventStatus.PUBLISHED);
+        event.setAudienceZones(List.of(zone));
+        AudienceZoneTemplate template = new AudienceZoneTemplate();
+        template.setSeatingType(SeatingType.SEATED);
+        template.setSeatRows(10);
+        template.setSeatsPerRow(20);
+        zone.setTemplate(template);
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        when(zoneCapacityLedger.tryReserve(zone.getId(), zone.getAllocatedCapacity(), 1)).thenReturn(true);
+        when(seatMapRegistry.claim(eq(zone.getId()), eq(10), eq(20), anyList()))
+                .thenReturn(List.of(new SeatMapRegistry.Seat(3, 7)));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        // Le plan de salle de cette instance ne connaît pas le billet créé par une autre instance
+        doThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException("Duplicate entry '10-3-7' for key 'tickets.uk_tickets_active_seat'")))
+                .when(reservationRepository).flush();
+
+        ReservationRequestDto request = new ReservationRequestDto();
+        request.setEventId(event.getId());
+        request.setAudienceZoneId(zone.getId());
+        request.setParticipants(List.of(participant("A")));
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> ticketService.createReservation(request));
+        assertTrue(exception.getMessage().contains("sièges"));
+        verify(mailOutboxService, never()).enqueueTickets(any(), any(), any(), anyList());
+        verify(eventAudienceZoneRepository, never()).incrementSoldCounts(anyMap());
+    }
+
+    @Test
+    void createReservation_WithHoldOfAnotherSize_ShouldBeRejected() {
+        // Arrange
+        event.setStatus(EventStatus.PUBLISHED);
+        event.setAudienceZones(List.of(zone));
+        UUID holdId = UUID.randomUUID();
+        SeatHoldRegistry.SeatHold hold = new SeatHoldRegistry.SeatHold(holdId, validUser.getId(), event.getId(), zone.getId(), 3,
+                Instant.now().plusSeconds(300));
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        when(seatHoldRegistry.convert(holdId, validUser.getId())).thenReturn(hold);
+
+        ReservationRequestDto request = new ReservationRequestDto();
+        request.setEventId(event.getId());
+        request.setAudienceZoneId(zone.getId());
+        request.setParticipants(List.of(participant("A")));
+        request.setHoldId(holdId);
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> ticketService.createReservation(request));
+        verify(eventAudienceZoneRepository, never()).incrementSoldCounts(anyMap());
+        verify(reservationRepository, never()).save(any(Reservation.class));
+    }
+
+    @Test
+    void createReservation_IdempotencyKeyRetried_ShouldCreateOnceAndReplay() {
+        // Arrange
+        ReservationRequestDto request = new ReservationRequestDto();
+        request.setEventId(event.getId());
+        request.setAudienceZoneId(zone.getId());
+        request.setParticipants(List.of(participant("Alice")));
+        ReservationConfirmationDto created = new ReservationConfirmationDto();
+        created.setReservationId(7L);
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(reservationRepository.findIdByUserIdAndIdempotencyKey(validUser.getId(), "key-1")).thenReturn(Optional.empty());
+        when(transactionTemplate.execute(any())).thenReturn(created);
+
+        // Act
+        ReservationConfirmationDto first = ticketService.createReservation(request, "key-1");
+        ReservationConfirmationDto retry = ticketService.createReservation(request, "key-1");
+
+        // Assert
+        assertSame(first, retry);
+        verify(transactionTemplate, times(1)).execute(any());
+        verify(reservationRepository, times(1)).findIdByUserIdAndIdempotencyKey(anyLong(), anyString());
+    }
+
+    @Test
+    void createReservation_IdempotencyKeyStoredInDatabase_ShouldReplayExistingReservation() {
+        // Arrange
+        ReservationRequestDto request = new ReservationRequestDto();
+        request.setEventId(event.getId());
+        request.setAudienceZoneId(zone.getId());
+        request.setParticipants(List.of(participant("Alice")));
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(reservationRepository.findIdByUserIdAndIdempotencyKey(validUser.getId(), "key-1")).thenReturn(Optional.of(7L));
+        List<ReservationTicketRow> rows = List.of(ticketRow(7L, "Alice"));
+        when(reservationRepository.findTicketRowsByReservationIdIn(List.of(7L))).thenReturn(rows);
+
+        // Act
+        ReservationConfirmationDto confirmation = ticketService.createReservation(request, "key-1");
+
+        // Assert
+        assertEquals(7L, confirmation.getReservationId());
+        assertEquals("Alice", confirmation.getTickets().get(0).getParticipant().getFirstName());
+        verifyNoInteractions(transactionTemplate, zoneCapacityLedger, mailOutboxService);
+    }
+
+    @Test
+    void createReservation_IdempotencyKeyInsertedByAnotherInstance_ShouldReplayItsReservation() {
+        // Arrange
+        ReservationRequestDto request = new ReservationRequestDto();
+        request.setEventId(event.getId());
+        request.setAudienceZoneId(zone.getId());
+        request.setParticipants(List.of(participant("Alice")));
+        when(authUtils.getCurrentAuthenticatedUser()).thenReturn(validUser);
+        when(reservationRepository.findIdByUserIdAndIdempotencyKey(validUser.getId(), "key-1"))
+                .thenReturn(Optional.empty(), Optional.of(7L));
+        when(transactionTemplate.execute(any())).thenThrow(new DataIntegrityViolationException("UK_reservations_user_idempotency_key"));
+        List<ReservationTicketRow> rows = List.of(ticketRow(7L, "Alice"));
+        when(reservationRepository.findTicketRowsByReservationIdIn(List.of(7L))).thenReturn(rows);
+
+        // Act
+        ReservationConfirmationDto confirmation = ticketService.createReservation(request, "key-1");
+
+        // Assert
+        assertEquals(7L, confirmation.getReservationId());
+    }
+
+    private ParticipantInfoDto participant(String firstName) {
+        ParticipantInfoDto participant = new ParticipantInfoDto();
+        participant.setFirstName(firstName);
+        participant.setLastName("Doe");
+        participant.setEmail(firstName.toLowerCase() + "@example.com");
+        participant.setSendTicketByEmail(false);
+        return participant;
+    }
+
+    @Test
+    void getTicketQrCode_UncachedTicket_ShouldRenderValueFromDatabase() {
+        // Arrange
+        byte[] image = {1, 2, 3};
+        when(ticketValidationCache.findById(validTicket.getId())).thenReturn(Optional.empty());
+        when(ticketRepository.findQrCodeValueById(validTicket.getId())).thenReturn(Optional.of(validTicket.getQrCodeValue()));
+        when(qrCodeRenderer.render(validTicket.getQrCodeValue(), QrImageFormat.SVG)).thenReturn(image);
+
+        // Act
+        byte[] result = ticketService.getTicketQrCode(validTicket.getId(), QrImageFormat.SVG);
+
+        // Assert
+        assertSame(image, result);
+    }
+
+    @Test
+    void getTicketQrCode_UnknownTicket_ShouldThrowNotFound() {
+        // Arrange
+        UUID ticketId = UUID.randomUUID();
+        when(ticketValidationCache.findById(ticketId)).thenReturn(Optional.empty());
+        when(ticketRepository.findQrCodeValueById(ticketId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> ticketService.getTicketQrCode(ticketId, QrImageFormat.PNG));
+        verifyNoInteractions(qrCodeRenderer);
+    }
+
+    private TicketScanEntry scanEntry(Ticket ticket) {
+        TicketScanEntry entry = mock(TicketScanEntry.class);
+        lenient().when(entry.getId()).thenReturn(ticket.getId());
+        lenient().when(entry.getQrCodeValue()).thenReturn(ticket.getQrCodeValue());
+        lenient().when(entry.getStatus()).thenReturn(ticket.getStatus());
+        lenient().when(entry.getValidationDate()).thenReturn(ticket.getValidationDate());
+        lenient().when(entry.getZoneId()).thenReturn(ticket.getEventAudienceZone() != null ? ticket.getEventAudienceZone().getId() : null);
+        lenient().when(entry.getParticipantFirstName()).thenReturn(ticket.getParticipantFirstName());
+        lenient().when(entry.getParticipantLastName()).thenReturn(ticket.getParticipantLastName());
+        lenient().when(entry.getParticipantEmail()).thenReturn(ticket.getParticipantEmail());
+        return entry;
+    }
+
+    private ReservationTicketRow ticketRow(Long reservationId, String firstName) {
+        ReservationTicketRow row = mock(ReservationTicketRow.class);
+        lenient().when(row.getReservationId()).thenReturn(reservationId);
+        lenient().when(row.getReservationDate()).thenReturn(Instant.now().minusSeconds(reservationId));
+        lenient().when(row.getTicketId()).thenReturn(UUID.randomUUID());
+        lenient().when(row.getStatus()).thenReturn(TicketStatus.VALID);
+        lenient().when(row.getParticipantFirstName()).thenReturn(firstName);
+        lenient().when(row.getEventId()).thenReturn(event.getId());
+        lenient().when(row.getEventName()).thenReturn(event.getName());
+        lenient().when(row.getEventStartDate()).thenReturn(event.getStartDate());
+        lenient().when(row.getStructureId()).thenReturn(structure.getId());
+        lenient().when(row.getStructureName()).thenReturn(structure.getName());
+        lenient().when(row.getZoneId()).thenReturn(zone.getId());
+        return row;
+    }
+
+    private ReservationTicketState ticketState(Long zoneId, TicketStatus status) {
+        ReservationTicketState state = mock(ReservationTicketState.class);
+        lenient().when(state.getId()).thenReturn(UUID.randomUUID());
+        lenient().when(state.getEventId()).thenReturn(event.getId());
+        lenient().when(state.getZoneId()).thenReturn(zoneId);
+        lenient().when(state.getStatus()).thenReturn(status);
+        return state;
     }
 }
@@ -0,0 +1,172 @@
+package edu.cda.project.ticklybackend.services.impl;
+
+import edu.cda.project.ticklybackend.enums.EventStatus;
+import edu.cda.project.ticklybackend.enums.WaitlistStatus;
+import edu.cda.project.ticklybackend.repositories.event.EventAudienceZoneRepository;
+import edu.cda.project.ticklybackend.repositories.event.EventRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.WaitlistEntryRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.WaitlistPromotionCandidate;
+import edu.cda.project.ticklybackend.repositories.ticket.WaitlistQueueEntry;
+import edu.cda.project.ticklybackend.services.interfaces.MailOutboxService;
+import edu.cda.project.ticklybackend.services.ticketing.SeatHoldRegistry;
+import edu.cda.project.ticklybackend.services.ticketing.ZoneCapacityLedger;
+import edu.cda.project.ticklybackend.services.ticketing.ZoneWaitlist;
+import edu.cda.project.ticklybackend.utils.AuthUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistServiceImplTest {
+
+    private static final Long EVENT_ID = 1L;
+    private static final Long ZONE_ID = 10L;
+    private static final int CAPACITY = 5;
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private AuthUtils authUtils;
+    @Mock
+    private MailOutboxService mailOutboxService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private TicketRepository ticketRepository;
+    @Mock
+    private EventAudienceZoneRepository eventAudienceZoneRepository;
+
+    private ZoneCapacityLedger ledger;
+    private ZoneWaitlist zoneWaitlist;
+    private WaitlistServiceImpl waitlistService;
+    private final List<WaitlistQueueEntry> queue = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ledger = new ZoneCapacityLedger(ticketRepository, eventAudienceZoneRepository);
+        SeatHoldRegistry seatHoldRegistry = new SeatHoldRegistry(ledger);
+        ReflectionTestUtils.setField(seatHoldRegistry, "ttlSeconds", 300L);
+        zoneWaitlist = new ZoneWaitlist(ledger, waitlistEntryRepository);
+        ReflectionTestUtils.invokeMethod(zoneWaitlist, "registerReleaseListener");
+        waitlistService = new WaitlistServiceImpl(waitlistEntryRepository, eventRepository, authUtils, zoneWaitlist,
+                ledger, seatHoldRegistry, mailOutboxService, transactionTemplate);
+        ReflectionTestUtils.setField(waitlistService, "promotionHoldMinutes", 30L);
+
+        lenient().when(waitlistEntryRepository.findQueueByZoneId(ZONE_ID)).thenReturn(queue);
+        lenient().when(waitlistEntryRepository.markPromoted(anyLong(), any(), any(), any())).thenReturn(1);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void promoteWaitlists_PlacesFreed_ShouldPromoteInArrivalOrder() {
+        // Arrange : zone complète, puis 3 billets annulés
+        waiting(1L, 2);
+        waiting(2L, 1);
+        waiting(3L, 2);
+        when(eventAudienceZoneRepository.findSoldCountById(ZONE_ID)).thenReturn(Optional.of(2));
+        ledger.release(ZONE_ID, 3);
+
+        // Act
+        int promoted = waitlistService.promoteWaitlists();
+
+        // Assert
+        assertEquals(2, promoted);
+        verify(waitlistEntryRepository).markPromoted(eq(1L), any(), any(), any());
+        verify(waitlistEntryRepository).markPromoted(eq(2L), any(), any(), any());
+        verify(waitlistEntryRepository, never()).markPromoted(eq(3L), any(), any(), any());
+        verify(mailOutboxService, times(2)).enqueueWaitlistPromotion(anyString(), anyString(), eq(EVENT_ID), anyString(),
+                anyString(), anyInt(), any(), any());
+        assertEquals(0, ledger.remaining(ZONE_ID).orElseThrow());
+        assertEquals(1, zoneWaitlist.position(ZONE_ID, 3L));
+    }
+
+    @Test
+    void promoteWaitlists_HeadDoesNotFit_ShouldNotLetLaterEntriesJumpAhead() {
+        // Arrange : une seule place libérée, la tête de file en attend deux
+        waiting(1L, 2);
+        waiting(2L, 1);
+        when(eventAudienceZoneRepository.findSoldCountById(ZONE_ID)).thenReturn(Optional.of(4));
+        ledger.release(ZONE_ID, 1);
+
+        // Act
+        int promoted = waitlistService.promoteWaitlists();
+
+        // Assert
+        assertEquals(0, promoted);
+        verify(waitlistEntryRepository, never()).markPromoted(anyLong(), any(), any(), any());
+        assertEquals(1, ledger.remaining(ZONE_ID).orElseThrow());
+        assertEquals(1, zoneWaitlist.position(ZONE_ID, 1L));
+    }
+
+    @Test
+    void promoteWaitlists_EntryLeftMeanwhile_ShouldGiveItsPlacesToTheNextEntry() {
+        // Arrange
+        waiting(1L, 2);
+        waiting(2L, 2);
+        when(eventAudienceZoneRepository.findSoldCountById(ZONE_ID)).thenReturn(Optional.of(3));
+        when(waitlistEntryRepository.markPromoted(eq(1L), any(), any(), any())).thenReturn(0);
+        ledger.release(ZONE_ID, 2);
+
+        // Act
+        int promoted = waitlistService.promoteWaitlists();
+
+        // Assert
+        assertEquals(1, promoted);
+        verify(waitlistEntryRepository).markPromoted(eq(2L), any(), any(), any());
+        verify(mailOutboxService, times(1)).enqueueWaitlistPromotion(anyString(), anyString(), anyLong(), anyString(),
+                anyString(), anyInt(), any(), any());
+        // Les places retenues pour l'inscription quittée sont passées à la suivante
+        assertEquals(0, ledger.remaining(ZONE_ID).orElseThrow());
+    }
+
+    @Test
+    void promoteWaitlists_NoPlacesFreed_ShouldNotTouchTheQueues() {
+        // Act
+        int promoted = waitlistService.promoteWaitlists();
+
+        // Assert
+        assertEquals(0, promoted);
+        verifyNoInteractions(waitlistEntryRepository, transactionTemplate);
+    }
+
+    private void waiting(Long id, int seats) {
+        WaitlistQueueEntry entry = mock(WaitlistQueueEntry.class);
+        lenient().when(entry.getId()).thenReturn(id);
+        lenient().when(entry.getSeats()).thenReturn(seats);
+        queue.add(entry);
+
+        WaitlistPromotionCandidate candidate = mock(WaitlistPromotionCandidate.class);
+        lenient().when(candidate.getId()).thenReturn(id);
+        lenient().when(candidate.getStatus()).thenReturn(WaitlistStatus.WAITING);
+        lenient().when(candidate.getSeats()).thenReturn(seats);
+        lenient().when(candidate.getUserId()).thenReturn(100L + id);
+        lenient().when(candidate.getUserEmail()).thenReturn("user" + id + "@example.com");
+        lenient().when(candidate.getUserFirstName()).thenReturn("User " + id);
+        lenient().when(candidate.getEventId()).thenReturn(EVENT_ID);
+        lenient().when(candidate.getEventName()).thenReturn("Concert");
+        lenient().when(candidate.getEventStatus()).thenReturn(EventStatus.PUBLISHED);
+        lenient().when(candidate.getEventStartDate()).thenReturn(Instant.now().plusSeconds(86400));
+        lenient().when(candidate.getZoneId()).thenReturn(ZONE_ID);
+        lenient().when(candidate.getZoneName()).thenReturn("Fosse");
+        lenient().when(candidate.getAllocatedCapacity()).thenReturn(CAPACITY);
+        lenient().when(waitlistEntryRepository.findPromotionCandidate(id)).thenReturn(Optional.of(candidate));
+    }
+}
@@ -0,0 +1,230 @@
+package edu.cda.project.ticklybackend.services.impl;
+
+import edu.cda.project.ticklybackend.dtos.event.ZoneBulkOperationDto;
+import edu.cda.project.ticklybackend.dtos.event.ZoneBulkOperationRequestDto;
+import edu.cda.project.ticklybackend.enums.TicketStatus;
+import edu.cda.project.ticklybackend.enums.ZoneBulkOperationStatus;
+import edu.cda.project.ticklybackend.enums.ZoneBulkOperationType;
+import edu.cda.project.ticklybackend.exceptions.BadRequestException;
+import edu.cda.project.ticklybackend.models.event.ZoneBulkOperation;
+import edu.cda.project.ticklybackend.repositories.event.EventAudienceZoneRepository;
+import edu.cda.project.ticklybackend.repositories.event.EventZoneSummary;
+import edu.cda.project.ticklybackend.repositories.event.ZoneBulkOperationRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.ZoneCancellationCandidate;
+import edu.cda.project.ticklybackend.services.interfaces.MailOutboxService;
+import edu.cda.project.ticklybackend.services.ticketing.EventTicketCounters;
+import edu.cda.project.ticklybackend.services.ticketing.SeatMapRegistry;
+import edu.cda.project.ticklybackend.services.ticketing.TicketJournal;
+import edu.cda.project.ticklybackend.services.ticketing.TicketValidationCache;
+import edu.cda.project.ticklybackend.services.ticketing.ZoneCapacityLedger;
+import edu.cda.project.ticklybackend.utils.AuthUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ZoneBulkOperationServiceImplTest {
+
+    private static final Long EVENT_ID = 1L;
+    private static final Long ZONE_ID = 10L;
+    private static final Long OPERATION_ID = 100L;
+
+    @Mock
+    private ZoneBulkOperationRepository zoneBulkOperationRepository;
+    @Mock
+    private EventAudienceZoneRepository eventAudienceZoneRepository;
+    @Mock
+    private TicketRepository ticketRepository;
+    @Mock
+    private AuthUtils authUtils;
+    @Mock
+    private ZoneCapacityLedger zoneCapacityLedger;
+    @Mock
+    private SeatMapRegistry seatMapRegistry;
+    @Mock
+    private EventTicketCounters eventTicketCounters;
+    @Mock
+    private TicketValidationCache ticketValidationCache;
+    @Mock
+    private MailOutboxService mailOutboxService;
+    @Mock
+    private TicketJournal ticketJournal;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ZoneBulkOperationServiceImpl zoneBulkOperationService;
+
+    @BeforeEach
+    void setUp() {
+        zoneBulkOperationService = new ZoneBulkOperationServiceImpl(zoneBulkOperationRepository, eventAudienceZoneRepository,
+                ticketRepository, authUtils, zoneCapacityLedger, seatMapRegistry, eventTicketCounters, ticketValidationCache,
+                mailOutboxService, ticketJournal, transactionTemplate);
+        ReflectionTestUtils.setField(zoneBulkOperationService, "batchSize", 2);
+        ReflectionTestUtils.setField(zoneBulkOperationService, "maxBatchesPerRun", 10);
+        ReflectionTestUtils.setField(zoneBulkOperationService, "maxPendingNotifications", 1000L);
+        ReflectionTestUtils.setField(zoneBulkOperationService, "maxFailures", 5);
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(eventAudienceZoneRepository.recordCancellations(eq(ZONE_ID), anyInt())).thenReturn(1);
+    }
+
+    @Test
+    void processOperations_ShouldCancelByBoundedBatchesAndNotifyEachBuyerOncePerBatch() {
+        // Arrange : 3 billets à annuler par lots de 2, le plus récent d'abord
+        ZoneBulkOperation operation = operation(3);
+        ZoneCancellationCandidate first = ticket("alice@example.com", 1, 4);
+        ZoneCancellationCandidate second = ticket("alice@example.com", 1, 5);
+        ZoneCancellationCandidate third = ticket("bob@example.com", null, null);
+        when(ticketRepository.findZoneCancellationCandidates(eq(ZONE_ID), eq(operation.getCutoff()), any()))
+                .thenReturn(List.of(first, second), List.of(third));
+        when(ticketRepository.cancelValidTicketsByIds(anyCollection())).thenAnswer(invocation ->
+                invocation.<List<?>>getArgument(0).size());
+        EventZoneSummary zone = summary(100, 100);
+        when(eventAudienceZoneRepository.findSummaryById(ZONE_ID)).thenReturn(Optional.of(zone));
+
+        // Act
+        int cancelled = zoneBulkOperationService.processOperations();
+
+        // Assert
+        assertEquals(3, cancelled);
+        assertEquals(3, operation.getProcessedCount());
+        assertEquals(ZoneBulkOperationStatus.COMPLETED, operation.getStatus());
+        assertNotNull(operation.getCompletedAt());
+        verify(mailOutboxService).enqueueZoneTicketsCancelled("alice@example.com", "Buyer", "Concert", "Fosse", 2);
+        verify(mailOutboxService).enqueueZoneTicketsCancelled("bob@example.com", "Buyer", "Concert", "Fosse", 1);
+        verify(eventAudienceZoneRepository).recordCancellations(ZONE_ID, 2);
+        verify(eventAudienceZoneRepository).recordCancellations(ZONE_ID, 1);
+        verify(zoneCapacityLedger).releaseAfterCommit(ZONE_ID, 2);
+        verify(eventTicketCounters).applyAfterCommit(EVENT_ID, TicketStatus.VALID, TicketStatus.CANCELLED, 1);
+        verify(seatMapRegistry).releaseAfterCommit(eq(ZONE_ID), argThat(seats -> seats.size() == 2));
+        // Le dernier lot complète l'opération : aucune lecture supplémentaire
+        verify(ticketRepository, times(2)).findZoneCancellationCandidates(any(), any(), any());
+    }
+
+    @Test
+    void processOperations_OutboxBacklogged_ShouldWaitBeforeCancellingAnything() {
+        // Arrange
+        operation(3);
+        when(mailOutboxService.countPendingMessages()).thenReturn(1000L);
+
+        // Act
+        int cancelled = zoneBulkOperationService.processOperations();
+
+        // Assert
+        assertEquals(0, cancelled);
+        verifyNoInteractions(ticketRepository, transactionTemplate);
+    }
+
+    @Test
+    void processOperations_TicketChangedDuringBatch_ShouldRecordTheFailureWithoutProgress() {
+        // Arrange : un billet scanné entre la lecture du lot et l'UPDATE
+        ZoneBulkOperation operation = operation(2);
+        List<ZoneCancellationCandidate> batch = List.of(ticket("alice@example.com", null, null), ticket("bob@example.com", null, null));
+        when(ticketRepository.findZoneCancellationCandidates(eq(ZONE_ID), any(), any())).thenReturn(batch);
+        when(ticketRepository.cancelValidTicketsByIds(anyCollection())).thenReturn(1);
+        when(zoneBulkOperationRepository.findById(OPERATION_ID)).thenReturn(Optional.of(operation));
+
+        // Act
+        int cancelled = zoneBulkOperationService.processOperations();
+
+        // Assert : l'exception annule le lot, l'opération sera reprise au passage suivant
+        assertEquals(0, cancelled);
+        assertEquals(0, operation.getProcessedCount());
+        assertEquals(1, operation.getFailures());
+        assertNotNull(operation.getLastError());
+        assertEquals(ZoneBulkOperationStatus.PENDING, operation.getStatus());
+        verify(ticketRepository, times(1)).cancelValidTicketsByIds(anyCollection());
+        verifyNoInteractions(zoneCapacityLedger, eventTicketCounters);
+    }
+
+    @Test
+    void startOperation_ReduceCapacity_ShouldLowerTheCapacityAndTargetTheTicketsSoldBeyondIt() {
+        // Arrange : 90 places vendues dont 10 scannées, capacité ramenée de 100 à 50
+        EventZoneSummary zone = summary(100, 90);
+        when(eventAudienceZoneRepository.findSummaryById(ZONE_ID)).thenReturn(Optional.of(zone));
+        when(ticketRepository.countByEventAudienceZoneIdAndStatusIn(ZONE_ID, List.of(TicketStatus.VALID))).thenReturn(80L);
+        when(authUtils.getCurrentAuthenticatedUserId()).thenReturn(7L);
+        when(zoneBulkOperationRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        ZoneBulkOperationRequestDto request = new ZoneBulkOperationRequestDto();
+        request.setType(ZoneBulkOperationType.REDUCE_CAPACITY);
+        request.setNewCapacity(50);
+
+        // Act
+        ZoneBulkOperationDto result = zoneBulkOperationService.startOperation(EVENT_ID, ZONE_ID, request);
+
+        // Assert
+        assertEquals(40, result.getTargetCount());
+        assertEquals(50, result.getNewCapacity());
+        assertEquals(ZoneBulkOperationStatus.PENDING, result.getStatus());
+        verify(eventAudienceZoneRepository).updateAllocatedCapacity(ZONE_ID, 50);
+        verify(zoneCapacityLedger).updateCapacityAfterCommit(ZONE_ID, 50);
+    }
+
+    @Test
+    void startOperation_CapacityNotLowered_ShouldBeRejected() {
+        // Arrange
+        EventZoneSummary zone = summary(100, 90);
+        when(eventAudienceZoneRepository.findSummaryById(ZONE_ID)).thenReturn(Optional.of(zone));
+        ZoneBulkOperationRequestDto request = new ZoneBulkOperationRequestDto();
+        request.setType(ZoneBulkOperationType.REDUCE_CAPACITY);
+        request.setNewCapacity(100);
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> zoneBulkOperationService.startOperation(EVENT_ID, ZONE_ID, request));
+        verify(eventAudienceZoneRepository, never()).updateAllocatedCapacity(anyLong(), anyInt());
+        verify(zoneBulkOperationRepository, never()).save(any());
+    }
+
+    private ZoneBulkOperation operation(int targetCount) {
+        ZoneBulkOperation operation = new ZoneBulkOperation(EVENT_ID, ZONE_ID, ZoneBulkOperationType.CANCEL_MOST_RECENT, 7L,
+                null, Instant.now(), targetCount);
+        operation.setId(OPERATION_ID);
+        lenient().when(zoneBulkOperationRepository.findIdsByStatusIn(anyCollection())).thenReturn(List.of(OPERATION_ID));
+        lenient().when(zoneBulkOperationRepository.lockById(OPERATION_ID)).thenReturn(Optional.of(operation));
+        return operation;
+    }
+
+    private static ZoneCancellationCandidate ticket(String buyerEmail, Integer seatRow, Integer seatNumber) {
+        ZoneCancellationCandidate ticket = mock(ZoneCancellationCandidate.class);
+        lenient().when(ticket.getId()).thenReturn(UUID.randomUUID());
+        lenient().when(ticket.getBuyerEmail()).thenReturn(buyerEmail);
+        lenient().when(ticket.getBuyerFirstName()).thenReturn("Buyer");
+        lenient().when(ticket.getSeatRow()).thenReturn(seatRow);
+        lenient().when(ticket.getSeatNumber()).thenReturn(seatNumber);
+        return ticket;
+    }
+
+    private static EventZoneSummary summary(int allocatedCapacity, int soldCount) {
+        EventZoneSummary zone = mock(EventZoneSummary.class);
+        lenient().when(zone.getZoneId()).thenReturn(ZONE_ID);
+        lenient().when(zone.getZoneName()).thenReturn("Fosse");
+        lenient().when(zone.getAllocatedCapacity()).thenReturn(allocatedCapacity);
+        lenient().when(zone.getSoldCount()).thenReturn(soldCount);
+        lenient().when(zone.getEventId()).thenReturn(EVENT_ID);
+        lenient().when(zone.getEventName()).thenReturn("Concert");
+        lenient().when(zone.getEventEndDate()).thenReturn(Instant.now().plusSeconds(86400));
+        return zone;
+    }
+}
@@ -0,0 +1,144 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.enums.TicketStatus;
+import edu.cda.project.ticklybackend.repositories.event.EventRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.EventStatusCount;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventTicketCountersTest {
+
+    private static final Long EVENT_ID = 1L;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @InjectMocks
+    private EventTicketCounters counters;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void snapshot_ShouldSeedOnceAndServeFromMemory() {
+        // Arrange
+        when(eventRepository.findNameById(EVENT_ID)).thenReturn(Optional.of("Concert"));
+        List<EventStatusCount> counts = List.of(count(TicketStatus.VALID, 8L), count(TicketStatus.USED, 2L));
+        when(ticketRepository.countByEventIdsGroupedByStatus(List.of(EVENT_ID))).thenReturn(counts);
+
+        // Act
+        counters.snapshot(EVENT_ID);
+        counters.apply(EVENT_ID, TicketStatus.VALID, TicketStatus.USED, 3);
+        counters.apply(EVENT_ID, null, TicketStatus.VALID, 1);
+        EventTicketCounters.Snapshot snapshot = counters.snapshot(EVENT_ID).orElseThrow();
+
+        // Assert
+        assertEquals("Concert", snapshot.getEventName());
+        assertEquals(6L, snapshot.getValidCount());
+        assertEquals(5L, snapshot.getUsedCount());
+        assertEquals(0L, snapshot.getCancelledCount());
+        verify(ticketRepository, times(1)).countByEventIdsGroupedByStatus(anyCollection());
+        verify(eventRepository, times(1)).findNameById(EVENT_ID);
+    }
+
+    @Test
+    void snapshot_UnknownEvent_ShouldReturnEmpty() {
+        // Arrange
+        when(eventRepository.findNameById(EVENT_ID)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertTrue(counters.snapshot(EVENT_ID).isEmpty());
+        verifyNoInteractions(ticketRepository);
+    }
+
+    @Test
+    void applyAfterCommit_ShouldOnlyCountCommittedChanges() {
+        // Arrange
+        when(eventRepository.findNameById(EVENT_ID)).thenReturn(Optional.of("Concert"));
+        List<EventStatusCount> counts = List.of(count(TicketStatus.VALID, 4L));
+        when(ticketRepository.countByEventIdsGroupedByStatus(List.of(EVENT_ID))).thenReturn(counts);
+        counters.snapshot(EVENT_ID);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        counters.applyAfterCommit(EVENT_ID, TicketStatus.VALID, TicketStatus.CANCELLED, 2);
+        assertEquals(4L, counters.snapshot(EVENT_ID).orElseThrow().getValidCount());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        EventTicketCounters.Snapshot snapshot = counters.snapshot(EVENT_ID).orElseThrow();
+        assertEquals(2L, snapshot.getValidCount());
+        assertEquals(2L, snapshot.getCancelledCount());
+    }
+
+    @Test
+    void snapshot_ChangeCommittedDuringSeeding_ShouldSeedAgain() {
+        // Arrange : une réservation est validée pendant le COUNT, sans que l'on sache s'il la compte
+        when(eventRepository.findNameById(EVENT_ID)).thenReturn(Optional.of("Concert"));
+        List<EventStatusCount> before = List.of(count(TicketStatus.VALID, 4L));
+        List<EventStatusCount> after = List.of(count(TicketStatus.VALID, 5L));
+        when(ticketRepository.countByEventIdsGroupedByStatus(List.of(EVENT_ID)))
+                .thenAnswer(invocation -> {
+                    counters.apply(EVENT_ID, null, TicketStatus.VALID, 1);
+                    return before;
+                })
+                .thenReturn(after);
+
+        // Act
+        EventTicketCounters.Snapshot snapshot = counters.snapshot(EVENT_ID).orElseThrow();
+        counters.apply(EVENT_ID, TicketStatus.VALID, TicketStatus.USED, 1);
+
+        // Assert : la réservation n'est comptée qu'une fois, les changements suivants s'appliquent normalement
+        assertEquals(5L, snapshot.getValidCount());
+        assertEquals(4L, counters.snapshot(EVENT_ID).orElseThrow().getValidCount());
+        verify(ticketRepository, times(2)).countByEventIdsGroupedByStatus(anyCollection());
+    }
+
+    @Test
+    void rebuild_PersistentDrift_ShouldBeCorrectedOnSecondRun() {
+        // Arrange
+        when(eventRepository.findNameById(EVENT_ID)).thenReturn(Optional.of("Concert"));
+        List<EventStatusCount> seed = List.of(count(TicketStatus.VALID, 10L));
+        List<EventStatusCount> database = List.of(count(TicketStatus.VALID, 7L), count(TicketStatus.USED, 3L));
+        when(ticketRepository.countByEventIdsGroupedByStatus(anyCollection())).thenReturn(seed, database);
+        counters.snapshot(EVENT_ID);
+
+        // Act & Assert
+        assertEquals(0, counters.rebuild());
+        assertEquals(10L, counters.snapshot(EVENT_ID).orElseThrow().getValidCount());
+        assertEquals(2, counters.rebuild());
+        EventTicketCounters.Snapshot snapshot = counters.snapshot(EVENT_ID).orElseThrow();
+        assertEquals(7L, snapshot.getValidCount());
+        assertEquals(3L, snapshot.getUsedCount());
+    }
+
+    private EventStatusCount count(TicketStatus status, long ticketCount) {
+        EventStatusCount count = mock(EventStatusCount.class);
+        lenient().when(count.getEventId()).thenReturn(EVENT_ID);
+        lenient().when(count.getStatus()).thenReturn(status);
+        lenient().when(count.getTicketCount()).thenReturn(ticketCount);
+        return count;
+    }
+}
@@ -0,0 +1,65 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    void advance_ShouldFireItemsAfterTheirDeadlineInOrder() {
+        // Arrange
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 3, START);
+        wheel.schedule("late", START + 500);
+        wheel.schedule("early", START + 25);
+        wheel.schedule("middle", START + 75);
+        List<String> fired = new ArrayList<>();
+
+        // Act & Assert
+        assertEquals(0, wheel.advance(START + 20, fired::add));
+        assertEquals(1, wheel.advance(START + 30, fired::add));
+        assertEquals(List.of("early"), fired);
+
+        wheel.advance(START + 499, fired::add);
+        assertEquals(List.of("early", "middle"), fired);
+
+        wheel.advance(START + 510, fired::add);
+        assertEquals(List.of("early", "middle", "late"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_DeadlineBeyondWheelSpan_ShouldStillFireOnTime() {
+        // Arrange : 3 levels of 4 buckets of 10 ms cover 640 ms
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 4, 3, START);
+        wheel.schedule("far", START + 2_005);
+        List<String> fired = new ArrayList<>();
+
+        // Act & Assert
+        wheel.advance(START + 2_000, fired::add);
+        assertTrue(fired.isEmpty());
+        wheel.advance(START + 2_010, fired::add);
+        assertEquals(List.of("far"), fired);
+    }
+
+    @Test
+    void schedule_PastDeadline_ShouldFireOnNextTick() {
+        // Arrange
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 2, START);
+        wheel.advance(START + 100, item -> {
+        });
+        wheel.schedule("overdue", START);
+        List<String> fired = new ArrayList<>();
+
+        // Act
+        wheel.advance(START + 110, fired::add);
+
+        // Assert
+        assertEquals(List.of("overdue"), fired);
+    }
+}
@@ -0,0 +1,122 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.models.event.Event;
+import edu.cda.project.ticklybackend.models.ticket.Ticket;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketSearchEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParticipantSearchIndexTest {
+
+    private static final Long EVENT_ID = 1L;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @InjectMocks
+    private ParticipantSearchIndex index;
+
+    private final UUID eloiseId = UUID.randomUUID();
+    private final UUID marcId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "maxMatches", 1000);
+    }
+
+    @Test
+    void search_AccentsAndCase_ShouldBeFoldedAndMatchPrefixes() {
+        // Arrange
+        givenIndexedTickets();
+
+        // Act & Assert
+        assertEquals(Optional.of(Set.of(eloiseId)), index.search(EVENT_ID, "ELO"));
+        assertEquals(Optional.of(Set.of(eloiseId)), index.search(EVENT_ID, "éloïse dup"));
+        assertEquals(Optional.of(Set.of(eloiseId)), index.search(EVENT_ID, "eloise.d@ex"));
+        assertEquals(Optional.of(Set.of(marcId)), index.search(EVENT_ID, marcId.toString().substring(0, 6)));
+        assertEquals(Optional.of(Set.of()), index.search(EVENT_ID, "eloise martin"));
+        verify(ticketRepository, times(1)).findSearchEntriesByEventId(EVENT_ID);
+    }
+
+    @Test
+    void index_AnonymizedTicket_ShouldReplacePreviousTokens() {
+        // Arrange
+        givenIndexedTickets();
+        assertEquals(Optional.of(Set.of(eloiseId)), index.search(EVENT_ID, "eloise"));
+        Event event = new Event();
+        event.setId(EVENT_ID);
+        Ticket anonymized = new Ticket();
+        anonymized.setId(eloiseId);
+        anonymized.setEvent(event);
+        anonymized.setParticipantFirstName("Participant");
+        anonymized.setParticipantLastName("Anonyme");
+        anonymized.setParticipantEmail("anonyme@tickly.app");
+
+        // Act
+        index.indexAfterCommit(List.of(anonymized));
+
+        // Assert
+        assertEquals(Optional.of(Set.of()), index.search(EVENT_ID, "eloise"));
+        assertEquals(Optional.of(Set.of(eloiseId)), index.search(EVENT_ID, "anonyme"));
+    }
+
+    @Test
+    void search_NonLatinNames_ShouldBeIndexed() {
+        // Arrange
+        UUID dmitriId = UUID.randomUUID();
+        UUID yukiId = UUID.randomUUID();
+        List<TicketSearchEntry> entries = List.of(
+                entry(dmitriId, "Дмитрий", "Иванов", "dmitri@example.com"),
+                entry(yukiId, "雪", "佐藤", "yuki@example.com"));
+        when(ticketRepository.findSearchEntriesByEventId(EVENT_ID)).thenReturn(entries);
+
+        // Act & Assert
+        assertEquals(Optional.of(Set.of(dmitriId)), index.search(EVENT_ID, "дмит"));
+        assertEquals(Optional.of(Set.of(dmitriId)), index.search(EVENT_ID, "ИВАНОВ"));
+        assertEquals(Optional.of(Set.of(yukiId)), index.search(EVENT_ID, "佐藤"));
+        // Un terme sans lettre ni chiffre est laissé à la base de données
+        assertTrue(index.search(EVENT_ID, "@-").isEmpty());
+    }
+
+    @Test
+    void search_TooManyMatches_ShouldFallBackToDatabase() {
+        // Arrange
+        ReflectionTestUtils.setField(index, "maxMatches", 1);
+        givenIndexedTickets();
+
+        // Act & Assert
+        assertTrue(index.search(EVENT_ID, "example").isEmpty());
+        assertTrue(index.search(EVENT_ID, "marc").isPresent());
+    }
+
+    private void givenIndexedTickets() {
+        List<TicketSearchEntry> entries = List.of(
+                entry(eloiseId, "Éloïse", "Dupont", "eloise.dupont@example.com"),
+                entry(marcId, "Marc", "Lefèvre", "marc@example.com"));
+        when(ticketRepository.findSearchEntriesByEventId(EVENT_ID)).thenReturn(entries);
+    }
+
+    private static TicketSearchEntry entry(UUID id, String firstName, String lastName, String email) {
+        TicketSearchEntry entry = mock(TicketSearchEntry.class);
+        when(entry.getId()).thenReturn(id);
+        when(entry.getParticipantFirstName()).thenReturn(firstName);
+        when(entry.getParticipantLastName()).thenReturn(lastName);
+        when(entry.getParticipantEmail()).thenReturn(email);
+        return entry;
+    }
+}
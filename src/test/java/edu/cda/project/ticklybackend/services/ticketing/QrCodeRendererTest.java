@@ -0,0 +1,92 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.RGBLuminanceSource;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+import edu.cda.project.ticklybackend.enums.QrImageFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QrCodeRendererTest {
+
+    private QrCodeRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        renderer = new QrCodeRenderer();
+        ReflectionTestUtils.setField(renderer, "moduleSize", 4);
+        ReflectionTestUtils.setField(renderer, "maxCacheEntries", 2);
+    }
+
+    @Test
+    void render_Png_ShouldBeDecodableWithSameValue() throws Exception {
+        // Arrange
+        String value = UUID.randomUUID().toString();
+
+        // Act
+        byte[] png = renderer.render(value, QrImageFormat.PNG);
+
+        // Assert
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        assertNotNull(image);
+        int[] pixels = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+        BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(
+                new RGBLuminanceSource(image.getWidth(), image.getHeight(), pixels)));
+        assertEquals(value, new QRCodeReader().decode(bitmap).getText());
+    }
+
+    @Test
+    void render_SuccessiveImages_ShouldReuseBuffersWithoutMixingContent() throws Exception {
+        // Arrange
+        String first = "a".repeat(120);
+        String second = "short";
+
+        // Act
+        byte[] large = renderer.render(first, QrImageFormat.PNG);
+        byte[] small = renderer.render(second, QrImageFormat.PNG);
+
+        // Assert
+        BufferedImage largeImage = ImageIO.read(new ByteArrayInputStream(large));
+        BufferedImage smallImage = ImageIO.read(new ByteArrayInputStream(small));
+        assertTrue(smallImage.getWidth() < largeImage.getWidth());
+    }
+
+    @Test
+    void render_Svg_ShouldProduceSquareViewBoxAndPath() {
+        // Act
+        String svg = new String(renderer.render("ticket", QrImageFormat.SVG), StandardCharsets.US_ASCII);
+
+        // Assert
+        // Version 1 (21 modules) + 4 modules of quiet zone on each side
+        assertTrue(svg.startsWith("<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 29 29\""));
+        assertTrue(svg.contains("<path fill=\"#000\" d=\"M4 4h7v1h-7z"));
+        assertTrue(svg.endsWith("\"/></svg>"));
+    }
+
+    @Test
+    void render_ShouldServeFromCacheAndEvictLeastRecentlyUsed() {
+        // Arrange
+        byte[] first = renderer.render("first", QrImageFormat.PNG);
+        renderer.render("second", QrImageFormat.PNG);
+
+        // Act
+        byte[] cachedFirst = renderer.render("first", QrImageFormat.PNG);
+        renderer.render("third", QrImageFormat.PNG);
+
+        // Assert
+        assertSame(first, cachedFirst);
+        assertEquals(2, renderer.cacheSize());
+        assertSame(cachedFirst, renderer.render("first", QrImageFormat.PNG));
+        assertNotSame(first, renderer.render("second", QrImageFormat.PNG));
+    }
+}
@@ -0,0 +1,107 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.dtos.ticket.ReservationConfirmationDto;
+import edu.cda.project.ticklybackend.exceptions.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationIdempotencyRegistryTest {
+
+    private ReservationIdempotencyRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ReservationIdempotencyRegistry();
+        ReflectionTestUtils.setField(registry, "ttlMinutes", 10L);
+        ReflectionTestUtils.setField(registry, "waitTimeoutMs", 5000L);
+    }
+
+    @Test
+    void begin_ConcurrentDuplicates_ShouldRunOnceAndShareResult() throws Exception {
+        // Arrange
+        int threads = 8;
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<ReservationConfirmationDto>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                ReservationIdempotencyRegistry.Attempt attempt = registry.begin(1L, "key-1", "request");
+                if (!attempt.isFirst()) {
+                    return attempt.await();
+                }
+                executions.incrementAndGet();
+                Thread.sleep(50);
+                ReservationConfirmationDto confirmation = new ReservationConfirmationDto();
+                confirmation.setReservationId(42L);
+                attempt.complete(confirmation);
+                return confirmation;
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(1, executions.get());
+        for (Future<ReservationConfirmationDto> result : results) {
+            assertEquals(42L, result.get().getReservationId());
+        }
+    }
+
+    @Test
+    void begin_KeyReusedWithDifferentRequest_ShouldBeRejected() {
+        // Arrange
+        registry.begin(1L, "key-1", "request");
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> registry.begin(1L, "key-1", "other request"));
+        assertTrue(registry.begin(2L, "key-1", "other request").isFirst());
+    }
+
+    @Test
+    void fail_ShouldPropagateErrorAndAllowRetry() {
+        // Arrange
+        ReservationIdempotencyRegistry.Attempt first = registry.begin(1L, "key-1", "request");
+        ReservationIdempotencyRegistry.Attempt duplicate = registry.begin(1L, "key-1", "request");
+
+        // Act
+        first.fail(new BadRequestException("Capacité insuffisante dans la zone sélectionnée."));
+
+        // Assert
+        assertThrows(BadRequestException.class, duplicate::await);
+        assertTrue(registry.begin(1L, "key-1", "request").isFirst());
+    }
+
+    @Test
+    void purgeExpired_ShouldOnlyDropCompletedKeysOlderThanTtl() throws InterruptedException {
+        // Arrange
+        ReflectionTestUtils.setField(registry, "ttlMinutes", 0L);
+        registry.begin(1L, "in-flight", "request");
+        registry.begin(1L, "completed", "request").complete(new ReservationConfirmationDto());
+        Thread.sleep(5);
+
+        // Act
+        int purged = registry.purgeExpired();
+
+        // Assert
+        assertEquals(1, purged);
+        assertFalse(registry.begin(1L, "in-flight", "request").isFirst());
+        assertTrue(registry.begin(1L, "completed", "request").isFirst());
+    }
+}
@@ -0,0 +1,102 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatBitmapTest {
+
+    @Test
+    void tryClaimRange_AcrossWordBoundary_ShouldBeAllOrNothing() {
+        // Arrange : 2 rangées de 40 sièges, le siège 70 (2e mot) est déjà pris
+        SeatBitmap bitmap = new SeatBitmap(2, 40);
+        assertTrue(bitmap.tryClaim(70));
+
+        // Act
+        boolean conflicting = bitmap.tryClaimRange(60, 12);
+        boolean free = bitmap.tryClaimRange(58, 10);
+
+        // Assert : le premier mot n'a pas été gardé par la tentative en conflit
+        assertFalse(conflicting);
+        assertTrue(free);
+        assertEquals(11, bitmap.takenCount());
+        assertFalse(bitmap.isTaken(68));
+        assertTrue(bitmap.isTaken(63));
+        assertTrue(bitmap.isTaken(64));
+    }
+
+    @Test
+    void findContiguous_ShouldPreferFrontRowThenCentre() {
+        // Arrange : rangée 0 de 10 sièges, seuls les sièges 0-2 et 8-9 sont libres
+        SeatBitmap bitmap = new SeatBitmap(3, 10);
+        assertTrue(bitmap.tryClaimRange(3, 5));
+
+        // Act / Assert
+        assertEquals(0, bitmap.findContiguous(3));
+        assertEquals(bitmap.indexOf(1, 3), bitmap.findContiguous(4));
+        assertEquals(bitmap.indexOf(0, 2), bitmap.findContiguous(1));
+        assertEquals(-1, bitmap.findContiguous(11));
+    }
+
+    @Test
+    void release_ShouldMakeSeatAvailableAgain() {
+        // Arrange
+        SeatBitmap bitmap = new SeatBitmap(1, 4);
+        assertTrue(bitmap.tryClaimRange(0, 4));
+        assertEquals(-1, bitmap.findContiguous(1));
+
+        // Act
+        bitmap.release(2);
+
+        // Assert
+        assertEquals(2, bitmap.findContiguous(1));
+        assertArrayEquals(new String[]{"1101"}, bitmap.snapshotRows());
+    }
+
+    @Test
+    void tryClaim_ConcurrentBuyers_ShouldNeverGiveTheSameSeatTwice() throws InterruptedException {
+        // Arrange
+        SeatBitmap bitmap = new SeatBitmap(10, 30);
+        int threads = 16;
+        Set<Integer> claimed = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act : chaque acheteur cherche le meilleur bloc de 3 sièges jusqu'à ce que la salle soit pleine
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                start.await();
+                while (true) {
+                    int from = bitmap.findContiguous(3);
+                    if (from < 0) {
+                        return null;
+                    }
+                    if (bitmap.tryClaimRange(from, 3)) {
+                        for (int seat = from; seat < from + 3; seat++) {
+                            if (!claimed.add(seat)) {
+                                duplicates.incrementAndGet();
+                            }
+                        }
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert : chaque siège pris l'a été par un seul acheteur, et il ne reste aucun bloc de 3
+        assertEquals(0, duplicates.get());
+        assertEquals(claimed.size(), bitmap.takenCount());
+        assertEquals(-1, bitmap.findContiguous(3));
+    }
+}
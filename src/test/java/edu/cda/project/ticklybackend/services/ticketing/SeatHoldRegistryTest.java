@@ -0,0 +1,151 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.exceptions.BadRequestException;
+import edu.cda.project.ticklybackend.repositories.event.EventAudienceZoneRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatHoldRegistryTest {
+
+    private static final Long USER_ID = 3L;
+    private static final Long EVENT_ID = 1L;
+    private static final Long ZONE_ID = 10L;
+    private static final int CAPACITY = 5;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private EventAudienceZoneRepository eventAudienceZoneRepository;
+
+    private ZoneCapacityLedger ledger;
+    private SeatHoldRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(eventAudienceZoneRepository.findSoldCountById(ZONE_ID)).thenReturn(Optional.of(2));
+        ledger = new ZoneCapacityLedger(ticketRepository, eventAudienceZoneRepository);
+        registry = new SeatHoldRegistry(ledger);
+        ReflectionTestUtils.setField(registry, "ttlSeconds", 60L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void hold_ShouldMakePlacesUnavailableToReservations() {
+        // Act
+        assertTrue(registry.hold(USER_ID, EVENT_ID, ZONE_ID, CAPACITY, 2).isPresent());
+
+        // Assert
+        assertEquals(1, ledger.remaining(ZONE_ID).orElseThrow());
+        assertFalse(ledger.tryReserve(ZONE_ID, CAPACITY, 2));
+        assertTrue(registry.hold(USER_ID, EVENT_ID, ZONE_ID, CAPACITY, 2).isEmpty());
+    }
+
+    @Test
+    void hold_MoreThanFourPlacesForTheSameEvent_ShouldBeRefusedUntilAHoldEnds() {
+        // Arrange
+        when(eventAudienceZoneRepository.findSoldCountById(ZONE_ID)).thenReturn(Optional.of(0));
+        SeatHoldRegistry.SeatHold first = registry.hold(USER_ID, EVENT_ID, ZONE_ID, 100, 3).orElseThrow();
+
+        // Act & Assert : la limite vaut pour les holds cumulés de l'acheteur sur l'événement
+        assertThrows(BadRequestException.class, () -> registry.hold(USER_ID, EVENT_ID, ZONE_ID, 100, 2));
+        assertEquals(97, ledger.remaining(ZONE_ID).orElseThrow());
+        assertTrue(registry.hold(USER_ID, EVENT_ID, ZONE_ID, 100, 1).isPresent());
+        // Un autre acheteur n'est pas concerné
+        assertTrue(registry.hold(USER_ID + 1, EVENT_ID, ZONE_ID, 100, 4).isPresent());
+
+        // Les places libérées ou expirées sont rendues à la limite de l'acheteur
+        assertTrue(registry.release(first.getId(), USER_ID));
+        assertTrue(registry.hold(USER_ID, EVENT_ID, ZONE_ID, 100, 3).isPresent());
+        registry.expire(first.getExpiresAt().toEpochMilli() + 2_000);
+        assertTrue(registry.hold(USER_ID, EVENT_ID, ZONE_ID, 100, 4).isPresent());
+    }
+
+    @Test
+    void expire_ShouldReturnPlacesWithoutDatabaseAccess() {
+        // Arrange
+        SeatHoldRegistry.SeatHold hold = registry.hold(USER_ID, EVENT_ID, ZONE_ID, CAPACITY, 3).orElseThrow();
+        clearInvocations(eventAudienceZoneRepository);
+
+        // Act
+        int beforeDeadline = registry.expire(hold.getExpiresAt().toEpochMilli() - 2_000);
+        int afterDeadline = registry.expire(hold.getExpiresAt().toEpochMilli() + 2_000);
+
+        // Assert
+        assertEquals(0, beforeDeadline);
+        assertEquals(1, afterDeadline);
+        assertEquals(3, ledger.remaining(ZONE_ID).orElseThrow());
+        assertTrue(registry.find(hold.getId(), USER_ID).isEmpty());
+        verifyNoInteractions(eventAudienceZoneRepository, ticketRepository);
+    }
+
+    @Test
+    void convert_ShouldKeepPlacesTakenAndIgnoreLaterExpiry() {
+        // Arrange
+        SeatHoldRegistry.SeatHold hold = registry.hold(USER_ID, EVENT_ID, ZONE_ID, CAPACITY, 2).orElseThrow();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        registry.convert(hold.getId(), USER_ID);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        int expired = registry.expire(hold.getExpiresAt().toEpochMilli() + 2_000);
+
+        // Assert
+        assertEquals(0, expired);
+        assertEquals(1, ledger.remaining(ZONE_ID).orElseThrow());
+        assertThrows(BadRequestException.class, () -> registry.convert(hold.getId(), USER_ID));
+    }
+
+    @Test
+    void convert_TransactionRolledBack_ShouldRestoreHold() {
+        // Arrange
+        SeatHoldRegistry.SeatHold hold = registry.hold(USER_ID, EVENT_ID, ZONE_ID, CAPACITY, 2).orElseThrow();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        registry.convert(hold.getId(), USER_ID);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        assertTrue(registry.find(hold.getId(), USER_ID).isPresent());
+        assertEquals(1, ledger.remaining(ZONE_ID).orElseThrow());
+        assertEquals(1, registry.expire(hold.getExpiresAt().toEpochMilli() + 2_000));
+        assertEquals(3, ledger.remaining(ZONE_ID).orElseThrow());
+    }
+
+    @Test
+    void release_OtherUser_ShouldBeRefused() {
+        // Arrange
+        SeatHoldRegistry.SeatHold hold = registry.hold(USER_ID, EVENT_ID, ZONE_ID, CAPACITY, 2).orElseThrow();
+
+        // Act & Assert
+        assertFalse(registry.release(hold.getId(), 99L));
+        assertThrows(BadRequestException.class, () -> registry.convert(hold.getId(), 99L));
+        assertFalse(registry.release(UUID.randomUUID(), USER_ID));
+        assertTrue(registry.release(hold.getId(), USER_ID));
+        assertEquals(3, ledger.remaining(ZONE_ID).orElseThrow());
+    }
+}
@@ -0,0 +1,90 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.exceptions.BadRequestException;
+import edu.cda.project.ticklybackend.repositories.event.EventAudienceZoneRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.ZoneSeat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatMapRegistryTest {
+
+    private static final Long ZONE_ID = 10L;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private EventAudienceZoneRepository eventAudienceZoneRepository;
+
+    private SeatMapRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SeatMapRegistry(ticketRepository, eventAudienceZoneRepository);
+        // Siège rangée 1, n° 3 déjà vendu
+        ZoneSeat sold = mock(ZoneSeat.class);
+        lenient().when(sold.getZoneId()).thenReturn(ZONE_ID);
+        lenient().when(sold.getSeatRow()).thenReturn(1);
+        lenient().when(sold.getSeatNumber()).thenReturn(3);
+        lenient().when(ticketRepository.findSeatsByZoneIdIn(any(), any())).thenReturn(List.of(sold));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void claim_RequestedSeatTaken_ShouldRejectAndKeepOtherSeatsFree() {
+        // Act
+        BadRequestException exception = assertThrows(BadRequestException.class, () ->
+                registry.claim(ZONE_ID, 2, 5, Arrays.asList(new SeatMapRegistry.Seat(2, 1), new SeatMapRegistry.Seat(1, 3))));
+
+        // Assert
+        assertTrue(exception.getMessage().contains("rangée 1, n° 3"));
+        assertEquals(1, registry.getOrLoad(ZONE_ID, 2, 5).takenCount());
+    }
+
+    @Test
+    void claim_GroupWithoutSeatChoice_ShouldGetBestContiguousBlock() {
+        // Act : la rangée 1 n'a plus 3 sièges contigus, le groupe est placé au centre de la rangée 2
+        List<SeatMapRegistry.Seat> seats = registry.claim(ZONE_ID, 2, 5, Arrays.asList(null, null, null));
+
+        // Assert
+        assertEquals(List.of("rangée 2, n° 2", "rangée 2, n° 3", "rangée 2, n° 4"),
+                seats.stream().map(SeatMapRegistry.Seat::toString).toList());
+        verify(ticketRepository, times(1)).findSeatsByZoneIdIn(any(), any());
+    }
+
+    @Test
+    void claim_TransactionRolledBack_ShouldFreeTheSeats() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        registry.claim(ZONE_ID, 2, 5, Arrays.asList(new SeatMapRegistry.Seat(1, 1), null));
+        assertEquals(3, registry.getOrLoad(ZONE_ID, 2, 5).takenCount());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        assertEquals(1, registry.getOrLoad(ZONE_ID, 2, 5).takenCount());
+    }
+}
@@ -0,0 +1,105 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.enums.TicketJournalEventType;
+import edu.cda.project.ticklybackend.models.ticket.TicketJournalEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketJournalSegmentTest {
+
+    @TempDir
+    Path directory;
+
+    private static TicketJournalEntry validation(Long zoneId) {
+        return new TicketJournalEntry(TicketJournalEventType.VALIDATED, UUID.randomUUID(), 7L, zoneId,
+                Instant.parse("2026-06-21T20:15:30.123456Z"));
+    }
+
+    @Test
+    void append_ShouldBeReadBackUntilShipped() throws IOException {
+        // Arrange
+        TicketJournalEntry first = validation(3L);
+        TicketJournalEntry second = validation(null);
+
+        try (TicketJournalSegment segment = TicketJournalSegment.open(directory.resolve("journal.seg"), 10)) {
+            // Act
+            assertTrue(segment.append(first));
+            assertTrue(segment.append(second));
+            List<TicketJournalEntry> unshipped = segment.readUnshipped(10);
+
+            // Assert
+            assertEquals(2, unshipped.size());
+            TicketJournalEntry read = unshipped.get(0);
+            assertEquals(first.getTicketId(), read.getTicketId());
+            assertEquals(7L, read.getEventId());
+            assertEquals(3L, read.getZoneId());
+            assertEquals(TicketJournalEventType.VALIDATED, read.getType());
+            assertEquals(first.getOccurredAt(), read.getOccurredAt());
+            assertNull(unshipped.get(1).getZoneId());
+
+            // Lecture sans expédition : les entrées restent en attente
+            assertEquals(2, segment.pending());
+            segment.markShipped(1);
+            assertEquals(second.getTicketId(), segment.readUnshipped(10).get(0).getTicketId());
+        }
+    }
+
+    @Test
+    void append_FullSegment_ShouldRefuseUntilEverythingIsShipped() throws IOException {
+        try (TicketJournalSegment segment = TicketJournalSegment.open(directory.resolve("journal.seg"), 2)) {
+            // Arrange
+            segment.append(validation(1L));
+            segment.append(validation(1L));
+
+            // Act & Assert
+            assertFalse(segment.append(validation(1L)));
+            segment.markShipped(2);
+            // Tout est expédié : le segment repart du début
+            assertEquals(0, segment.pending());
+            assertTrue(segment.append(validation(1L)));
+            assertThrows(IllegalArgumentException.class, () -> segment.markShipped(2));
+        }
+    }
+
+    @Test
+    void open_ExistingSegment_ShouldKeepUnshippedEntries() throws IOException {
+        // Arrange
+        Path path = directory.resolve("journal.seg");
+        TicketJournalEntry shipped = validation(1L);
+        TicketJournalEntry pending = validation(2L);
+        try (TicketJournalSegment segment = TicketJournalSegment.open(path, 10)) {
+            segment.append(shipped);
+            segment.append(pending);
+            segment.markShipped(1);
+        }
+
+        // Act
+        try (TicketJournalSegment reopened = TicketJournalSegment.open(path, 10)) {
+            List<TicketJournalEntry> unshipped = reopened.readUnshipped(10);
+
+            // Assert
+            assertEquals(1, unshipped.size());
+            assertEquals(pending.getTicketId(), unshipped.get(0).getTicketId());
+        }
+    }
+
+    @Test
+    void open_FileThatIsNotASegment_ShouldFail() throws IOException {
+        // Arrange
+        Path path = directory.resolve("other.seg");
+        Files.write(path, new byte[TicketJournalSegment.HEADER_SIZE + 2 * TicketJournalSegment.RECORD_SIZE]);
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> TicketJournalSegment.open(path, 2));
+        assertThrows(IOException.class, () -> TicketJournalSegment.open(path, 3));
+    }
+}
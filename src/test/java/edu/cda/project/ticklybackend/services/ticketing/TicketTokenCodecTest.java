@@ -0,0 +1,120 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketTokenCodecTest {
+
+    private TicketTokenCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        codec = newCodec("test-secret");
+    }
+
+    @Test
+    void encode_ShouldRoundTripWithAlphanumericCharactersOnly() {
+        // Arrange
+        UUID ticketId = UUID.randomUUID();
+
+        // Act
+        String token = codec.encode(ticketId, 123456L, 7L);
+        TicketTokenCodec.TicketToken decoded = codec.verify(token).orElseThrow();
+
+        // Assert
+        assertTrue(token.matches("TK[A-Z2-7]+"));
+        assertTrue(token.length() < 160);
+        assertEquals(ticketId, decoded.getTicketId());
+        assertEquals(123456L, decoded.getEventId());
+        assertEquals(7L, decoded.getZoneId());
+    }
+
+    @Test
+    void verify_AlteredOrForeignToken_ShouldBeRejected() {
+        // Arrange
+        String token = codec.encode(UUID.randomUUID(), 1L, 2L);
+        String altered = token.substring(0, 10) + (token.charAt(10) == 'A' ? 'B' : 'A') + token.substring(11);
+        String signedWithOtherSecret = newCodec("other-secret").encode(UUID.randomUUID(), 1L, 2L);
+
+        // Act & Assert
+        assertTrue(codec.verify(altered).isEmpty());
+        assertTrue(codec.verify(signedWithOtherSecret).isEmpty());
+        assertTrue(codec.verify("TK" + "not base32!").isEmpty());
+        assertTrue(codec.verify("TKAAAA").isEmpty());
+    }
+
+    @Test
+    void verify_NonCanonicalEncoding_ShouldBeRejected() {
+        // Arrange : 1 + 16 + 1 + 1 + 64 = 83 bytes, the last base32 character carries 1 unused bit
+        String token = codec.encode(UUID.randomUUID(), 1L, 2L);
+        int last = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567".indexOf(token.charAt(token.length() - 1));
+        String nonCanonical = token.substring(0, token.length() - 1)
+                + "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567".charAt(last | 1);
+
+        // Act & Assert
+        assertNotEquals(token, nonCanonical);
+        assertTrue(codec.verify(nonCanonical).isEmpty());
+    }
+
+    @Test
+    void isToken_LegacyUuidValue_ShouldNotBeAToken() {
+        // Arrange
+        String legacy = UUID.randomUUID().toString();
+
+        // Act & Assert
+        assertFalse(codec.isToken(legacy));
+        assertTrue(codec.verify(legacy).isEmpty());
+    }
+
+    @Test
+    void publicKey_ShouldVerifyTokensAndBeStableForTheSameSecret() throws Exception {
+        // Arrange
+        String token = codec.encode(UUID.randomUUID(), 1L, 2L);
+        byte[] bytes = base32Decode(token.substring(TicketTokenCodec.PREFIX.length()));
+        int payloadLength = bytes.length - TicketTokenCodec.SIGNATURE_SIZE;
+        PublicKey publicKey = KeyFactory.getInstance("Ed25519").generatePublic(new X509EncodedKeySpec(codec.publicKey()));
+
+        // Act : vérification comme sur un scanner, avec la seule clé publique
+        Signature signature = Signature.getInstance("Ed25519");
+        signature.initVerify(publicKey);
+        signature.update(bytes, 0, payloadLength);
+
+        // Assert
+        assertTrue(signature.verify(Arrays.copyOfRange(bytes, payloadLength, bytes.length)));
+        assertArrayEquals(codec.publicKey(), newCodec("test-secret").publicKey());
+        assertFalse(Arrays.equals(codec.publicKey(), newCodec("other-secret").publicKey()));
+    }
+
+    private static byte[] base32Decode(String value) {
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567";
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        int buffer = 0;
+        int bits = 0;
+        for (char c : value.toCharArray()) {
+            buffer = (buffer << 5) | alphabet.indexOf(c);
+            bits += 5;
+            if (bits >= 8) {
+                result.write((buffer >>> (bits - 8)) & 0xFF);
+                bits -= 8;
+            }
+        }
+        return result.toByteArray();
+    }
+
+    private static TicketTokenCodec newCodec(String secret) {
+        TicketTokenCodec codec = new TicketTokenCodec();
+        ReflectionTestUtils.setField(codec, "secret", secret);
+        return codec;
+    }
+}
@@ -0,0 +1,222 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.enums.EventStatus;
+import edu.cda.project.ticklybackend.enums.TicketStatus;
+import edu.cda.project.ticklybackend.models.event.Event;
+import edu.cda.project.ticklybackend.models.ticket.Ticket;
+import edu.cda.project.ticklybackend.repositories.event.EventRepository;
+import edu.cda.project.ticklybackend.repositories.event.EventValidationWindow;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketScanEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketValidationCacheTest {
+
+    private static final Long EVENT_ID = 1L;
+    private static final Long STRUCTURE_ID = 7L;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @InjectMocks
+    private TicketValidationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "maxTickets", 100);
+        ReflectionTestUtils.setField(cache, "preloadBeforeStartMinutes", 120L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void refresh_ShouldLoadOpenEventsAndDropEndedOnes() {
+        // Arrange
+        TicketScanEntry entry = entry(UUID.randomUUID(), "qr-1", TicketStatus.VALID);
+        EventValidationWindow window = window();
+        when(eventRepository.findValidationWindows(eq(EventStatus.PUBLISHED), any(Instant.class), any(Instant.class)))
+                .thenReturn(List.of(window), List.of());
+        when(ticketRepository.findScanEntriesByEventId(EVENT_ID)).thenReturn(List.of(entry));
+
+        // Act & Assert
+        assertEquals(1, cache.refresh());
+        TicketValidationCache.CachedTicket cached = cache.findByQrCode("qr-1").orElseThrow();
+        assertEquals(EVENT_ID, cached.getEventId());
+        assertEquals(10L, cached.getZoneId());
+        assertEquals(STRUCTURE_ID, cache.findEvent(EVENT_ID).orElseThrow().getStructureId());
+
+        assertEquals(0, cache.refresh());
+        assertTrue(cache.findByQrCode("qr-1").isEmpty());
+        assertTrue(cache.findEvent(EVENT_ID).isEmpty());
+    }
+
+    @Test
+    void tryClaim_ConcurrentScans_ShouldAdmitOnlyOne() throws InterruptedException {
+        // Arrange
+        UUID ticketId = UUID.randomUUID();
+        List<TicketScanEntry> entries = List.of(entry(ticketId, "qr-1", TicketStatus.VALID));
+        when(ticketRepository.findScanEntriesByEventId(EVENT_ID)).thenReturn(entries);
+        cache.load(EVENT_ID, STRUCTURE_ID, Instant.now().plusSeconds(3600));
+        TicketValidationCache.CachedTicket cached = cache.findById(ticketId).orElseThrow();
+        int threads = 16;
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                start.await();
+                if (cache.tryClaim(cached)) {
+                    admitted.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(1, admitted.get());
+        assertEquals(TicketStatus.USED, cached.getStatus());
+    }
+
+    @Test
+    void tryClaim_TransactionRolledBack_ShouldGiveTicketBack() {
+        // Arrange
+        UUID ticketId = UUID.randomUUID();
+        List<TicketScanEntry> entries = List.of(entry(ticketId, "qr-1", TicketStatus.VALID));
+        when(ticketRepository.findScanEntriesByEventId(EVENT_ID)).thenReturn(entries);
+        cache.load(EVENT_ID, STRUCTURE_ID, Instant.now().plusSeconds(3600));
+        TicketValidationCache.CachedTicket cached = cache.findById(ticketId).orElseThrow();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        assertTrue(cache.tryClaim(cached));
+        assertFalse(cache.tryClaim(cached));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        assertEquals(TicketStatus.VALID, cached.getStatus());
+    }
+
+    @Test
+    void markCancelledAfterCommit_ShouldOnlyWriteThroughOnCommit() {
+        // Arrange
+        UUID ticketId = UUID.randomUUID();
+        List<TicketScanEntry> entries = List.of(entry(ticketId, "qr-1", TicketStatus.VALID));
+        when(ticketRepository.findScanEntriesByEventId(EVENT_ID)).thenReturn(entries);
+        cache.load(EVENT_ID, STRUCTURE_ID, Instant.now().plusSeconds(3600));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        cache.markCancelledAfterCommit(List.of(ticketId));
+        assertEquals(TicketStatus.VALID, cache.findById(ticketId).orElseThrow().getStatus());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertEquals(TicketStatus.CANCELLED, cache.findById(ticketId).orElseThrow().getStatus());
+        assertFalse(cache.tryClaim(cache.findById(ticketId).orElseThrow()));
+    }
+
+    @Test
+    void updateParticipantsAfterCommit_AnonymizedHolder_ShouldReplacePersonalDataOnCommit() {
+        // Arrange
+        UUID ticketId = UUID.randomUUID();
+        TicketScanEntry entry = entry(ticketId, "qr-1", TicketStatus.VALID);
+        when(entry.getParticipantFirstName()).thenReturn("John");
+        when(entry.getParticipantEmail()).thenReturn("john.doe@example.com");
+        when(ticketRepository.findScanEntriesByEventId(EVENT_ID)).thenReturn(List.of(entry));
+        cache.load(EVENT_ID, STRUCTURE_ID, Instant.now().plusSeconds(3600));
+        Event event = new Event();
+        event.setId(EVENT_ID);
+        Ticket ticket = new Ticket();
+        ticket.setId(ticketId);
+        ticket.setEvent(event);
+        ticket.setParticipantFirstName("Participant");
+        ticket.setParticipantLastName("Anonyme");
+        ticket.setParticipantEmail("anonyme@tickly.app");
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        cache.updateParticipantsAfterCommit(List.of(ticket));
+        assertEquals("John", cache.findById(ticketId).orElseThrow().getParticipantFirstName());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert : le billet en cache est le même, seules les données du participant changent
+        TicketValidationCache.CachedTicket cached = cache.findByQrCode("qr-1").orElseThrow();
+        assertEquals("Participant", cached.getParticipantFirstName());
+        assertEquals("Anonyme", cached.getParticipantLastName());
+        assertEquals("anonyme@tickly.app", cached.getParticipantEmail());
+        assertEquals(TicketStatus.VALID, cached.getStatus());
+    }
+
+    @Test
+    void load_EventLargerThanCache_ShouldNotBeCached() {
+        // Arrange
+        ReflectionTestUtils.setField(cache, "maxTickets", 1);
+        List<TicketScanEntry> entries = List.of(
+                entry(UUID.randomUUID(), "qr-1", TicketStatus.VALID),
+                entry(UUID.randomUUID(), "qr-2", TicketStatus.VALID));
+        when(ticketRepository.findScanEntriesByEventId(EVENT_ID)).thenReturn(entries);
+
+        // Act
+        boolean loaded = cache.load(EVENT_ID, STRUCTURE_ID, Instant.now().plusSeconds(3600));
+
+        // Assert
+        assertFalse(loaded);
+        assertTrue(cache.findEvent(EVENT_ID).isEmpty());
+        assertTrue(cache.findByQrCode("qr-1").isEmpty());
+    }
+
+    private TicketScanEntry entry(UUID ticketId, String qrCode, TicketStatus status) {
+        TicketScanEntry entry = mock(TicketScanEntry.class);
+        lenient().when(entry.getId()).thenReturn(ticketId);
+        lenient().when(entry.getQrCodeValue()).thenReturn(qrCode);
+        lenient().when(entry.getStatus()).thenReturn(status);
+        lenient().when(entry.getZoneId()).thenReturn(10L);
+        return entry;
+    }
+
+    private EventValidationWindow window() {
+        EventValidationWindow window = mock(EventValidationWindow.class);
+        when(window.getEventId()).thenReturn(EVENT_ID);
+        when(window.getStructureId()).thenReturn(STRUCTURE_ID);
+        when(window.getEndDate()).thenReturn(Instant.now().plusSeconds(3600));
+        return window;
+    }
+}
@@ -0,0 +1,128 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.repositories.event.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class WaitingRoomTest {
+
+    private static final Long EVENT_ID = 1L;
+    private static final int RATE = 4;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private WaitingRoom waitingRoom;
+
+    @BeforeEach
+    void setUp() {
+        waitingRoom = new WaitingRoom(eventRepository);
+        ReflectionTestUtils.setField(waitingRoom, "defaultAdmissionRate", 50);
+        ReflectionTestUtils.setField(waitingRoom, "admissionWindowSeconds", 600L);
+        ReflectionTestUtils.setField(waitingRoom, "abandonAfterSeconds", 60L);
+        waitingRoom.configure(EVENT_ID, true, RATE, Instant.now().plusSeconds(86400));
+    }
+
+    @Test
+    void admit_ShouldReleaseBuyersAtTheConfiguredRateInArrivalOrder() {
+        // Arrange
+        List<WaitingRoom.Entry> entries = new ArrayList<>();
+        for (long userId = 1; userId <= 10; userId++) {
+            entries.add(waitingRoom.join(EVENT_ID, userId).orElseThrow());
+        }
+        long now = System.currentTimeMillis();
+
+        // Act : premier passage (amorçage du seau), puis une demi-seconde plus tard
+        int first = waitingRoom.admit(now);
+        int second = waitingRoom.admit(now + 500);
+
+        // Assert
+        assertEquals(0, first);
+        assertEquals(RATE / 2, second);
+        assertTrue(waitingRoom.isAdmitted(EVENT_ID, 1L, entries.get(0).getToken()));
+        assertTrue(waitingRoom.isAdmitted(EVENT_ID, 2L, entries.get(1).getToken()));
+        assertFalse(waitingRoom.isAdmitted(EVENT_ID, 3L, entries.get(2).getToken()));
+        assertEquals(0, waitingRoom.position(entries.get(0)));
+        assertEquals(1, waitingRoom.position(entries.get(2)));
+        assertEquals(8, waitingRoom.position(entries.get(9)));
+    }
+
+    @Test
+    void admit_IdleRoom_ShouldNotAccumulateMoreThanOneSecondOfAdmissions() {
+        // Arrange
+        long now = System.currentTimeMillis();
+        waitingRoom.admit(now);
+        for (long userId = 1; userId <= 10; userId++) {
+            waitingRoom.join(EVENT_ID, userId);
+        }
+
+        // Act : une minute sans personne à admettre
+        int admitted = waitingRoom.admit(now + 60_000);
+
+        // Assert
+        assertEquals(RATE, admitted);
+    }
+
+    @Test
+    void admit_AbandonedEntry_ShouldBeDroppedWithoutUsingAnAdmission() {
+        // Arrange
+        WaitingRoom.Entry abandoned = waitingRoom.join(EVENT_ID, 1L).orElseThrow();
+        WaitingRoom.Entry polling = waitingRoom.join(EVENT_ID, 2L).orElseThrow();
+        long now = System.currentTimeMillis();
+        waitingRoom.admit(now + 119_000);
+        ReflectionTestUtils.setField(polling, "lastSeenMillis", now + 119_000);
+
+        // Act
+        int admitted = waitingRoom.admit(now + 119_250);
+
+        // Assert
+        assertEquals(1, admitted);
+        assertTrue(waitingRoom.poll(abandoned.getToken()).isEmpty());
+        assertTrue(waitingRoom.isAdmitted(EVENT_ID, 2L, polling.getToken()));
+    }
+
+    @Test
+    void isAdmitted_ShouldRequireTheTokenOfTheSameBuyerAndEvent() {
+        // Arrange
+        WaitingRoom.Entry entry = waitingRoom.join(EVENT_ID, 1L).orElseThrow();
+        long now = System.currentTimeMillis();
+        waitingRoom.admit(now);
+        waitingRoom.admit(now + 1_000);
+
+        // Act & Assert
+        assertTrue(waitingRoom.isAdmitted(EVENT_ID, 1L, entry.getToken()));
+        assertFalse(waitingRoom.isAdmitted(EVENT_ID, 2L, entry.getToken()));
+        assertFalse(waitingRoom.isAdmitted(EVENT_ID, 1L, null));
+        // Sans salle d'attente ouverte, tout le monde passe
+        assertTrue(waitingRoom.isAdmitted(2L, 1L, null));
+        waitingRoom.configure(EVENT_ID, false, null, null);
+        assertTrue(waitingRoom.isAdmitted(EVENT_ID, 2L, null));
+        assertTrue(waitingRoom.poll(entry.getToken()).isEmpty());
+    }
+
+    @Test
+    void join_Twice_ShouldKeepThePlaceInTheQueue() {
+        // Act
+        WaitingRoom.Entry first = waitingRoom.join(EVENT_ID, 1L).orElseThrow();
+        waitingRoom.join(EVENT_ID, 2L);
+        WaitingRoom.Entry again = waitingRoom.join(EVENT_ID, 1L).orElseThrow();
+
+        // Assert
+        assertSame(first, again);
+        assertEquals(1, waitingRoom.position(again));
+        assertTrue(waitingRoom.join(2L, 1L).isEmpty());
+        verifyNoInteractions(eventRepository);
+    }
+}
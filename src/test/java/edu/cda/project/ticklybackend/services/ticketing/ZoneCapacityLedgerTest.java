@@ -0,0 +1,192 @@
+package edu.cda.project.ticklybackend.services.ticketing;
+
+import edu.cda.project.ticklybackend.repositories.event.EventAudienceZoneRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.TicketRepository;
+import edu.cda.project.ticklybackend.repositories.ticket.ZoneTicketCount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ZoneCapacityLedgerTest {
+
+    private static final Long ZONE_ID = 1L;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private EventAudienceZoneRepository eventAudienceZoneRepository;
+
+    @InjectMocks
+    private ZoneCapacityLedger ledger;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void tryReserve_ConcurrentBuyers_ShouldNeverOversell() throws InterruptedException {
+        // Arrange
+        when(eventAudienceZoneRepository.findSoldCountById(ZONE_ID)).thenReturn(Optional.of(10));
+        int threads = 16;
+        int attemptsPerThread = 50;
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < attemptsPerThread; j++) {
+                    if (ledger.tryReserve(ZONE_ID, 100, 1)) {
+                        admitted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(90, admitted.get());
+        assertEquals(0, ledger.remaining(ZONE_ID).getAsInt());
+        verify(eventAudienceZoneRepository, atMost(threads)).findSoldCountById(ZONE_ID);
+    }
+
+    @Test
+    void tryReserve_TransactionRolledBack_ShouldGiveSeatsBack() {
+        // Arrange
+        when(eventAudienceZoneRepository.findSoldCountById(ZONE_ID)).thenReturn(Optional.of(0));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        assertTrue(ledger.tryReserve(ZONE_ID, 5, 3));
+        assertEquals(2, ledger.remaining(ZONE_ID).getAsInt());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        assertEquals(5, ledger.remaining(ZONE_ID).getAsInt());
+    }
+
+    @Test
+    void tryReserve_NotEnoughCapacity_ShouldReject() {
+        // Arrange
+        when(eventAudienceZoneRepository.findSoldCountById(ZONE_ID)).thenReturn(Optional.of(4));
+
+        // Act & Assert
+        assertFalse(ledger.tryReserve(ZONE_ID, 5, 2));
+        assertTrue(ledger.tryReserve(ZONE_ID, 5, 1));
+        assertEquals(0, ledger.remaining(ZONE_ID).getAsInt());
+    }
+
+    @Test
+    void releaseAfterCommit_ShouldOnlyGiveSeatsBackOnCommit() {
+        // Arrange
+        when(eventAudienceZoneRepository.findSoldCountById(ZONE_ID)).thenReturn(Optional.of(3));
+        assertTrue(ledger.tryReserve(ZONE_ID, 5, 2));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        ledger.releaseAfterCommit(ZONE_ID, 2);
+        assertEquals(0, ledger.remaining(ZONE_ID).getAsInt());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertEquals(2, ledger.remaining(ZONE_ID).getAsInt());
+    }
+
+    @Test
+    void updateCapacityAfterCommit_ShouldOnlyChangeCapacityOnCommit() {
+        // Arrange
+        when(eventAudienceZoneRepository.findSoldCountById(ZONE_ID)).thenReturn(Optional.of(0));
+        assertTrue(ledger.tryReserve(ZONE_ID, 5, 3));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        ledger.updateCapacityAfterCommit(ZONE_ID, 10);
+        assertEquals(2, ledger.remaining(ZONE_ID).getAsInt());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertEquals(7, ledger.remaining(ZONE_ID).getAsInt());
+    }
+
+    @Test
+    void evictAfterCommit_ShouldOnlyDropZoneOnCommit() {
+        // Arrange
+        when(eventAudienceZoneRepository.findSoldCountById(ZONE_ID)).thenReturn(Optional.of(0));
+        assertTrue(ledger.tryReserve(ZONE_ID, 5, 3));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        ledger.evictAfterCommit(ZONE_ID);
+        assertEquals(2, ledger.remaining(ZONE_ID).getAsInt());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertTrue(ledger.remaining(ZONE_ID).isEmpty());
+    }
+
+    @Test
+    void reconcile_PersistentDrift_ShouldBeCorrectedOnSecondRun() {
+        // Arrange
+        when(eventAudienceZoneRepository.findSoldCountById(ZONE_ID)).thenReturn(Optional.of(2));
+        assertTrue(ledger.tryReserve(ZONE_ID, 10, 1));
+        ZoneTicketCount count = mock(ZoneTicketCount.class);
+        when(count.getZoneId()).thenReturn(ZONE_ID);
+        when(count.getTicketCount()).thenReturn(6L);
+        when(ticketRepository.countByZoneIdsAndStatusIn(anyCollection(), anyCollection())).thenReturn(List.of(count));
+
+        // Act & Assert
+        assertEquals(0, ledger.reconcile());
+        assertEquals(7, ledger.remaining(ZONE_ID).getAsInt());
+        assertEquals(1, ledger.reconcile());
+        assertEquals(4, ledger.remaining(ZONE_ID).getAsInt());
+    }
+
+    @Test
+    void reconcile_ActiveHolds_ShouldNotBeMistakenForDrift() {
+        // Arrange
+        when(eventAudienceZoneRepository.findSoldCountById(ZONE_ID)).thenReturn(Optional.of(4));
+        ZoneTicketCount count = mock(ZoneTicketCount.class);
+        when(count.getZoneId()).thenReturn(ZONE_ID);
+        when(count.getTicketCount()).thenReturn(4L);
+        when(ticketRepository.countByZoneIdsAndStatusIn(anyCollection(), anyCollection())).thenReturn(List.of(count));
+        assertTrue(ledger.tryHold(ZONE_ID, 10, 3));
+
+        // Act
+        int firstRun = ledger.reconcile();
+        int secondRun = ledger.reconcile();
+
+        // Assert
+        assertEquals(0, firstRun + secondRun);
+        assertEquals(3, ledger.remaining(ZONE_ID).orElseThrow());
+        ledger.releaseHold(ZONE_ID, 3);
+        assertEquals(6, ledger.remaining(ZONE_ID).orElseThrow());
+    }
+}
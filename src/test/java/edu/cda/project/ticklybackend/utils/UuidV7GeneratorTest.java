@@ -0,0 +1,86 @@
+package edu.cda.project.ticklybackend.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void generate_ShouldProduceVersion7WithRfcVariant() {
+        // Act
+        UUID uuid = UuidV7Generator.generate();
+
+        // Assert
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void generate_ShouldEmbedCurrentTimestamp() {
+        // Arrange
+        long before = System.currentTimeMillis();
+
+        // Act
+        UUID uuid = UuidV7Generator.generate();
+        long after = System.currentTimeMillis();
+
+        // Assert
+        long timestamp = UuidV7Generator.extractTimestamp(uuid);
+        assertTrue(timestamp >= before, "timestamp should not be before generation");
+        // Le compteur peut déborder sur la milliseconde suivante en cas de rafale
+        assertTrue(timestamp <= after + 1, "timestamp should not be after generation");
+    }
+
+    @Test
+    void generate_ShouldBeStrictlyIncreasingInBinaryOrder() {
+        // Arrange
+        List<UUID> uuids = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            uuids.add(UuidV7Generator.generate());
+        }
+
+        // Assert : ordre identique à celui de la colonne BINARY(16) (comparaison non signée, octets de poids fort d'abord)
+        for (int i = 1; i < uuids.size(); i++) {
+            assertTrue(Long.compareUnsigned(uuids.get(i - 1).getMostSignificantBits(), uuids.get(i).getMostSignificantBits()) < 0,
+                    "UUID " + i + " should be greater than the previous one");
+        }
+    }
+
+    @Test
+    void generate_ConcurrentCalls_ShouldBeUnique() throws InterruptedException {
+        // Arrange
+        Set<UUID> uuids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    uuids.add(UuidV7Generator.generate());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(80_000, uuids.size());
+    }
+
+    @Test
+    void extractTimestamp_RandomUuid_ShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> UuidV7Generator.extractTimestamp(UUID.randomUUID()));
+    }
+}
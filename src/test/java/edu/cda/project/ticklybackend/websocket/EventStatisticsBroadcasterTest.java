@@ -0,0 +1,89 @@
+package edu.cda.project.ticklybackend.websocket;
+
+import edu.cda.project.ticklybackend.dtos.statistics.EventTicketStatisticsDto;
+import edu.cda.project.ticklybackend.services.interfaces.StatisticsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventStatisticsBroadcasterTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private StatisticsService statisticsService;
+
+    @InjectMocks
+    private EventStatisticsBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void flush_ManyScansOnSameEvent_ShouldPublishOnce() {
+        // Arrange
+        EventTicketStatisticsDto statistics = new EventTicketStatisticsDto();
+        when(statisticsService.getEventTicketStats(1L)).thenReturn(statistics);
+        for (int i = 0; i < 20; i++) {
+            broadcaster.markDirty(1L);
+        }
+
+        // Act
+        int published = broadcaster.flush();
+
+        // Assert
+        assertEquals(1, published);
+        verify(statisticsService, times(1)).getEventTicketStats(1L);
+        verify(messagingTemplate).convertAndSend("/topic/event/1/statistics", statistics);
+        assertEquals(0, broadcaster.flush());
+    }
+
+    @Test
+    void flush_StatisticsError_ShouldStillPublishOtherEvents() {
+        // Arrange
+        when(statisticsService.getEventTicketStats(1L)).thenThrow(new RuntimeException("Test exception"));
+        when(statisticsService.getEventTicketStats(2L)).thenReturn(new EventTicketStatisticsDto());
+        broadcaster.markDirty(1L);
+        broadcaster.markDirty(2L);
+
+        // Act
+        int published = broadcaster.flush();
+
+        // Assert
+        assertEquals(1, published);
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/event/1/statistics"), any(Object.class));
+        verify(messagingTemplate).convertAndSend(eq("/topic/event/2/statistics"), any(Object.class));
+    }
+
+    @Test
+    void markDirty_InsideTransaction_ShouldWaitForCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        broadcaster.markDirty(1L);
+
+        // Assert
+        assertEquals(0, broadcaster.flush());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        when(statisticsService.getEventTicketStats(1L)).thenReturn(new EventTicketStatisticsDto());
+        assertEquals(1, broadcaster.flush());
+    }
+}
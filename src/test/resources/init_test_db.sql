@@ -15,6 +15,8 @@ create table if not exists audience_zone_template
     max_capacity int                                  not null,
     name         varchar(100)                         not null,
     seating_type enum ('MIXED', 'SEATED', 'STANDING') not null,
+    seat_rows     int                                 null,
+    seats_per_row int                                 null,
     area_id      bigint                               not null
 );
 
@@ -23,6 +25,9 @@ create table if not exists event_audience_zone
     id                 bigint auto_increment
         primary key,
     allocated_capacity int    not null,
+    sold_count         int    not null default 0,
+    used_count         int    not null default 0,
+    cancelled_count    int    not null default 0,
     event_id           bigint not null,
     template_id        bigint not null
 );
@@ -87,7 +92,9 @@ create table if not exists events
     start_date          datetime(6)                                                                           not null,
     status              enum ('ARCHIVED', 'CANCELLED', 'COMPLETED', 'DRAFT', 'PUBLISHED') not null,
     updated_at          datetime(6)                                                                           not null,
-    structure_id        bigint                                                                                not null
+    structure_id        bigint                                                                                not null,
+    waiting_room_enabled        tinyint(1) default 0                                                          not null,
+    waiting_room_admission_rate int                                                                           null
 );
 
 alter table event_audience_zone
@@ -125,10 +132,15 @@ create table if not exists reservations
 (
     id               bigint auto_increment
         primary key,
-    reservation_date datetime(6) not null,
-    user_id          bigint      not null
+    reservation_date datetime(6)  not null,
+    user_id          bigint       not null,
+    idempotency_key  varchar(100) null
 );
 
+alter table reservations
+    add constraint UK_reservations_user_idempotency_key
+        unique (user_id, idempotency_key);
+
 create table if not exists structure_areas
 (
     id           bigint auto_increment
@@ -268,14 +280,19 @@ create table if not exists tickets
     participant_email      varchar(255)                                   not null,
     participant_first_name varchar(255)                                   not null,
     participant_last_name  varchar(255)                                   not null,
+    participant_search     varchar(800)                                   not null default '',
     qr_code_value          varchar(255)                                   not null,
     reservation_date       datetime(6)                                    not null,
     validation_date        datetime(6)                                    null,
+    updated_at             datetime(6)                                    not null default current_timestamp(6) on update current_timestamp(6),
     status                 enum ('CANCELLED', 'EXPIRED', 'USED', 'VALID') not null,
     event_id               bigint                                         not null,
     event_audience_zone_id bigint                                         not null,
     reservation_id         bigint                                         not null,
-    user_id                bigint                                         null
+    user_id                bigint                                         null,
+    seat_row               int                                            null,
+    seat_number            int                                            null,
+    active_seat_row        int generated always as (if(status in ('VALID', 'USED'), seat_row, null)) virtual
 );
 
 alter table tickets
@@ -404,6 +421,138 @@ alter table verification_tokens
     add constraint FK54y8mqsnq1rtyf581sfmrbp4f
         foreign key (user_id) references users (id);
 
+-- ===== Générateurs d'identifiants (séquences émulées par table, allocationSize = 50) =====
+-- Permettent à Hibernate de regrouper les INSERT en lots JDBC (impossible avec IDENTITY).
+create table if not exists reservations_seq
+(
+    next_val bigint null
+);
+insert into reservations_seq (next_val) select 1 from dual where not exists (select 1 from reservations_seq);
+
+create table if not exists structure_areas_seq
+(
+    next_val bigint null
+);
+insert into structure_areas_seq (next_val) select 1 from dual where not exists (select 1 from structure_areas_seq);
+
+create table if not exists audience_zone_template_seq
+(
+    next_val bigint null
+);
+insert into audience_zone_template_seq (next_val) select 1 from dual where not exists (select 1 from audience_zone_template_seq);
+
+create table if not exists event_audience_zone_seq
+(
+    next_val bigint null
+);
+insert into event_audience_zone_seq (next_val) select 1 from dual where not exists (select 1 from event_audience_zone_seq);
+
+
+-- ===== Outbox des e-mails transactionnels =====
+create table if not exists mail_outbox
+(
+    id              bigint                                           not null
+        primary key,
+    type            enum ('INDIVIDUAL_TICKET', 'TICKET_RECEIPT', 'WAITLIST_PROMOTION', 'ZONE_TICKETS_CANCELLED') not null,
+    recipient       varchar(255)                                     not null,
+    payload         text                                             not null,
+    status          enum ('FAILED', 'PENDING', 'SENDING', 'SENT')    not null,
+    attempts        int                                              not null,
+    next_attempt_at datetime(6)                                      not null,
+    last_error      varchar(1000)                                    null,
+    created_at      datetime(6)                                      not null,
+    sent_at         datetime(6)                                      null
+);
+
+CREATE INDEX idx_mail_outbox_status_next_attempt ON mail_outbox (status, next_attempt_at);
+
+create table if not exists mail_outbox_seq
+(
+    next_val bigint null
+);
+insert into mail_outbox_seq (next_val) select 1 from dual where not exists (select 1 from mail_outbox_seq);
+
+create table if not exists waitlist_entries
+(
+    id                     bigint auto_increment
+        primary key,
+    user_id                bigint                                 not null,
+    event_id               bigint                                 not null,
+    event_audience_zone_id bigint                                 not null,
+    seats                  int                                    not null,
+    status                 enum ('CONFIRMED', 'EXPIRED', 'LEFT', 'PROMOTED', 'WAITING') not null,
+    created_at             datetime(6)                            not null,
+    promoted_at            datetime(6)                            null,
+    hold_id                binary(16)                             null,
+    hold_expires_at        datetime(6)                            null
+);
+
+-- Queue of a zone, loaded in id order when the waitlist of the zone is first used
+CREATE INDEX idx_waitlist_entries_zone_status ON waitlist_entries (event_audience_zone_id, status, id);
+CREATE INDEX idx_waitlist_entries_user_status ON waitlist_entries (user_id, status);
+CREATE INDEX idx_waitlist_entries_status_hold ON waitlist_entries (status, hold_expires_at);
+CREATE INDEX idx_waitlist_entries_hold ON waitlist_entries (hold_id);
+
+
+-- ===== Opérations de masse sur les billets d'une zone =====
+create table if not exists zone_bulk_operations
+(
+    id                     bigint auto_increment
+        primary key,
+    event_id               bigint                                                    not null,
+    event_audience_zone_id bigint                                                    not null,
+    type                   enum ('CANCEL_ALL', 'CANCEL_MOST_RECENT', 'REDUCE_CAPACITY') not null,
+    status                 enum ('COMPLETED', 'FAILED', 'PENDING', 'RUNNING')         not null,
+    requested_by           bigint                                                    not null,
+    new_capacity           int                                                       null,
+    cutoff                 datetime(6)                                               not null,
+    target_count           int                                                       not null,
+    processed_count        int                                                       not null,
+    failures               int                                                       not null,
+    last_error             varchar(1000)                                             null,
+    created_at             datetime(6)                                               not null,
+    updated_at             datetime(6)                                               not null,
+    completed_at           datetime(6)                                               null
+);
+
+CREATE INDEX idx_zone_bulk_operations_status ON zone_bulk_operations (status, id);
+CREATE INDEX idx_zone_bulk_operations_zone_status ON zone_bulk_operations (event_audience_zone_id, status);
+CREATE INDEX idx_zone_bulk_operations_event ON zone_bulk_operations (event_id, id);
+
+create table if not exists ticket_journal
+(
+    id                     bigint auto_increment
+        primary key,
+    ticket_id              binary(16)                                                not null,
+    event_id               bigint                                                    not null,
+    event_audience_zone_id bigint                                                    null,
+    type                   enum ('ANONYMIZED', 'CANCELLED', 'CREATED', 'VALIDATED') not null,
+    occurred_at            datetime(6)                                               not null,
+    -- Each change is recorded once per ticket: shipping the local segment again is a no-op
+    constraint uk_ticket_journal_ticket_type
+        unique (ticket_id, type)
+);
+
+-- Replay of the journal of an event, in write order
+CREATE INDEX idx_ticket_journal_event ON ticket_journal (event_id, id);
+
+-- Supports the keyset-paginated ticket management listing (event_id, reservation_date, id)
+CREATE INDEX idx_tickets_event_reservation_date ON tickets (event_id, reservation_date, id);
+
+-- Delta sync of the scanner manifest: updated_at is maintained by MySQL on every row change,
+-- including bulk and JDBC updates that bypass the JPA lifecycle callbacks
+CREATE INDEX idx_tickets_event_updated_at ON tickets (event_id, updated_at);
+
+-- Seat assignments of a zone, read to rebuild its seat bitmap
+CREATE INDEX idx_tickets_zone_status_seat ON tickets (event_audience_zone_id, status, seat_row, seat_number);
+
+-- A seat is held by at most one active ticket across all instances: cancelled and expired tickets keep their
+-- seat for history, but their active_seat_row is null and does not take part in the unique index
+CREATE UNIQUE INDEX uk_tickets_active_seat ON tickets (event_audience_zone_id, active_seat_row, seat_number);
+
+-- Batches of zone bulk operations: valid tickets of a zone, most recent first
+CREATE INDEX idx_tickets_zone_status_reservation_date ON tickets (event_audience_zone_id, status, reservation_date, id);
+
 
 -- Désactivation des contraintes de clés étrangères pour permettre l'insertion dans un ordre flexible
 SET FOREIGN_KEY_CHECKS = 0;
@@ -1547,6 +1696,23 @@ SELECT UUID_TO_BIN(UUID()),
 FROM a;
 
 
+-- Reconstruction des compteurs dénormalisés des zones à partir des billets insérés ci-dessus
+UPDATE event_audience_zone eaz
+SET eaz.sold_count      = (SELECT COUNT(*) FROM tickets t WHERE t.event_audience_zone_id = eaz.id AND t.status IN ('VALID', 'USED')),
+    eaz.used_count      = (SELECT COUNT(*) FROM tickets t WHERE t.event_audience_zone_id = eaz.id AND t.status = 'USED'),
+    eaz.cancelled_count = (SELECT COUNT(*) FROM tickets t WHERE t.event_audience_zone_id = eaz.id AND t.status = 'CANCELLED');
+
+-- Texte de recherche normalisé des participants (la collation utf8mb4_unicode_ci ignore déjà accents et casse)
+UPDATE tickets
+SET participant_search = LOWER(CONCAT_WS(' ', participant_first_name, participant_last_name, participant_email));
+
+-- Recalage des générateurs d'identifiants après les insertions à ID explicite
+-- (optimiseur "pooled" : la valeur stockée est la borne haute du prochain bloc de 50 identifiants)
+UPDATE reservations_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM reservations);
+UPDATE structure_areas_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM structure_areas);
+UPDATE audience_zone_template_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM audience_zone_template);
+UPDATE event_audience_zone_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM event_audience_zone);
+
 -- Réactivation des contraintes de clés étrangères
 SET FOREIGN_KEY_CHECKS = 1;
 